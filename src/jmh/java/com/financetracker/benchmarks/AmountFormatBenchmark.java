@@ -0,0 +1,57 @@
+package com.financetracker.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Форматирование сумм так, как это делают контроллеры: String.format
+ * (карточки категорий, целей, дашборда) и NumberFormat для рублей
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AmountFormatBenchmark {
+    
+    private final double[] amounts = new double[1024];
+    private final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("ru", "RU"));
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(LedgerState.SEED);
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = Math.round(Math.exp(4 + random.nextGaussian() * 2) * 100) / 100.0;
+        }
+    }
+    
+    @Benchmark
+    public String stringFormat() {
+        return String.format("₽ %,.0f", nextAmount());
+    }
+    
+    @Benchmark
+    public String currencyInstance() {
+        return currencyFormat.format(nextAmount());
+    }
+    
+    private double nextAmount() {
+        return amounts[next++ & (amounts.length - 1)];
+    }
+}
@@ -0,0 +1,65 @@
+package com.financetracker.benchmarks;
+
+import com.financetracker.models.Category;
+import com.financetracker.models.Operation;
+import com.financetracker.services.DashboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Агрегаты дашборда: чтение итогов по категориям и их обновление
+ * при изменении одной операции
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+    
+    private DashboardService dashboardService;
+    private Operation edited;
+    private long edits;
+    
+    @Setup(Level.Trial)
+    public void setUp(LedgerState ledger) {
+        dashboardService = DashboardService.getInstance();
+        Operation original = ledger.operations.get(ledger.size / 2);
+        edited = new Operation(original.getId(), original.getDate(), original.getType(),
+            original.getCategory(), original.getComment(), original.getAmount());
+    }
+    
+    @Benchmark
+    public Map<String, Double> categoryExpenses() {
+        return dashboardService.getCategoryExpenses();
+    }
+    
+    @Benchmark
+    public List<Category> categoryBreakdown() {
+        return dashboardService.getCategoryExpenseBreakdown(null);
+    }
+    
+    /**
+     * Изменение суммы операции: новый снимок журнала и пересчёт агрегатов категорий
+     */
+    @Benchmark
+    public boolean editOperation(LedgerState ledger) {
+        Operation copy = new Operation(edited.getId(), edited.getDate(), edited.getType(),
+            edited.getCategory(), edited.getComment(), 100 + (edits++ & 1023));
+        return ledger.operationsService.updateOperation(copy);
+    }
+}
@@ -0,0 +1,44 @@
+package com.financetracker.benchmarks;
+
+import com.financetracker.models.Operation;
+import com.financetracker.services.CategoriesService;
+import com.financetracker.services.OperationsService;
+import com.financetracker.services.SyntheticLedger;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Сервисы, заполненные синтетическим журналом (см. SyntheticLedger) заданного размера.
+ *
+ * Данные загружаются в гостевую область (см. UserScope): JMH запускает каждый
+ * набор параметров в отдельной JVM, поэтому журналы разных размеров не смешиваются.
+ */
+@State(Scope.Benchmark)
+public class LedgerState {
+    
+    static final long SEED = 20260219L;
+    static final LocalDate LAST_DAY = SyntheticLedger.DEFAULT_END;
+    
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+    
+    OperationsService operationsService;
+    CategoriesService categoriesService;
+    List<Operation> operations;
+    
+    @Setup(Level.Trial)
+    public void load() {
+        System.setProperty(SyntheticLedger.OPERATIONS_PROPERTY, Integer.toString(size));
+        System.setProperty(SyntheticLedger.SEED_PROPERTY, Long.toString(SEED));
+        
+        operationsService = OperationsService.getInstance();
+        categoriesService = CategoriesService.getInstance();
+        operations = operationsService.getAllOperations();
+    }
+}
@@ -0,0 +1,64 @@
+package com.financetracker.benchmarks;
+
+import com.financetracker.models.SpendingLimit;
+import com.financetracker.services.PlansLimitsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Итоги PlansLimitsService; лимиты заводятся на каждую категорию и месяц,
+ * поэтому их число растёт с периодом учёта, а не с числом операций
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LimitsBenchmark {
+    
+    // 6 категорий расходов: месяц, год, три года, десять лет
+    @Param({"6", "72", "216", "720"})
+    public int limits;
+    
+    private PlansLimitsService limitsService;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        limitsService = PlansLimitsService.getInstance();
+        Random random = new Random(LedgerState.SEED);
+        for (int i = 0; i < limits; i++) {
+            double limit = 1000 * (5 + random.nextInt(30));
+            limitsService.saveLimit(new SpendingLimit(
+                "bench-" + i, "Категория " + (i % 6), "Месяц " + (i / 6), limit * random.nextDouble() * 1.2, limit));
+        }
+    }
+    
+    @Benchmark
+    public double totalLimit() {
+        return limitsService.getTotalLimit();
+    }
+    
+    @Benchmark
+    public double totalSpent() {
+        return limitsService.getTotalSpent();
+    }
+    
+    @Benchmark
+    public double totalRemaining() {
+        return limitsService.getTotalRemaining();
+    }
+}
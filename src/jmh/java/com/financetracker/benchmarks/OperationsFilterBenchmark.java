@@ -0,0 +1,52 @@
+package com.financetracker.benchmarks;
+
+import com.financetracker.models.Operation;
+import com.financetracker.services.OperationFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтрация экрана операций (OperationsController.applyFilters): фильтр
+ * строится заново на каждое изменение условий, как при вводе текста поиска
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OperationsFilterBenchmark {
+    
+    @Benchmark
+    public List<Operation> noFilter(LedgerState ledger) {
+        return filter(ledger, "", null, null);
+    }
+    
+    @Benchmark
+    public List<Operation> search(LedgerState ledger) {
+        return filter(ledger, "кафе", null, null);
+    }
+    
+    @Benchmark
+    public List<Operation> typeAndCategory(LedgerState ledger) {
+        return filter(ledger, "", Operation.OperationType.EXPENSE, "Продукты");
+    }
+    
+    @Benchmark
+    public List<Operation> searchTypeAndCategory(LedgerState ledger) {
+        return filter(ledger, "такси", Operation.OperationType.EXPENSE, "Транспорт");
+    }
+    
+    private static List<Operation> filter(LedgerState ledger, String searchText,
+                                          Operation.OperationType type, String category) {
+        OperationFilter filter = OperationFilter.of(searchText, type, category, ledger.categoriesService);
+        return filter.apply(ledger.operationsService.getAllOperations());
+    }
+}
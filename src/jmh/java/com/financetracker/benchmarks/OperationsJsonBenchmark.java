@@ -0,0 +1,96 @@
+package com.financetracker.benchmarks;
+
+import com.financetracker.api.ApiJson;
+import com.financetracker.api.OperationBinaryCodec;
+import com.financetracker.models.Operation;
+import com.financetracker.services.SyntheticLedger;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация журнала для обмена с бекендом: JSON (Gson с адаптерами ApiJson)
+ * и двоичный формат OperationBinaryCodec
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class OperationsJsonBenchmark {
+    
+    private static final Type OPERATION_LIST = new TypeToken<List<Operation>>() { }.getType();
+    
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+    
+    private final Gson gson = ApiJson.gson();
+    private List<Operation> operations;
+    private String json;
+    private byte[] binary;
+    private byte[] compressed;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        operations = new SyntheticLedger(LedgerState.SEED, size, 3, LedgerState.LAST_DAY).getOperations();
+        json = gson.toJson(operations, OPERATION_LIST);
+        binary = encode(false);
+        compressed = encode(true);
+    }
+    
+    @Benchmark
+    public String jsonWrite() {
+        return gson.toJson(operations, OPERATION_LIST);
+    }
+    
+    @Benchmark
+    public List<Operation> jsonRead() {
+        return gson.fromJson(json, OPERATION_LIST);
+    }
+    
+    @Benchmark
+    public byte[] binaryWrite() throws IOException {
+        return encode(false);
+    }
+    
+    @Benchmark
+    public byte[] binaryWriteCompressed() throws IOException {
+        return encode(true);
+    }
+    
+    @Benchmark
+    public int binaryRead(Blackhole blackhole) throws IOException {
+        return OperationBinaryCodec.decode(new ByteArrayInputStream(binary), 1000, blackhole::consume);
+    }
+    
+    @Benchmark
+    public int binaryReadCompressed(Blackhole blackhole) throws IOException {
+        return OperationBinaryCodec.decode(new ByteArrayInputStream(compressed), 1000, blackhole::consume);
+    }
+    
+    private byte[] encode(boolean compress) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(binary == null ? 1 << 16 : binary.length);
+        OperationBinaryCodec.encode(operations, out, compress);
+        return out.toByteArray();
+    }
+}
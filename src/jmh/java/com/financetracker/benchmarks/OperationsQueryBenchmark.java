@@ -0,0 +1,50 @@
+package com.financetracker.benchmarks;
+
+import com.financetracker.models.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запросы к OperationsService на журналах разного размера
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OperationsQueryBenchmark {
+    
+    @Benchmark
+    public List<Operation> allOperations(LedgerState ledger) {
+        return ledger.operationsService.getAllOperations();
+    }
+    
+    @Benchmark
+    public Operation operationById(LedgerState ledger) {
+        return ledger.operationsService.getOperationById("syn-" + (ledger.size / 2));
+    }
+    
+    @Benchmark
+    public List<Operation> lastMonth(LedgerState ledger) {
+        return ledger.operationsService.getOperationsByDateRange(
+            LedgerState.LAST_DAY.withDayOfMonth(1), LedgerState.LAST_DAY);
+    }
+    
+    @Benchmark
+    public List<Operation> byType(LedgerState ledger) {
+        return ledger.operationsService.getOperationsByType(Operation.OperationType.INCOME);
+    }
+    
+    @Benchmark
+    public List<Operation> byCategory(LedgerState ledger) {
+        return ledger.operationsService.getOperationsByCategory("Продукты");
+    }
+}
@@ -0,0 +1,78 @@
+package com.financetracker.benchmarks;
+
+import com.financetracker.services.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость PBKDF2 при входе: хэш нового пароля и проверка сохранённого.
+ *
+ * main подбирает число итераций для этой машины (см. {@link PasswordHasher#calibrate})
+ * и печатает его в виде системного свойства для AuthService:
+ * java -cp target/benchmarks.jar com.financetracker.benchmarks.PasswordHashingBenchmark [мс]
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Thread)
+public class PasswordHashingBenchmark {
+    
+    private static final long DEFAULT_TARGET_MILLIS = 300;
+    
+    @Param({"200000", "600000"})
+    public int iterations;
+    
+    private final char[] password = "correct horse battery staple".toCharArray();
+    private PasswordHasher hasher;
+    private String stored;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        hasher = new PasswordHasher(iterations);
+        stored = hasher.hash(password);
+    }
+    
+    @Benchmark
+    public String hash() {
+        return hasher.hash(password);
+    }
+    
+    @Benchmark
+    public boolean verify() {
+        return hasher.verify(password, stored);
+    }
+    
+    /**
+     * Подбор числа итераций под целевое время хэша (мс, по умолчанию 300)
+     */
+    public static void main(String[] args) {
+        long targetMillis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TARGET_MILLIS;
+        int calibrated = PasswordHasher.calibrate(Duration.ofMillis(targetMillis));
+        
+        PasswordHasher hasher = new PasswordHasher(calibrated);
+        char[] password = "calibration-check".toCharArray();
+        String stored = hasher.hash(password);
+        long start = System.nanoTime();
+        hasher.verify(password, stored);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        System.out.printf("Цель %d мс: %d итераций (проверка заняла %d мс)%n",
+            targetMillis, calibrated, elapsedMillis);
+        System.out.println("-Dfinancetracker.auth.iterations=" + calibrated);
+    }
+}
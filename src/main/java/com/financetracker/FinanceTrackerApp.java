@@ -1,5 +1,10 @@
 package com.financetracker;
 
+import com.financetracker.api.ApiClient;
+import com.financetracker.metrics.GcMonitor;
+import com.financetracker.services.SyntheticLedger;
+import com.financetracker.services.UserScope;
+import com.financetracker.sync.SyncEngine;
 import com.financetracker.utils.SceneManager;
 import javafx.application.Application;
 import javafx.scene.text.Font;
@@ -19,6 +24,19 @@ public class FinanceTrackerApp extends Application {
         loanFonts();
 
         try {
+            GcMonitor.install();
+            
+            // Синхронизация запускается в области каждого вошедшего пользователя;
+            // синтетические данные на бекенд не отправляются. Без открытого журнала
+            // синхронизация не запускается: курсор ушёл бы вперёд мимо локальных данных
+            if (ApiClient.isConfigured() && !SyntheticLedger.isEnabled()) {
+                UserScope.addOpenListener(scope -> {
+                    if (scope.getJournalError() == null) {
+                        SyncEngine.getInstance().start();
+                    }
+                });
+            }
+            
             SceneManager.initialize(primaryStage);
             SceneManager.switchScene("login");
             
@@ -31,6 +49,12 @@ public class FinanceTrackerApp extends Application {
         }
     }
 
+    @Override
+    public void stop() {
+        // Область пользователя останавливает синхронизацию, сохраняет модель подсказок и закрывает журнал
+        UserScope.closeCurrent();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
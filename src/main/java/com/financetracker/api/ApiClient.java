@@ -0,0 +1,425 @@
+package com.financetracker.api;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP-клиент бекенда.
+ *
+ * Все экземпляры по умолчанию разделяют один OkHttpClient, то есть общий пул соединений
+ * и диспетчер: по HTTPS соединение согласуется на HTTP/2 (ALPN), и параллельные запросы
+ * мультиплексируются в одном TCP-соединении. Сжатие ответов gzip OkHttp включает сам.
+ * Вызовы асинхронные: результат приходит в CompletableFuture на потоке диспетчера,
+ * отмена future отменяет HTTP-вызов. Для UI результат нужно переносить в FX-поток.
+ * Ответы методов с {@link CachePolicy} читаются через общий кэш клиента.
+ * Токен доступа подставляется из подключённого {@link SessionManager}.
+ *
+ * Базовый адрес задаётся свойством financetracker.api.url; для локального сервера
+ * без TLS HTTP/2 включается свойством financetracker.api.h2c (prior knowledge).
+ */
+public class ApiClient {
+    
+    private static final String URL_PROPERTY = "financetracker.api.url";
+    private static final String H2C_PROPERTY = "financetracker.api.h2c";
+    private static final String DEFAULT_URL = "http://localhost:8080/api/";
+    
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    
+    // Объём кэша ответов (тела в байтах)
+    private static final long CACHE_BYTES = 16 << 20;
+    
+    private static final OkHttpClient SHARED_HTTP_CLIENT = createHttpClient();
+    
+    private final OkHttpClient httpClient;
+    private final OkHttpClient plainHttpClient;
+    private final HttpUrl baseUrl;
+    private final Gson gson;
+    // Часы для свежести кэша
+    private final Clock clock;
+    
+    private final ResponseCache cache = new ResponseCache(CACHE_BYTES);
+    
+    private volatile SessionManager session;
+    
+    public ApiClient(String baseUrl) {
+        this(baseUrl, SHARED_HTTP_CLIENT);
+    }
+    
+    /**
+     * Клиент с собственным OkHttpClient (например, для тестового сервера)
+     */
+    public ApiClient(String baseUrl, OkHttpClient httpClient) {
+        this(baseUrl, httpClient, Clock.systemUTC());
+    }
+    
+    ApiClient(String baseUrl, OkHttpClient httpClient, Clock clock) {
+        HttpUrl url = HttpUrl.get(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.baseUrl = url;
+        // Общие пул соединений и диспетчер; перехватчик добавляет токен доступа
+        this.httpClient = httpClient.newBuilder().addInterceptor(this::authorize).build();
+        this.plainHttpClient = httpClient;
+        this.gson = ApiJson.gson();
+        this.clock = clock;
+    }
+    
+    private static class Holder {
+        private static final ApiClient INSTANCE = new ApiClient(System.getProperty(URL_PROPERTY, DEFAULT_URL));
+    }
+    
+    public static ApiClient getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Адрес бекенда задан явно; без него приложение работает только с локальными данными
+     */
+    public static boolean isConfigured() {
+        return System.getProperty(URL_PROPERTY) != null;
+    }
+    
+    public HttpUrl getBaseUrl() {
+        return baseUrl;
+    }
+    
+    /**
+     * Подключение сеанса; вызывается из {@link SessionManager}
+     */
+    void setSession(SessionManager session) {
+        this.session = session;
+    }
+    
+    /**
+     * Запрос без тела
+     */
+    public <T> CompletableFuture<T> get(ApiEndpoint endpoint, Type responseType, String... pathParams) {
+        return call(endpoint, null, responseType, pathParams);
+    }
+    
+    /**
+     * Вызов метода API. Тело запроса сериализуется в JSON (null — без тела),
+     * ответ разбирается в responseType (Void.class — ответ не читается).
+     * Ошибочный HTTP-статус завершает future с {@link ApiException}.
+     */
+    public <T> CompletableFuture<T> call(ApiEndpoint endpoint, Object body, Type responseType,
+                                         String... pathParams) {
+        return call(endpoint, Map.of(), body, responseType, pathParams);
+    }
+    
+    /**
+     * Вызов метода API с параметрами запроса (query)
+     */
+    public <T> CompletableFuture<T> call(ApiEndpoint endpoint, Map<String, String> query, Object body,
+                                         Type responseType, String... pathParams) {
+        HttpUrl url = resolve(endpoint, query, pathParams);
+        if (endpoint.getCachePolicy() != null && body == null) {
+            return cachedGet(endpoint, url, responseType);
+        }
+        return enqueue(newCall(endpoint, url, body, null), response -> readResponse(endpoint, response, responseType));
+    }
+    
+    /**
+     * Сброс кэша ответов (например, при смене пользователя)
+     */
+    public void invalidateCache() {
+        cache.invalidate("");
+    }
+    
+    /**
+     * Потоковое чтение ответа: reader разбирает JSON по мере поступления данных,
+     * не дожидаясь и не копируя в память весь ответ. Выполняется на потоке диспетчера.
+     */
+    public <R> CompletableFuture<R> stream(ApiEndpoint endpoint, Map<String, String> query,
+                                           ResponseReader<R> reader, String... pathParams) {
+        HttpUrl url = resolve(endpoint, query, pathParams);
+        return enqueue(newCall(endpoint, url, null, null), response -> {
+            if (!response.isSuccessful()) {
+                throw new ApiException(response.code(), errorMessage(response));
+            }
+            try (JsonReader json = new JsonReader(response.body().charStream())) {
+                return reader.read(json);
+            }
+        });
+    }
+    
+    /**
+     * Разбор тела ответа из JsonReader
+     */
+    @FunctionalInterface
+    public interface ResponseReader<R> {
+        R read(JsonReader in) throws IOException;
+    }
+    
+    /**
+     * Синхронный вызов на текущем потоке без токена доступа и без очереди диспетчера
+     * (для обновления токена, которого ждут вызовы в очереди)
+     */
+    <T> T execute(ApiEndpoint endpoint, Object body, Type responseType) throws IOException {
+        HttpUrl url = resolve(endpoint, Map.of());
+        RequestBody requestBody = body == null ? null : RequestBody.create(gson.toJson(body), JSON);
+        Call call = withTimeout(endpoint,
+            plainHttpClient.newCall(newRequest(endpoint, url, requestBody, "application/json", null)));
+        try (Response response = call.execute()) {
+            return readResponse(endpoint, response, responseType);
+        }
+    }
+    
+    private interface ResponseHandler<R> {
+        R handle(Response response) throws IOException;
+    }
+    
+    // ========== CACHE ==========
+    
+    /**
+     * Чтение через кэш: свежий ответ — из памяти; устаревший в пределах
+     * stale-while-revalidate — из памяти с фоновым обновлением; иначе — загрузка,
+     * общая для всех одновременных вызывающих. Повторная проверка идёт условным
+     * запросом, и неизменившийся ресурс (304) не передаётся заново.
+     */
+    private <T> CompletableFuture<T> cachedGet(ApiEndpoint endpoint, HttpUrl url, Type responseType) {
+        CachePolicy policy = endpoint.getCachePolicy();
+        String key = url.toString();
+        ResponseCache.Entry entry = cache.get(key);
+        
+        if (entry != null) {
+            long age = clock.millis() - entry.fetchedAt();
+            if (age < policy.ttl().toMillis()) {
+                return decodeCached(entry, responseType);
+            }
+            if (age < policy.ttl().plus(policy.staleWhileRevalidate()).toMillis()) {
+                cache.load(key, () -> fetch(endpoint, url, key, entry));
+                return decodeCached(entry, responseType);
+            }
+        }
+        
+        return cache.load(key, () -> fetch(endpoint, url, key, entry))
+            .thenApply(loaded -> decode(loaded.body(), responseType));
+    }
+    
+    private CompletableFuture<ResponseCache.Entry> fetch(ApiEndpoint endpoint, HttpUrl url, String key,
+                                                        ResponseCache.Entry previous) {
+        long generation = cache.generation();
+        return enqueue(newCall(endpoint, url, null, previous), response -> {
+            long now = clock.millis();
+            ResponseCache.Entry entry;
+            if (response.code() == 304 && previous != null) {
+                entry = previous.revalidated(now);
+            } else if (response.isSuccessful()) {
+                entry = new ResponseCache.Entry(response.header("ETag"), response.body().bytes(), now);
+            } else {
+                throw new ApiException(response.code(), errorMessage(response));
+            }
+            cache.put(key, entry, generation);
+            return entry;
+        });
+    }
+    
+    private <T> CompletableFuture<T> decodeCached(ResponseCache.Entry entry, Type responseType) {
+        try {
+            return CompletableFuture.completedFuture(decode(entry.body(), responseType));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private <T> T decode(byte[] body, Type responseType) {
+        return decode(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8), responseType);
+    }
+    
+    // ========== CALLS ==========
+    
+    private Call newCall(ApiEndpoint endpoint, HttpUrl url, Object body, ResponseCache.Entry cached) {
+        RequestBody requestBody = body == null ? null : RequestBody.create(gson.toJson(body), JSON);
+        return newCall(endpoint, url, requestBody, "application/json", cached);
+    }
+    
+    private Call newCall(ApiEndpoint endpoint, HttpUrl url, RequestBody body, String accept,
+                         ResponseCache.Entry cached) {
+        return withTimeout(endpoint, httpClient.newCall(newRequest(endpoint, url, body, accept, cached)));
+    }
+    
+    private Request newRequest(ApiEndpoint endpoint, HttpUrl url, RequestBody body, String accept,
+                               ResponseCache.Entry cached) {
+        Request.Builder request = new Request.Builder()
+            .url(url)
+            .header("Accept", accept)
+            .tag(ApiEndpoint.class, endpoint);
+        
+        if (body != null) {
+            request.method(endpoint.getMethod(), body);
+        } else if ("POST".equals(endpoint.getMethod()) || "PUT".equals(endpoint.getMethod())) {
+            request.method(endpoint.getMethod(), RequestBody.create(new byte[0], JSON));
+        } else {
+            request.method(endpoint.getMethod(), null);
+        }
+        
+        if (cached != null && cached.etag() != null) {
+            request.header("If-None-Match", cached.etag());
+        }
+        return request.build();
+    }
+    
+    private static Call withTimeout(ApiEndpoint endpoint, Call call) {
+        call.timeout().timeout(endpoint.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        return call;
+    }
+    
+    /**
+     * Добавление токена доступа. Ответ 401 означает, что токен отозван или истёк
+     * раньше срока: вызов повторяется один раз с обновлённым токеном.
+     */
+    private Response authorize(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        SessionManager current = session;
+        ApiEndpoint endpoint = request.tag(ApiEndpoint.class);
+        if (current == null || endpoint == null || endpoint.isPublic()) {
+            return chain.proceed(request);
+        }
+        
+        String token = current.accessToken();
+        if (token == null) {
+            return chain.proceed(request);
+        }
+        Response response = chain.proceed(withToken(request, token));
+        if (response.code() != 401) {
+            return response;
+        }
+        
+        String replacement = current.replaceRejected(token);
+        if (replacement == null || replacement.equals(token)) {
+            return response;
+        }
+        response.close();
+        return chain.proceed(withToken(request, replacement));
+    }
+    
+    private static Request withToken(Request request, String token) {
+        return request.newBuilder().header("Authorization", "Bearer " + token).build();
+    }
+    
+    private <T> CompletableFuture<T> enqueue(Call call, ResponseHandler<T> handler) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                future.completeExceptionally(e);
+            }
+            
+            @Override
+            public void onResponse(Call completedCall, Response response) {
+                try (response) {
+                    future.complete(handler.handle(response));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+    
+    private <T> T readResponse(ApiEndpoint endpoint, Response response, Type responseType) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new ApiException(response.code(), errorMessage(response));
+        }
+        
+        // Изменение на сервере: связанные ресурсы в кэше устарели
+        for (String prefix : endpoint.getInvalidates()) {
+            cache.invalidate(baseUrl + prefix);
+        }
+        
+        ResponseBody body = response.body();
+        if (responseType == Void.class || body == null) {
+            return null;
+        }
+        // Ответ разбирается прямо из потока, без копии в памяти
+        return decode(body.charStream(), responseType);
+    }
+    
+    private <T> T decode(Reader reader, Type responseType) {
+        return gson.fromJson(reader, responseType);
+    }
+    
+    private HttpUrl resolve(ApiEndpoint endpoint, Map<String, String> query, String... pathParams) {
+        HttpUrl.Builder url = baseUrl.newBuilder();
+        int param = 0;
+        for (String segment : endpoint.getPath().split("/")) {
+            if ("{}".equals(segment)) {
+                if (param >= pathParams.length) {
+                    throw new IllegalArgumentException("Не хватает параметров пути для " + endpoint);
+                }
+                url.addPathSegment(pathParams[param++]);
+            } else {
+                url.addPathSegment(segment);
+            }
+        }
+        query.forEach(url::addQueryParameter);
+        return url.build();
+    }
+    
+    private static String errorMessage(Response response) {
+        String message = response.message();
+        return "HTTP " + response.code() + (message == null || message.isEmpty() ? "" : " " + message)
+            + " (" + response.request().method() + " " + response.request().url().encodedPath() + ")";
+    }
+    
+    private static OkHttpClient createHttpClient() {
+        // Потоки диспетчера — демоны, чтобы незавершённые вызовы не мешали выходу из приложения
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "api-dispatcher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        Dispatcher dispatcher = new Dispatcher(executor);
+        dispatcher.setMaxRequests(64);
+        dispatcher.setMaxRequestsPerHost(16);
+        
+        List<Protocol> protocols = Boolean.getBoolean(H2C_PROPERTY)
+            ? List.of(Protocol.H2_PRIOR_KNOWLEDGE)
+            : List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        
+        return new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(8, 5, TimeUnit.MINUTES))
+            .protocols(protocols)
+            .connectTimeout(5, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .writeTimeout(30, TimeUnit.SECONDS)
+            .pingInterval(30, TimeUnit.SECONDS)
+            .build();
+    }
+}
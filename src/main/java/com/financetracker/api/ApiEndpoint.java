@@ -0,0 +1,89 @@
+package com.financetracker.api;
+
+import java.time.Duration;
+
+/**
+ * Методы REST API бекенда с параметрами вызова.
+ *
+ * Таймаут задаётся на весь вызов (соединение, отправка, ожидание и чтение ответа):
+ * короткие запросы не должны висеть минуту, а полная выгрузка операций не должна
+ * обрываться через десять секунд.
+ *
+ * Профиль пользователя, который запрашивается при каждом восстановлении сеанса,
+ * кэшируется по {@link CachePolicy}; данные экранов берутся из локальных сервисов,
+ * которые поддерживает в актуальном состоянии синхронизация. Изменяющие методы
+ * сбрасывают кэш ресурсов, пути которых начинаются с перечисленных префиксов ("" — весь кэш).
+ *
+ * Все методы, кроме входа, регистрации и обновления токена, вызываются с токеном доступа.
+ */
+public enum ApiEndpoint {
+    
+    LOGIN("POST", "auth/login", Duration.ofSeconds(10), null, ""),
+    REGISTER("POST", "auth/register", Duration.ofSeconds(10), null),
+    REFRESH_TOKEN("POST", "auth/refresh", Duration.ofSeconds(10), null),
+    CURRENT_USER("GET", "auth/me", Duration.ofSeconds(10), cache(Duration.ofMinutes(5), Duration.ofHours(1))),
+    
+    OPERATIONS("GET", "operations", Duration.ofMinutes(2), null),
+    CREATE_OPERATION("POST", "operations", Duration.ofSeconds(15), null),
+    UPDATE_OPERATION("PUT", "operations/{}", Duration.ofSeconds(15), null),
+    DELETE_OPERATION("DELETE", "operations/{}", Duration.ofSeconds(15), null),
+    
+    CREATE_CATEGORY("POST", "categories", Duration.ofSeconds(15), null),
+    
+    SYNC_PUSH("POST", "sync/push", Duration.ofSeconds(30), null),
+    SYNC_CHANGES("GET", "sync/changes", Duration.ofSeconds(60), null);
+    
+    private final String method;
+    private final String path;
+    private final Duration timeout;
+    private final CachePolicy cachePolicy;
+    private final String[] invalidates;
+    
+    ApiEndpoint(String method, String path, Duration timeout, CachePolicy cachePolicy, String... invalidates) {
+        this.method = method;
+        this.path = path;
+        this.timeout = timeout;
+        this.cachePolicy = cachePolicy;
+        this.invalidates = invalidates;
+    }
+    
+    private static CachePolicy cache(Duration ttl, Duration staleWhileRevalidate) {
+        return CachePolicy.of(ttl, staleWhileRevalidate);
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    /**
+     * Путь относительно базового адреса; {} — параметр пути
+     */
+    public String getPath() {
+        return path;
+    }
+    
+    public Duration getTimeout() {
+        return timeout;
+    }
+    
+    /**
+     * Политика кэширования ответа (null — не кэшируется)
+     */
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+    
+    /**
+     * Префиксы путей ресурсов, кэш которых устаревает после успешного вызова
+     */
+    public String[] getInvalidates() {
+        return invalidates.clone();
+    }
+    
+    /**
+     * Метод вызывается без токена доступа
+     */
+    public boolean isPublic() {
+        return this == LOGIN || this == REGISTER || this == REFRESH_TOKEN;
+    }
+}
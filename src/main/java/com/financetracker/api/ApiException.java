@@ -0,0 +1,29 @@
+package com.financetracker.api;
+
+import java.io.IOException;
+
+/**
+ * Ответ бекенда с кодом ошибки
+ */
+public class ApiException extends IOException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final int statusCode;
+    
+    public ApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+    
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    /**
+     * Ошибка на стороне клиента (4xx) — повтор запроса не поможет
+     */
+    public boolean isClientError() {
+        return statusCode >= 400 && statusCode < 500;
+    }
+}
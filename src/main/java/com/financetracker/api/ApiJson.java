@@ -0,0 +1,60 @@
+package com.financetracker.api;
+
+import com.financetracker.models.Operation;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Настройки JSON для обмена с бекендом
+ */
+public final class ApiJson {
+    
+    private static final Gson GSON = create();
+    
+    private ApiJson() {
+    }
+    
+    /**
+     * Общий экземпляр Gson (потокобезопасен)
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+    
+    /**
+     * Даты, перечисления и операции (основной объём данных) разбираются собственными
+     * адаптерами; остальные модели — стандартным отражением Gson
+     */
+    private static Gson create() {
+        TypeAdapter<LocalDate> dates = new LocalDateAdapter().nullSafe();
+        return new GsonBuilder()
+            .registerTypeAdapterFactory(new EnumAdapterFactory())
+            .registerTypeAdapter(LocalDate.class, dates)
+            .registerTypeAdapter(Operation.class,
+                new OperationAdapter(dates, EnumAdapterFactory.adapter(Operation.OperationType.class)))
+            .disableHtmlEscaping()
+            .create();
+    }
+    
+    /**
+     * Даты передаются строками в формате ISO (2024-03-15)
+     */
+    static final class LocalDateAdapter extends TypeAdapter<LocalDate> {
+        
+        @Override
+        public void write(JsonWriter out, LocalDate value) throws IOException {
+            out.value(value.toString());
+        }
+        
+        @Override
+        public LocalDate read(JsonReader in) throws IOException {
+            return LocalDate.parse(in.nextString());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.financetracker.api;
+
+import com.financetracker.models.Category;
+import com.financetracker.models.Operation;
+import com.financetracker.models.User;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Типизированные методы REST API бекенда поверх {@link ApiClient}.
+ * Все методы асинхронные и не блокируют вызывающий поток.
+ */
+public class BackendApi {
+    
+    private final ApiClient client;
+    
+    public BackendApi(ApiClient client) {
+        this.client = client;
+    }
+    
+    private static class Holder {
+        private static final BackendApi INSTANCE = new BackendApi(ApiClient.getInstance());
+    }
+    
+    public static BackendApi getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    public ApiClient getClient() {
+        return client;
+    }
+    
+    // ========== AUTH ==========
+    
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
+        return client.call(ApiEndpoint.LOGIN, request, LoginResponse.class);
+    }
+    
+    public CompletableFuture<Void> register(RegisterRequest request) {
+        return client.call(ApiEndpoint.REGISTER, request, Void.class);
+    }
+    
+    public CompletableFuture<User> getCurrentUser() {
+        return client.get(ApiEndpoint.CURRENT_USER, User.class);
+    }
+    
+    // ========== OPERATIONS ==========
+    
+    public CompletableFuture<Operation> createOperation(Operation operation) {
+        return client.call(ApiEndpoint.CREATE_OPERATION, operation, Operation.class);
+    }
+    
+    public CompletableFuture<Operation> updateOperation(Operation operation) {
+        return client.call(ApiEndpoint.UPDATE_OPERATION, operation, Operation.class, operation.getId());
+    }
+    
+    public CompletableFuture<Void> deleteOperation(String id) {
+        return client.call(ApiEndpoint.DELETE_OPERATION, null, Void.class, id);
+    }
+    
+    // ========== CATEGORIES ==========
+    
+    public CompletableFuture<Category> createCategory(Category category) {
+        return client.call(ApiEndpoint.CREATE_CATEGORY, category, Category.class);
+    }
+}
@@ -0,0 +1,17 @@
+package com.financetracker.api;
+
+import java.time.Duration;
+
+/**
+ * Политика кэширования ответа.
+ *
+ * В течение ttl ответ отдаётся из кэша без обращения к сети. Ещё staleWhileRevalidate
+ * после этого устаревший ответ отдаётся сразу, а свежий запрашивается в фоне;
+ * позже — вызывающий ждёт нового ответа.
+ */
+public record CachePolicy(Duration ttl, Duration staleWhileRevalidate) {
+    
+    public static CachePolicy of(Duration ttl, Duration staleWhileRevalidate) {
+        return new CachePolicy(ttl, staleWhileRevalidate);
+    }
+}
@@ -0,0 +1,75 @@
+package com.financetracker.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Перечисления передаются по имени константы (EXPENSE). Таблица имён строится
+ * из getEnumConstants(), без рефлексии по полям; при чтении регистр не важен,
+ * неизвестное значение читается как null.
+ */
+final class EnumAdapterFactory implements TypeAdapterFactory {
+    
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (!Enum.class.isAssignableFrom(rawType) || rawType == Enum.class) {
+            return null;
+        }
+        if (!rawType.isEnum()) {
+            // Константа с телом — подкласс перечисления
+            rawType = rawType.getSuperclass();
+        }
+        return (TypeAdapter<T>) new EnumAdapter(rawType);
+    }
+    
+    /**
+     * Адаптер для конкретного перечисления (для адаптеров, собранных вручную)
+     */
+    static <E extends Enum<E>> TypeAdapter<E> adapter(Class<E> type) {
+        return new EnumAdapter<>(type);
+    }
+    
+    private static final class EnumAdapter<E extends Enum<E>> extends TypeAdapter<E> {
+        
+        private final Map<String, E> constants = new HashMap<>();
+        
+        EnumAdapter(Class<E> type) {
+            for (E constant : type.getEnumConstants()) {
+                constants.put(constant.name(), constant);
+                constants.putIfAbsent(constant.name().toUpperCase(Locale.ROOT), constant);
+            }
+        }
+        
+        @Override
+        public void write(JsonWriter out, E value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else {
+                out.value(value.name());
+            }
+        }
+        
+        @Override
+        public E read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String name = in.nextString();
+            E constant = constants.get(name);
+            return constant != null ? constant : constants.get(name.toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.financetracker.api;
+
+/**
+ * Тело запроса входа
+ */
+public class LoginRequest {
+    
+    private final String email;
+    private final String password;
+    
+    public LoginRequest(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+}
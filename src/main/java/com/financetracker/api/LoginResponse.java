@@ -0,0 +1,48 @@
+package com.financetracker.api;
+
+import com.financetracker.models.User;
+
+/**
+ * Ответ на вход и на обновление токена: пользователь (при обновлении может
+ * отсутствовать), токен доступа, токен обновления и срок жизни токена доступа
+ */
+public class LoginResponse {
+    
+    private User user;
+    private String token;
+    private String refreshToken;
+    // Срок жизни токена доступа, секунды (0 — неизвестен)
+    private long expiresIn;
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public String getToken() {
+        return token;
+    }
+    
+    public void setToken(String token) {
+        this.token = token;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
@@ -0,0 +1,105 @@
+package com.financetracker.api;
+
+import com.financetracker.models.Operation;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Операция в JSON без рефлексии: поля пишутся и читаются напрямую через
+ * геттеры и сеттеры. Неизвестные поля пропускаются.
+ */
+final class OperationAdapter extends TypeAdapter<Operation> {
+    
+    private final TypeAdapter<LocalDate> dateAdapter;
+    private final TypeAdapter<Operation.OperationType> typeAdapter;
+    
+    OperationAdapter(TypeAdapter<LocalDate> dateAdapter, TypeAdapter<Operation.OperationType> typeAdapter) {
+        this.dateAdapter = dateAdapter;
+        this.typeAdapter = typeAdapter;
+    }
+    
+    @Override
+    public void write(JsonWriter out, Operation operation) throws IOException {
+        if (operation == null) {
+            out.nullValue();
+            return;
+        }
+        
+        out.beginObject();
+        out.name("id").value(operation.getId());
+        if (operation.getDate() != null) {
+            out.name("date");
+            dateAdapter.write(out, operation.getDate());
+        }
+        if (operation.getType() != null) {
+            out.name("type");
+            typeAdapter.write(out, operation.getType());
+        }
+        if (operation.getCategory() != null) {
+            out.name("category").value(operation.getCategory());
+        }
+        if (operation.getComment() != null) {
+            out.name("comment").value(operation.getComment());
+        }
+        out.name("amount").value(operation.getAmount());
+        if (!operation.getTags().isEmpty()) {
+            out.name("tags").beginArray();
+            for (String tag : operation.getTags()) {
+                out.value(tag);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+    
+    @Override
+    public Operation read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        Operation operation = new Operation();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id" -> operation.setId(in.nextString());
+                case "date" -> operation.setDate(dateAdapter.read(in));
+                case "type" -> operation.setType(typeAdapter.read(in));
+                case "category" -> operation.setCategory(in.nextString());
+                case "comment" -> operation.setComment(in.nextString());
+                case "amount" -> operation.setAmount(in.nextDouble());
+                case "tags" -> operation.setTags(readTags(in));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return operation;
+    }
+    
+    private static List<String> readTags(JsonReader in) throws IOException {
+        List<String> tags = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else {
+                tags.add(in.nextString());
+            }
+        }
+        in.endArray();
+        return tags;
+    }
+}
@@ -0,0 +1,420 @@
+package com.financetracker.api;
+
+import com.financetracker.models.Operation;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Компактный двоичный формат пакета операций (записи журнала операций, см.
+ * EncryptedSegmentJournal).
+ *
+ * Заголовок: "FTOB", версия, флаги (бит 0 — тело сжато deflate). Тело: количество
+ * операций, затем операции подряд:
+ * <ul>
+ *   <li>ID — длина общего префикса с предыдущим ID и остаток (ID обычно отличаются хвостом);</li>
+ *   <li>дата — разница в днях с предыдущей операцией (zigzag varint, обычно 1 байт);</li>
+ *   <li>байт типа и признаков (есть комментарий, есть теги, сумма не в копейках);</li>
+ *   <li>категория и теги — по словарю: новая строка передаётся один раз, дальше — номер;</li>
+ *   <li>сумма — копейки (zigzag varint) или double, если сумма не выражается в копейках.</li>
+ * </ul>
+ * Кодирование и разбор потоковые: операции пишутся и читаются по одной.
+ */
+public final class OperationBinaryCodec {
+    
+    private static final byte[] MAGIC = {'F', 'T', 'O', 'B'};
+    private static final int VERSION = 1;
+    private static final int FLAG_DEFLATE = 1;
+    
+    private static final int HAS_COMMENT = 1 << 3;
+    private static final int HAS_TAGS = 1 << 4;
+    private static final int RAW_AMOUNT = 1 << 5;
+    private static final int TYPE_MASK = 0x7;
+    
+    private OperationBinaryCodec() {
+    }
+    
+    // ========== ENCODING ==========
+    
+    /**
+     * Запись пакета операций; поток не закрывается
+     */
+    public static void encode(List<Operation> operations, OutputStream out, boolean compress) throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(compress ? FLAG_DEFLATE : 0);
+        
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED, true) : null;
+        try {
+            OutputStream body = compress ? new DeflaterOutputStream(out, deflater, 1 << 16) : out;
+            Encoder encoder = new Encoder(body);
+            encoder.writeVarint(operations.size());
+            for (Operation operation : operations) {
+                encoder.write(operation);
+            }
+            encoder.flush();
+            if (body instanceof DeflaterOutputStream deflating) {
+                deflating.finish();
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+    
+    private static final class Encoder {
+        
+        private final OutputStream out;
+        private final byte[] buffer = new byte[1 << 16];
+        private int position;
+        
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private byte[] previousId = new byte[0];
+        private long previousDay;
+        
+        Encoder(OutputStream out) {
+            this.out = out;
+        }
+        
+        void write(Operation operation) throws IOException {
+            writeId(operation.getId());
+            
+            long day = operation.getDate() == null ? Long.MIN_VALUE : operation.getDate().toEpochDay();
+            if (day == Long.MIN_VALUE) {
+                writeVarint(0);
+            } else {
+                writeVarint(zigzag(day - previousDay) + 1);
+                previousDay = day;
+            }
+            
+            long cents = Math.round(operation.getAmount() * 100);
+            boolean rawAmount = cents / 100.0 != operation.getAmount();
+            boolean hasTags = !operation.getTags().isEmpty();
+            int header = (operation.getType() == null ? 0 : operation.getType().ordinal() + 1)
+                | (operation.getComment() != null ? HAS_COMMENT : 0)
+                | (hasTags ? HAS_TAGS : 0)
+                | (rawAmount ? RAW_AMOUNT : 0);
+            writeByte(header);
+            
+            writeDictionaryString(operation.getCategory());
+            if (operation.getComment() != null) {
+                writeString(operation.getComment());
+            }
+            if (rawAmount) {
+                writeLong(Double.doubleToRawLongBits(operation.getAmount()));
+            } else {
+                writeVarint(zigzag(cents));
+            }
+            if (hasTags) {
+                writeVarint(operation.getTags().size());
+                for (String tag : operation.getTags()) {
+                    writeDictionaryString(tag);
+                }
+            }
+        }
+        
+        private void writeId(String id) throws IOException {
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            int shared = Arrays.mismatch(previousId, bytes);
+            if (shared < 0) {
+                shared = bytes.length;
+            }
+            shared = Math.min(shared, Math.min(previousId.length, bytes.length));
+            writeVarint(shared);
+            writeVarint(bytes.length - shared);
+            writeBytes(bytes, shared, bytes.length - shared);
+            previousId = bytes;
+        }
+        
+        /**
+         * 0 — null; нечётное — новая строка (следом её байты); чётное 2k — строка словаря номер k - 1
+         */
+        private void writeDictionaryString(String value) throws IOException {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarint(2L * (index + 1));
+                return;
+            }
+            dictionary.put(value, dictionary.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(2L * bytes.length + 1);
+            writeBytes(bytes, 0, bytes.length);
+        }
+        
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+        
+        void writeVarint(long value) throws IOException {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+        
+        private void writeLong(long value) throws IOException {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+        
+        private void writeByte(int value) throws IOException {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+        
+        private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+            if (length > buffer.length) {
+                flush();
+                out.write(bytes, offset, length);
+                return;
+            }
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+        
+        private void ensure(int length) throws IOException {
+            if (position + length > buffer.length) {
+                flush();
+            }
+        }
+        
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+    
+    // ========== DECODING ==========
+    
+    /**
+     * Разбор пакета с передачей операций в sink пакетами по batchSize
+     *
+     * @return количество операций
+     */
+    public static int decode(InputStream in, int batchSize, Consumer<List<Operation>> sink) throws IOException {
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Неизвестный формат пакета операций");
+        }
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IOException("Неподдерживаемая версия пакета операций: " + version);
+        }
+        int flags = in.read();
+        if (flags < 0) {
+            throw new EOFException();
+        }
+        
+        Inflater inflater = (flags & FLAG_DEFLATE) != 0 ? new Inflater(true) : null;
+        try {
+            InputStream body = inflater != null ? new InflaterInputStream(in, inflater, 1 << 16) : in;
+            Decoder decoder = new Decoder(body);
+            
+            long count = decoder.readVarint();
+            List<Operation> batch = new ArrayList<>((int) Math.min(count, batchSize));
+            for (long i = 0; i < count; i++) {
+                batch.add(decoder.read());
+                if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+            }
+            return (int) count;
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+    
+    private static final class Decoder {
+        
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private int position;
+        private int limit;
+        
+        private final List<String> dictionary = new ArrayList<>();
+        private byte[] previousId = new byte[0];
+        private long previousDay;
+        
+        Decoder(InputStream in) {
+            this.in = in;
+        }
+        
+        Operation read() throws IOException {
+            Operation operation = new Operation();
+            operation.setId(readId());
+            
+            long day = readVarint();
+            if (day != 0) {
+                previousDay += unzigzag(day - 1);
+                operation.setDate(LocalDate.ofEpochDay(previousDay));
+            }
+            
+            int header = readByte();
+            int type = header & TYPE_MASK;
+            if (type > 0) {
+                Operation.OperationType[] types = Operation.OperationType.values();
+                if (type > types.length) {
+                    throw new IOException("Неизвестный тип операции: " + type);
+                }
+                operation.setType(types[type - 1]);
+            }
+            
+            operation.setCategory(readDictionaryString());
+            if ((header & HAS_COMMENT) != 0) {
+                operation.setComment(readString((int) readVarint()));
+            }
+            if ((header & RAW_AMOUNT) != 0) {
+                operation.setAmount(Double.longBitsToDouble(readLong()));
+            } else {
+                operation.setAmount(unzigzag(readVarint()) / 100.0);
+            }
+            if ((header & HAS_TAGS) != 0) {
+                int tags = (int) readVarint();
+                for (int i = 0; i < tags; i++) {
+                    operation.addTag(readDictionaryString());
+                }
+            }
+            return operation;
+        }
+        
+        private String readId() throws IOException {
+            int shared = (int) readVarint();
+            int suffix = (int) readVarint();
+            if (shared > previousId.length) {
+                throw new IOException("Повреждённый пакет операций");
+            }
+            byte[] id = Arrays.copyOf(previousId, shared + suffix);
+            readBytes(id, shared, suffix);
+            previousId = id;
+            return new String(id, StandardCharsets.UTF_8);
+        }
+        
+        private String readDictionaryString() throws IOException {
+            long code = readVarint();
+            if (code == 0) {
+                return null;
+            }
+            if ((code & 1) == 0) {
+                int index = (int) (code / 2 - 1);
+                if (index >= dictionary.size()) {
+                    throw new IOException("Повреждённый пакет операций");
+                }
+                return dictionary.get(index);
+            }
+            String value = readString((int) (code / 2));
+            dictionary.add(value);
+            return value;
+        }
+        
+        private String readString(int length) throws IOException {
+            if (length <= buffer.length && fill(length)) {
+                String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return value;
+            }
+            byte[] bytes = new byte[length];
+            readBytes(bytes, 0, length);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Повреждённый пакет операций");
+        }
+        
+        private long readLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+        
+        private int readByte() throws IOException {
+            if (position == limit && !fill(1)) {
+                throw new EOFException("Пакет операций обрезан");
+            }
+            return buffer[position++] & 0xFF;
+        }
+        
+        private void readBytes(byte[] target, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (position == limit && !fill(1)) {
+                    throw new EOFException("Пакет операций обрезан");
+                }
+                int chunk = Math.min(length, limit - position);
+                System.arraycopy(buffer, position, target, offset, chunk);
+                position += chunk;
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+        
+        /**
+         * Подкачка, чтобы в буфере было не меньше length байт (false — поток кончился раньше)
+         */
+        private boolean fill(int length) throws IOException {
+            if (limit - position >= length) {
+                return true;
+            }
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+            while (limit < length) {
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    return false;
+                }
+                limit += read;
+            }
+            return true;
+        }
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
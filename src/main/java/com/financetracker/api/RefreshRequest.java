@@ -0,0 +1,17 @@
+package com.financetracker.api;
+
+/**
+ * Тело запроса обновления токена доступа
+ */
+public class RefreshRequest {
+    
+    private final String refreshToken;
+    
+    public RefreshRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+}
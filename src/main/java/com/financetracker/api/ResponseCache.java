@@ -0,0 +1,116 @@
+package com.financetracker.api;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Кэш ответов бекенда с ограничением по объёму.
+ *
+ * Хранятся тела ответов в байтах (вместе с ETag для условных запросов), поэтому объём
+ * памяти известен точно, а каждый читатель получает собственную копию объектов.
+ * При превышении лимита вытесняются давно не использованные ответы (LRU).
+ *
+ * Одновременные загрузки одного ресурса объединяются (single-flight): в сеть уходит
+ * один запрос, остальные вызывающие получают его результат.
+ */
+final class ResponseCache {
+
+    /**
+     * Сохранённый ответ; fetchedAt — время получения или последней проверки (мс)
+     */
+    record Entry(String etag, byte[] body, long fetchedAt) {
+
+        Entry revalidated(long now) {
+            return new Entry(etag, body, now);
+        }
+    }
+
+    private final long maxBytes;
+
+    // Доступ под монитором this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    // Увеличивается при сбросе: ответы загрузок, начатых до сброса, не сохраняются
+    private long generation;
+
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Сохранение ответа, если с начала загрузки (loadGeneration) кэш не сбрасывался
+     */
+    synchronized void put(String key, Entry entry, long loadGeneration) {
+        if (loadGeneration != generation || entry.body().length > maxBytes / 4) {
+            return;
+        }
+
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.body().length;
+        }
+        totalBytes += entry.body().length;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().body().length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Сброс ответов, ключ (URL) которых начинается с prefix
+     */
+    synchronized void invalidate(String prefix) {
+        generation++;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                totalBytes -= entry.getValue().body().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Загрузка ресурса; если она уже идёт, возвращается та же загрузка.
+     * Отмена возвращённого future не отменяет общую загрузку.
+     */
+    CompletableFuture<Entry> load(String key, Supplier<CompletableFuture<Entry>> loader) {
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.thenApply(entry -> entry);
+        }
+
+        try {
+            loader.get().whenComplete((entry, error) -> {
+                inFlight.remove(key, created);
+                if (error != null) {
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(entry);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created.thenApply(entry -> entry);
+    }
+}
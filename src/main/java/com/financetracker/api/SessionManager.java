@@ -0,0 +1,256 @@
+package com.financetracker.api;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сеанс работы с бекендом: токены доступа и обновления.
+ *
+ * Токен доступа обновляется заранее, в фоне, до истечения срока (см.
+ * {@link SessionTokens#refreshAt()}), поэтому обычные вызовы не ждут обновления.
+ * Если токен всё же истёк или сервер его отклонил (401), обновление выполняется
+ * одно на всех: первый вызов запрашивает новый токен, остальные ждут его результата.
+ * Вызов, получивший 401 со старым токеном, когда обновление уже произошло, просто
+ * повторяется с новым токеном без повторного обновления.
+ *
+ * Обновление выполняется синхронно на вызывающем потоке в обход диспетчера OkHttp:
+ * ожидающие вызовы занимают потоки диспетчера и не должны блокировать сам запрос обновления.
+ */
+public class SessionManager {
+    
+    /**
+     * Хранилище токенов между запусками
+     */
+    public interface TokenStore {
+        SessionTokens load();
+        
+        void save(SessionTokens tokens);
+        
+        void clear();
+    }
+    
+    // Токен, истекающий раньше, считается уже истёкшим (расхождение часов, время в пути)
+    private static final long EXPIRY_MARGIN_MS = 30_000;
+    // Повтор фонового обновления после сетевой ошибки
+    private static final long RETRY_DELAY_MS = 30_000;
+    
+    private final ApiClient client;
+    private final TokenStore store;
+    private final ScheduledExecutorService scheduler;
+    
+    private volatile SessionTokens tokens;
+    
+    // Доступ под монитором this
+    private CompletableFuture<SessionTokens> refreshing;
+    private ScheduledFuture<?> scheduledRefresh;
+    // Увеличивается при начале и завершении сеанса: результат обновления старого сеанса отбрасывается
+    private long epoch;
+    
+    /**
+     * Сеанс для клиента: все его вызовы (кроме публичных методов) получают токен доступа
+     */
+    public static SessionManager attach(ApiClient client, TokenStore store) {
+        SessionManager session = new SessionManager(client, store);
+        client.setSession(session);
+        return session;
+    }
+    
+    private SessionManager(ApiClient client, TokenStore store) {
+        this.client = client;
+        this.store = store;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Начало сеанса после входа
+     */
+    public synchronized void start(SessionTokens sessionTokens) {
+        epoch++;
+        tokens = sessionTokens;
+        saveQuietly(sessionTokens);
+        schedule(sessionTokens, sessionTokens.refreshAt());
+    }
+    
+    /**
+     * Восстановление сеанса, сохранённого при прошлом запуске
+     *
+     * @return true, если сохранённые токены есть
+     */
+    public synchronized boolean restore() {
+        SessionTokens saved = store.load();
+        if (saved == null) {
+            return false;
+        }
+        epoch++;
+        tokens = saved;
+        schedule(saved, saved.refreshAt());
+        return true;
+    }
+    
+    /**
+     * Завершение сеанса: токены удаляются из памяти и хранилища
+     */
+    public synchronized void clear() {
+        epoch++;
+        tokens = null;
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+        store.clear();
+    }
+    
+    public boolean isActive() {
+        return tokens != null;
+    }
+    
+    /**
+     * Действующий токен доступа; истёкший токен сначала обновляется
+     * (null — сеанса нет или он завершён сервером)
+     */
+    String accessToken() throws IOException {
+        SessionTokens current = tokens;
+        if (current == null) {
+            return null;
+        }
+        if (!current.expiresWithin(System.currentTimeMillis(), EXPIRY_MARGIN_MS)) {
+            return current.getAccessToken();
+        }
+        SessionTokens refreshed = refresh(current);
+        return refreshed == null ? null : refreshed.getAccessToken();
+    }
+    
+    /**
+     * Токен взамен отклонённого сервером. Если его уже заменили, обновление не выполняется.
+     */
+    String replaceRejected(String rejectedToken) throws IOException {
+        SessionTokens current = tokens;
+        if (current == null || !current.getAccessToken().equals(rejectedToken)) {
+            return current == null ? null : current.getAccessToken();
+        }
+        SessionTokens refreshed = refresh(current);
+        return refreshed == null ? null : refreshed.getAccessToken();
+    }
+    
+    /**
+     * Обновление токенов stale (single-flight)
+     */
+    private SessionTokens refresh(SessionTokens stale) throws IOException {
+        CompletableFuture<SessionTokens> flight;
+        long flightEpoch;
+        boolean owner = false;
+        synchronized (this) {
+            if (tokens != stale) {
+                // Уже обновлены или сеанс завершён
+                return tokens;
+            }
+            if (refreshing == null) {
+                refreshing = new CompletableFuture<>();
+                owner = true;
+            }
+            flight = refreshing;
+            flightEpoch = epoch;
+        }
+        
+        if (owner) {
+            performRefresh(stale, flight, flightEpoch);
+        }
+        
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+    
+    private void performRefresh(SessionTokens stale, CompletableFuture<SessionTokens> flight, long flightEpoch) {
+        SessionTokens refreshed = null;
+        IOException error = null;
+        try {
+            LoginResponse response = client.execute(ApiEndpoint.REFRESH_TOKEN,
+                new RefreshRequest(stale.getRefreshToken()), LoginResponse.class);
+            if (response == null || response.getToken() == null) {
+                throw new IOException("Сервер не выдал токен доступа");
+            }
+            refreshed = SessionTokens.from(response, stale.getRefreshToken(), System.currentTimeMillis());
+        } catch (ApiException e) {
+            if (!e.isClientError()) {
+                error = e;
+            }
+            // Токен обновления отклонён: сеанс завершён, нужен новый вход
+        } catch (IOException e) {
+            error = e;
+        } catch (RuntimeException e) {
+            error = new IOException("Не удалось обновить токен доступа", e);
+        }
+        
+        SessionTokens result;
+        synchronized (this) {
+            refreshing = null;
+            if (epoch != flightEpoch) {
+                result = tokens;
+            } else if (refreshed != null) {
+                tokens = refreshed;
+                saveQuietly(refreshed);
+                schedule(refreshed, refreshed.refreshAt());
+                result = refreshed;
+            } else if (error == null) {
+                epoch++;
+                tokens = null;
+                store.clear();
+                result = null;
+            } else {
+                schedule(stale, System.currentTimeMillis() + RETRY_DELAY_MS);
+                result = stale;
+            }
+        }
+        
+        if (error != null && result == stale) {
+            flight.completeExceptionally(error);
+        } else {
+            flight.complete(result);
+        }
+    }
+    
+    private void saveQuietly(SessionTokens sessionTokens) {
+        try {
+            store.save(sessionTokens);
+        } catch (RuntimeException e) {
+            // Токены в памяти действительны; при следующем запуске понадобится вход
+            System.err.println("Не удалось сохранить токены сеанса: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Плановое фоновое обновление токенов sessionTokens в момент at (мс; -1 — не планировать)
+     */
+    private void schedule(SessionTokens sessionTokens, long at) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+        if (at < 0 || sessionTokens.getRefreshToken() == null) {
+            return;
+        }
+        long delay = Math.max(0, at - System.currentTimeMillis());
+        scheduledRefresh = scheduler.schedule(() -> {
+            try {
+                refresh(sessionTokens);
+            } catch (IOException | RuntimeException e) {
+                // Повтор уже запланирован; при неудаче вызовы обновят токен сами
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.financetracker.api;
+
+/**
+ * Токены сеанса: токен доступа, токен обновления и время их получения и истечения
+ * (мс от эпохи; expiresAt = 0 — срок токена доступа неизвестен). Неизменяемы.
+ */
+public final class SessionTokens {
+    
+    private final String accessToken;
+    private final String refreshToken;
+    private final long issuedAt;
+    private final long expiresAt;
+    
+    public SessionTokens(String accessToken, String refreshToken, long issuedAt, long expiresAt) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    /**
+     * Токены из ответа входа или обновления; если сервер не выдал новый токен
+     * обновления, сохраняется previousRefreshToken
+     */
+    public static SessionTokens from(LoginResponse response, String previousRefreshToken, long now) {
+        String refresh = response.getRefreshToken() != null ? response.getRefreshToken() : previousRefreshToken;
+        long expiresAt = response.getExpiresIn() > 0 ? now + response.getExpiresIn() * 1000 : 0;
+        return new SessionTokens(response.getToken(), refresh, now, expiresAt);
+    }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+    
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+    
+    /**
+     * Токен доступа истекает раньше, чем через marginMillis
+     */
+    public boolean expiresWithin(long now, long marginMillis) {
+        return expiresAt > 0 && expiresAt - now < marginMillis;
+    }
+    
+    /**
+     * Время планового обновления: по прошествии трёх четвертей срока жизни,
+     * но не позже чем за минуту до истечения (-1 — срок неизвестен)
+     */
+    public long refreshAt() {
+        if (expiresAt == 0) {
+            return -1;
+        }
+        long lifetime = expiresAt - issuedAt;
+        return Math.max(issuedAt, Math.min(issuedAt + lifetime * 3 / 4, expiresAt - 60_000));
+    }
+    
+    @Override
+    public String toString() {
+        // Сами токены не выводятся, чтобы не попасть в логи
+        return "SessionTokens{issuedAt=" + issuedAt + ", expiresAt=" + expiresAt + '}';
+    }
+}
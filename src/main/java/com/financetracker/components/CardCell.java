@@ -0,0 +1,20 @@
+package com.financetracker.components;
+
+import javafx.scene.layout.Region;
+
+/**
+ * Переиспользуемая ячейка-карточка для {@link VirtualCardGrid}.
+ * Узлы карточки создаются один раз, а при прокрутке в ячейку подставляется другой элемент.
+ */
+public interface CardCell<T> {
+
+    /**
+     * Корневой узел карточки
+     */
+    Region getNode();
+
+    /**
+     * Заполнение карточки данными элемента
+     */
+    void updateItem(T item);
+}
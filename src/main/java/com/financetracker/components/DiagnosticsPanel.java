@@ -0,0 +1,141 @@
+package com.financetracker.components;
+
+import com.financetracker.metrics.MetricSnapshot;
+import com.financetracker.metrics.Metrics;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Панель диагностики: метрики процесса (см. {@link Metrics}) и память,
+ * обновляются раз в секунду. Открывается скрыто с экрана настроек;
+ * те же метрики доступны через JMX в домене com.financetracker.
+ */
+public class DiagnosticsPanel extends BorderPane {
+    
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(1);
+    
+    // Открытое окно панели (не больше одного)
+    private static Stage window;
+    
+    private final TableView<MetricSnapshot> table = new TableView<>();
+    private final Label memoryLabel = new Label();
+    private final Timeline refresh = new Timeline(new KeyFrame(REFRESH_INTERVAL, e -> refresh()));
+    
+    private DiagnosticsPanel() {
+        table.getColumns().add(textColumn("Метрика", 260, MetricSnapshot::getName));
+        table.getColumns().add(textColumn("Тип", 80, snapshot -> snapshot.getType().getDisplayName()));
+        table.getColumns().add(countColumn());
+        table.getColumns().add(timeColumn("Среднее, мс", snapshot -> Math.round(snapshot.getMean())));
+        table.getColumns().add(timeColumn("p50, мс", MetricSnapshot::getP50));
+        table.getColumns().add(timeColumn("p90, мс", MetricSnapshot::getP90));
+        table.getColumns().add(timeColumn("p99, мс", MetricSnapshot::getP99));
+        table.getColumns().add(timeColumn("Макс., мс", MetricSnapshot::getMax));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.setPlaceholder(new Label("Метрик пока нет"));
+        
+        Button resetButton = new Button("Сбросить");
+        resetButton.setOnAction(e -> {
+            Metrics.reset();
+            refresh();
+        });
+        
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox footer = new HBox(12, memoryLabel, spacer, resetButton);
+        footer.setAlignment(Pos.CENTER_LEFT);
+        footer.setPadding(new Insets(10, 0, 0, 0));
+        
+        setPadding(new Insets(12));
+        setCenter(table);
+        setBottom(footer);
+        
+        refresh.setCycleCount(Animation.INDEFINITE);
+    }
+    
+    /**
+     * Открытие панели (или перевод на передний план уже открытой)
+     */
+    public static void show(Window owner) {
+        if (window != null) {
+            window.toFront();
+            return;
+        }
+        DiagnosticsPanel panel = new DiagnosticsPanel();
+        Stage stage = new Stage();
+        stage.initOwner(owner);
+        stage.setTitle("Диагностика");
+        stage.setScene(new Scene(panel, 900, 480));
+        stage.setOnHidden(e -> {
+            panel.refresh.stop();
+            window = null;
+        });
+        
+        window = stage;
+        panel.refresh();
+        panel.refresh.play();
+        stage.show();
+    }
+    
+    private void refresh() {
+        table.getItems().setAll(Metrics.snapshot());
+        
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        memoryLabel.setText(String.format("Куча: %d из %d МБ, потоков: %d",
+            heap.getUsed() >> 20,
+            heap.getMax() > 0 ? heap.getMax() >> 20 : heap.getCommitted() >> 20,
+            ManagementFactory.getThreadMXBean().getThreadCount()));
+    }
+    
+    private static TableColumn<MetricSnapshot, String> textColumn(String title, double width,
+                                                                  Function<MetricSnapshot, String> value) {
+        TableColumn<MetricSnapshot, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setCellValueFactory(data -> new ReadOnlyStringWrapper(value.apply(data.getValue())));
+        return column;
+    }
+    
+    private static TableColumn<MetricSnapshot, Long> countColumn() {
+        TableColumn<MetricSnapshot, Long> column = new TableColumn<>("Кол-во");
+        column.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getCount()));
+        return column;
+    }
+    
+    /**
+     * Колонка длительности: наносекунды показываются в миллисекундах, у счётчиков пусто
+     */
+    private static TableColumn<MetricSnapshot, String> timeColumn(String title, ToLongFunction<MetricSnapshot> nanos) {
+        TableColumn<MetricSnapshot, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(data -> {
+            MetricSnapshot snapshot = data.getValue();
+            String text = snapshot.getType() == MetricSnapshot.MetricType.TIMER && snapshot.getCount() > 0
+                ? String.format(Locale.ROOT, "%.3f", nanos.applyAsLong(snapshot) / 1_000_000.0)
+                : "";
+            return new ReadOnlyStringWrapper(text);
+        });
+        column.setStyle("-fx-alignment: CENTER-RIGHT;");
+        return column;
+    }
+}
@@ -0,0 +1,162 @@
+package com.financetracker.components;
+
+import com.financetracker.utils.ColorPalette;
+import javafx.beans.InvalidationListener;
+import javafx.css.CssMetaData;
+import javafx.css.SimpleStyleableObjectProperty;
+import javafx.css.Styleable;
+import javafx.css.StyleableObjectProperty;
+import javafx.css.StyleablePropertyFactory;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.List;
+
+/**
+ * Кольцевой segmented-progress (4 сегмента), отрисованный на одном Canvas.
+ * Вместо девяти узлов на карточку (дуги, круг, подписи) — один узел,
+ * который перерисовывается только при изменении прогресса или цвета.
+ *
+ * Цвета и шрифты задаются в CSS (класс goal-progress-ring): -ring-track-color,
+ * -ring-inner-color, -ring-caption-color, -ring-value-font, -ring-caption-font.
+ */
+public final class SegmentedProgressRing extends Region {
+
+    private static final double SIZE = 220;
+    private static final double RING_SIZE = 170;
+    private static final double RADIUS = 67;
+    private static final double STROKE_WIDTH = 14;
+    private static final double INNER_RADIUS = 45;
+    private static final int SEGMENTS = 4;
+    private static final double SEGMENT_LENGTH = 72; // 4 * 72 = 288 degrees
+    private static final double GAP = 18;            // 4 * 18 = 72 degrees
+
+    private static final StyleablePropertyFactory<SegmentedProgressRing> STYLES =
+        new StyleablePropertyFactory<>(Region.getClassCssMetaData());
+
+    private static final CssMetaData<SegmentedProgressRing, Color> TRACK_COLOR =
+        STYLES.createColorCssMetaData("-ring-track-color", ring -> ring.trackColor, Color.LIGHTGRAY);
+    private static final CssMetaData<SegmentedProgressRing, Color> INNER_COLOR =
+        STYLES.createColorCssMetaData("-ring-inner-color", ring -> ring.innerColor, Color.WHITE);
+    private static final CssMetaData<SegmentedProgressRing, Color> CAPTION_COLOR =
+        STYLES.createColorCssMetaData("-ring-caption-color", ring -> ring.captionColor, Color.GRAY);
+    private static final CssMetaData<SegmentedProgressRing, Font> VALUE_FONT =
+        STYLES.createFontCssMetaData("-ring-value-font", ring -> ring.valueFont, Font.font(null, FontWeight.BOLD, 50));
+    private static final CssMetaData<SegmentedProgressRing, Font> CAPTION_FONT =
+        STYLES.createFontCssMetaData("-ring-caption-font", ring -> ring.captionFont, Font.font(14));
+
+    private final StyleableObjectProperty<Color> trackColor = styleable(TRACK_COLOR, "trackColor");
+    private final StyleableObjectProperty<Color> innerColor = styleable(INNER_COLOR, "innerColor");
+    private final StyleableObjectProperty<Color> captionColor = styleable(CAPTION_COLOR, "captionColor");
+    private final StyleableObjectProperty<Font> valueFont = styleable(VALUE_FONT, "valueFont");
+    private final StyleableObjectProperty<Font> captionFont = styleable(CAPTION_FONT, "captionFont");
+
+    private final Canvas canvas = new Canvas(RING_SIZE, RING_SIZE);
+    private final String caption;
+
+    private double progress = -1;
+    private String color;
+
+    public SegmentedProgressRing(String caption) {
+        this.caption = caption;
+        setPrefSize(SIZE, SIZE);
+        setMinSize(SIZE, SIZE);
+        setMaxSize(SIZE, SIZE);
+        getStyleClass().add("goal-progress-ring");
+        getChildren().add(canvas);
+
+        InvalidationListener redraw = observable -> {
+            if (color != null) {
+                draw();
+            }
+        };
+        trackColor.addListener(redraw);
+        innerColor.addListener(redraw);
+        captionColor.addListener(redraw);
+        valueFont.addListener(redraw);
+        captionFont.addListener(redraw);
+    }
+
+    public static List<CssMetaData<? extends Styleable, ?>> getClassCssMetaData() {
+        return STYLES.getCssMetaData();
+    }
+
+    @Override
+    public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+        return getClassCssMetaData();
+    }
+
+    /**
+     * Установка прогресса (в процентах) и цвета заполнения
+     */
+    public void update(double progressPercent, String color) {
+        double clamped = Math.max(0.0, Math.min(progressPercent, 100.0));
+        if (clamped == progress && color.equals(this.color)) {
+            return;
+        }
+        this.progress = clamped;
+        this.color = color;
+        draw();
+    }
+
+    private <T> StyleableObjectProperty<T> styleable(CssMetaData<SegmentedProgressRing, T> metaData, String name) {
+        return new SimpleStyleableObjectProperty<>(metaData, this, name, metaData.getInitialValue(this));
+    }
+
+    @Override
+    protected void layoutChildren() {
+        canvas.relocate((getWidth() - RING_SIZE) / 2, (getHeight() - RING_SIZE) / 2);
+    }
+
+    private void draw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, RING_SIZE, RING_SIZE);
+
+        double center = RING_SIZE / 2;
+        double box = RADIUS * 2;
+        double fraction = progress / 100.0;
+        Color fillColor = ColorPalette.color(color);
+
+        gc.setLineWidth(STROKE_WIDTH);
+        gc.setLineCap(StrokeLineCap.ROUND);
+
+        for (int i = 0; i < SEGMENTS; i++) {
+            double startAngle = 90 - (i * (SEGMENT_LENGTH + GAP));
+
+            gc.setStroke(trackColor.get());
+            gc.strokeArc(center - RADIUS, center - RADIUS, box, box, startAngle, -SEGMENT_LENGTH, ArcType.OPEN);
+
+            double segmentStart = i * (1.0 / SEGMENTS);
+            double segmentProgress = (fraction - segmentStart) * SEGMENTS;
+            segmentProgress = Math.max(0.0, Math.min(segmentProgress, 1.0));
+
+            if (segmentProgress > 0) {
+                gc.setStroke(fillColor);
+                gc.strokeArc(center - RADIUS, center - RADIUS, box, box,
+                    startAngle, -(SEGMENT_LENGTH * segmentProgress), ArcType.OPEN);
+            }
+        }
+
+        gc.setFill(innerColor.get());
+        gc.fillOval(center - INNER_RADIUS, center - INNER_RADIUS, INNER_RADIUS * 2, INNER_RADIUS * 2);
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+
+        gc.setFill(fillColor);
+        gc.setFont(valueFont.get());
+        gc.fillText(String.format("%.0f%%", progress), center, center - 10);
+
+        gc.setFill(captionColor.get());
+        gc.setFont(captionFont.get());
+        gc.fillText(caption, center, center + 30);
+    }
+}
@@ -0,0 +1,405 @@
+package com.financetracker.components;
+
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.scene.Parent;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.Region;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Виртуализированная сетка карточек.
+ * Создаёт узлы только для строк, попадающих в видимую область ближайшего ScrollPane,
+ * и переиспользует ячейки при прокрутке, поэтому число узлов не зависит от числа элементов.
+ * Высота строки задаётся через cellHeight или измеряется по карточкам этой строки,
+ * когда она впервые попадает в видимую область; для ещё не измеренных строк
+ * используется средняя высота уже измеренных.
+ */
+public final class VirtualCardGrid<T> extends Region {
+
+    /** Дополнительные строки над и под видимой областью */
+    private static final int BUFFER_ROWS = 1;
+
+    private int columns = 1;
+    private double hgap;
+    private double vgap;
+    private double cellHeight = -1;
+
+    private List<T> items = List.of();
+    private Supplier<CardCell<T>> cellFactory;
+
+    private final Map<Integer, CardCell<T>> activeCells = new HashMap<>();
+    private final Deque<CardCell<T>> freeCells = new ArrayDeque<>();
+    private final Map<CardCell<T>, T> boundItems = new IdentityHashMap<>();
+
+    private final InvalidationListener viewportListener = obs -> requestLayout();
+    private ScrollPane scrollPane;
+
+    // Измеренные высоты строк (NaN — ещё не измерена) и смещения их верхних краёв
+    private double[] rowHeights = new double[0];
+    private double[] rowTops = new double[1];
+    private double measuredWidth = -1;
+    private double estimatedRowHeight = -1;
+
+    public VirtualCardGrid() {
+        getStyleClass().add("virtual-card-grid");
+        sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                detachFromScrollPane();
+            }
+        });
+    }
+
+    // ========== CONFIGURATION ==========
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public void setColumns(int columns) {
+        this.columns = Math.max(1, columns);
+        resetRowHeights();
+        requestLayout();
+    }
+
+    public double getHgap() {
+        return hgap;
+    }
+
+    public void setHgap(double hgap) {
+        this.hgap = hgap;
+        requestLayout();
+    }
+
+    public double getVgap() {
+        return vgap;
+    }
+
+    public void setVgap(double vgap) {
+        this.vgap = vgap;
+        requestLayout();
+    }
+
+    public double getCellHeight() {
+        return cellHeight;
+    }
+
+    /**
+     * Фиксированная высота строки; значение <= 0 включает измерение каждой строки по её карточкам
+     */
+    public void setCellHeight(double cellHeight) {
+        this.cellHeight = cellHeight;
+        requestLayout();
+    }
+
+    public void setCellFactory(Supplier<CardCell<T>> cellFactory) {
+        this.cellFactory = cellFactory;
+        releaseAll();
+        freeCells.clear();
+        boundItems.clear();
+        getChildren().clear();
+        resetRowHeights();
+        requestLayout();
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Установка элементов. Видимые ячейки будут перезаполнены при следующем layout.
+     */
+    public void setItems(List<T> items) {
+        this.items = List.copyOf(items);
+        boundItems.clear();
+        resetRowHeights();
+        requestLayout();
+    }
+
+    // ========== LAYOUT ==========
+
+    @Override
+    protected double computePrefWidth(double height) {
+        Insets insets = getInsets();
+        return insets.getLeft() + insets.getRight();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        Insets insets = getInsets();
+        int rows = rowCount();
+        if (rows == 0) {
+            return insets.getTop() + insets.getBottom();
+        }
+
+        if (cellHeight > 0) {
+            return insets.getTop() + insets.getBottom() + rows * cellHeight + (rows - 1) * vgap;
+        }
+        updateRowTops();
+        return insets.getTop() + insets.getBottom() + rowTops[rows] - vgap;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (scrollPane == null) {
+            attachToScrollPane();
+        }
+
+        int count = items.size();
+        if (cellFactory == null || count == 0) {
+            releaseAll();
+            return;
+        }
+
+        Insets insets = getInsets();
+        double cellWidth = cellWidth(getWidth());
+        if (cellWidth != measuredWidth) {
+            // Высота карточек зависит от ширины — прежние измерения недействительны
+            measuredWidth = cellWidth;
+            Arrays.fill(rowHeights, Double.NaN);
+        }
+
+        // Строки, впервые попавшие в видимую область, измеряются, и диапазон пересчитывается
+        // с учётом их реальной высоты (не больше нескольких проходов)
+        double totalBefore = cellHeight > 0 ? 0 : rowTops[rowTops.length - 1];
+        boolean measured = false;
+        for (int pass = 0; pass < 3; pass++) {
+            updateRowTops();
+            if (!bindVisibleRows(insets, cellWidth)) {
+                break;
+            }
+            measured = true;
+        }
+
+        for (Map.Entry<Integer, CardCell<T>> entry : activeCells.entrySet()) {
+            int index = entry.getKey();
+            int row = index / columns;
+            int col = index % columns;
+            entry.getValue().getNode().resizeRelocate(
+                insets.getLeft() + col * (cellWidth + hgap),
+                insets.getTop() + rowTop(row),
+                cellWidth,
+                rowHeight(row)
+            );
+        }
+
+        // Изменилась общая высота — родитель (ScrollPane) должен пересчитать размер сетки
+        if (measured && rowTops[rowTops.length - 1] != totalBefore && getParent() != null) {
+            getParent().requestLayout();
+        }
+    }
+
+    /**
+     * Привязка ячеек к строкам видимой области и измерение новых строк.
+     * Возвращает true, если появились новые измерения.
+     */
+    private boolean bindVisibleRows(Insets insets, double cellWidth) {
+        int count = items.size();
+        int rows = rowCount();
+
+        double[] visible = visibleRange();
+        int firstRow;
+        int lastRow;
+        if (cellHeight <= 0 && estimatedRowHeight < 0) {
+            // Высота ещё неизвестна — сначала измеряется одна строка
+            firstRow = 0;
+            lastRow = 0;
+        } else {
+            firstRow = rowAt(visible[0] - insets.getTop()) - BUFFER_ROWS;
+            lastRow = rowAt(visible[1] - insets.getTop()) + BUFFER_ROWS;
+            firstRow = Math.max(0, Math.min(firstRow, rows - 1));
+            lastRow = Math.max(firstRow, Math.min(lastRow, rows - 1));
+        }
+
+        int firstIndex = firstRow * columns;
+        int lastIndex = Math.min(count - 1, (lastRow + 1) * columns - 1);
+
+        // Ячейки вне видимой области возвращаются в пул
+        Iterator<Map.Entry<Integer, CardCell<T>>> iterator = activeCells.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, CardCell<T>> entry = iterator.next();
+            int index = entry.getKey();
+            if (index < firstIndex || index > lastIndex) {
+                release(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        for (int index = firstIndex; index <= lastIndex; index++) {
+            CardCell<T> cell = activeCells.get(index);
+            if (cell == null) {
+                cell = acquire();
+                activeCells.put(index, cell);
+            }
+
+            T item = items.get(index);
+            if (boundItems.get(cell) != item) {
+                cell.updateItem(item);
+                boundItems.put(cell, item);
+            }
+        }
+
+        if (cellHeight > 0) {
+            return false;
+        }
+
+        boolean measured = false;
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (!Double.isNaN(rowHeights[row])) {
+                continue;
+            }
+            double height = 0;
+            int end = Math.min(count, (row + 1) * columns);
+            for (int index = row * columns; index < end; index++) {
+                Region node = activeCells.get(index).getNode();
+                node.applyCss();
+                height = Math.max(height, node.prefHeight(cellWidth));
+            }
+            rowHeights[row] = height;
+            measured = true;
+        }
+        return measured;
+    }
+
+    private int rowCount() {
+        return (items.size() + columns - 1) / columns;
+    }
+
+    private double cellWidth(double width) {
+        Insets insets = getInsets();
+        double available = width - insets.getLeft() - insets.getRight() - (columns - 1) * hgap;
+        return Math.max(0, available / columns);
+    }
+
+    private double rowHeight(int row) {
+        if (cellHeight > 0) {
+            return cellHeight;
+        }
+        double height = rowHeights[row];
+        return Double.isNaN(height) ? Math.max(estimatedRowHeight, 0) : height;
+    }
+
+    private double rowTop(int row) {
+        return cellHeight > 0 ? row * (cellHeight + vgap) : rowTops[row];
+    }
+
+    /**
+     * Номер строки, содержащей координату y (от верхнего края содержимого)
+     */
+    private int rowAt(double y) {
+        if (cellHeight > 0) {
+            return (int) Math.floor(y / (cellHeight + vgap));
+        }
+        int index = Arrays.binarySearch(rowTops, 0, rowCount(), y);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private void resetRowHeights() {
+        int rows = rowCount();
+        if (rowHeights.length != rows) {
+            rowHeights = new double[rows];
+            rowTops = new double[rows + 1];
+        }
+        Arrays.fill(rowHeights, Double.NaN);
+    }
+
+    /**
+     * Пересчёт средней высоты и смещений строк; неизмеренные строки берут среднюю высоту
+     */
+    private void updateRowTops() {
+        if (cellHeight > 0) {
+            return;
+        }
+        int rows = rowHeights.length;
+        double sum = 0;
+        int known = 0;
+        for (double height : rowHeights) {
+            if (!Double.isNaN(height)) {
+                sum += height;
+                known++;
+            }
+        }
+        if (known > 0) {
+            estimatedRowHeight = sum / known;
+        }
+
+        double top = 0;
+        for (int row = 0; row < rows; row++) {
+            rowTops[row] = top;
+            top += rowHeight(row) + vgap;
+        }
+        rowTops[rows] = top;
+    }
+
+    /**
+     * Видимый диапазон по вертикали в локальных координатах сетки
+     */
+    private double[] visibleRange() {
+        if (scrollPane != null && getScene() != null) {
+            Bounds viewport = scrollPane.localToScene(scrollPane.getLayoutBounds());
+            Bounds local = sceneToLocal(viewport);
+            if (local != null) {
+                return new double[] {local.getMinY(), local.getMaxY()};
+            }
+        }
+        return new double[] {0, getHeight()};
+    }
+
+    // ========== CELL POOL ==========
+
+    private CardCell<T> acquire() {
+        CardCell<T> cell = freeCells.poll();
+        if (cell == null) {
+            cell = cellFactory.get();
+            getChildren().add(cell.getNode());
+        }
+        cell.getNode().setVisible(true);
+        return cell;
+    }
+
+    private void release(CardCell<T> cell) {
+        cell.getNode().setVisible(false);
+        freeCells.push(cell);
+    }
+
+    private void releaseAll() {
+        for (CardCell<T> cell : activeCells.values()) {
+            release(cell);
+        }
+        activeCells.clear();
+    }
+
+    // ========== VIEWPORT TRACKING ==========
+
+    private void attachToScrollPane() {
+        Parent parent = getParent();
+        while (parent != null && !(parent instanceof ScrollPane)) {
+            parent = parent.getParent();
+        }
+        if (parent == null) {
+            return;
+        }
+
+        scrollPane = (ScrollPane) parent;
+        scrollPane.vvalueProperty().addListener(viewportListener);
+        scrollPane.viewportBoundsProperty().addListener(viewportListener);
+    }
+
+    private void detachFromScrollPane() {
+        if (scrollPane != null) {
+            scrollPane.vvalueProperty().removeListener(viewportListener);
+            scrollPane.viewportBoundsProperty().removeListener(viewportListener);
+            scrollPane = null;
+        }
+    }
+}
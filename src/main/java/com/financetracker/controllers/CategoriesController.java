@@ -1,9 +1,12 @@
 package com.financetracker.controllers;
 
+import com.financetracker.components.CardCell;
+import com.financetracker.components.VirtualCardGrid;
 import com.financetracker.models.Category;
 import com.financetracker.models.User;
 import com.financetracker.services.AuthService;
 import com.financetracker.services.CategoriesService;
+import com.financetracker.utils.ColorPalette;
 import com.financetracker.utils.SceneManager;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIcon;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIconView;
@@ -12,7 +15,6 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
-import javafx.scene.paint.Color;
 
 import java.util.List;
 
@@ -29,9 +31,9 @@ public class CategoriesController {
     @FXML private Label userEmailLabel;
     
     // Grids for categories
-    @FXML private GridPane expenseCategoriesGrid;
-    @FXML private GridPane incomeCategoriesGrid;
-    @FXML private GridPane universalCategoriesGrid;
+    @FXML private VirtualCardGrid<Category> expenseCategoriesGrid;
+    @FXML private VirtualCardGrid<Category> incomeCategoriesGrid;
+    @FXML private VirtualCardGrid<Category> universalCategoriesGrid;
     
     // Menu items
     @FXML private Button dashboardMenuItem;
@@ -73,11 +75,6 @@ public class CategoriesController {
      * Загрузка категорий
      */
     private void loadCategories() {
-        // Очистка grid
-        expenseCategoriesGrid.getChildren().clear();
-        incomeCategoriesGrid.getChildren().clear();
-        universalCategoriesGrid.getChildren().clear();
-        
         // Получение категорий по типам
         List<Category> expenseCategories = categoriesService.getCategoriesByType(Category.CategoryType.EXPENSE);
         List<Category> incomeCategories = categoriesService.getCategoriesByType(Category.CategoryType.INCOME);
@@ -92,71 +89,66 @@ public class CategoriesController {
     /**
      * Заполнение grid категориями
      */
-    private void fillCategoriesGrid(GridPane grid, List<Category> categories) {
-        int columns = 4;
-        int row = 0;
-        int col = 0;
-        
-        for (Category category : categories) {
-            VBox categoryCard = createCategoryCard(category);
-            
-            grid.add(categoryCard, col, row);
-            GridPane.setHgrow(categoryCard, Priority.ALWAYS);
-            GridPane.setVgrow(categoryCard, Priority.ALWAYS);
-            
-            col++;
-            if (col >= columns) {
-                col = 0;
-                row++;
-            }
-        }
+    private void fillCategoriesGrid(VirtualCardGrid<Category> grid, List<Category> categories) {
+        grid.setCellFactory(CategoryCardCell::new);
+        grid.setItems(categories);
     }
     
     /**
-     * Создание карточки категории
+     * Карточка категории, переиспользуемая сеткой при прокрутке
      */
-    private VBox createCategoryCard(Category category) {
-        VBox card = new VBox(12);
-        card.getStyleClass().add("category-card");
-        card.setAlignment(Pos.TOP_LEFT);
-        card.setPrefWidth(200);
-        card.setMaxWidth(Double.MAX_VALUE);
-        
-        // Иконка категории
-        StackPane iconContainer = new StackPane();
-        iconContainer.setPrefSize(48, 48);
-        iconContainer.setStyle(
-            "-fx-background-color: " + category.getColor() + "20; " +
-            "-fx-background-radius: 12px;"
-        );
-        
-        FontAwesomeIconView icon = new FontAwesomeIconView(
-            FontAwesomeIcon.valueOf(category.getIcon())
-        );
-        icon.setSize("24");
-        icon.setFill(Color.web(category.getColor()));
-        
-        iconContainer.getChildren().add(icon);
+    private class CategoryCardCell implements CardCell<Category> {
         
-        // Название категории
-        Label nameLabel = new Label(category.getName());
-        nameLabel.getStyleClass().add("category-name");
+        private final VBox card = new VBox(12);
+        private final StackPane iconContainer = new StackPane();
+        private final FontAwesomeIconView icon = new FontAwesomeIconView();
+        private final Label nameLabel = new Label();
+        private final Label countLabel = new Label();
+        private final Label amountLabel = new Label();
+        private Category category;
         
-        // Количество операций
-        Label countLabel = new Label(category.getOperationsCount() + " операций");
-        countLabel.getStyleClass().add("category-count");
-        
-        // Сумма
-        Label amountLabel = new Label(formatCurrency(category.getTotalAmount()));
-        amountLabel.getStyleClass().add("category-amount");
-        
-        // Сборка карточки
-        card.getChildren().addAll(iconContainer, nameLabel, countLabel, amountLabel);
+        CategoryCardCell() {
+            card.getStyleClass().add("category-card");
+            card.setAlignment(Pos.TOP_LEFT);
+            card.setPrefWidth(200);
+            card.setMaxWidth(Double.MAX_VALUE);
+            
+            // Иконка категории
+            iconContainer.setPrefSize(48, 48);
+            icon.setSize("24");
+            iconContainer.getChildren().add(icon);
+            
+            nameLabel.getStyleClass().add("category-name");
+            countLabel.getStyleClass().add("category-count");
+            amountLabel.getStyleClass().add("category-amount");
+            
+            // Сборка карточки
+            card.getChildren().addAll(iconContainer, nameLabel, countLabel, amountLabel);
+            
+            // Клик на карточку
+            card.setOnMouseClicked(event -> handleCategoryClick(category));
+        }
         
-        // Клик на карточку
-        card.setOnMouseClicked(event -> handleCategoryClick(category));
+        @Override
+        public Region getNode() {
+            return card;
+        }
         
-        return card;
+        @Override
+        public void updateItem(Category item) {
+            this.category = item;
+            
+            iconContainer.setStyle(
+                "-fx-background-color: " + item.getColor() + "20; " +
+                "-fx-background-radius: 12px;"
+            );
+            icon.setIcon(FontAwesomeIcon.valueOf(item.getIcon()));
+            icon.setFill(ColorPalette.color(item.getColor()));
+            
+            nameLabel.setText(item.getName());
+            countLabel.setText(item.getOperationsCount() + " операций");
+            amountLabel.setText(formatCurrency(item.getTotalAmount()));
+        }
     }
     
     /**
@@ -1,12 +1,15 @@
 package com.financetracker.controllers;
 
+import com.financetracker.models.Category;
 import com.financetracker.models.User;
 import com.financetracker.services.AuthService;
+import com.financetracker.services.CategoriesService;
 import com.financetracker.services.DashboardService;
 import com.financetracker.utils.SceneManager;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Cursor;
 import javafx.scene.chart.*;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
@@ -16,6 +19,7 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 
 import java.text.NumberFormat;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -54,11 +58,13 @@ public class DashboardController {
     
     private final AuthService authService;
     private final DashboardService dashboardService;
+    private final CategoriesService categoriesService;
     private final NumberFormat currencyFormat;
     
     public DashboardController() {
         this.authService = AuthService.getInstance();
         this.dashboardService = DashboardService.getInstance();
+        this.categoriesService = CategoriesService.getInstance();
         this.currencyFormat = NumberFormat.getCurrencyInstance(new Locale("ru", "RU"));
     }
     
@@ -105,46 +111,81 @@ public class DashboardController {
      * Настройка круговой диаграммы расходов по категориям
      */
     private void setupCategoryPieChart() {
+        // Настройка внешнего вида
+        categoryPieChart.setLabelsVisible(false);
+        categoryPieChart.setStartAngle(90);
+        
+        showCategoryLevel(null);
+    }
+    
+    /**
+     * Отображение уровня дерева категорий (parentId == null — верхний уровень).
+     * Клик по сектору с подкатегориями открывает следующий уровень.
+     */
+    private void showCategoryLevel(String parentId) {
         categoryPieChart.getData().clear();
         categoryLegend.getChildren().clear();
         
+        if (parentId != null) {
+            Category parent = categoriesService.getCategoryById(parentId);
+            categoryLegend.getChildren().add(createBackItem(parent));
+        }
+        
         // Получение данных
-        Map<String, Double> categories = dashboardService.getCategoryExpenses();
+        List<Category> categories = dashboardService.getCategoryExpenseBreakdown(parentId);
         
         // Цвета для категорий
         String[] colors = {
-            "#3B82F6", // Продукты - синий
-            "#8B5CF6", // Транспорт - фиолетовый
-            "#EC4899", // Развлечения - розовый
-            "#10B981", // Здоровье - зеленый
-            "#F59E0B", // Одежда - оранжевый
-            "#6B7280"  // Прочее - серый
+            "#3B82F6", // синий
+            "#8B5CF6", // фиолетовый
+            "#EC4899", // розовый
+            "#10B981", // зеленый
+            "#F59E0B", // оранжевый
+            "#6B7280"  // серый
         };
         
         int colorIndex = 0;
         
-        for (Map.Entry<String, Double> entry : categories.entrySet()) {
-            String category = entry.getKey();
-            Double amount = entry.getValue();
-            
+        for (Category category : categories) {
             // Добавление данных в диаграмму
-            PieChart.Data slice = new PieChart.Data(category, amount);
+            PieChart.Data slice = new PieChart.Data(category.getName(), category.getTotalAmount());
             categoryPieChart.getData().add(slice);
             
             // Создание элемента легенды
             HBox legendItem = createLegendItem(
-                category, 
-                amount, 
+                category.getName(), 
+                category.getTotalAmount(), 
                 colors[colorIndex % colors.length]
             );
             categoryLegend.getChildren().add(legendItem);
             
+            if (categoriesService.hasSubcategories(category.getId())) {
+                slice.getNode().setCursor(Cursor.HAND);
+                slice.getNode().setOnMouseClicked(event -> showCategoryLevel(category.getId()));
+                legendItem.setCursor(Cursor.HAND);
+                legendItem.setOnMouseClicked(event -> showCategoryLevel(category.getId()));
+            }
+            
             colorIndex++;
         }
+    }
+    
+    /**
+     * Элемент легенды для возврата на уровень выше
+     */
+    private HBox createBackItem(Category parent) {
+        HBox item = new HBox(10);
+        item.setAlignment(Pos.CENTER_LEFT);
+        item.getStyleClass().add("legend-item");
+        item.setCursor(Cursor.HAND);
         
-        // Настройка внешнего вида
-        categoryPieChart.setLabelsVisible(false);
-        categoryPieChart.setStartAngle(90);
+        Label backLabel = new Label("← " + (parent != null ? parent.getName() : "Назад"));
+        backLabel.getStyleClass().add("legend-label");
+        item.getChildren().add(backLabel);
+        
+        String grandParentId = parent != null ? parent.getParentId() : null;
+        item.setOnMouseClicked(event -> showCategoryLevel(grandParentId));
+        return item;
     }
     
     /**
@@ -1,9 +1,14 @@
 package com.financetracker.controllers;
 
+import com.financetracker.components.CardCell;
+import com.financetracker.components.SegmentedProgressRing;
+import com.financetracker.components.VirtualCardGrid;
+import com.financetracker.models.AmortizationEntry;
 import com.financetracker.models.Goal;
 import com.financetracker.models.User;
 import com.financetracker.services.AuthService;
 import com.financetracker.services.GoalsService;
+import com.financetracker.utils.ColorPalette;
 import com.financetracker.utils.SceneManager;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIconView;
 import javafx.fxml.FXML;
@@ -11,10 +16,6 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
-import javafx.scene.shape.Arc;
-import javafx.scene.shape.ArcType;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.StrokeLineCap;
 
 import java.util.List;
 
@@ -31,7 +32,7 @@ public class GoalsDebtsController {
     @FXML private Label userEmailLabel;
 
     // Content
-    @FXML private GridPane goalsGrid;
+    @FXML private VirtualCardGrid<Goal> goalsGrid;
 
     // Menu items
     @FXML private Button dashboardMenuItem;
@@ -64,165 +65,124 @@ public class GoalsDebtsController {
     }
 
     private void loadGoals() {
-        goalsGrid.getChildren().clear();
+        goalsGrid.setCellFactory(GoalCardCell::new);
+        goalsGrid.setItems(goalsService.getAllGoals());
+    }
 
-        List<Goal> goals = goalsService.getAllGoals();
+    /**
+     * Карточка цели, переиспользуемая сеткой при прокрутке
+     */
+    private class GoalCardCell implements CardCell<Goal> {
 
-        int columns = 2;
-        int row = 0;
-        int col = 0;
+        private final VBox card = new VBox(18);
+        private final Label iconLabel = new Label();
+        private final Label nameLabel = new Label();
+        private final Label daysLabel = new Label();
+        private final SegmentedProgressRing progressRing = new SegmentedProgressRing("достигнуто");
+        private final Label savedValue = new Label();
+        private final Label remainingValue = new Label();
+        private final Label targetValue = new Label();
+        private final Button topUpButton = new Button("Пополнить");
 
-        for (Goal goal : goals) {
-            VBox card = createGoalCard(goal);
-            goalsGrid.add(card, col, row);
-            GridPane.setHgrow(card, Priority.ALWAYS);
+        GoalCardCell() {
+            card.getStyleClass().add("goal-card");
 
-            col++;
-            if (col >= columns) {
-                col = 0;
-                row++;
-            }
-        }
-    }
+            HBox header = new HBox(12);
+            header.setAlignment(Pos.CENTER_LEFT);
 
-    private VBox createGoalCard(Goal goal) {
-        VBox card = new VBox(18);
-        card.getStyleClass().add("goal-card");
+            iconLabel.getStyleClass().add("goal-icon");
 
-        HBox header = new HBox(12);
-        header.setAlignment(Pos.CENTER_LEFT);
+            VBox titleBox = new VBox(4);
+            nameLabel.getStyleClass().add("goal-title");
 
-        Label iconLabel = new Label(goal.getIcon());
-        iconLabel.getStyleClass().add("goal-icon");
+            HBox daysBox = new HBox(6);
+            daysBox.setAlignment(Pos.CENTER_LEFT);
+            FontAwesomeIconView clockIcon = new FontAwesomeIconView();
+            clockIcon.setGlyphName("CLOCK_ALT");
+            clockIcon.setSize("12");
+            clockIcon.getStyleClass().add("goal-days-icon");
 
-        VBox titleBox = new VBox(4);
-        Label nameLabel = new Label(goal.getName());
-        nameLabel.getStyleClass().add("goal-title");
+            daysLabel.getStyleClass().add("goal-days");
+            daysBox.getChildren().addAll(clockIcon, daysLabel);
 
-        HBox daysBox = new HBox(6);
-        daysBox.setAlignment(Pos.CENTER_LEFT);
-        FontAwesomeIconView clockIcon = new FontAwesomeIconView();
-        clockIcon.setGlyphName("CLOCK_ALT");
-        clockIcon.setSize("12");
-        clockIcon.getStyleClass().add("goal-days-icon");
+            titleBox.getChildren().addAll(nameLabel, daysBox);
 
-        Label daysLabel = new Label(goal.getDaysRemaining() + " дней осталось");
-        daysLabel.getStyleClass().add("goal-days");
-        daysBox.getChildren().addAll(clockIcon, daysLabel);
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
 
-        titleBox.getChildren().addAll(nameLabel, daysBox);
+            Button editButton = createIconActionButton("PENCIL_SQUARE", "Редактирование цели");
+            Button deleteButton = createIconActionButton("TRASH", "Удаление цели");
+            deleteButton.getStyleClass().add("goal-delete-button");
 
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
+            header.getChildren().addAll(iconLabel, titleBox, spacer, editButton, deleteButton);
 
-        Button editButton = createIconActionButton("PENCIL_SQUARE", "Редактирование цели");
-        Button deleteButton = createIconActionButton("TRASH", "Удаление цели");
-        deleteButton.getStyleClass().add("goal-delete-button");
+            StackPane progressPane = new StackPane(progressRing);
+            VBox.setVgrow(progressPane, Priority.NEVER);
 
-        header.getChildren().addAll(iconLabel, titleBox, spacer, editButton, deleteButton);
+            HBox metricsRow = new HBox(50);
+            metricsRow.setAlignment(Pos.CENTER_LEFT);
 
-        StackPane progressPane = createSegmentedProgress(goal);
-        VBox.setVgrow(progressPane, Priority.NEVER);
+            VBox savedBox = new VBox(4);
+            Label savedCaption = new Label("Накоплено");
+            savedCaption.getStyleClass().add("goal-metric-caption");
+            savedValue.getStyleClass().addAll("goal-metric-value", "goal-metric-saved");
+            savedBox.getChildren().addAll(savedCaption, savedValue);
 
-        HBox metricsRow = new HBox(50);
-        metricsRow.setAlignment(Pos.CENTER_LEFT);
+            VBox remainingBox = new VBox(4);
+            Label remainingCaption = new Label("Осталось");
+            remainingCaption.getStyleClass().add("goal-metric-caption");
+            remainingValue.getStyleClass().add("goal-metric-value");
+            remainingBox.getChildren().addAll(remainingCaption, remainingValue);
 
-        VBox savedBox = new VBox(4);
-        Label savedCaption = new Label("Накоплено");
-        savedCaption.getStyleClass().add("goal-metric-caption");
-        Label savedValue = new Label(formatCurrency(goal.getCurrentAmount()));
-        savedValue.getStyleClass().addAll("goal-metric-value", "goal-metric-saved");
-        savedBox.getChildren().addAll(savedCaption, savedValue);
+            metricsRow.getChildren().addAll(savedBox, remainingBox);
 
-        VBox remainingBox = new VBox(4);
-        Label remainingCaption = new Label("Осталось");
-        remainingCaption.getStyleClass().add("goal-metric-caption");
-        Label remainingValue = new Label(formatCurrency(goal.getRemaining()));
-        remainingValue.getStyleClass().add("goal-metric-value");
-        remainingBox.getChildren().addAll(remainingCaption, remainingValue);
+            Separator separator = new Separator();
 
-        metricsRow.getChildren().addAll(savedBox, remainingBox);
+            VBox targetBox = new VBox(4);
+            Label targetCaption = new Label("Целевая сумма");
+            targetCaption.getStyleClass().add("goal-metric-caption");
+            targetValue.getStyleClass().addAll("goal-metric-value", "goal-metric-target");
+            targetBox.getChildren().addAll(targetCaption, targetValue);
 
-        Separator separator = new Separator();
+            topUpButton.getStyleClass().add("goal-topup-button");
+            topUpButton.setMaxWidth(Double.MAX_VALUE);
+            topUpButton.setOnAction(e -> showComingSoon("Пополнение цели"));
 
-        VBox targetBox = new VBox(4);
-        Label targetCaption = new Label("Целевая сумма");
-        targetCaption.getStyleClass().add("goal-metric-caption");
-        Label targetValue = new Label(formatCurrency(goal.getTargetAmount()));
-        targetValue.getStyleClass().addAll("goal-metric-value", "goal-metric-target");
-        targetBox.getChildren().addAll(targetCaption, targetValue);
+            card.getChildren().addAll(header, progressPane, metricsRow, separator, targetBox, topUpButton);
+        }
 
-        Button topUpButton = new Button("Пополнить");
-        topUpButton.getStyleClass().add("goal-topup-button");
-        topUpButton.setStyle("-fx-background-color: linear-gradient(to right, " + goal.getColor() + ", " + lightenColor(goal.getColor()) + ");");
-        topUpButton.setMaxWidth(Double.MAX_VALUE);
-        topUpButton.setOnAction(e -> showComingSoon("Пополнение цели"));
+        @Override
+        public Region getNode() {
+            return card;
+        }
 
-        card.getChildren().addAll(header, progressPane, metricsRow, separator, targetBox, topUpButton);
-        return card;
+        @Override
+        public void updateItem(Goal goal) {
+            iconLabel.setText(goal.getIcon());
+            nameLabel.setText(goal.getName());
+            daysLabel.setText(goal.isDebt() ? createPayoffText(goal) : goal.getDaysRemaining() + " дней осталось");
+            progressRing.update(goal.getProgress(), goal.getColor());
+            savedValue.setText(formatCurrency(goal.getCurrentAmount()));
+            remainingValue.setText(formatCurrency(goal.getRemaining()));
+            targetValue.setText(formatCurrency(goal.getTargetAmount()));
+            topUpButton.setStyle("-fx-background-color: linear-gradient(to right, " + goal.getColor() + ", " + ColorPalette.gradientEnd(goal.getColor()) + ");");
+        }
     }
 
     /**
-     * Кольцевой segmented-progress (4 сегмента) с динамическим заполнением по проценту цели.
+     * Срок погашения долга по графику с обязательным платежом
      */
-    private StackPane createSegmentedProgress(Goal goal) {
-        StackPane wrapper = new StackPane();
-        wrapper.setPrefSize(220, 220);
-
-        Pane ringPane = new Pane();
-        ringPane.setPrefSize(170, 170);
-
-        double progress = Math.max(0.0, Math.min(goal.getProgress(), 100.0)) / 100.0;
-
-        double center = 85;
-        double radius = 67;
-        double strokeWidth = 14;
-        double segmentLength = 72; // 4 * 72 = 288 degrees
-        double gap = 18;           // 4 * 18 = 72 degrees
-
-        for (int i = 0; i < 4; i++) {
-            double startAngle = 90 - (i * (segmentLength + gap));
-
-            Arc track = new Arc(center, center, radius, radius, startAngle, -segmentLength);
-            track.setFill(null);
-            track.setStrokeWidth(strokeWidth);
-            track.setStrokeLineCap(StrokeLineCap.ROUND);
-            track.setType(ArcType.OPEN);
-            track.getStyleClass().add("goal-ring-track");
-
-            double segmentStart = i * 0.25;
-            double segmentProgress = (progress - segmentStart) / 0.25;
-            segmentProgress = Math.max(0.0, Math.min(segmentProgress, 1.0));
-
-            Arc fill = new Arc(center, center, radius, radius, startAngle, -(segmentLength * segmentProgress));
-            fill.setFill(null);
-            fill.setStrokeWidth(strokeWidth);
-            fill.setStrokeLineCap(StrokeLineCap.ROUND);
-            fill.setType(ArcType.OPEN);
-            fill.setStyle("-fx-stroke: " + goal.getColor() + ";");
-
-            ringPane.getChildren().addAll(track, fill);
+    private String createPayoffText(Goal debt) {
+        List<AmortizationEntry> schedule = goalsService.getAmortizationSchedule(debt);
+        if (schedule.isEmpty()) {
+            return "Долг погашен";
         }
 
-        Circle innerCircle = new Circle(center, center, 45);
-        innerCircle.getStyleClass().add("goal-ring-inner");
-        ringPane.getChildren().add(innerCircle);
-
-        VBox centerContent = new VBox(4);
-        centerContent.setAlignment(Pos.CENTER);
-        centerContent.setMouseTransparent(true);
-
-        Label progressLabel = new Label(String.format("%.0f%%", Math.min(goal.getProgress(), 100.0)));
-        progressLabel.getStyleClass().add("goal-progress-value");
-        progressLabel.setStyle("-fx-text-fill: " + goal.getColor() + ";");
-
-        Label progressText = new Label("достигнуто");
-        progressText.getStyleClass().add("goal-progress-caption");
-
-        centerContent.getChildren().addAll(progressLabel, progressText);
-
-        wrapper.getChildren().addAll(ringPane, centerContent);
-        return wrapper;
+        AmortizationEntry last = schedule.get(schedule.size() - 1);
+        if (last.getBalance() > 0) {
+            return "Платёж не покрывает проценты";
+        }
+        return "Погашение через " + schedule.size() + " мес.";
     }
 
     private Button createIconActionButton(String glyphName, String feature) {
@@ -239,16 +199,6 @@ public class GoalsDebtsController {
         return button;
     }
 
-    private String lightenColor(String baseHex) {
-        if ("#3B82F6".equalsIgnoreCase(baseHex)) {
-            return "#2563EB";
-        }
-        if ("#8B5CF6".equalsIgnoreCase(baseHex)) {
-            return "#7C3AED";
-        }
-        return baseHex;
-    }
-
     private String formatCurrency(double amount) {
         return String.format("₽ %,.0f", amount);
     }
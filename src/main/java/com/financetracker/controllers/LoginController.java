@@ -1,8 +1,12 @@
 package com.financetracker.controllers;
 
 import com.financetracker.services.AuthService;
+import com.financetracker.services.CategoriesService;
+import com.financetracker.services.DashboardService;
+import com.financetracker.services.OperationsService;
 import com.financetracker.utils.SceneManager;
 import com.financetracker.utils.ValidationUtils;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
@@ -20,6 +24,9 @@ public class LoginController {
     @FXML
     private CheckBox rememberMeCheckbox;
     
+    @FXML
+    private Button loginButton;
+    
     private final AuthService authService;
     
     public LoginController() {
@@ -33,6 +40,120 @@ public class LoginController {
     public void initialize() {
         setupValidation();
         loadRememberedCredentials();
+        restoreSession();
+    }
+    
+    /**
+     * Вход без пароля по сеансу, сохранённому при прошлом запуске
+     */
+    private void restoreSession() {
+        if (!authService.hasSavedSession()) {
+            return;
+        }
+        
+        Task<Boolean> task = new Task<>() {
+            @Override
+            protected Boolean call() {
+                return authService.restoreSession() && loadUserData();
+            }
+        };
+        
+        task.setOnSucceeded(e -> {
+            loginButton.setDisable(false);
+            if (task.getValue()) {
+                openDashboard(null);
+            }
+        });
+        task.setOnFailed(e -> loginButton.setDisable(false));
+        
+        loginButton.setDisable(true);
+        Thread thread = new Thread(task, "session-restore");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Загрузка данных вошедшего пользователя в фоновом потоке входа: журнал операций
+     * расшифровывается и воспроизводится здесь, а не на потоке FX при показе главного экрана.
+     * Если данные не читаются, вход отменяется, а ошибка показывается пользователю.
+     */
+    private boolean loadUserData() {
+        if (authService.needsPreviousPassword()) {
+            // Ключ зашифрован прежним паролем: данные загрузятся после его ввода
+            return true;
+        }
+        try {
+            OperationsService.getInstance();
+            CategoriesService.getInstance();
+            DashboardService.getInstance();
+        } catch (RuntimeException e) {
+            authService.logout();
+            throw e;
+        }
+        return true;
+    }
+    
+    /**
+     * Переход на главный экран; если локальные данные зашифрованы прежним паролем,
+     * сначала запрашивается он
+     */
+    private void openDashboard(String password) {
+        if (authService.needsPreviousPassword()) {
+            askPreviousPassword(password);
+        } else {
+            SceneManager.switchScene("dashboard");
+        }
+    }
+    
+    /**
+     * Запрос прежнего пароля и перешифровка им ключа локальных данных (пароль сменили
+     * на бекенде или на другом устройстве). Без прежнего пароля вход отменяется.
+     */
+    private void askPreviousPassword(String password) {
+        PasswordField previousField = new PasswordField();
+        previousField.setPromptText("Прежний пароль");
+        
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Локальные данные");
+        dialog.setHeaderText("Локальные данные зашифрованы прежним паролем.\n"
+            + "Введите его, чтобы перешифровать данные текущим паролем.");
+        dialog.getDialogPane().setContent(previousField);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK || previousField.getText().isEmpty()) {
+            authService.logout();
+            showError("Без прежнего пароля локальные данные недоступны");
+            return;
+        }
+        String previous = previousField.getText();
+        
+        Task<Boolean> task = new Task<>() {
+            @Override
+            protected Boolean call() {
+                return authService.unlockWithPreviousPassword(previous, password) && loadUserData();
+            }
+        };
+        
+        task.setOnSucceeded(e -> {
+            loginButton.setDisable(false);
+            if (task.getValue()) {
+                SceneManager.switchScene("dashboard");
+            } else {
+                showError("Прежний пароль не подходит");
+                askPreviousPassword(password);
+            }
+        });
+        task.setOnFailed(e -> {
+            loginButton.setDisable(false);
+            authService.logout();
+            showError("Ошибка при входе: " + task.getException().getMessage());
+            task.getException().printStackTrace();
+        });
+        
+        loginButton.setDisable(true);
+        Thread thread = new Thread(task, "ledger-unlock");
+        thread.setDaemon(true);
+        thread.start();
     }
     
     /**
@@ -82,11 +203,17 @@ public class LoginController {
             return;
         }
         
-        // Попытка входа
-        try {
-            boolean success = authService.login(email, password);
-            
-            if (success) {
+        // Проверка пароля занимает сотни миллисекунд — в фоне, чтобы окно не замирало
+        Task<Boolean> task = new Task<>() {
+            @Override
+            protected Boolean call() {
+                return authService.login(email, password) && loadUserData();
+            }
+        };
+        
+        task.setOnSucceeded(e -> {
+            loginButton.setDisable(false);
+            if (task.getValue()) {
                 // Сохранение email если выбрано "Запомнить меня"
                 if (rememberMeCheckbox.isSelected()) {
                     authService.rememberEmail(email);
@@ -95,16 +222,22 @@ public class LoginController {
                 }
                 
                 // Переход на главный экран
-                SceneManager.switchScene("dashboard");
+                openDashboard(password);
                 
             } else {
                 showError("Неверный email или пароль");
             }
-            
-        } catch (Exception e) {
-            showError("Ошибка при входе: " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
+        task.setOnFailed(e -> {
+            loginButton.setDisable(false);
+            showError("Ошибка при входе: " + task.getException().getMessage());
+            task.getException().printStackTrace();
+        });
+        
+        loginButton.setDisable(true);
+        Thread thread = new Thread(task, "login");
+        thread.setDaemon(true);
+        thread.start();
     }
     
     /**
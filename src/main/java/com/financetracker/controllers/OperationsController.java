@@ -1,27 +1,47 @@
 package com.financetracker.controllers;
 
+import com.financetracker.exporter.ExportFormat;
+import com.financetracker.exporter.OperationsExporter;
+import com.financetracker.importer.StatementImporter;
+import com.financetracker.importer.ImportResult;
+import com.financetracker.models.Category;
+import com.financetracker.models.CategorySuggestion;
 import com.financetracker.models.Operation;
 import com.financetracker.models.User;
 import com.financetracker.services.AuthService;
+import com.financetracker.services.CategoriesService;
+import com.financetracker.services.CategorySuggester;
+import com.financetracker.services.OperationFilter;
 import com.financetracker.services.OperationsService;
+import com.financetracker.services.RulesService;
 import com.financetracker.utils.SceneManager;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
+import javafx.stage.FileChooser;
+import javafx.util.StringConverter;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIcon;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIconView;
 
+import java.io.File;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Контроллер для экрана операций
@@ -61,6 +81,9 @@ public class OperationsController {
     
     private final AuthService authService;
     private final OperationsService operationsService;
+    private final CategoriesService categoriesService;
+    private final RulesService rulesService;
+    private final CategorySuggester categorySuggester;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     private ObservableList<Operation> allOperations;
@@ -70,9 +93,14 @@ public class OperationsController {
     private int itemsPerPage = 10;
     private int totalPages = 1;
     
+    private static final int SUGGESTION_LIMIT = 3;
+    
     public OperationsController() {
         this.authService = AuthService.getInstance();
         this.operationsService = OperationsService.getInstance();
+        this.categoriesService = CategoriesService.getInstance();
+        this.rulesService = RulesService.getInstance();
+        this.categorySuggester = CategorySuggester.getInstance();
         this.allOperations = FXCollections.observableArrayList();
         this.filteredOperations = FXCollections.observableArrayList();
     }
@@ -109,21 +137,41 @@ public class OperationsController {
         typeFilterComboBox.setValue("Все операции");
         typeFilterComboBox.setOnAction(e -> applyFilters());
         
-        // Фильтр по категории
-        categoryFilterComboBox.getItems().addAll(
-            "Все категории",
-            "Продукты",
-            "Транспорт",
-            "Развлечения",
-            "Здоровье",
-            "Одежда",
-            "Зарплата",
-            "Фриланс"
-        );
+        // Фильтр по категории; список заполняется в refreshCategoryFilter()
         categoryFilterComboBox.setValue("Все категории");
         categoryFilterComboBox.setOnAction(e -> applyFilters());
     }
     
+    /**
+     * Список категорий фильтра: категории приложения (подкатегории — после родителя)
+     * и категории из импортированных выписок, которых нет среди категорий приложения
+     */
+    private void refreshCategoryFilter() {
+        List<String> names = new ArrayList<>();
+        names.add("Все категории");
+        
+        Set<String> known = new HashSet<>();
+        for (Category root : categoriesService.getSubcategories(null)) {
+            names.add(root.getName());
+            known.add(root.getName().toLowerCase(Locale.ROOT));
+            for (Category child : categoriesService.getSubcategories(root.getId())) {
+                names.add(child.getName());
+                known.add(child.getName().toLowerCase(Locale.ROOT));
+            }
+        }
+        
+        allOperations.stream()
+            .map(Operation::getCategory)
+            .filter(name -> name != null && !known.contains(name.toLowerCase(Locale.ROOT)))
+            .distinct()
+            .sorted()
+            .forEach(names::add);
+        
+        String selected = categoryFilterComboBox.getValue();
+        categoryFilterComboBox.getItems().setAll(names);
+        categoryFilterComboBox.setValue(names.contains(selected) ? selected : "Все категории");
+    }
+    
     /**
      * Настройка таблицы
      */
@@ -273,10 +321,8 @@ public class OperationsController {
     private void loadOperations() {
         List<Operation> operations = operationsService.getAllOperations();
         allOperations.setAll(operations);
-        filteredOperations.setAll(operations);
-        
-        updatePagination();
-        updateTable();
+        refreshCategoryFilter();
+        applyFilters();
     }
     
     /**
@@ -292,32 +338,22 @@ public class OperationsController {
      * Применение фильтров
      */
     private void applyFilters() {
-        String searchText = tableSearchField.getText().toLowerCase();
         String typeFilter = typeFilterComboBox.getValue();
         String categoryFilter = categoryFilterComboBox.getValue();
-        
-        filteredOperations.setAll(
-            allOperations.stream()
-                .filter(op -> {
-                    // Фильтр по тексту поиска
-                    boolean matchesSearch = searchText.isEmpty() ||
-                        op.getComment().toLowerCase().contains(searchText) ||
-                        op.getCategory().toLowerCase().contains(searchText);
-                    
-                    // Фильтр по типу
-                    boolean matchesType = typeFilter.equals("Все операции") ||
-                        (typeFilter.equals("Доходы") && op.getType() == Operation.OperationType.INCOME) ||
-                        (typeFilter.equals("Расходы") && op.getType() == Operation.OperationType.EXPENSE);
-                    
-                    // Фильтр по категории
-                    boolean matchesCategory = categoryFilter.equals("Все категории") ||
-                        op.getCategory().equals(categoryFilter);
-                    
-                    return matchesSearch && matchesType && matchesCategory;
-                })
-                .collect(Collectors.toList())
+        Operation.OperationType type = switch (typeFilter) {
+            case "Доходы" -> Operation.OperationType.INCOME;
+            case "Расходы" -> Operation.OperationType.EXPENSE;
+            default -> null;
+        };
+        OperationFilter filter = OperationFilter.of(
+            tableSearchField.getText(),
+            type,
+            categoryFilter == null || categoryFilter.equals("Все категории") ? null : categoryFilter,
+            categoriesService
         );
         
+        filteredOperations.setAll(filter.apply(allOperations));
+        
         currentPage = 1;
         updatePagination();
         updateTable();
@@ -371,7 +407,115 @@ public class OperationsController {
     
     @FXML
     private void handleAddOperation() {
-        showComingSoon("Добавление операции");
+        DatePicker datePicker = new DatePicker(LocalDate.now());
+        ComboBox<Operation.OperationType> typeBox = new ComboBox<>(
+            FXCollections.observableArrayList(Operation.OperationType.values()));
+        typeBox.setValue(Operation.OperationType.EXPENSE);
+        typeBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Operation.OperationType type) {
+                return type == null ? "" : type.getDisplayName();
+            }
+            
+            @Override
+            public Operation.OperationType fromString(String text) {
+                return null;
+            }
+        });
+        
+        ComboBox<String> categoryBox = new ComboBox<>(FXCollections.observableArrayList(
+            categoriesService.getAllCategories().stream().map(Category::getName).sorted().toList()));
+        categoryBox.setEditable(true);
+        categoryBox.setMaxWidth(Double.MAX_VALUE);
+        TextField commentField = new TextField();
+        TextField amountField = new TextField();
+        
+        // Подсказки категорий: сначала правило, затем обученная модель
+        HBox suggestionsBox = new HBox(6);
+        suggestionsBox.setAlignment(Pos.CENTER_LEFT);
+        Runnable updateSuggestions = () -> {
+            Operation draft = new Operation(null, datePicker.getValue(), typeBox.getValue(), null,
+                commentField.getText(), parseAmount(amountField.getText()));
+            suggestionsBox.getChildren().clear();
+            
+            Set<String> shown = new HashSet<>();
+            String ruleCategory = rulesService.categorize(draft);
+            if (ruleCategory != null && shown.add(ruleCategory)) {
+                suggestionsBox.getChildren().add(suggestionButton(ruleCategory, "по правилу", categoryBox));
+            }
+            for (CategorySuggestion suggestion : categorySuggester.suggest(draft, SUGGESTION_LIMIT)) {
+                if (shown.size() < SUGGESTION_LIMIT && shown.add(suggestion.getCategory())) {
+                    suggestionsBox.getChildren().add(suggestionButton(suggestion.getCategory(),
+                        Math.round(suggestion.getProbability() * 100) + "%", categoryBox));
+                }
+            }
+        };
+        commentField.textProperty().addListener((obs, oldValue, newValue) -> updateSuggestions.run());
+        amountField.textProperty().addListener((obs, oldValue, newValue) -> updateSuggestions.run());
+        typeBox.valueProperty().addListener((obs, oldValue, newValue) -> updateSuggestions.run());
+        
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        grid.addRow(0, new Label("Дата"), datePicker);
+        grid.addRow(1, new Label("Тип"), typeBox);
+        grid.addRow(2, new Label("Комментарий"), commentField);
+        grid.addRow(3, new Label("Сумма"), amountField);
+        grid.addRow(4, new Label("Категория"), categoryBox);
+        grid.add(suggestionsBox, 1, 5);
+        
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Новая операция");
+        dialog.setHeaderText(null);
+        dialog.getDialogPane().setContent(grid);
+        ButtonType saveButton = new ButtonType("Сохранить", ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(saveButton, ButtonType.CANCEL);
+        
+        Button save = (Button) dialog.getDialogPane().lookupButton(saveButton);
+        save.addEventFilter(ActionEvent.ACTION, event -> {
+            String category = categoryBox.getEditor().getText();
+            if (datePicker.getValue() == null || parseAmount(amountField.getText()) <= 0
+                    || category == null || category.isBlank()) {
+                event.consume();
+                Alert alert = new Alert(Alert.AlertType.WARNING);
+                alert.setTitle("Новая операция");
+                alert.setHeaderText("Заполните дату, категорию и положительную сумму");
+                alert.showAndWait();
+            }
+        });
+        
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != saveButton) {
+            return;
+        }
+        
+        Operation operation = new Operation(
+            "manual-" + UUID.randomUUID(),
+            datePicker.getValue(),
+            typeBox.getValue(),
+            categoryBox.getEditor().getText().strip(),
+            commentField.getText().strip(),
+            parseAmount(amountField.getText())
+        );
+        if (operationsService.addOperation(operation)) {
+            loadOperations();
+        }
+    }
+    
+    private Button suggestionButton(String category, String hint, ComboBox<String> categoryBox) {
+        Button button = new Button(category + " · " + hint);
+        button.setOnAction(e -> categoryBox.getEditor().setText(category));
+        return button;
+    }
+    
+    /**
+     * Сумма из поля ввода (запятая или точка, пробелы игнорируются); 0 — если не число
+     */
+    private static double parseAmount(String text) {
+        try {
+            return Math.abs(Double.parseDouble(text.replace(" ", "").replace(',', '.')));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
     
     @FXML
@@ -379,9 +523,181 @@ public class OperationsController {
         showComingSoon("Расширенные фильтры");
     }
     
+    @FXML
+    private void handleImport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Импорт выписки");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("Выписки", "*.csv", "*.txt", "*.ofx", "*.qfx", "*.qif", "*.xml"),
+            new FileChooser.ExtensionFilter("Все файлы", "*.*")
+        );
+        
+        File file = chooser.showOpenDialog(operationsTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        // Разбор идёт в фоне, таблица обновляется по завершении
+        Task<ImportResult> task = new Task<>() {
+            @Override
+            protected ImportResult call() throws Exception {
+                return new StatementImporter().importFile(file.toPath(), progress -> updateProgress(progress, 1.0));
+            }
+        };
+        
+        // Окно прогресса; импорт применяется пакетами, поэтому отмены нет — окно закрывается по завершении
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(320);
+        progressBar.progressProperty().bind(task.progressProperty());
+        
+        Alert progressAlert = new Alert(Alert.AlertType.NONE);
+        progressAlert.setTitle("Импорт");
+        progressAlert.setHeaderText("Импорт выписки " + file.getName());
+        progressAlert.getDialogPane().setContent(progressBar);
+        
+        task.setOnSucceeded(e -> {
+            closeProgress(progressAlert);
+            loadOperations();
+            showImportResult(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            closeProgress(progressAlert);
+            loadOperations();
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Импорт");
+            alert.setHeaderText("Не удалось импортировать выписку");
+            alert.setContentText(task.getException().getMessage());
+            alert.showAndWait();
+        });
+        
+        Thread thread = new Thread(task, "statement-import");
+        thread.setDaemon(true);
+        thread.start();
+        progressAlert.show();
+    }
+    
+    /**
+     * Закрытие окна прогресса без кнопок: без результата Dialog без кнопки отмены не закрывается
+     */
+    private static void closeProgress(Alert progressAlert) {
+        progressAlert.setResult(ButtonType.CLOSE);
+        progressAlert.close();
+    }
+    
+    /**
+     * Показ итогов импорта
+     */
+    private void showImportResult(ImportResult result) {
+        StringBuilder content = new StringBuilder()
+            .append("Формат: ").append(result.getSource())
+            .append(" (").append(result.getCharset().displayName()).append(")\n")
+            .append("Импортировано операций: ").append(result.getImported()).append("\n")
+            .append("Пропущено дубликатов: ").append(result.getDuplicates()).append("\n")
+            .append("Пропущено строк: ").append(result.getSkipped());
+        
+        for (String error : result.getErrors()) {
+            content.append("\n").append(error);
+        }
+        
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Импорт");
+        alert.setHeaderText("Импорт завершён");
+        alert.setContentText(content.toString());
+        alert.showAndWait();
+    }
+    
     @FXML
     private void handleExport() {
-        showComingSoon("Экспорт данных");
+        // Объём экспорта: отфильтрованные операции или весь журнал
+        List<Operation> operations = operationsService.getAllOperations();
+        if (filteredOperations.size() != allOperations.size()) {
+            ButtonType filteredButton = new ButtonType("Отфильтрованные (" + filteredOperations.size() + ")");
+            ButtonType allButton = new ButtonType("Все (" + operations.size() + ")");
+            ButtonType cancelButton = new ButtonType("Отмена", ButtonBar.ButtonData.CANCEL_CLOSE);
+            
+            Alert scopeAlert = new Alert(Alert.AlertType.CONFIRMATION);
+            scopeAlert.setTitle("Экспорт");
+            scopeAlert.setHeaderText("Какие операции экспортировать?");
+            scopeAlert.getButtonTypes().setAll(filteredButton, allButton, cancelButton);
+            
+            ButtonType response = scopeAlert.showAndWait().orElse(cancelButton);
+            if (response == cancelButton) {
+                return;
+            }
+            if (response == filteredButton) {
+                operations = List.copyOf(filteredOperations);
+            }
+        }
+        
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Экспорт операций");
+        chooser.setInitialFileName("operations");
+        for (ExportFormat format : ExportFormat.values()) {
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                format.getDisplayName(), "*." + format.getExtension()
+            ));
+        }
+        
+        File file = chooser.showSaveDialog(operationsTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        // Введённое расширение важнее выбранного фильтра
+        ExportFormat typedFormat = ExportFormat.fromFileName(file.getName());
+        int formatIndex = chooser.getExtensionFilters().indexOf(chooser.getSelectedExtensionFilter());
+        ExportFormat format = typedFormat != null ? typedFormat : ExportFormat.values()[Math.max(formatIndex, 0)];
+        File target = file.getName().contains(".")
+            ? file
+            : new File(file.getParentFile(), file.getName() + "." + format.getExtension());
+        
+        List<Operation> snapshot = operations;
+        Task<Integer> task = new Task<>() {
+            @Override
+            protected Integer call() throws Exception {
+                return new OperationsExporter().export(snapshot, format, target.toPath(),
+                    progress -> updateProgress(progress, 1.0));
+            }
+        };
+        
+        // Окно прогресса; закрытие окна отменяет экспорт
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(320);
+        progressBar.progressProperty().bind(task.progressProperty());
+        
+        Alert progressAlert = new Alert(Alert.AlertType.NONE);
+        progressAlert.setTitle("Экспорт");
+        progressAlert.setHeaderText("Экспорт " + snapshot.size() + " операций в " + format.getDisplayName());
+        progressAlert.getDialogPane().setContent(progressBar);
+        progressAlert.getButtonTypes().setAll(new ButtonType("Отмена", ButtonBar.ButtonData.CANCEL_CLOSE));
+        progressAlert.setOnHidden(e -> {
+            if (task.isRunning()) {
+                task.cancel();
+            }
+        });
+        
+        task.setOnSucceeded(e -> {
+            progressAlert.close();
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Экспорт");
+            alert.setHeaderText("Экспорт завершён");
+            alert.setContentText("Сохранено операций: " + task.getValue() + "\n" + target.getAbsolutePath());
+            alert.showAndWait();
+        });
+        task.setOnFailed(e -> {
+            progressAlert.close();
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Экспорт");
+            alert.setHeaderText("Не удалось экспортировать операции");
+            alert.setContentText(task.getException().getMessage());
+            alert.showAndWait();
+        });
+        task.setOnCancelled(e -> progressAlert.close());
+        
+        Thread thread = new Thread(task, "operations-export");
+        thread.setDaemon(true);
+        thread.start();
+        progressAlert.show();
     }
     
     @FXML
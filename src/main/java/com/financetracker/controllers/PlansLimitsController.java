@@ -1,5 +1,7 @@
 package com.financetracker.controllers;
 
+import com.financetracker.components.CardCell;
+import com.financetracker.components.VirtualCardGrid;
 import com.financetracker.models.SpendingLimit;
 import com.financetracker.models.User;
 import com.financetracker.services.AuthService;
@@ -32,7 +34,7 @@ public class PlansLimitsController {
     @FXML private Label remainingLabel;
 
     // Limits grid
-    @FXML private GridPane limitsGrid;
+    @FXML private VirtualCardGrid<SpendingLimit> limitsGrid;
 
     // Menu items
     @FXML private Button dashboardMenuItem;
@@ -72,140 +74,161 @@ public class PlansLimitsController {
     }
 
     private void loadLimitsCards() {
-        limitsGrid.getChildren().clear();
+        limitsGrid.setCellFactory(LimitCardCell::new);
+        limitsGrid.setItems(plansLimitsService.getAllLimits());
+    }
 
-        List<SpendingLimit> limits = plansLimitsService.getAllLimits();
+    /**
+     * Карточка лимита, переиспользуемая сеткой при прокрутке
+     */
+    private class LimitCardCell implements CardCell<SpendingLimit> {
+
+        private static final List<String> STATE_CLASSES = List.of(
+            "limit-status-exceeded", "limit-status-warning", "limit-status-normal",
+            "limit-percent-exceeded", "limit-percent-warning",
+            "limit-progress-exceeded", "limit-progress-warning", "limit-progress-normal",
+            "limit-metric-over", "limit-metric-remaining",
+            "limit-hint-warning", "limit-hint-danger"
+        );
+
+        private final VBox card = new VBox(14);
+        private final Label categoryLabel = new Label();
+        private final Label monthLabel = new Label();
+        private final Label statusBadge = new Label();
+        private final Label usedLimitLabel = new Label();
+        private final Label percentLabel = new Label();
+        private final ProgressBar progressBar = new ProgressBar();
+        private final Label spentValue = new Label();
+        private final Label remainingValue = new Label();
+        private final Label hintLabel = new Label();
+
+        LimitCardCell() {
+            card.getStyleClass().add("limit-card");
+
+            // Header
+            HBox header = new HBox(10);
+            header.setAlignment(Pos.CENTER_LEFT);
+
+            VBox titleBox = new VBox(2);
+            categoryLabel.getStyleClass().add("limit-card-title");
+            monthLabel.getStyleClass().add("limit-card-subtitle");
+            titleBox.getChildren().addAll(categoryLabel, monthLabel);
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            statusBadge.getStyleClass().add("limit-status-badge");
+
+            Button editButton = new Button();
+            editButton.getStyleClass().add("limit-edit-button");
+            FontAwesomeIconView editIcon = new FontAwesomeIconView();
+            editIcon.setGlyphName("PENCIL_SQUARE");
+            editIcon.setSize("12");
+            editIcon.getStyleClass().add("limit-edit-icon");
+            editButton.setGraphic(editIcon);
+            editButton.setOnAction(e -> showComingSoon("Редактирование лимита"));
+
+            header.getChildren().addAll(titleBox, spacer, statusBadge, editButton);
+
+            // Limit values line
+            HBox valuesLine = new HBox(8);
+            valuesLine.setAlignment(Pos.CENTER_LEFT);
+
+            usedLimitLabel.getStyleClass().add("limit-value-line");
+
+            Region valuesSpacer = new Region();
+            HBox.setHgrow(valuesSpacer, Priority.ALWAYS);
+
+            percentLabel.getStyleClass().add("limit-percent");
+
+            valuesLine.getChildren().addAll(usedLimitLabel, valuesSpacer, percentLabel);
+
+            // Progress
+            progressBar.getStyleClass().add("limit-progress");
+            progressBar.setMaxWidth(Double.MAX_VALUE);
+
+            // Bottom metrics
+            HBox metricsRow = new HBox(30);
+            metricsRow.setAlignment(Pos.CENTER_LEFT);
+
+            VBox spentBox = new VBox(4);
+            Label spentCaption = new Label("Потрачено");
+            spentCaption.getStyleClass().add("limit-metric-caption");
+            spentValue.getStyleClass().addAll("limit-metric-value", "limit-metric-spent");
+            spentBox.getChildren().addAll(spentCaption, spentValue);
+
+            VBox remainingBox = new VBox(4);
+            Label remainingCaption = new Label("Осталось");
+            remainingCaption.getStyleClass().add("limit-metric-caption");
+            remainingValue.getStyleClass().add("limit-metric-value");
+            remainingBox.getChildren().addAll(remainingCaption, remainingValue);
+
+            metricsRow.getChildren().addAll(spentBox, remainingBox);
+
+            // Footer hint
+            hintLabel.getStyleClass().add("limit-hint");
+            hintLabel.setMaxWidth(Double.MAX_VALUE);
+            VBox.setMargin(hintLabel, new Insets(2, 0, 0, 0));
+
+            card.getChildren().addAll(header, valuesLine, progressBar, metricsRow, hintLabel);
+        }
 
-        int columns = 2;
-        int row = 0;
-        int col = 0;
+        @Override
+        public Region getNode() {
+            return card;
+        }
 
-        for (SpendingLimit limit : limits) {
-            VBox card = createLimitCard(limit);
-            limitsGrid.add(card, col, row);
-            GridPane.setHgrow(card, Priority.ALWAYS);
+        @Override
+        public void updateItem(SpendingLimit limit) {
+            for (Label label : List.of(statusBadge, percentLabel, remainingValue, hintLabel)) {
+                label.getStyleClass().removeAll(STATE_CLASSES);
+            }
+            progressBar.getStyleClass().removeAll(STATE_CLASSES);
+
+            categoryLabel.setText(limit.getCategory());
+            monthLabel.setText(limit.getMonthLabel());
+
+            if (limit.isExceeded()) {
+                statusBadge.setText("⚠ Превышен");
+                statusBadge.getStyleClass().add("limit-status-exceeded");
+            } else if (limit.isNearLimit()) {
+                statusBadge.setText("⚠ Близко к лимиту");
+                statusBadge.getStyleClass().add("limit-status-warning");
+            } else {
+                statusBadge.setText("✓ В пределах");
+                statusBadge.getStyleClass().add("limit-status-normal");
+            }
+
+            usedLimitLabel.setText(formatCurrency(limit.getSpent()) + " / " + formatCurrency(limit.getLimitAmount()));
 
-            col++;
-            if (col >= columns) {
-                col = 0;
-                row++;
+            percentLabel.setText(String.format("%.1f%%", limit.getUsagePercent()));
+            if (limit.isExceeded()) {
+                percentLabel.getStyleClass().add("limit-percent-exceeded");
+            } else {
+                percentLabel.getStyleClass().add("limit-percent-warning");
             }
-        }
-    }
 
-    private VBox createLimitCard(SpendingLimit limit) {
-        VBox card = new VBox(14);
-        card.getStyleClass().add("limit-card");
-
-        // Header
-        HBox header = new HBox(10);
-        header.setAlignment(Pos.CENTER_LEFT);
-
-        VBox titleBox = new VBox(2);
-        Label categoryLabel = new Label(limit.getCategory());
-        categoryLabel.getStyleClass().add("limit-card-title");
-
-        Label monthLabel = new Label(limit.getMonthLabel());
-        monthLabel.getStyleClass().add("limit-card-subtitle");
-        titleBox.getChildren().addAll(categoryLabel, monthLabel);
-
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-
-        Label statusBadge = new Label();
-        statusBadge.getStyleClass().add("limit-status-badge");
-
-        if (limit.isExceeded()) {
-            statusBadge.setText("⚠ Превышен");
-            statusBadge.getStyleClass().add("limit-status-exceeded");
-        } else if (limit.isNearLimit()) {
-            statusBadge.setText("⚠ Близко к лимиту");
-            statusBadge.getStyleClass().add("limit-status-warning");
-        } else {
-            statusBadge.setText("✓ В пределах");
-            statusBadge.getStyleClass().add("limit-status-normal");
-        }
+            progressBar.setProgress(limit.getProgressValue());
+            if (limit.isExceeded()) {
+                progressBar.getStyleClass().add("limit-progress-exceeded");
+            } else if (limit.isNearLimit()) {
+                progressBar.getStyleClass().add("limit-progress-warning");
+            } else {
+                progressBar.getStyleClass().add("limit-progress-normal");
+            }
 
-        Button editButton = new Button();
-        editButton.getStyleClass().add("limit-edit-button");
-        FontAwesomeIconView editIcon = new FontAwesomeIconView();
-        editIcon.setGlyphName("PENCIL_SQUARE");
-        editIcon.setSize("12");
-        editIcon.getStyleClass().add("limit-edit-icon");
-        editButton.setGraphic(editIcon);
-        editButton.setOnAction(e -> showComingSoon("Редактирование лимита"));
-
-        header.getChildren().addAll(titleBox, spacer, statusBadge, editButton);
-
-        // Limit values line
-        HBox valuesLine = new HBox(8);
-        valuesLine.setAlignment(Pos.CENTER_LEFT);
-
-        Label usedLimitLabel = new Label(formatCurrency(limit.getSpent()) + " / " + formatCurrency(limit.getLimitAmount()));
-        usedLimitLabel.getStyleClass().add("limit-value-line");
-
-        Region valuesSpacer = new Region();
-        HBox.setHgrow(valuesSpacer, Priority.ALWAYS);
-
-        Label percentLabel = new Label(String.format("%.1f%%", limit.getUsagePercent()));
-        percentLabel.getStyleClass().add("limit-percent");
-        if (limit.isExceeded()) {
-            percentLabel.getStyleClass().add("limit-percent-exceeded");
-        } else {
-            percentLabel.getStyleClass().add("limit-percent-warning");
-        }
+            spentValue.setText(formatCurrency(limit.getSpent()));
+            remainingValue.setText(formatCurrency(limit.getRemaining()));
+            remainingValue.getStyleClass().add(limit.getRemaining() < 0 ? "limit-metric-over" : "limit-metric-remaining");
 
-        valuesLine.getChildren().addAll(usedLimitLabel, valuesSpacer, percentLabel);
-
-        // Progress
-        ProgressBar progressBar = new ProgressBar(limit.getProgressValue());
-        progressBar.getStyleClass().add("limit-progress");
-        if (limit.isExceeded()) {
-            progressBar.getStyleClass().add("limit-progress-exceeded");
-        } else if (limit.isNearLimit()) {
-            progressBar.getStyleClass().add("limit-progress-warning");
-        } else {
-            progressBar.getStyleClass().add("limit-progress-normal");
-        }
-        progressBar.setMaxWidth(Double.MAX_VALUE);
-
-        // Bottom metrics
-        HBox metricsRow = new HBox(30);
-        metricsRow.setAlignment(Pos.CENTER_LEFT);
-
-        VBox spentBox = new VBox(4);
-        Label spentCaption = new Label("Потрачено");
-        spentCaption.getStyleClass().add("limit-metric-caption");
-        Label spentValue = new Label(formatCurrency(limit.getSpent()));
-        spentValue.getStyleClass().addAll("limit-metric-value", "limit-metric-spent");
-        spentBox.getChildren().addAll(spentCaption, spentValue);
-
-        VBox remainingBox = new VBox(4);
-        Label remainingCaption = new Label("Осталось");
-        remainingCaption.getStyleClass().add("limit-metric-caption");
-        Label remainingValue = new Label(formatCurrency(limit.getRemaining()));
-        remainingValue.getStyleClass().add("limit-metric-value");
-        remainingValue.getStyleClass().add(limit.getRemaining() < 0 ? "limit-metric-over" : "limit-metric-remaining");
-        remainingBox.getChildren().addAll(remainingCaption, remainingValue);
-
-        metricsRow.getChildren().addAll(spentBox, remainingBox);
-
-        // Footer hint
-        Label hintLabel = new Label();
-        hintLabel.getStyleClass().add("limit-hint");
-        hintLabel.setMaxWidth(Double.MAX_VALUE);
-        VBox.setMargin(hintLabel, new Insets(2, 0, 0, 0));
-
-        if (limit.getRemaining() >= 0) {
-            hintLabel.setText("Осталось только " + formatCurrency(limit.getRemaining()) + " до лимита");
-            hintLabel.getStyleClass().add("limit-hint-warning");
-        } else {
-            hintLabel.setText("Лимит превышен на " + formatCurrency(Math.abs(limit.getRemaining())));
-            hintLabel.getStyleClass().add("limit-hint-danger");
+            if (limit.getRemaining() >= 0) {
+                hintLabel.setText("Осталось только " + formatCurrency(limit.getRemaining()) + " до лимита");
+                hintLabel.getStyleClass().add("limit-hint-warning");
+            } else {
+                hintLabel.setText("Лимит превышен на " + formatCurrency(Math.abs(limit.getRemaining())));
+                hintLabel.getStyleClass().add("limit-hint-danger");
+            }
         }
-
-        card.getChildren().addAll(header, valuesLine, progressBar, metricsRow, hintLabel);
-        return card;
     }
 
     private String formatCurrency(double amount) {
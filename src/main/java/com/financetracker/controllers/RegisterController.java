@@ -3,6 +3,7 @@ package com.financetracker.controllers;
 import com.financetracker.services.AuthService;
 import com.financetracker.utils.SceneManager;
 import com.financetracker.utils.ValidationUtils;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
@@ -23,6 +24,9 @@ public class RegisterController {
     @FXML
     private PasswordField confirmPasswordField;
     
+    @FXML
+    private Button registerButton;
+    
     private final AuthService authService;
     
     public RegisterController() {
@@ -92,11 +96,17 @@ public class RegisterController {
             return;
         }
         
-        // Попытка регистрации
-        try {
-            boolean success = authService.register(name, email, password);
-            
-            if (success) {
+        // Хэширование пароля занимает сотни миллисекунд — в фоне, чтобы окно не замирало
+        Task<Boolean> task = new Task<>() {
+            @Override
+            protected Boolean call() {
+                return authService.register(name, email, password);
+            }
+        };
+        
+        task.setOnSucceeded(e -> {
+            registerButton.setDisable(false);
+            if (task.getValue()) {
                 // Показываем успех
                 Alert alert = new Alert(Alert.AlertType.INFORMATION);
                 alert.setTitle("Регистрация успешна");
@@ -110,11 +120,17 @@ public class RegisterController {
             } else {
                 showError("Ошибка при регистрации. Возможно, этот email уже используется.");
             }
-            
-        } catch (Exception e) {
-            showError("Ошибка при регистрации: " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
+        task.setOnFailed(e -> {
+            registerButton.setDisable(false);
+            showError("Ошибка при регистрации: " + task.getException().getMessage());
+            task.getException().printStackTrace();
+        });
+        
+        registerButton.setDisable(true);
+        Thread thread = new Thread(task, "register");
+        thread.setDaemon(true);
+        thread.start();
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.financetracker.controllers;
 
+import com.financetracker.components.DiagnosticsPanel;
 import com.financetracker.models.User;
 import com.financetracker.services.AuthService;
 import com.financetracker.utils.SceneManager;
@@ -13,6 +14,7 @@ import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
+import javafx.scene.input.MouseEvent;
 
 /**
  * Контроллер экрана настроек.
@@ -22,6 +24,9 @@ public class SettingsController {
     // Top bar
     @FXML private TextField searchField;
 
+    // Page header
+    @FXML private Label settingsTitleLabel;
+
     // Sidebar profile
     @FXML private Label userNameLabel;
     @FXML private Label userEmailLabel;
@@ -176,6 +181,16 @@ public class SettingsController {
         handleLogoutAction();
     }
 
+    /**
+     * Скрытый вход в панель диагностики: пять щелчков по заголовку «Настройки»
+     */
+    @FXML
+    private void handleTitleClicked(MouseEvent event) {
+        if (event.getClickCount() == 5) {
+            DiagnosticsPanel.show(settingsTitleLabel.getScene().getWindow());
+        }
+    }
+
     // ========== MENU NAVIGATION ==========
 
     @FXML
@@ -0,0 +1,84 @@
+package com.financetracker.exporter;
+
+import com.financetracker.models.Operation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * CSV в формате собственного импорта (UTF-8 с BOM, чтобы Excel распознал кодировку).
+ */
+class CsvOperationWriter implements OperationWriter {
+
+    private static final String HEADER = "Дата,Тип,Категория,Комментарий,Сумма,Теги";
+
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private LocalDate lastDate;
+    private String lastDateText;
+
+    CsvOperationWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write('\uFEFF');
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(Operation operation) throws IOException {
+        line.setLength(0);
+        line.append(formatDate(operation.getDate())).append(',');
+        line.append(operation.getType().getDisplayName()).append(',');
+        appendField(operation.getCategory());
+        line.append(',');
+        appendField(operation.getComment());
+        line.append(',');
+        OperationWriter.appendAmount(line, operation.getAmount());
+        line.append(',');
+        appendField(String.join(";", operation.getTags()));
+        line.append('\n');
+        writer.append(line);
+    }
+
+    private String formatDate(LocalDate date) {
+        if (!date.equals(lastDate)) {
+            lastDate = date;
+            lastDateText = date.toString();
+        }
+        return lastDateText;
+    }
+
+    private void appendField(String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!needsQuotes) {
+            line.append(value);
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,43 @@
+package com.financetracker.exporter;
+
+/**
+ * Формат экспорта операций.
+ */
+public enum ExportFormat {
+    CSV("CSV", "csv"),
+    JSON_LINES("JSON Lines", "jsonl"),
+    XLSX("Excel", "xlsx");
+
+    private final String displayName;
+    private final String extension;
+
+    ExportFormat(String displayName, String extension) {
+        this.displayName = displayName;
+        this.extension = extension;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Формат по расширению имени файла (без учёта регистра) или null, если расширение не подходит
+     */
+    public static ExportFormat fromFileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String extension = fileName.substring(dot + 1);
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.financetracker.exporter;
+
+import com.financetracker.models.Operation;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON Lines: по одному объекту операции на строку, без построения дерева JSON.
+ */
+class JsonLinesOperationWriter implements OperationWriter {
+
+    private final Writer writer;
+    private final LineBuffer line = new LineBuffer();
+    private final StringBuilder amount = new StringBuilder(24);
+    private final JsonWriter json;
+
+    JsonLinesOperationWriter(Writer writer) {
+        this.writer = writer;
+        // JsonWriter пишет посимвольно, поэтому строка собирается в несинхронизированном
+        // буфере и передаётся в поток одним вызовом
+        this.json = new JsonWriter(line);
+        // Несколько значений верхнего уровня подряд — по одному на строку
+        json.setLenient(true);
+    }
+
+    @Override
+    public void write(Operation operation) throws IOException {
+        line.builder.setLength(0);
+
+        json.beginObject();
+        json.name("id").value(operation.getId());
+        json.name("date").value(operation.getDate().toString());
+        json.name("type").value(operation.getType().name());
+        json.name("category").value(operation.getCategory());
+        json.name("comment").value(operation.getComment());
+        // Сумма форматируется вручную: Double.toString заметно медленнее
+        amount.setLength(0);
+        OperationWriter.appendAmount(amount, operation.getAmount());
+        json.name("amount").jsonValue(amount.toString());
+        if (!operation.getTags().isEmpty()) {
+            json.name("tags").beginArray();
+            for (String tag : operation.getTags()) {
+                json.value(tag);
+            }
+            json.endArray();
+        }
+        json.endObject();
+
+        line.builder.append('\n');
+        writer.append(line.builder);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Writer поверх StringBuilder без блокировок
+     */
+    private static final class LineBuffer extends Writer {
+
+        private final StringBuilder builder = new StringBuilder(512);
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            builder.append(buffer, offset, length);
+        }
+
+        @Override
+        public void write(String value, int offset, int length) {
+            builder.append(value, offset, offset + length);
+        }
+
+        @Override
+        public Writer append(CharSequence value) {
+            builder.append(value);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
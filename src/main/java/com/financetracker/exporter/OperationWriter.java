@@ -0,0 +1,28 @@
+package com.financetracker.exporter;
+
+import com.financetracker.models.Operation;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Потоковая запись операций в один из форматов экспорта.
+ * close() дописывает завершающую часть файла и закрывает поток.
+ */
+interface OperationWriter extends Closeable {
+
+    void write(Operation operation) throws IOException;
+
+    /**
+     * Сумма в виде "1234.50" без String.format
+     */
+    static void appendAmount(StringBuilder builder, double amount) {
+        long cents = Math.round(Math.abs(amount) * 100);
+        builder.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        builder.append(fraction);
+    }
+}
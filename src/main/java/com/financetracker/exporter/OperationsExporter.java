@@ -0,0 +1,85 @@
+package com.financetracker.exporter;
+
+import com.financetracker.models.Operation;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Экспорт операций в CSV, JSON Lines и XLSX.
+ *
+ * Операции пишутся по одной прямо из переданного снимка, без промежуточных копий.
+ * Файл сначала пишется во временный рядом с целевым и переносится на место только
+ * после успешного завершения, поэтому отменённый экспорт не оставляет обрезанных файлов.
+ */
+public class OperationsExporter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Как часто проверять отмену и сообщать о прогрессе */
+    private static final int PROGRESS_STEP = 4096;
+
+    /**
+     * Экспорт операций в файл. Прерывание потока отменяет экспорт.
+     *
+     * @return количество записанных операций
+     */
+    public int export(List<Operation> operations, ExportFormat format, Path target,
+                      DoubleConsumer progress) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, ".export-", ".tmp");
+
+        int written = 0;
+        int total = operations.size();
+        try {
+            try (OutputStream out = Files.newOutputStream(temp);
+                 OperationWriter writer = openWriter(format, out)) {
+                for (Operation operation : operations) {
+                    writer.write(operation);
+                    written++;
+
+                    if (written % PROGRESS_STEP == 0) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedIOException("Экспорт отменён");
+                        }
+                        progress.accept((double) written / total);
+                    }
+                }
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            progress.accept(1.0);
+            return written;
+
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private OperationWriter openWriter(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvOperationWriter(textWriter(out));
+            case JSON_LINES -> new JsonLinesOperationWriter(textWriter(out));
+            case XLSX -> new XlsxOperationWriter(new BufferedOutputStream(out, BUFFER_SIZE));
+        };
+    }
+
+    private static BufferedWriter textWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,169 @@
+package com.financetracker.exporter;
+
+import com.financetracker.models.Operation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Минимальный XLSX (Office Open XML) с одним листом.
+ * Служебные части пишутся целиком, лист — построчно прямо в zip-поток,
+ * строки хранятся как inline-строки, поэтому таблица общих строк не нужна.
+ */
+class XlsxOperationWriter implements OperationWriter {
+
+    /** Смещение дат Excel: 1899-12-30 — день 0 */
+    private static final long EXCEL_EPOCH_OFFSET = 25_569;
+
+    private static final String CONTENT_TYPES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+        <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+        <Default Extension="xml" ContentType="application/xml"/>\
+        <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+        <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+        <Override PartName="/xl/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml"/>\
+        </Types>""";
+
+    private static final String ROOT_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+        </Relationships>""";
+
+    private static final String WORKBOOK = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+        xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+        <sheets><sheet name="Операции" sheetId="1" r:id="rId1"/></sheets>\
+        </workbook>""";
+
+    private static final String WORKBOOK_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+        <Relationship Id="rId2" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" Target="styles.xml"/>\
+        </Relationships>""";
+
+    // Стили: 0 — обычный, 1 — дата (формат 14), 2 — сумма (формат 4, #,##0.00), 3 — жирный заголовок
+    private static final String STYLES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+        <fonts count="2"><font><sz val="11"/><name val="Calibri"/></font><font><b/><sz val="11"/><name val="Calibri"/></font></fonts>\
+        <fills count="2"><fill><patternFill patternType="none"/></fill><fill><patternFill patternType="gray125"/></fill></fills>\
+        <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+        <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+        <cellXfs count="4">\
+        <xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/>\
+        <xf numFmtId="14" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/>\
+        <xf numFmtId="4" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/>\
+        <xf numFmtId="0" fontId="1" fillId="0" borderId="0" xfId="0" applyFont="1"/>\
+        </cellXfs>\
+        </styleSheet>""";
+
+    private static final String[] HEADER = {"Дата", "Тип", "Категория", "Комментарий", "Сумма", "Теги"};
+
+    private final ZipOutputStream zip;
+    private final Writer sheet;
+    private final StringBuilder row = new StringBuilder(512);
+    private int rowNumber = 1;
+
+    XlsxOperationWriter(OutputStream out) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // Скорость важнее степени сжатия: XML листа хорошо жмётся и на минимальном уровне
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", ROOT_RELS);
+        writeEntry("xl/workbook.xml", WORKBOOK);
+        writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+        writeEntry("xl/styles.xml", STYLES);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        this.sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 1 << 16);
+        sheet.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+            + "<cols><col min=\"1\" max=\"1\" width=\"12\" customWidth=\"1\"/>"
+            + "<col min=\"3\" max=\"4\" width=\"30\" customWidth=\"1\"/>"
+            + "<col min=\"5\" max=\"5\" width=\"14\" customWidth=\"1\"/></cols>"
+            + "<sheetData>");
+
+        row.append("<row r=\"1\">");
+        for (String title : HEADER) {
+            appendString(title, 3);
+        }
+        row.append("</row>");
+        sheet.append(row);
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    @Override
+    public void write(Operation operation) throws IOException {
+        row.setLength(0);
+        row.append("<row r=\"").append(++rowNumber).append("\">");
+
+        LocalDate date = operation.getDate();
+        row.append("<c s=\"1\"><v>").append(date.toEpochDay() + EXCEL_EPOCH_OFFSET).append("</v></c>");
+        appendString(operation.getType().getDisplayName(), 0);
+        appendString(operation.getCategory(), 0);
+        appendString(operation.getComment(), 0);
+
+        // Сумма без знака, как в CSV и JSON Lines: направление задаёт колонка «Тип»
+        row.append("<c s=\"2\"><v>");
+        OperationWriter.appendAmount(row, operation.getAmount());
+        row.append("</v></c>");
+
+        appendString(String.join(", ", operation.getTags()), 0);
+        row.append("</row>");
+        sheet.append(row);
+    }
+
+    private void appendString(String value, int style) {
+        if (value == null || value.isEmpty()) {
+            row.append("<c/>");
+            return;
+        }
+
+        row.append("<c t=\"inlineStr\"");
+        if (style != 0) {
+            row.append(" s=\"").append(style).append('"');
+        }
+        row.append("><is><t xml:space=\"preserve\">");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> row.append("&amp;");
+                case '<' -> row.append("&lt;");
+                case '>' -> row.append("&gt;");
+                default -> {
+                    // Управляющие символы недопустимы в XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        row.append(c);
+                    }
+                }
+            }
+        }
+        row.append("</t></is></c>");
+    }
+
+    @Override
+    public void close() throws IOException {
+        sheet.write("</sheetData></worksheet>");
+        sheet.flush();
+        zip.closeEntry();
+        zip.close();
+    }
+}
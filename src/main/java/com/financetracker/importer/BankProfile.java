@@ -0,0 +1,86 @@
+package com.financetracker.importer;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Профиль CSV-выписки банка: разделитель и названия колонок.
+ * Профиль выбирается по строке заголовка — подходит первый, все обязательные колонки которого найдены.
+ *
+ * @param name          название банка для отображения
+ * @param delimiter     разделитель полей
+ * @param charset       кодировка выписки (null — определить автоматически)
+ * @param dateLayout    формат даты
+ * @param dateColumn    колонка даты операции
+ * @param amountColumn  колонка суммы (со знаком, если нет колонки типа)
+ * @param categoryColumn колонка категории (null — нет)
+ * @param commentColumn колонка описания (null — нет)
+ * @param typeColumn    колонка типа «Доход»/«Расход» (null — тип по знаку суммы)
+ * @param statusColumn  колонка статуса (null — нет)
+ * @param acceptedStatus значение статуса, при котором строка импортируется
+ */
+public record BankProfile(
+    String name,
+    char delimiter,
+    Charset charset,
+    DateLayout dateLayout,
+    String dateColumn,
+    String amountColumn,
+    String categoryColumn,
+    String commentColumn,
+    String typeColumn,
+    String statusColumn,
+    String acceptedStatus
+) {
+
+    /**
+     * Формат даты в выписке. Время после даты игнорируется.
+     */
+    public enum DateLayout {
+        /** dd.MM.yyyy */
+        DAY_MONTH_YEAR,
+        /** yyyy-MM-dd */
+        ISO
+    }
+
+    public static final BankProfile TINKOFF = new BankProfile(
+        "Тинькофф", ';', null, DateLayout.DAY_MONTH_YEAR,
+        "Дата операции", "Сумма операции", "Категория", "Описание",
+        null, "Статус", "OK"
+    );
+
+    public static final BankProfile SBERBANK = new BankProfile(
+        "Сбербанк", ';', null, DateLayout.DAY_MONTH_YEAR,
+        "Дата операции", "Сумма в валюте счёта", "Категория", "Описание операции",
+        null, null, null
+    );
+
+    public static final BankProfile ALFA = new BankProfile(
+        "Альфа-Банк", ';', null, DateLayout.DAY_MONTH_YEAR,
+        "Дата операции", "Сумма", "Категория", "Описание",
+        null, "Статус", "Выполнен"
+    );
+
+    /**
+     * Формат собственного экспорта приложения
+     */
+    public static final BankProfile FINANCE_TRACKER = new BankProfile(
+        "Finance Tracker", ',', StandardCharsets.UTF_8, DateLayout.ISO,
+        "Дата", "Сумма", "Категория", "Комментарий",
+        "Тип", null, null
+    );
+
+    /**
+     * Встроенные профили в порядке проверки: более специфичные раньше
+     */
+    public static final List<BankProfile> BUILT_IN = List.of(TINKOFF, ALFA, SBERBANK, FINANCE_TRACKER);
+
+    /**
+     * Нормализация названия колонки для сравнения заголовков
+     */
+    static String normalizeHeader(String header) {
+        return header.strip().replace('ё', 'е').replace('Ё', 'Е').toLowerCase(Locale.ROOT);
+    }
+}
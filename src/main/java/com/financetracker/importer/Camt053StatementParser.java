@@ -0,0 +1,199 @@
+package com.financetracker.importer;
+
+import com.financetracker.models.Operation;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Разбор ISO 20022 CAMT.053 (выписка по счёту) через StAX.
+ * Каждая запись Ntry со статусом BOOK становится операцией; пространство имён
+ * (версия схемы) не проверяется, сравниваются только локальные имена элементов.
+ */
+class Camt053StatementParser implements StatementParser {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    @Override
+    public Charset parse(InputStream in, ImportSession session) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(in);
+            Charset charset = reader.getEncoding() != null
+                ? Charset.forName(reader.getEncoding())
+                : StandardCharsets.UTF_8;
+
+            // Путь от Ntry вниз: нужен, чтобы различать Cdtr/Nm и Dbtr/Nm, BookgDt/Dt и ValDt/Dt
+            Deque<String> path = new ArrayDeque<>();
+            Entry entry = null;
+            StringBuilder text = new StringBuilder();
+            int entryNumber = 0;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        String name = reader.getLocalName();
+                        if (name.equals("Ntry")) {
+                            entry = new Entry();
+                            path.clear();
+                        } else if (entry != null) {
+                            path.push(name);
+                        }
+                        text.setLength(0);
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (entry != null) {
+                            text.append(reader.getText());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (entry == null) {
+                            continue;
+                        }
+                        if (reader.getLocalName().equals("Ntry")) {
+                            emit(entry, ++entryNumber, session);
+                            entry = null;
+                        } else {
+                            entry.accept(path, text.toString().strip());
+                            path.pop();
+                        }
+                        text.setLength(0);
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return charset;
+
+        } catch (XMLStreamException e) {
+            throw new IOException("Некорректный CAMT.053: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // поток закрывает вызывающий код
+                }
+            }
+        }
+    }
+
+    private void emit(Entry entry, int number, ImportSession session) throws IOException {
+        if (entry.status != null && !entry.status.equals("BOOK")) {
+            session.skip(null);
+            return;
+        }
+
+        String date = entry.bookingDate != null ? entry.bookingDate : entry.valueDate;
+        if (date == null || entry.amount == null) {
+            session.skip("Запись " + number + ": нет даты или суммы");
+            return;
+        }
+
+        try {
+            boolean debit = "DBIT".equals(entry.creditDebit);
+            long cents = Math.abs(StatementValues.parseCents(entry.amount));
+            String counterparty = debit ? entry.creditorName : entry.debtorName;
+            String details = entry.remittance != null ? entry.remittance : entry.additionalInfo;
+
+            session.offer(new Operation(
+                session.nextId("camt"),
+                LocalDate.parse(date.length() > 10 ? date.substring(0, 10) : date),
+                debit ? Operation.OperationType.EXPENSE : Operation.OperationType.INCOME,
+                ImportSession.DEFAULT_CATEGORY,
+                StatementValues.joinComment(counterparty, details),
+                cents / 100.0
+            ));
+        } catch (NumberFormatException | DateTimeException e) {
+            session.skip("Запись " + number + ": " + e.getMessage());
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Выписки приходят извне: DTD и внешние сущности запрещены
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Поля одной записи Ntry
+     */
+    private static final class Entry {
+        private String amount;
+        private String creditDebit;
+        private String status;
+        private String bookingDate;
+        private String valueDate;
+        private String creditorName;
+        private String debtorName;
+        private String remittance;
+        private String additionalInfo;
+
+        /**
+         * Значение элемента; path — стек имён от текущего элемента вверх до Ntry
+         */
+        void accept(Deque<String> path, String value) {
+            if (value.isEmpty()) {
+                return;
+            }
+            String name = path.peek();
+            String parent = path.size() > 1 ? path.stream().skip(1).findFirst().orElse("") : "";
+            int depth = path.size();
+
+            switch (name) {
+                case "Amt" -> {
+                    // Сумма записи — прямой потомок Ntry; суммы внутри TxDtls не используются
+                    if (depth == 1) {
+                        amount = value;
+                    }
+                }
+                case "CdtDbtInd" -> {
+                    if (depth == 1) {
+                        creditDebit = value;
+                    }
+                }
+                case "Sts", "Cd" -> {
+                    if (depth == 1 || (name.equals("Cd") && parent.equals("Sts") && depth == 2)) {
+                        status = value;
+                    }
+                }
+                case "Dt", "DtTm" -> {
+                    if (parent.equals("BookgDt") && bookingDate == null) {
+                        bookingDate = value;
+                    } else if (parent.equals("ValDt") && valueDate == null) {
+                        valueDate = value;
+                    }
+                }
+                case "Nm" -> {
+                    if (path.contains("Cdtr") && creditorName == null) {
+                        creditorName = value;
+                    } else if (path.contains("Dbtr") && debtorName == null) {
+                        debtorName = value;
+                    }
+                }
+                case "Ustrd" -> remittance = remittance == null ? value : remittance + " " + value;
+                case "AddtlNtryInf" -> {
+                    if (depth == 1) {
+                        additionalInfo = value;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.financetracker.importer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Определение кодировки банковской выписки: UTF-8 или CP1251.
+ * Российские банки до сих пор выгружают CSV в windows-1251, поэтому
+ * всё, что не является корректным UTF-8, считается CP1251.
+ */
+public final class CharsetDetector {
+
+    public static final Charset CP1251 = Charset.forName("windows-1251");
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private CharsetDetector() {
+    }
+
+    /**
+     * Длина BOM в начале данных (0, если его нет)
+     */
+    public static int bomLength(byte[] head, int length) {
+        if (length >= 3 && head[0] == UTF8_BOM[0] && head[1] == UTF8_BOM[1] && head[2] == UTF8_BOM[2]) {
+            return UTF8_BOM.length;
+        }
+        return 0;
+    }
+
+    /**
+     * Определение кодировки по первым байтам файла
+     */
+    public static Charset detect(byte[] head, int length) {
+        if (bomLength(head, length) > 0) {
+            return StandardCharsets.UTF_8;
+        }
+
+        // Многобайтовый символ мог обрезаться на границе буфера — отбрасываем хвост
+        int end = length;
+        int tail = 0;
+        while (end > 0 && tail < 3 && (head[end - 1] & 0xC0) == 0x80) {
+            end--;
+            tail++;
+        }
+        if (end > 0 && (head[end - 1] & 0x80) != 0) {
+            end--;
+        }
+
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            decoder.decode(ByteBuffer.wrap(head, 0, end));
+            return StandardCharsets.UTF_8;
+        } catch (CharacterCodingException e) {
+            return CP1251;
+        }
+    }
+}
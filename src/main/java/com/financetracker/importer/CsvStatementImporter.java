@@ -0,0 +1,574 @@
+package com.financetracker.importer;
+
+import com.financetracker.models.Operation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Потоковый импорт CSV-выписок банков.
+ *
+ * Файл не читается в память целиком: он отображается через FileChannel кусками
+ * по CHUNK_SIZE байт, границы кусков выравниваются по концам строк (с учётом кавычек).
+ * Куски разбираются параллельно прямо по байтам — строки создаются только для
+ * категории и комментария, — и применяются к OperationsService по порядку,
+ * по одному пакету на кусок, с отсевом уже импортированных операций. В работе одновременно не больше 2 * parallelism кусков.
+ */
+public class CsvStatementImporter {
+
+    private static final int HEAD_SIZE = 64 * 1024;
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int HEADER_SEARCH_LINES = 30;
+    private static final int MAX_ERRORS = 20;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final List<BankProfile> profiles;
+    private final int parallelism;
+
+    public CsvStatementImporter() {
+        this(BankProfile.BUILT_IN, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CsvStatementImporter(List<BankProfile> profiles, int parallelism) {
+        this.profiles = List.copyOf(profiles);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Импорт выписки с автоматическим выбором профиля
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        return importFile(file, progress -> {
+        });
+    }
+
+    /**
+     * Импорт выписки с отчётом о прогрессе (доля от 0 до 1).
+     * Прерывание потока останавливает импорт; уже применённые куски остаются,
+     * а повторный импорт того же файла пропустит их как дубликаты.
+     */
+    public ImportResult importFile(Path file, DoubleConsumer progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            byte[] head = readHead(channel, size);
+            int bom = CharsetDetector.bomLength(head, head.length);
+            Charset detected = CharsetDetector.detect(head, head.length);
+
+            Header header = findHeader(head, bom, detected);
+            if (header == null) {
+                throw new IOException("Не удалось определить формат выписки: заголовок не распознан");
+            }
+
+            List<Chunk> chunks = splitChunks(channel, size, header);
+            ImportSession session = new ImportSession();
+
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "csv-import-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try {
+                Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+                int nextChunk = 0;
+                long processedBytes = header.dataStart();
+
+                while (nextChunk < chunks.size() || !inFlight.isEmpty()) {
+                    while (nextChunk < chunks.size() && inFlight.size() < parallelism * 2) {
+                        Chunk chunk = chunks.get(nextChunk++);
+                        inFlight.add(executor.submit(() -> parseChunk(channel, chunk, header, session.getImportId())));
+                    }
+
+                    ChunkResult result = await(inFlight.poll());
+                    for (Operation operation : result.operations()) {
+                        session.offer(operation);
+                    }
+                    session.flush();
+                    session.skipAll(result.skipped(), result.errors());
+
+                    processedBytes += result.bytes();
+                    progress.accept(size == 0 ? 1.0 : (double) processedBytes / size);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            return session.finish(header.profile().name(), header.charset());
+        }
+    }
+
+    // ========== HEADER ==========
+
+    private byte[] readHead(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(HEAD_SIZE, size));
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // читаем, пока не заполним буфер
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Поиск строки заголовка среди первых строк файла и подбор профиля по ней
+     */
+    private Header findHeader(byte[] head, int bom, Charset detected) {
+        ByteBuffer buffer = ByteBuffer.wrap(head);
+        LineSplitter splitter = new LineSplitter();
+        int position = bom;
+
+        for (int line = 1; line <= HEADER_SEARCH_LINES && position < head.length; line++) {
+            for (BankProfile profile : profiles) {
+                Charset charset = profile.charset() != null ? profile.charset() : detected;
+                splitter.split(buffer, position, head.length, (byte) profile.delimiter());
+
+                List<String> names = new ArrayList<>(splitter.fieldCount);
+                for (int i = 0; i < splitter.fieldCount; i++) {
+                    names.add(BankProfile.normalizeHeader(splitter.decode(buffer, i, charset)));
+                }
+
+                Columns columns = Columns.resolve(profile, names);
+                if (columns != null) {
+                    return new Header(profile, charset, columns, splitter.nextLine, line);
+                }
+            }
+
+            splitter.split(buffer, position, head.length, (byte) ';');
+            if (splitter.nextLine <= position) {
+                break;
+            }
+            position = splitter.nextLine;
+        }
+        return null;
+    }
+
+    // ========== CHUNKS ==========
+
+    /**
+     * Разбиение данных после заголовка на куски, выровненные по концам строк
+     */
+    private List<Chunk> splitChunks(FileChannel channel, long size, Header header) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        long chunkStart = header.dataStart();
+        long line = header.line() + 1;
+        long chunkFirstLine = line;
+        boolean inQuotes = false;
+
+        for (long windowStart = chunkStart; windowStart < size; windowStart += CHUNK_SIZE) {
+            int windowSize = (int) Math.min(CHUNK_SIZE, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+
+            for (int i = 0; i < windowSize; i++) {
+                byte b = window.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    line++;
+                    long lineEnd = windowStart + i + 1;
+                    if (lineEnd - chunkStart >= CHUNK_SIZE) {
+                        chunks.add(new Chunk(chunkStart, lineEnd, chunkFirstLine));
+                        chunkStart = lineEnd;
+                        chunkFirstLine = line;
+                    }
+                }
+            }
+        }
+
+        if (chunkStart < size) {
+            chunks.add(new Chunk(chunkStart, size, chunkFirstLine));
+        }
+        return chunks;
+    }
+
+    private ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Импорт прерван");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException("Ошибка разбора выписки", e.getCause());
+        }
+    }
+
+    /**
+     * Разбор одного куска. Выполняется в пуле, не трогает общее состояние.
+     */
+    private ChunkResult parseChunk(FileChannel channel, Chunk chunk, Header header, String importId) throws IOException {
+        int length = (int) (chunk.end() - chunk.start());
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), length);
+
+        BankProfile profile = header.profile();
+        Columns columns = header.columns();
+        Charset charset = header.charset();
+        byte delimiter = (byte) profile.delimiter();
+        byte[] acceptedStatus = profile.acceptedStatus() == null ? null : profile.acceptedStatus().getBytes(charset);
+
+        LineSplitter splitter = new LineSplitter();
+        DateParser dateParser = new DateParser(profile.dateLayout());
+        ByteChars amountChars = new ByteChars(buffer);
+        Map<String, String> categoryNames = new HashMap<>();
+
+        List<Operation> operations = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        int skipped = 0;
+        long line = chunk.firstLine();
+        int position = 0;
+
+        while (position < length) {
+            int lineStart = position;
+            splitter.split(buffer, position, length, delimiter);
+            position = splitter.nextLine;
+            long lineNumber = line++;
+
+            if (splitter.isBlank()) {
+                continue;
+            }
+
+            if (splitter.fieldCount <= columns.maxIndex()) {
+                skipped++;
+                addError(errors, lineNumber, "недостаточно колонок");
+                continue;
+            }
+
+            if (acceptedStatus != null && !splitter.fieldEquals(buffer, columns.status(), acceptedStatus)) {
+                skipped++;
+                continue;
+            }
+
+            try {
+                LocalDate date = dateParser.parse(buffer, splitter.start(columns.date()), splitter.end(columns.date()));
+                long cents = StatementValues.parseCents(
+                    amountChars.range(splitter.start(columns.amount()), splitter.end(columns.amount())));
+
+                Operation.OperationType type;
+                if (columns.type() >= 0) {
+                    String typeName = splitter.decode(buffer, columns.type(), charset);
+                    type = Operation.OperationType.INCOME.getDisplayName().equalsIgnoreCase(typeName)
+                        ? Operation.OperationType.INCOME
+                        : Operation.OperationType.EXPENSE;
+                } else {
+                    type = cents < 0 ? Operation.OperationType.EXPENSE : Operation.OperationType.INCOME;
+                }
+
+                String category = columns.category() >= 0
+                    ? splitter.decode(buffer, columns.category(), charset)
+                    : "";
+                String comment = columns.comment() >= 0
+                    ? splitter.decode(buffer, columns.comment(), charset)
+                    : "";
+
+                operations.add(new Operation(
+                    "csv-" + importId + "-" + (chunk.start() + lineStart),
+                    date,
+                    type,
+                    ImportSession.canonicalCategory(categoryNames, category),
+                    comment,
+                    Math.abs(cents) / 100.0
+                ));
+            } catch (NumberFormatException e) {
+                skipped++;
+                addError(errors, lineNumber, e.getMessage());
+            } catch (DateTimeException e) {
+                skipped++;
+                addError(errors, lineNumber, "некорректная дата");
+            }
+        }
+
+        return new ChunkResult(operations, skipped, errors, length);
+    }
+
+    private static void addError(List<String> errors, long lineNumber, String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Строка " + lineNumber + ": " + message);
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    // ========== PARSING HELPERS ==========
+
+    /**
+     * Поле как CharSequence без копирования (байт — символ Latin-1) для разбора суммы.
+     * Цифры, знак и разделители однобайтовые в поддерживаемых кодировках,
+     * остальные байты (валюта, неразрывные пробелы) при разборе пропускаются.
+     */
+    private static final class ByteChars implements CharSequence {
+
+        private final ByteBuffer buffer;
+        private int start;
+        private int end;
+
+        ByteChars(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        ByteChars range(int start, int end) {
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().substring(from, to);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(length());
+            for (int i = start; i < end; i++) {
+                text.append((char) (buffer.get(i) & 0xFF));
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Разбор строки CSV на поля без копирования: хранит только смещения полей
+     */
+    private static final class LineSplitter {
+
+        private int[] starts = new int[32];
+        private int[] ends = new int[32];
+        private boolean[] escaped = new boolean[32];
+        private int fieldCount;
+        private int nextLine;
+        private byte[] scratch = new byte[256];
+
+        /**
+         * Разбор строки, начинающейся с position; nextLine — начало следующей строки
+         */
+        void split(ByteBuffer buffer, int position, int limit, byte delimiter) {
+            fieldCount = 0;
+            int fieldStart = position;
+            boolean inQuotes = false;
+            boolean fieldEscaped = false;
+            int i = position;
+
+            for (; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (inQuotes) {
+                    if (b == '"') {
+                        if (i + 1 < limit && buffer.get(i + 1) == '"') {
+                            fieldEscaped = true;
+                            i++;
+                        } else {
+                            inQuotes = false;
+                        }
+                    }
+                } else if (b == '"') {
+                    inQuotes = true;
+                } else if (b == delimiter) {
+                    addField(buffer, fieldStart, i, fieldEscaped);
+                    fieldStart = i + 1;
+                    fieldEscaped = false;
+                } else if (b == '\n') {
+                    break;
+                }
+            }
+
+            addField(buffer, fieldStart, i, fieldEscaped);
+            nextLine = Math.min(i + 1, limit);
+        }
+
+        private void addField(ByteBuffer buffer, int start, int end, boolean fieldEscaped) {
+            while (start < end && isSpace(buffer.get(start))) {
+                start++;
+            }
+            while (end > start && isSpace(buffer.get(end - 1))) {
+                end--;
+            }
+            if (end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"') {
+                start++;
+                end--;
+            }
+
+            if (fieldCount == starts.length) {
+                starts = Arrays.copyOf(starts, fieldCount * 2);
+                ends = Arrays.copyOf(ends, fieldCount * 2);
+                escaped = Arrays.copyOf(escaped, fieldCount * 2);
+            }
+            starts[fieldCount] = start;
+            ends[fieldCount] = end;
+            escaped[fieldCount] = fieldEscaped;
+            fieldCount++;
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+
+        boolean isBlank() {
+            return fieldCount == 1 && starts[0] == ends[0];
+        }
+
+        int start(int field) {
+            return starts[field];
+        }
+
+        int end(int field) {
+            return ends[field];
+        }
+
+        boolean fieldEquals(ByteBuffer buffer, int field, byte[] expected) {
+            int length = ends[field] - starts[field];
+            if (length != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(starts[field] + i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Декодирование поля в строку (единственное место, где создаются строки)
+         */
+        String decode(ByteBuffer buffer, int field, Charset charset) {
+            int length = ends[field] - starts[field];
+            if (length == 0) {
+                return "";
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(starts[field], scratch, 0, length);
+            String value = new String(scratch, 0, length, charset);
+            return escaped[field] ? value.replace("\"\"", "\"") : value;
+        }
+    }
+
+    /**
+     * Разбор даты из байтов. Выписки отсортированы по дате,
+     * поэтому последняя разобранная дата переиспользуется.
+     */
+    private static final class DateParser {
+
+        private final BankProfile.DateLayout layout;
+        private int lastFirst = -1;
+        private int lastSecond = -1;
+        private int lastThird = -1;
+        private LocalDate lastDate;
+
+        DateParser(BankProfile.DateLayout layout) {
+            this.layout = layout;
+        }
+
+        LocalDate parse(ByteBuffer buffer, int start, int end) {
+            int[] parts = new int[3];
+            int part = 0;
+            int digits = 0;
+            int i = start;
+
+            for (; i < end && part < 3; i++) {
+                byte b = buffer.get(i);
+                if (isDigit(b)) {
+                    parts[part] = parts[part] * 10 + (b - '0');
+                    digits++;
+                } else if (digits > 0 && (b == '.' || b == '-' || b == '/')) {
+                    part++;
+                    digits = 0;
+                } else {
+                    break;
+                }
+            }
+            if (digits > 0 && part < 3) {
+                part++;
+            }
+            if (part != 3) {
+                throw new DateTimeException("Unparseable date");
+            }
+
+            if (parts[0] == lastFirst && parts[1] == lastSecond && parts[2] == lastThird) {
+                return lastDate;
+            }
+
+            LocalDate date = layout == BankProfile.DateLayout.ISO
+                ? LocalDate.of(parts[0], parts[1], parts[2])
+                : LocalDate.of(parts[2], parts[1], parts[0]);
+
+            lastFirst = parts[0];
+            lastSecond = parts[1];
+            lastThird = parts[2];
+            lastDate = date;
+            return date;
+        }
+    }
+
+    /**
+     * Индексы колонок профиля в конкретном файле (-1 — колонки нет)
+     */
+    private record Columns(int date, int amount, int category, int comment, int type, int status) {
+
+        static Columns resolve(BankProfile profile, List<String> names) {
+            int date = names.indexOf(BankProfile.normalizeHeader(profile.dateColumn()));
+            int amount = names.indexOf(BankProfile.normalizeHeader(profile.amountColumn()));
+            int status = indexOf(names, profile.statusColumn());
+            if (date < 0 || amount < 0 || (profile.statusColumn() != null && status < 0)) {
+                return null;
+            }
+            return new Columns(
+                date, amount,
+                indexOf(names, profile.categoryColumn()),
+                indexOf(names, profile.commentColumn()),
+                indexOf(names, profile.typeColumn()),
+                status
+            );
+        }
+
+        private static int indexOf(List<String> names, String column) {
+            return column == null ? -1 : names.indexOf(BankProfile.normalizeHeader(column));
+        }
+
+        int maxIndex() {
+            return Math.max(Math.max(Math.max(date, amount), Math.max(category, comment)), Math.max(type, status));
+        }
+    }
+
+    private record Header(BankProfile profile, Charset charset, Columns columns, int dataStart, int line) {
+    }
+
+    private record Chunk(long start, long end, long firstLine) {
+    }
+
+    private record ChunkResult(List<Operation> operations, int skipped, List<String> errors, long bytes) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.financetracker.importer;
+
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Итог импорта выписки.
+ */
+public class ImportResult {
+
+    private final String source;
+    private final Charset charset;
+    private final int imported;
+    private final int skipped;
+    private final int duplicates;
+    private final List<String> errors;
+    private final long durationMillis;
+
+    public ImportResult(String source, Charset charset, int imported, int skipped, int duplicates,
+                        List<String> errors, long durationMillis) {
+        this.source = source;
+        this.charset = charset;
+        this.imported = imported;
+        this.skipped = skipped;
+        this.duplicates = duplicates;
+        this.errors = List.copyOf(errors);
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Название профиля банка или формата файла
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    /**
+     * Количество пропущенных строк (ошибки разбора и отфильтрованные по статусу)
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Количество операций, уже присутствующих в журнале (повторный импорт)
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Первые ошибки разбора с номерами строк
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "source='" + source + '\'' +
+                ", charset=" + charset +
+                ", imported=" + imported +
+                ", skipped=" + skipped +
+                ", duplicates=" + duplicates +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
@@ -0,0 +1,156 @@
+package com.financetracker.importer;
+
+import com.financetracker.models.Category;
+import com.financetracker.models.Operation;
+import com.financetracker.rules.RuleEngine;
+import com.financetracker.services.CategoriesService;
+import com.financetracker.services.DuplicateIndex;
+import com.financetracker.services.OperationMutation;
+import com.financetracker.services.OperationsService;
+import com.financetracker.services.RulesService;
+
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Состояние одного импорта: пакетная вставка, отсев дубликатов и статистика.
+ *
+ * Дубликаты считаются как мультимножество: если в журнале уже есть k операций
+ * с тем же отпечатком, то первые k таких операций файла пропускаются, остальные
+ * импортируются. Поэтому повторный импорт пересекающихся выписок ничего не
+ * задваивает, а действительно одинаковые покупки в один день не теряются.
+ */
+final class ImportSession {
+
+    static final String DEFAULT_CATEGORY = "Без категории";
+
+    private static final int BATCH_SIZE = 5000;
+    private static final int MAX_ERRORS = 20;
+
+    private final OperationsService operationsService = OperationsService.getInstance();
+    private final DuplicateIndex duplicateIndex = DuplicateIndex.getInstance();
+    private final RuleEngine.Matcher rules = RulesService.getInstance().getEngine().newMatcher();
+
+    private final String importId = UUID.randomUUID().toString().substring(0, 8);
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<Long, Integer> seen = new HashMap<>();
+    private final Map<String, String> categoryNames = new HashMap<>();
+    private final List<String> errors = new ArrayList<>();
+
+    private List<OperationMutation> pending = new ArrayList<>();
+    private long sequence;
+    private int imported;
+    private int skipped;
+    private int duplicates;
+
+    /**
+     * Короткий идентификатор импорта для построения ID операций
+     */
+    String getImportId() {
+        return importId;
+    }
+
+    /**
+     * Новый ID операции вида prefix-importId-N
+     */
+    String nextId(String prefix) {
+        return prefix + "-" + importId + "-" + (++sequence);
+    }
+
+    /**
+     * Категория приложения для категории из выписки
+     */
+    String category(String bankCategory) {
+        return canonicalCategory(categoryNames, bankCategory);
+    }
+
+    /**
+     * Имя категории приложения, если банковская совпадает с ней без учёта регистра.
+     * Кэш не потокобезопасен: у каждого потока разбора свой.
+     */
+    static String canonicalCategory(Map<String, String> cache, String bankCategory) {
+        if (bankCategory == null || bankCategory.isBlank()) {
+            return DEFAULT_CATEGORY;
+        }
+        return cache.computeIfAbsent(bankCategory.strip(), name -> {
+            Category category = CategoriesService.getInstance().getCategoryByName(name);
+            return category != null ? category.getName() : name;
+        });
+    }
+
+    /**
+     * Добавление разобранной операции; вставка выполняется пакетами по BATCH_SIZE.
+     * Правила пользователя имеют приоритет над категорией из выписки.
+     */
+    void offer(Operation operation) throws InterruptedIOException {
+        long fingerprint = DuplicateIndex.fingerprint(operation);
+        int occurrence = seen.merge(fingerprint, 1, Integer::sum);
+        if (occurrence <= duplicateIndex.count(fingerprint)) {
+            duplicates++;
+            return;
+        }
+
+        String category = rules.categorize(operation);
+        if (category != null) {
+            operation.setCategory(category);
+        }
+
+        pending.add(OperationMutation.add(operation));
+        if (pending.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Применение накопленного пакета. Прерывание потока останавливает импорт.
+     */
+    void flush() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Импорт прерван");
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        if (!operationsService.applyBatch(pending)) {
+            throw new IllegalStateException("Конфликт идентификаторов при импорте");
+        }
+        imported += pending.size();
+        pending = new ArrayList<>();
+    }
+
+    /**
+     * Пропуск записи (с ошибкой разбора или без неё, например по статусу)
+     */
+    void skip(String error) {
+        skipped++;
+        if (error != null && errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    /**
+     * Учёт пропусков, посчитанных вне сессии (параллельный разбор CSV)
+     */
+    void skipAll(int count, List<String> chunkErrors) {
+        skipped += count;
+        for (String error : chunkErrors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    ImportResult finish(String source, Charset charset) throws InterruptedIOException {
+        flush();
+        return new ImportResult(
+            source, charset, imported, skipped, duplicates, errors,
+            System.currentTimeMillis() - startedAt
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package com.financetracker.importer;
+
+import com.financetracker.models.Operation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Разбор OFX 1.x (SGML, теги без закрытия) и OFX 2.x (XML) одним токенизатором.
+ * Из выписки берутся только транзакции STMTTRN; значение листового тега — текст до следующего '<'.
+ */
+class OfxStatementParser implements StatementParser {
+
+    private static final int HEAD_SIZE = 4096;
+
+    @Override
+    public Charset parse(InputStream in, ImportSession session) throws IOException {
+        Charset charset = detectCharset(in);
+        Reader reader = new InputStreamReader(in, charset);
+        char[] buffer = new char[8192];
+        int length = 0;
+        int position = 0;
+
+        StringBuilder text = new StringBuilder();
+        StringBuilder tag = new StringBuilder();
+        Map<String, String> transaction = null;
+        String openTag = null;
+        int transactionNumber = 0;
+        boolean inTag = false;
+
+        while (true) {
+            if (position == length) {
+                length = reader.read(buffer);
+                position = 0;
+                if (length < 0) {
+                    break;
+                }
+            }
+            char c = buffer[position++];
+
+            if (inTag) {
+                if (c != '>') {
+                    tag.append(c);
+                    continue;
+                }
+                inTag = false;
+                String name = tag.toString().strip().toUpperCase(Locale.ROOT);
+                tag.setLength(0);
+
+                if (name.startsWith("/")) {
+                    if (name.equals("/STMTTRN") && transaction != null) {
+                        emit(transaction, ++transactionNumber, session);
+                        transaction = null;
+                    }
+                    openTag = null;
+                } else if (name.startsWith("?") || name.startsWith("!")) {
+                    openTag = null;
+                } else if (name.equals("STMTTRN")) {
+                    transaction = new HashMap<>();
+                    openTag = null;
+                } else {
+                    openTag = name;
+                }
+            } else if (c == '<') {
+                if (transaction != null && openTag != null) {
+                    String value = text.toString().strip();
+                    if (!value.isEmpty()) {
+                        transaction.put(openTag, decodeEntities(value));
+                    }
+                }
+                text.setLength(0);
+                openTag = null;
+                inTag = true;
+            } else if (openTag != null) {
+                text.append(c);
+            }
+        }
+        return charset;
+    }
+
+    private void emit(Map<String, String> transaction, int number, ImportSession session) throws IOException {
+        String posted = transaction.get("DTPOSTED");
+        String amount = transaction.get("TRNAMT");
+        if (posted == null || amount == null) {
+            session.skip("Транзакция " + number + ": нет даты или суммы");
+            return;
+        }
+
+        try {
+            long cents = StatementValues.parseCents(amount);
+            session.offer(new Operation(
+                session.nextId("ofx"),
+                StatementValues.parseOfxDate(posted),
+                cents < 0 ? Operation.OperationType.EXPENSE : Operation.OperationType.INCOME,
+                ImportSession.DEFAULT_CATEGORY,
+                StatementValues.joinComment(transaction.get("NAME"), transaction.get("MEMO")),
+                Math.abs(cents) / 100.0
+            ));
+        } catch (NumberFormatException | DateTimeException e) {
+            session.skip("Транзакция " + number + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Кодировка из заголовка OFX 1.x (CHARSET:1251, ENCODING:UTF-8) или XML-декларации
+     */
+    private Charset detectCharset(InputStream in) throws IOException {
+        in.mark(HEAD_SIZE);
+        byte[] head = in.readNBytes(HEAD_SIZE);
+        in.reset();
+
+        String header = new String(head, StandardCharsets.ISO_8859_1).toUpperCase(Locale.ROOT);
+        if (header.contains("CHARSET:1251") || header.contains("ENCODING=\"WINDOWS-1251\"")) {
+            return CharsetDetector.CP1251;
+        }
+        if (header.contains("ENCODING:UTF-8") || header.contains("ENCODING=\"UTF-8\"")) {
+            return StandardCharsets.UTF_8;
+        }
+        return CharsetDetector.detect(head, head.length);
+    }
+
+    private static String decodeEntities(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<")
+            .replace("&gt;", ">")
+            .replace("&quot;", "\"")
+            .replace("&apos;", "'")
+            .replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,51 @@
+package com.financetracker.importer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Поток, сообщающий долю прочитанных байт (не чаще, чем раз на REPORT_STEP байт).
+ */
+final class ProgressInputStream extends FilterInputStream {
+
+    private static final long REPORT_STEP = 256 * 1024;
+
+    private final long size;
+    private final DoubleConsumer progress;
+    private long position;
+    private long reportedAt;
+
+    ProgressInputStream(InputStream in, long size, DoubleConsumer progress) {
+        super(in);
+        this.size = size;
+        this.progress = progress;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            advance(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int count = super.read(buffer, offset, length);
+        if (count > 0) {
+            advance(count);
+        }
+        return count;
+    }
+
+    private void advance(long count) {
+        position += count;
+        if (position - reportedAt >= REPORT_STEP && size > 0) {
+            reportedAt = position;
+            progress.accept(Math.min(1.0, (double) position / size));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.financetracker.importer;
+
+import com.financetracker.models.Operation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.time.DateTimeException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Построчный разбор QIF (Quicken Interchange Format).
+ * Записи разделяются строкой '^'; импортируются только счета типов Bank, Cash, CCard, Oth A/L.
+ */
+class QifStatementParser implements StatementParser {
+
+    private static final int HEAD_SIZE = 64 * 1024;
+
+    private static final Set<String> ACCOUNT_TYPES = Set.of("bank", "cash", "ccard", "oth a", "oth l");
+
+    @Override
+    public Charset parse(InputStream in, ImportSession session) throws IOException {
+        in.mark(HEAD_SIZE);
+        byte[] head = in.readNBytes(HEAD_SIZE);
+        in.reset();
+        Charset charset = CharsetDetector.detect(head, head.length);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset), 1 << 16);
+        Record record = new Record();
+        boolean accountSection = false;
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (lineNumber == 1 && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+
+            char code = line.charAt(0);
+            String value = line.substring(1).strip();
+
+            if (code == '!') {
+                // Заголовок секции: !Type:Bank, !Account, !Option:...
+                String section = value.toLowerCase(Locale.ROOT);
+                if (section.startsWith("type:")) {
+                    accountSection = ACCOUNT_TYPES.contains(section.substring(5).strip());
+                } else if (section.startsWith("account")) {
+                    accountSection = false;
+                }
+                record.clear();
+                continue;
+            }
+
+            if (code == '^') {
+                if (accountSection && !record.isEmpty()) {
+                    emit(record, session);
+                }
+                record.clear();
+                continue;
+            }
+
+            if (record.isEmpty()) {
+                record.startLine = lineNumber;
+            }
+            switch (code) {
+                case 'D' -> record.date = value;
+                case 'T', 'U' -> record.amount = value;
+                case 'P' -> record.payee = value;
+                case 'M' -> record.memo = value;
+                case 'L' -> record.category = value;
+                default -> {
+                    // Номер чека, статус, адрес и разбиения не используются
+                }
+            }
+        }
+
+        if (accountSection && !record.isEmpty()) {
+            emit(record, session);
+        }
+        return charset;
+    }
+
+    private void emit(Record record, ImportSession session) throws IOException {
+        if (record.date == null || record.amount == null) {
+            session.skip("Строка " + record.startLine + ": нет даты или суммы");
+            return;
+        }
+
+        try {
+            long cents = StatementValues.parseCents(record.amount);
+            session.offer(new Operation(
+                session.nextId("qif"),
+                StatementValues.parseQifDate(record.date),
+                cents < 0 ? Operation.OperationType.EXPENSE : Operation.OperationType.INCOME,
+                session.category(categoryName(record.category)),
+                StatementValues.joinComment(record.payee, record.memo),
+                Math.abs(cents) / 100.0
+            ));
+        } catch (NumberFormatException | DateTimeException e) {
+            session.skip("Строка " + record.startLine + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Категория QIF: "Родитель:Подкатегория/Класс"; "[Счёт]" — перевод между счетами
+     */
+    private static String categoryName(String category) {
+        if (category == null || category.startsWith("[")) {
+            return null;
+        }
+        int classAt = category.indexOf('/');
+        if (classAt >= 0) {
+            category = category.substring(0, classAt);
+        }
+        return category.substring(category.lastIndexOf(':') + 1);
+    }
+
+    private static final class Record {
+        private long startLine;
+        private String date;
+        private String amount;
+        private String payee;
+        private String memo;
+        private String category;
+
+        boolean isEmpty() {
+            return date == null && amount == null && payee == null && memo == null && category == null;
+        }
+
+        void clear() {
+            date = null;
+            amount = null;
+            payee = null;
+            memo = null;
+            category = null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.financetracker.importer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Формат файла выписки. Определяется по содержимому, а не по расширению.
+ */
+public enum StatementFormat {
+    CSV("CSV"),
+    OFX("OFX"),
+    QIF("QIF"),
+    CAMT_053("ISO 20022 CAMT.053");
+
+    private final String displayName;
+
+    StatementFormat(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Определение формата по первым байтам файла
+     */
+    public static StatementFormat detect(byte[] head, int length) {
+        int bom = CharsetDetector.bomLength(head, length);
+        String text = new String(head, bom, length - bom, StandardCharsets.ISO_8859_1).toUpperCase(Locale.ROOT);
+        String start = text.stripLeading();
+
+        if (start.startsWith("!TYPE:") || start.startsWith("!ACCOUNT") || start.startsWith("!OPTION:")) {
+            return QIF;
+        }
+        if (text.contains("OFXHEADER") || text.contains("<OFX>")) {
+            return OFX;
+        }
+        if (text.contains("CAMT.053") || text.contains("BKTOCSTMRSTMT")) {
+            return CAMT_053;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,57 @@
+package com.financetracker.importer;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Импорт выписки любого поддерживаемого формата: CSV, OFX, QIF, CAMT.053.
+ * Формат определяется по содержимому; CSV разбирается параллельно через
+ * CsvStatementImporter, остальные форматы — потоково, одним проходом.
+ * Уже импортированные операции пропускаются как дубликаты (см. ImportSession).
+ */
+public class StatementImporter {
+
+    private static final int SNIFF_SIZE = 4096;
+
+    public ImportResult importFile(Path file) throws IOException {
+        return importFile(file, progress -> {
+        });
+    }
+
+    /**
+     * Импорт с отчётом о прогрессе (доля от 0 до 1). Прерывание потока останавливает импорт.
+     */
+    public ImportResult importFile(Path file, DoubleConsumer progress) throws IOException {
+        StatementFormat format;
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(SNIFF_SIZE);
+            format = StatementFormat.detect(head, head.length);
+        }
+
+        if (format == StatementFormat.CSV) {
+            return new CsvStatementImporter().importFile(file, progress);
+        }
+
+        StatementParser parser = switch (format) {
+            case OFX -> new OfxStatementParser();
+            case QIF -> new QifStatementParser();
+            case CAMT_053 -> new Camt053StatementParser();
+            case CSV -> throw new IllegalStateException();
+        };
+
+        ImportSession session = new ImportSession();
+        long size = Files.size(file);
+        try (InputStream in = new BufferedInputStream(
+                new ProgressInputStream(Files.newInputStream(file), size, progress), 1 << 16)) {
+            Charset charset = parser.parse(in, session);
+            ImportResult result = session.finish(format.getDisplayName(), charset);
+            progress.accept(1.0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.financetracker.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Потоковый разбор выписки: операции передаются в сессию по мере чтения.
+ */
+interface StatementParser {
+
+    /**
+     * Разбор потока; возвращает фактически использованную кодировку
+     */
+    Charset parse(InputStream in, ImportSession session) throws IOException;
+}
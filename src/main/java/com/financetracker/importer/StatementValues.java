@@ -0,0 +1,147 @@
+package com.financetracker.importer;
+
+import java.time.LocalDate;
+
+/**
+ * Разбор сумм и дат из форматов выписок (CSV, OFX, QIF, CAMT.053).
+ */
+final class StatementValues {
+
+    private StatementValues() {
+    }
+
+    /**
+     * Сумма в копейках. Десятичный разделитель — последняя запятая или точка,
+     * за которой одна-две цифры; остальные разделители считаются разрядными.
+     * Знак учитывается до первой цифры, прочие символы (пробелы, валюта) пропускаются.
+     */
+    static long parseCents(CharSequence value) {
+        int end = value.length();
+        int decimalAt = -1;
+        for (int i = end - 1; i >= 0; i--) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '.') {
+                int digits = 0;
+                for (int j = i + 1; j < end && isDigit(value.charAt(j)); j++) {
+                    digits++;
+                }
+                if (digits >= 1 && digits <= 2) {
+                    decimalAt = i;
+                }
+                break;
+            }
+        }
+
+        boolean negative = false;
+        boolean hasDigits = false;
+        long units = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        int totalDigits = 0;
+
+        for (int i = 0; i < end; i++) {
+            char c = value.charAt(i);
+            if (isDigit(c)) {
+                hasDigits = true;
+                if (++totalDigits > 17) {
+                    throw new NumberFormatException("слишком большая сумма");
+                }
+                if (decimalAt >= 0 && i > decimalAt) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                } else {
+                    units = units * 10 + (c - '0');
+                }
+            } else if (c == '-' && !hasDigits) {
+                negative = true;
+            }
+        }
+
+        if (!hasDigits) {
+            throw new NumberFormatException("не указана сумма");
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+
+        long cents = units * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Дата OFX: YYYYMMDD, дальше может идти время и часовой пояс
+     */
+    static LocalDate parseOfxDate(String value) {
+        if (value.length() < 8) {
+            throw new NumberFormatException("некорректная дата");
+        }
+        return LocalDate.of(
+            Integer.parseInt(value, 0, 4, 10),
+            Integer.parseInt(value, 4, 6, 10),
+            Integer.parseInt(value, 6, 8, 10)
+        );
+    }
+
+    /**
+     * Дата QIF. Встречаются MM/DD/YYYY, MM/DD'YY (Quicken), DD.MM.YYYY и YYYY-MM-DD.
+     * Через точку — день первым; через косую черту — месяц первым, если первое число не больше 12.
+     */
+    static LocalDate parseQifDate(String value) {
+        int[] parts = new int[3];
+        char[] separators = new char[2];
+        int part = 0;
+        int digits = 0;
+
+        for (int i = 0; i < value.length() && part < 3; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                parts[part] = parts[part] * 10 + (c - '0');
+                digits++;
+            } else if (c == ' ') {
+                continue;
+            } else if (digits > 0 && part < 2) {
+                separators[part] = c;
+                part++;
+                digits = 0;
+            } else {
+                throw new NumberFormatException("некорректная дата");
+            }
+        }
+        if (part != 2 || digits == 0) {
+            throw new NumberFormatException("некорректная дата");
+        }
+
+        if (separators[0] == '-' && parts[0] > 31) {
+            return LocalDate.of(parts[0], parts[1], parts[2]);
+        }
+
+        int year = parts[2];
+        if (year < 100) {
+            year += year < 70 ? 2000 : 1900;
+        }
+
+        boolean dayFirst = separators[0] == '.' || parts[0] > 12;
+        return dayFirst
+            ? LocalDate.of(year, parts[1], parts[0])
+            : LocalDate.of(year, parts[0], parts[1]);
+    }
+
+    /**
+     * Комментарий из нескольких частей (получатель, назначение) без пустых и повторов
+     */
+    static String joinComment(String first, String second) {
+        boolean hasFirst = first != null && !first.isBlank();
+        boolean hasSecond = second != null && !second.isBlank();
+        if (hasFirst && hasSecond && !first.strip().equalsIgnoreCase(second.strip())) {
+            return first.strip() + " — " + second.strip();
+        }
+        if (hasFirst) {
+            return first.strip();
+        }
+        return hasSecond ? second.strip() : "";
+    }
+}
@@ -0,0 +1,42 @@
+package com.financetracker.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчик событий; увеличение не блокирует и не выделяет память
+ */
+public final class Counter implements CounterMXBean {
+    
+    private final String name;
+    private final LongAdder value = new LongAdder();
+    
+    Counter(String name) {
+        this.name = name;
+    }
+    
+    public void increment() {
+        value.increment();
+    }
+    
+    public void add(long delta) {
+        value.add(delta);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public long getCount() {
+        return value.sum();
+    }
+    
+    @Override
+    public void reset() {
+        value.reset();
+    }
+    
+    public MetricSnapshot snapshot() {
+        return new MetricSnapshot(name, MetricSnapshot.MetricType.COUNTER, value.sum(), 0, 0, 0, 0, 0);
+    }
+}
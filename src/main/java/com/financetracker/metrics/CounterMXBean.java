@@ -0,0 +1,11 @@
+package com.financetracker.metrics;
+
+/**
+ * Счётчик в JMX (com.financetracker:type=Counter,name=...)
+ */
+public interface CounterMXBean {
+    
+    long getCount();
+    
+    void reset();
+}
@@ -0,0 +1,67 @@
+package com.financetracker.metrics;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отзывчивость потока JavaFX.
+ *
+ * fx.pulse — CSS и раскладка сцены в каждом импульсе (от слушателя перед раскладкой
+ * до слушателя после неё); отрисовка в этот замер не входит.
+ * fx.latency — задержка выполнения задачи, поставленной в очередь потока JavaFX:
+ * раз в секунду отправляется проба, и пока она не выполнена, новая не ставится,
+ * поэтому долгая блокировка потока видна одним большим значением.
+ */
+public final class FxPulseMonitor {
+    
+    private static final Timer PULSE = Metrics.timer("fx.pulse");
+    private static final Timer LATENCY = Metrics.timer("fx.latency");
+    
+    private static final long PROBE_INTERVAL_MILLIS = 1_000;
+    
+    private static ScheduledExecutorService prober;
+    
+    // Обращения только из потока JavaFX
+    private static long pulseStart;
+    
+    // Время отправки ожидающей пробы (0 — проба не ожидает выполнения)
+    private static volatile long probeSent;
+    
+    private static final Runnable PROBE = () -> {
+        LATENCY.stop(probeSent);
+        probeSent = 0;
+    };
+    
+    private FxPulseMonitor() {
+    }
+    
+    /**
+     * Замеры импульсов сцены и запуск проб очереди JavaFX (один раз на приложение)
+     */
+    public static synchronized void install(Scene scene) {
+        scene.addPreLayoutPulseListener(() -> pulseStart = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> PULSE.stop(pulseStart));
+        
+        if (prober == null) {
+            prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fx-latency-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+            prober.scheduleWithFixedDelay(FxPulseMonitor::sendProbe,
+                PROBE_INTERVAL_MILLIS, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private static void sendProbe() {
+        if (probeSent != 0) {
+            return;
+        }
+        probeSent = System.nanoTime();
+        Platform.runLater(PROBE);
+    }
+}
@@ -0,0 +1,51 @@
+package com.financetracker.metrics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Паузы сборщика мусора (таймер gc.pause) по уведомлениям JVM.
+ *
+ * У ZGC и Shenandoah отдельные бины «... Cycles» сообщают длительность
+ * параллельных циклов, которые приложение не останавливают, — они не учитываются.
+ */
+public final class GcMonitor {
+    
+    private static final Timer PAUSES = Metrics.timer("gc.pause");
+    
+    private static boolean installed;
+    
+    private GcMonitor() {
+    }
+    
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector.getName().contains("Cycles")) {
+                continue;
+            }
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(GcMonitor::onNotification, null, null);
+            }
+        }
+    }
+    
+    private static void onNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        PAUSES.record(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()));
+    }
+}
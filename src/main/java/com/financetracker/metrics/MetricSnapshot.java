@@ -0,0 +1,89 @@
+package com.financetracker.metrics;
+
+/**
+ * Значения метрики на момент чтения; для счётчика заполнено только count.
+ * Длительности — в наносекундах.
+ */
+public class MetricSnapshot {
+    
+    public enum MetricType {
+        COUNTER("Счётчик"),
+        TIMER("Таймер");
+        
+        private final String displayName;
+        
+        MetricType(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
+    private final String name;
+    private final MetricType type;
+    private final long count;
+    private final double mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+    
+    public MetricSnapshot(String name, MetricType type, long count, double mean, long p50, long p90, long p99, long max) {
+        this.name = name;
+        this.type = type;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public MetricType getType() {
+        return type;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getMean() {
+        return mean;
+    }
+    
+    public long getP50() {
+        return p50;
+    }
+    
+    public long getP90() {
+        return p90;
+    }
+    
+    public long getP99() {
+        return p99;
+    }
+    
+    public long getMax() {
+        return max;
+    }
+    
+    @Override
+    public String toString() {
+        return "MetricSnapshot{" +
+                "name='" + name + '\'' +
+                ", type=" + type +
+                ", count=" + count +
+                ", mean=" + mean +
+                ", p50=" + p50 +
+                ", p90=" + p90 +
+                ", p99=" + p99 +
+                ", max=" + max +
+                '}';
+    }
+}
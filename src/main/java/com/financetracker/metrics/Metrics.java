@@ -0,0 +1,80 @@
+package com.financetracker.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр метрик процесса.
+ *
+ * Метрики создаются один раз (обычно в статических полях) и сразу публикуются
+ * в JMX в домене com.financetracker; их же показывает панель диагностики.
+ * Метрики общие для всех пользователей и не зависят от области данных.
+ */
+public final class Metrics {
+    
+    private static final String JMX_DOMAIN = "com.financetracker";
+    
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    
+    private Metrics() {
+    }
+    
+    /**
+     * Таймер с указанным именем (создаётся при первом обращении)
+     */
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, key -> register(new Timer(key), "Timer", key));
+    }
+    
+    /**
+     * Счётчик с указанным именем (создаётся при первом обращении)
+     */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> register(new Counter(key), "Counter", key));
+    }
+    
+    /**
+     * Текущие значения всех метрик, по имени
+     */
+    public static List<MetricSnapshot> snapshot() {
+        List<MetricSnapshot> snapshots = new ArrayList<>(TIMERS.size() + COUNTERS.size());
+        for (Timer timer : TIMERS.values()) {
+            snapshots.add(timer.snapshot());
+        }
+        for (Counter counter : COUNTERS.values()) {
+            snapshots.add(counter.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(MetricSnapshot::getName));
+        return snapshots;
+    }
+    
+    /**
+     * Сброс всех метрик (начало нового замера)
+     */
+    public static void reset() {
+        TIMERS.values().forEach(Timer::reset);
+        COUNTERS.values().forEach(Counter::reset);
+    }
+    
+    private static <T> T register(T metric, String type, String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+            }
+        } catch (JMException e) {
+            // Метрика работает и без JMX
+            System.err.println("Не удалось опубликовать метрику " + name + " в JMX: " + e.getMessage());
+        }
+        return metric;
+    }
+}
@@ -0,0 +1,91 @@
+package com.financetracker.metrics;
+
+/**
+ * Таймер: распределение длительностей вызовов.
+ *
+ * Замер без выделения памяти — через примитивное время начала:
+ * <pre>
+ * long start = TIMER.start();
+ * try {
+ *     ...
+ * } finally {
+ *     TIMER.stop(start);
+ * }
+ * </pre>
+ */
+public final class Timer implements TimerMXBean {
+    
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    
+    Timer(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Время начала замера для {@link #stop(long)}
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+    
+    public void stop(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * Запись уже измеренной длительности
+     */
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public MetricSnapshot snapshot() {
+        long[] percentiles = histogram.percentiles(50, 90, 99);
+        return new MetricSnapshot(name, MetricSnapshot.MetricType.TIMER, histogram.getCount(), histogram.getMean(),
+            percentiles[0], percentiles[1], percentiles[2], histogram.getMax());
+    }
+    
+    // ========== JMX ==========
+    
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+    
+    @Override
+    public double getMeanMillis() {
+        return histogram.getMean() / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getP50Millis() {
+        return histogram.percentiles(50)[0] / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getP90Millis() {
+        return histogram.percentiles(90)[0] / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getP99Millis() {
+        return histogram.percentiles(99)[0] / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public double getMaxMillis() {
+        return histogram.getMax() / NANOS_PER_MILLI;
+    }
+    
+    @Override
+    public void reset() {
+        histogram.reset();
+    }
+}
@@ -0,0 +1,21 @@
+package com.financetracker.metrics;
+
+/**
+ * Таймер в JMX (com.financetracker:type=Timer,name=...); длительности в миллисекундах
+ */
+public interface TimerMXBean {
+    
+    long getCount();
+    
+    double getMeanMillis();
+    
+    double getP50Millis();
+    
+    double getP90Millis();
+    
+    double getP99Millis();
+    
+    double getMaxMillis();
+    
+    void reset();
+}
@@ -0,0 +1,61 @@
+package com.financetracker.models;
+
+import java.time.YearMonth;
+
+/**
+ * Строка графика погашения долга за один месяц.
+ */
+public class AmortizationEntry {
+
+    private final int monthNumber;
+    private final YearMonth month;
+    private final double payment;
+    private final double principal;
+    private final double interest;
+    private final double balance;
+
+    public AmortizationEntry(int monthNumber, YearMonth month, double payment,
+                             double principal, double interest, double balance) {
+        this.monthNumber = monthNumber;
+        this.month = month;
+        this.payment = payment;
+        this.principal = principal;
+        this.interest = interest;
+        this.balance = balance;
+    }
+
+    public int getMonthNumber() {
+        return monthNumber;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public double getPayment() {
+        return payment;
+    }
+
+    public double getPrincipal() {
+        return principal;
+    }
+
+    public double getInterest() {
+        return interest;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    @Override
+    public String toString() {
+        return "AmortizationEntry{" +
+                "month=" + month +
+                ", payment=" + payment +
+                ", principal=" + principal +
+                ", interest=" + interest +
+                ", balance=" + balance +
+                '}';
+    }
+}
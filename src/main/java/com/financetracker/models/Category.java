@@ -9,9 +9,11 @@ public class Category {
     private String name;
     private String icon;
     private CategoryType type;
+    // Статистика по операциям с учётом подкатегорий — заполняется CategoriesService в снимках
     private int operationsCount;
     private double totalAmount;
     private String color;
+    private String parentId;
     
     public enum CategoryType {
         EXPENSE("Расход"),
@@ -101,6 +103,17 @@ public class Category {
         this.color = color;
     }
     
+    /**
+     * ID родительской категории (null для категорий верхнего уровня)
+     */
+    public String getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+    
     @Override
     public String toString() {
         return "Category{" +
@@ -111,6 +124,7 @@ public class Category {
                 ", operationsCount=" + operationsCount +
                 ", totalAmount=" + totalAmount +
                 ", color='" + color + '\'' +
+                ", parentId='" + parentId + '\'' +
                 '}';
     }
 }
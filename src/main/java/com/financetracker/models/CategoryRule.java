@@ -0,0 +1,129 @@
+package com.financetracker.models;
+
+/**
+ * Правило автоматической категоризации операций.
+ * Все заданные условия должны выполняться одновременно; незаданные (null) не проверяются.
+ * Правила применяются по порядку, срабатывает первое подходящее.
+ */
+public class CategoryRule {
+    
+    private String id;
+    private String category;
+    // Подстрока комментария (без учёта регистра)
+    private String keyword;
+    // Регулярное выражение по комментарию
+    private String pattern;
+    private Double minAmount;
+    private Double maxAmount;
+    private String tag;
+    private Operation.OperationType type;
+    
+    public CategoryRule() {
+    }
+    
+    public CategoryRule(String id, String category) {
+        this.id = id;
+        this.category = category;
+    }
+    
+    /**
+     * Правило по подстроке комментария
+     */
+    public static CategoryRule keyword(String id, String keyword, String category) {
+        CategoryRule rule = new CategoryRule(id, category);
+        rule.setKeyword(keyword);
+        return rule;
+    }
+    
+    /**
+     * Правило по регулярному выражению
+     */
+    public static CategoryRule pattern(String id, String pattern, String category) {
+        CategoryRule rule = new CategoryRule(id, category);
+        rule.setPattern(pattern);
+        return rule;
+    }
+    
+    // Getters and Setters
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    /**
+     * Имя категории, назначаемой операции
+     */
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public String getKeyword() {
+        return keyword;
+    }
+    
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+    
+    public String getPattern() {
+        return pattern;
+    }
+    
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+    
+    public Double getMinAmount() {
+        return minAmount;
+    }
+    
+    public void setMinAmount(Double minAmount) {
+        this.minAmount = minAmount;
+    }
+    
+    public Double getMaxAmount() {
+        return maxAmount;
+    }
+    
+    public void setMaxAmount(Double maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+    
+    public String getTag() {
+        return tag;
+    }
+    
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+    
+    public Operation.OperationType getType() {
+        return type;
+    }
+    
+    public void setType(Operation.OperationType type) {
+        this.type = type;
+    }
+    
+    @Override
+    public String toString() {
+        return "CategoryRule{" +
+                "id='" + id + '\'' +
+                ", category='" + category + '\'' +
+                ", keyword='" + keyword + '\'' +
+                ", pattern='" + pattern + '\'' +
+                ", minAmount=" + minAmount +
+                ", maxAmount=" + maxAmount +
+                ", tag='" + tag + '\'' +
+                ", type=" + type +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.financetracker.models;
+
+/**
+ * Предложенная категория для операции с оценкой уверенности.
+ */
+public class CategorySuggestion {
+    
+    private final String category;
+    private final double probability;
+    
+    public CategorySuggestion(String category, double probability) {
+        this.category = category;
+        this.probability = probability;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    /**
+     * Апостериорная вероятность среди предложенных категорий (0..1)
+     */
+    public double getProbability() {
+        return probability;
+    }
+    
+    @Override
+    public String toString() {
+        return "CategorySuggestion{" +
+                "category='" + category + '\'' +
+                ", probability=" + String.format("%.3f", probability) +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.financetracker.models;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Результат моделирования погашения всех долгов выбранной стратегией.
+ */
+public class DebtPayoffPlan {
+
+    private final Strategy strategy;
+    private final int months;
+    private final double totalInterest;
+    private final double totalPaid;
+    private final boolean completed;
+    private final Map<String, YearMonth> payoffMonths;
+
+    public enum Strategy {
+        AVALANCHE("Лавина"),
+        SNOWBALL("Снежный ком");
+
+        private final String displayName;
+
+        Strategy(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    public DebtPayoffPlan(Strategy strategy, int months, double totalInterest, double totalPaid,
+                          boolean completed, Map<String, YearMonth> payoffMonths) {
+        this.strategy = strategy;
+        this.months = months;
+        this.totalInterest = totalInterest;
+        this.totalPaid = totalPaid;
+        this.completed = completed;
+        this.payoffMonths = Map.copyOf(payoffMonths);
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Количество месяцев до полного погашения (или горизонт моделирования)
+     */
+    public int getMonths() {
+        return months;
+    }
+
+    public double getTotalInterest() {
+        return totalInterest;
+    }
+
+    public double getTotalPaid() {
+        return totalPaid;
+    }
+
+    /**
+     * Все ли долги погашены в пределах горизонта моделирования
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Месяц погашения по ID долга
+     */
+    public Map<String, YearMonth> getPayoffMonths() {
+        return payoffMonths;
+    }
+
+    @Override
+    public String toString() {
+        return "DebtPayoffPlan{" +
+                "strategy=" + strategy +
+                ", months=" + months +
+                ", totalInterest=" + String.format("%.2f", totalInterest) +
+                ", completed=" + completed +
+                '}';
+    }
+}
@@ -16,6 +16,8 @@ public class Goal {
     private LocalDate deadline;
     private int daysRemaining;
     private String color;
+    private double interestRate;
+    private double monthlyPayment;
     
     public enum GoalType {
         GOAL("Цель"),
@@ -64,6 +66,13 @@ public class Goal {
         return targetAmount - currentAmount;
     }
     
+    /**
+     * Проверка, является ли запись долгом
+     */
+    public boolean isDebt() {
+        return type == GoalType.DEBT;
+    }
+    
     // Getters and Setters
     
     public String getId() {
@@ -138,6 +147,28 @@ public class Goal {
         this.color = color;
     }
     
+    /**
+     * Годовая процентная ставка долга (в процентах)
+     */
+    public double getInterestRate() {
+        return interestRate;
+    }
+    
+    public void setInterestRate(double interestRate) {
+        this.interestRate = interestRate;
+    }
+    
+    /**
+     * Обязательный ежемесячный платёж по долгу
+     */
+    public double getMonthlyPayment() {
+        return monthlyPayment;
+    }
+    
+    public void setMonthlyPayment(double monthlyPayment) {
+        this.monthlyPayment = monthlyPayment;
+    }
+    
     @Override
     public String toString() {
         return "Goal{" +
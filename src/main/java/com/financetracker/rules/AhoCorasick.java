@@ -0,0 +1,150 @@
+package com.financetracker.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Автомат Ахо — Корасик над нормализованными символами.
+ * Находит все вхождения всех ключевых слов за один проход по тексту,
+ * независимо от количества слов. После построения неизменяем и потокобезопасен.
+ *
+ * Переходы хранятся полной таблицей ДКА над сжатым алфавитом (только символы,
+ * встречающиеся в ключевых словах; остальные — класс 0, ведущий в корень),
+ * поэтому на символ текста приходится ровно одно обращение к таблице.
+ * Память — O(узлы × размер алфавита).
+ */
+final class AhoCorasick {
+
+    private static final int ROOT = 0;
+
+    // Класс символа в сжатом алфавите (0 — символа нет ни в одном слове)
+    private final char[] classes;
+    private final int alphabetSize;
+    // delta[state * alphabetSize + class] — следующее состояние
+    private final int[] delta;
+    // Значения (индексы правил), оканчивающиеся в узле
+    private final int[][] outputs;
+    // Ближайший по суффиксным ссылкам узел с непустыми outputs (-1 — нет)
+    private final int[] outputLink;
+
+    private AhoCorasick(char[] classes, int alphabetSize, int[] delta, int[][] outputs, int[] outputLink) {
+        this.classes = classes;
+        this.alphabetSize = alphabetSize;
+        this.delta = delta;
+        this.outputs = outputs;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * Обработчик найденного значения
+     */
+    interface MatchHandler {
+        void onMatch(int value);
+    }
+
+    /**
+     * Построение автомата; words.get(i) соответствует значению values[i]
+     */
+    static AhoCorasick build(List<String> words, int[] values) {
+        // Сжатый алфавит
+        char[] classes = new char[Character.MAX_VALUE + 1];
+        int alphabetSize = 1;
+        int totalLength = 0;
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                char c = normalize(word.charAt(i));
+                if (classes[c] == 0) {
+                    classes[c] = (char) alphabetSize++;
+                }
+            }
+            totalLength += word.length();
+        }
+
+        // Бор: в таблице переходов 0 означает "ребра нет" (в корень рёбра бора не ведут)
+        int[] delta = new int[(totalLength + 1) * alphabetSize];
+        List<List<Integer>> outputLists = new ArrayList<>();
+        outputLists.add(new ArrayList<>());
+        int nodeCount = 1;
+
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
+            int node = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                int edge = node * alphabetSize + classes[normalize(word.charAt(i))];
+                if (delta[edge] == 0) {
+                    delta[edge] = nodeCount++;
+                    outputLists.add(new ArrayList<>());
+                }
+                node = delta[edge];
+            }
+            outputLists.get(node).add(values[w]);
+        }
+
+        delta = Arrays.copyOf(delta, nodeCount * alphabetSize);
+        int[][] outputs = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) {
+            outputs[node] = outputLists.get(node).stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+
+        // Суффиксные ссылки обходом в ширину; недостающие переходы достраиваются до ДКА
+        int[] fail = new int[nodeCount];
+        int[] outputLink = new int[nodeCount];
+        Arrays.fill(outputLink, -1);
+        int[] queue = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+
+        for (int c = 1; c < alphabetSize; c++) {
+            int child = delta[c];
+            if (child != 0) {
+                fail[child] = ROOT;
+                queue[tail++] = child;
+            }
+        }
+
+        while (head < tail) {
+            int node = queue[head++];
+            int base = node * alphabetSize;
+            int failBase = fail[node] * alphabetSize;
+
+            for (int c = 1; c < alphabetSize; c++) {
+                int child = delta[base + c];
+                if (child != 0) {
+                    int link = delta[failBase + c];
+                    fail[child] = link;
+                    outputLink[child] = outputs[link].length > 0 ? link : outputLink[link];
+                    queue[tail++] = child;
+                } else {
+                    delta[base + c] = delta[failBase + c];
+                }
+            }
+        }
+
+        return new AhoCorasick(classes, alphabetSize, delta, outputs, outputLink);
+    }
+
+    /**
+     * Поиск всех вхождений в тексте; значение может быть передано несколько раз
+     */
+    void search(CharSequence text, MatchHandler handler) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = delta[state * alphabetSize + classes[normalize(text.charAt(i))]];
+
+            for (int node = outputs[state].length > 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                for (int value : outputs[node]) {
+                    handler.onMatch(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Сравнение без учёта регистра, ё и е не различаются
+     */
+    static char normalize(char c) {
+        c = Character.toLowerCase(c);
+        return c == 'ё' ? 'е' : c;
+    }
+}
@@ -0,0 +1,254 @@
+package com.financetracker.rules;
+
+import com.financetracker.models.CategoryRule;
+import com.financetracker.models.Operation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Скомпилированный набор правил категоризации.
+ *
+ * Ключевые слова всех правил собираются в один автомат Ахо — Корасик, теги — в хэш-индекс,
+ * поэтому для операции проверяются только правила-кандидаты: найденные автоматом, совпавшие
+ * по тегу и правила без слова и тега (только регулярное выражение, сумма, тип).
+ * Кандидаты проверяются в порядке правил, выигрывает первое. Время — линейное по длине
+ * комментария плюс число кандидатов, а не по числу правил.
+ *
+ * Движок неизменяем; для разбора используйте {@link #newMatcher()} — по одному на поток.
+ */
+public final class RuleEngine {
+
+    private static final RuleEngine EMPTY = compile(List.of());
+
+    private final CompiledRule[] rules;
+    private final AhoCorasick keywords;
+    private final Map<String, int[]> rulesByTag;
+    // Правила без слова и тега — проверяются для каждой операции
+    private final int[] alwaysRules;
+    private final List<String> invalidRules;
+
+    private RuleEngine(CompiledRule[] rules, AhoCorasick keywords, Map<String, int[]> rulesByTag,
+                       int[] alwaysRules, List<String> invalidRules) {
+        this.rules = rules;
+        this.keywords = keywords;
+        this.rulesByTag = rulesByTag;
+        this.alwaysRules = alwaysRules;
+        this.invalidRules = invalidRules;
+    }
+
+    public static RuleEngine empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Компиляция правил. Правила с некорректным регулярным выражением или без условий
+     * пропускаются, их ID доступны через {@link #getInvalidRules()}.
+     */
+    public static RuleEngine compile(List<CategoryRule> source) {
+        List<CompiledRule> compiled = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+
+        for (CategoryRule rule : source) {
+            CompiledRule compiledRule = CompiledRule.of(rule);
+            if (compiledRule == null) {
+                invalid.add(rule.getId());
+            } else {
+                compiled.add(compiledRule);
+            }
+        }
+
+        List<String> words = new ArrayList<>();
+        List<Integer> wordRules = new ArrayList<>();
+        Map<String, List<Integer>> tagLists = new HashMap<>();
+        List<Integer> always = new ArrayList<>();
+
+        for (int i = 0; i < compiled.size(); i++) {
+            CompiledRule rule = compiled.get(i);
+            if (rule.keyword() != null) {
+                words.add(rule.keyword());
+                wordRules.add(i);
+            } else if (rule.tag() != null) {
+                tagLists.computeIfAbsent(rule.tag(), tag -> new ArrayList<>()).add(i);
+            } else {
+                always.add(i);
+            }
+        }
+
+        Map<String, int[]> rulesByTag = new HashMap<>();
+        tagLists.forEach((tag, indexes) ->
+            rulesByTag.put(tag, indexes.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new RuleEngine(
+            compiled.toArray(new CompiledRule[0]),
+            AhoCorasick.build(words, wordRules.stream().mapToInt(Integer::intValue).toArray()),
+            rulesByTag,
+            always.stream().mapToInt(Integer::intValue).toArray(),
+            List.copyOf(invalid)
+        );
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * ID правил, не прошедших компиляцию
+     */
+    public List<String> getInvalidRules() {
+        return invalidRules;
+    }
+
+    public Matcher newMatcher() {
+        return new Matcher();
+    }
+
+    /**
+     * Подбор категории для операций. Хранит рабочие буферы, поэтому не потокобезопасен.
+     */
+    public final class Matcher {
+
+        // Отметка "ключевое слово правила найдено" для текущей операции (по номеру прохода)
+        private final int[] keywordHit = new int[rules.length];
+        private int[] candidates = new int[16];
+        private int candidateCount;
+        private int epoch;
+
+        private Matcher() {
+        }
+
+        /**
+         * Правило, сработавшее для операции, или null
+         */
+        public CategoryRule match(Operation operation) {
+            if (rules.length == 0) {
+                return null;
+            }
+
+            epoch++;
+            candidateCount = 0;
+
+            String comment = operation.getComment();
+            if (comment != null) {
+                keywords.search(comment, this::onKeyword);
+            }
+            for (String tag : operation.getTags()) {
+                int[] tagged = rulesByTag.get(normalizeTag(tag));
+                if (tagged != null) {
+                    for (int index : tagged) {
+                        addCandidate(index);
+                    }
+                }
+            }
+            for (int index : alwaysRules) {
+                addCandidate(index);
+            }
+
+            // Порядок правил — порядок приоритета
+            Arrays.sort(candidates, 0, candidateCount);
+            int previous = -1;
+            for (int i = 0; i < candidateCount; i++) {
+                int index = candidates[i];
+                if (index == previous) {
+                    continue;
+                }
+                previous = index;
+
+                CompiledRule rule = rules[index];
+                if (rule.keyword() != null && keywordHit[index] != epoch) {
+                    continue;
+                }
+                if (rule.matches(operation)) {
+                    return rule.source();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Категория для операции или null, если ни одно правило не сработало
+         */
+        public String categorize(Operation operation) {
+            CategoryRule rule = match(operation);
+            return rule == null ? null : rule.getCategory();
+        }
+
+        private void onKeyword(int index) {
+            if (keywordHit[index] != epoch) {
+                keywordHit[index] = epoch;
+                addCandidate(index);
+            }
+        }
+
+        private void addCandidate(int index) {
+            if (candidateCount == candidates.length) {
+                candidates = Arrays.copyOf(candidates, candidateCount * 2);
+            }
+            candidates[candidateCount++] = index;
+        }
+    }
+
+    private static String normalizeTag(String tag) {
+        return tag.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Правило с предкомпилированными условиями
+     */
+    private record CompiledRule(CategoryRule source, String keyword, Pattern pattern, double minAmount,
+                                double maxAmount, String tag, Operation.OperationType type) {
+
+        static CompiledRule of(CategoryRule rule) {
+            String keyword = rule.getKeyword() == null || rule.getKeyword().isBlank()
+                ? null
+                : rule.getKeyword().strip();
+            String tag = rule.getTag() == null || rule.getTag().isBlank() ? null : normalizeTag(rule.getTag());
+
+            Pattern pattern = null;
+            if (rule.getPattern() != null && !rule.getPattern().isBlank()) {
+                try {
+                    pattern = Pattern.compile(rule.getPattern(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+                } catch (PatternSyntaxException e) {
+                    return null;
+                }
+            }
+
+            boolean hasCondition = keyword != null || tag != null || pattern != null
+                || rule.getMinAmount() != null || rule.getMaxAmount() != null || rule.getType() != null;
+            if (!hasCondition || rule.getCategory() == null || rule.getCategory().isBlank()) {
+                return null;
+            }
+
+            return new CompiledRule(
+                rule, keyword, pattern,
+                rule.getMinAmount() == null ? Double.NEGATIVE_INFINITY : rule.getMinAmount(),
+                rule.getMaxAmount() == null ? Double.POSITIVE_INFINITY : rule.getMaxAmount(),
+                tag, rule.getType()
+            );
+        }
+
+        /**
+         * Проверка всех условий, кроме ключевого слова (оно проверено автоматом)
+         */
+        boolean matches(Operation operation) {
+            if (type != null && operation.getType() != type) {
+                return false;
+            }
+            double amount = operation.getAmount();
+            if (amount < minAmount || amount > maxAmount) {
+                return false;
+            }
+            if (tag != null && operation.getTags().stream().noneMatch(t -> normalizeTag(t).equals(tag))) {
+                return false;
+            }
+            return pattern == null
+                || (operation.getComment() != null && pattern.matcher(operation.getComment()).find());
+        }
+    }
+}
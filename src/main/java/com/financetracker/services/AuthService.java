@@ -1,117 +1,205 @@
 package com.financetracker.services;
 
+import com.financetracker.api.ApiClient;
+import com.financetracker.api.ApiException;
+import com.financetracker.api.BackendApi;
+import com.financetracker.api.LoginRequest;
+import com.financetracker.api.LoginResponse;
+import com.financetracker.api.RegisterRequest;
+import com.financetracker.api.SessionManager;
+import com.financetracker.api.SessionTokens;
 import com.financetracker.models.User;
-import java.util.HashMap;
-import java.util.Map;
+import com.financetracker.storage.WrongPasswordException;
+import com.financetracker.utils.AppPaths;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.prefs.Preferences;
 
 /**
  * Сервис аутентификации
- * Сейчас использует mock данные, в будущем будет работать с REST API
+ * Если адрес бекенда задан, вход и регистрация идут через REST API, и вход открывает
+ * сеанс с токенами ({@link SessionManager}), который сохраняется между запусками.
+ * Иначе проверяются локальные учётные данные.
+ *
+ * Пароли хранятся только в виде хэшей {@link PasswordHasher}. Вход и регистрация
+ * вычисляют хэш (сотни миллисекунд) или ждут сервер и вызываются не из FX-потока.
  */
 public class AuthService {
     
-    private static AuthService instance;
+    private static final String ITERATIONS_PROPERTY = "financetracker.auth.iterations";
+    
+    // Тестовый пользователь test@example.com / 123456; хэш с устаревшими параметрами
+    // пересчитывается при первом входе
+    private static final String MOCK_PASSWORD_HASH =
+        "pbkdf2-sha256$10000$WhNBYP0E/TWtrerSDrNVew$LszkPMcjuGsHw7TZTnZtXk+DCIbhbwwdUG4S/bCHM4c";
+    
     private final Preferences preferences;
+    private final PasswordHasher hasher;
+    private final CredentialStore credentials;
+    // Сеанс бекенда (null — бекенд не настроен)
+    private final SessionManager session;
     
-    // Mock база данных пользователей
-    private final Map<String, User> users = new HashMap<>();
+    // Хэш для проверки несуществующих email: время ответа не выдаёт, зарегистрирован ли адрес.
+    // Считается в фоне при запуске, иначе первый вход с неизвестным email стоил бы два хэша
+    private final CompletableFuture<String> dummyHash;
     
     // Текущий авторизованный пользователь
-    private User currentUser;
+    private volatile User currentUser;
     
     private static final String PREF_REMEMBERED_EMAIL = "remembered_email";
     
     private AuthService() {
         this.preferences = Preferences.userNodeForPackage(AuthService.class);
+        this.hasher = new PasswordHasher(Integer.getInteger(ITERATIONS_PROPERTY, PasswordHasher.DEFAULT_ITERATIONS));
+        this.credentials = new CredentialStore(credentialsFile());
+        this.session = ApiClient.isConfigured()
+            ? SessionManager.attach(ApiClient.getInstance(), new EncryptedTokenStore(preferences))
+            : null;
+        this.dummyHash = session == null
+            ? CompletableFuture.supplyAsync(() -> hasher.hash(new char[0]))
+            : CompletableFuture.completedFuture(null);
         initializeMockUsers();
     }
     
-    public static synchronized AuthService getInstance() {
-        if (instance == null) {
-            instance = new AuthService();
+    private static class Holder {
+        private static final AuthService INSTANCE = new AuthService();
+    }
+    
+    public static AuthService getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    private static Path credentialsFile() {
+        try {
+            return AppPaths.dataFile("credentials.json");
+        } catch (IOException e) {
+            System.err.println("Учётные данные будут храниться только в памяти: " + e.getMessage());
+            return null;
         }
-        return instance;
     }
     
     /**
      * Инициализация тестовых пользователей
      */
     private void initializeMockUsers() {
-        // Добавляем тестового пользователя
-        User testUser = new User(
-            "1",
-            "Иван Петров",
-            "test@example.com",
-            "123456"
-        );
-        users.put(testUser.getEmail(), testUser);
+        try {
+            credentials.add(new CredentialStore.Credential("1", "Иван Петров", "test@example.com", MOCK_PASSWORD_HASH));
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить учётные данные: " + e.getMessage());
+        }
     }
     
     /**
-     * Вход в систему
-     * TODO: Заменить на API запрос к бекенду
+     * Вход в систему: через бекенд, если он настроен, иначе по локальным учётным данным.
+     * Если локальный хэш пароля получен с устаревшими параметрами, он пересчитывается с текущими.
      */
     public boolean login(String email, String password) {
-        User user = users.get(email);
-        
-        if (user != null && user.getPassword().equals(password)) {
-            currentUser = user;
-            return true;
+        if (session != null) {
+            return loginRemote(email, password);
         }
         
-        return false;
-        
-        /* Будущая реализация с API:
+        CredentialStore.Credential credential = credentials.get(email);
+        char[] chars = password.toCharArray();
         try {
-            LoginRequest request = new LoginRequest(email, password);
-            Response<LoginResponse> response = apiService.login(request);
+            if (credential == null) {
+                hasher.verify(chars, dummyHash.join());
+                return false;
+            }
+            if (!hasher.verify(chars, credential.getPasswordHash())) {
+                return false;
+            }
             
-            if (response.isSuccessful() && response.body() != null) {
-                currentUser = response.body().getUser();
-                saveAuthToken(response.body().getToken());
-                return true;
+            if (hasher.needsRehash(credential.getPasswordHash())) {
+                try {
+                    credentials.replace(credential, credential.withPasswordHash(hasher.hash(chars)));
+                } catch (IOException e) {
+                    // Вход не зависит от пересчёта: старый хэш остаётся рабочим
+                    System.err.println("Не удалось обновить хэш пароля: " + e.getMessage());
+                }
             }
-            return false;
             
-        } catch (Exception e) {
-            throw new RuntimeException("Ошибка при входе", e);
+            User user = new User(credential.getUserId(), credential.getName(), credential.getEmail(), null);
+            UserScope.open(user, chars, hasher.getIterations());
+            currentUser = user;
+            return true;
+        } finally {
+            Arrays.fill(chars, '\0');
         }
-        */
     }
     
     /**
-     * Регистрация нового пользователя
-     * TODO: Заменить на API запрос к бекенду
+     * Регистрация нового пользователя: на бекенде, если он настроен, иначе локально
      */
     public boolean register(String name, String email, String password) {
-        // Проверка что email не занят
-        if (users.containsKey(email)) {
+        if (session != null) {
+            try {
+                BackendApi.getInstance().register(new RegisterRequest(name, email, password)).join();
+                return true;
+            } catch (CompletionException e) {
+                return rejectedOrThrow(e);
+            }
+        }
+        
+        // Быстрая проверка до дорогого хэширования; окончательная — атомарно при добавлении
+        if (credentials.get(email) != null) {
             return false;
         }
         
-        // Создание нового пользователя
-        User newUser = new User(
-            String.valueOf(System.currentTimeMillis()),
-            name,
-            email,
-            password
-        );
+        char[] chars = password.toCharArray();
+        try {
+            CredentialStore.Credential credential = new CredentialStore.Credential(
+                String.valueOf(System.currentTimeMillis()),
+                name,
+                email,
+                hasher.hash(chars)
+            );
+            return credentials.add(credential);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить учётные данные", e);
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+    }
+    
+    private boolean loginRemote(String email, String password) {
+        LoginResponse response;
+        try {
+            response = BackendApi.getInstance().login(new LoginRequest(email, password)).join();
+        } catch (CompletionException e) {
+            return rejectedOrThrow(e);
+        }
+        if (response == null || response.getToken() == null) {
+            return false;
+        }
         
-        users.put(email, newUser);
-        return true;
+        session.start(SessionTokens.from(response, null, System.currentTimeMillis()));
         
-        /* Будущая реализация с API:
+        char[] chars = password.toCharArray();
         try {
-            RegisterRequest request = new RegisterRequest(name, email, password);
-            Response<RegisterResponse> response = apiService.register(request);
-            
-            return response.isSuccessful();
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Ошибка при регистрации", e);
+            UserScope.open(response.getUser(), chars, hasher.getIterations());
+        } catch (RuntimeException e) {
+            session.clear();
+            throw e;
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+        currentUser = response.getUser();
+        return true;
+    }
+    
+    /**
+     * Отказ бекенда (4xx) — false; сетевые и серверные ошибки пробрасываются
+     */
+    private static boolean rejectedOrThrow(CompletionException e) {
+        if (e.getCause() instanceof ApiException api && api.isClientError()) {
+            return false;
         }
-        */
+        throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
     }
     
     /**
@@ -119,7 +207,77 @@ public class AuthService {
      */
     public void logout() {
         currentUser = null;
-        // TODO: Удалить токен аутентификации
+        UserScope.closeCurrent();
+        if (session != null) {
+            session.clear();
+        }
+    }
+    
+    /**
+     * Есть сохранённый сеанс бекенда, который можно восстановить без ввода пароля
+     */
+    public boolean hasSavedSession() {
+        return session != null && (session.isActive() || session.restore());
+    }
+    
+    /**
+     * Восстановление сохранённого сеанса: пользователь запрашивается у бекенда
+     * (при необходимости токен сначала обновляется). Блокирующий вызов.
+     */
+    public boolean restoreSession() {
+        if (!hasSavedSession()) {
+            return false;
+        }
+        try {
+            User user = BackendApi.getInstance().getCurrentUser().join();
+            if (user == null || !session.isActive()) {
+                return false;
+            }
+            // Без пароля ключ локального журнала недоступен: операции придут синхронизацией
+            // с начала ленты (см. SyncEngine.getInstance)
+            UserScope.open(user, null, hasher.getIterations());
+            currentUser = user;
+            return true;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ApiException api && api.isClientError()) {
+                session.clear();
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * Ключ локальных данных вошедшего пользователя зашифрован другим паролем
+     * (пароль сменили на бекенде или на другом устройстве)
+     */
+    public boolean needsPreviousPassword() {
+        return currentUser != null && UserScope.current().getJournalError() instanceof WrongPasswordException;
+    }
+    
+    /**
+     * Перешифровка ключа локальных данных текущим паролем password по прежнему previous
+     * и повторное открытие области пользователя. false — прежний пароль не подходит.
+     * Блокирующий вызов.
+     */
+    public boolean unlockWithPreviousPassword(String previous, String password) {
+        User user = currentUser;
+        if (user == null) {
+            return false;
+        }
+        char[] previousChars = previous.toCharArray();
+        char[] chars = password.toCharArray();
+        try {
+            UserScope.changeLedgerPassword(user, previousChars, chars, hasher.getIterations());
+            UserScope.open(user, chars, hasher.getIterations());
+            return true;
+        } catch (WrongPasswordException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось перешифровать локальные данные", e);
+        } finally {
+            Arrays.fill(previousChars, '\0');
+            Arrays.fill(chars, '\0');
+        }
     }
     
     /**
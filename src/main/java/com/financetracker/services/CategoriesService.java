@@ -1,30 +1,62 @@
 package com.financetracker.services;
 
+import com.financetracker.metrics.Metrics;
+import com.financetracker.metrics.Timer;
 import com.financetracker.models.Category;
+import com.financetracker.models.Operation;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
  * Сервис для работы с категориями
- * Сейчас использует mock данные, в будущем будет работать с REST API
+ * Данные в памяти области пользователя; с бекендом сверяются через SyncEngine
  */
 public class CategoriesService {
     
-    private static CategoriesService instance;
+    private static final Timer AGGREGATE_TIMER = Metrics.timer("categories.aggregate");
+    
+    // Изменяемый список категорий, доступен только под writeLock
     private final List<Category> categories;
+    private final Object writeLock = new Object();
+    
+    // Неизменяемый снимок с индексами; читатели работают с ним без блокировок
+    private volatile CategoryIndex index = CategoryIndex.build(List.of());
+    
+    // Агрегаты по категориям (ключ — имя в нижнем регистре), обновляются инкрементально
+    private final Map<String, CategoryAggregate> aggregates = new ConcurrentHashMap<>();
+    
+    // Агрегаты с учётом подкатегорий (ключ — ID категории); пересобираются только при изменении дерева
+    private volatile Map<String, CategoryAggregate> rollups = new ConcurrentHashMap<>();
+    
+    // Вклад каждой операции в агрегат, чтобы корректно откатывать изменённые на месте операции
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    
+    private final List<EntityChangeListener> changeListeners = new CopyOnWriteArrayList<>();
     
     private CategoriesService() {
         this.categories = new ArrayList<>();
         initializeMockCategories();
+        publishIndex();
+        
+        OperationsService operationsService = OperationsService.getInstance();
+        operationsService.addListener(this::onOperationsChanged);
+        onOperationsChanged(List.of(), operationsService.getAllOperations());
     }
     
-    public static synchronized CategoriesService getInstance() {
-        if (instance == null) {
-            instance = new CategoriesService();
-        }
-        return instance;
+    /**
+     * Экземпляр области текущего пользователя (см. {@link UserScope})
+     */
+    public static CategoriesService getInstance() {
+        return UserScope.current().service(CategoriesService.class, scope -> new CategoriesService());
     }
     
     /**
@@ -39,8 +71,8 @@ public class CategoriesService {
             "Продукты",
             "SHOPPING_CART",
             Category.CategoryType.EXPENSE,
-            185,
-            52300.0,
+            0,
+            0.0,
             "#3B82F6"  // синий
         ));
         
@@ -50,8 +82,8 @@ public class CategoriesService {
             "Транспорт",
             "CAR",
             Category.CategoryType.EXPENSE,
-            92,
-            28900.0,
+            0,
+            0.0,
             "#06B6D4"  // голубой
         ));
         
@@ -61,8 +93,8 @@ public class CategoriesService {
             "Здоровье",
             "MEDKIT",
             Category.CategoryType.EXPENSE,
-            34,
-            45200.0,
+            0,
+            0.0,
             "#10B981"  // зеленый
         ));
         
@@ -72,8 +104,8 @@ public class CategoriesService {
             "Одежда",
             "SHOPPING_BAG",
             Category.CategoryType.EXPENSE,
-            23,
-            31400.0,
+            0,
+            0.0,
             "#EC4899"  // розовый
         ));
         
@@ -83,8 +115,8 @@ public class CategoriesService {
             "Развлечения",
             "GAMEPAD",
             Category.CategoryType.EXPENSE,
-            67,
-            38900.0,
+            0,
+            0.0,
             "#F59E0B"  // оранжевый
         ));
         
@@ -94,11 +126,24 @@ public class CategoriesService {
             "Коммунальные",
             "HOME",
             Category.CategoryType.EXPENSE,
-            12,
-            19500.0,
+            0,
+            0.0,
             "#6366F1"  // индиго
         ));
         
+        // Подкатегории транспорта
+        Category taxi = new Category("10", "Такси", "TAXI", Category.CategoryType.EXPENSE, 0, 0.0, "#0EA5E9");
+        taxi.setParentId("2");
+        categories.add(taxi);
+        
+        Category metro = new Category("11", "Метро", "SUBWAY", Category.CategoryType.EXPENSE, 0, 0.0, "#22D3EE");
+        metro.setParentId("2");
+        categories.add(metro);
+        
+        Category fuel = new Category("12", "Бензин", "TINT", Category.CategoryType.EXPENSE, 0, 0.0, "#0891B2");
+        fuel.setParentId("2");
+        categories.add(fuel);
+        
         // ========== КАТЕГОРИИ ДОХОДОВ ==========
         
         // Зарплата
@@ -107,8 +152,8 @@ public class CategoriesService {
             "Зарплата",
             "BRIEFCASE",
             Category.CategoryType.INCOME,
-            5,
-            425000.0,
+            0,
+            0.0,
             "#10B981"  // зеленый
         ));
         
@@ -118,8 +163,8 @@ public class CategoriesService {
             "Фриланс",
             "LAPTOP",
             Category.CategoryType.INCOME,
-            12,
-            180000.0,
+            0,
+            0.0,
             "#3B82F6"  // синий
         ));
         
@@ -131,25 +176,140 @@ public class CategoriesService {
             "Подарки",
             "GIFT",
             Category.CategoryType.UNIVERSAL,
-            8,
-            15600.0,
+            0,
+            0.0,
             "#EC4899"  // розовый
         ));
     }
     
+    // ========== AGGREGATES ==========
+    
+    /**
+     * Инкрементальное обновление агрегатов при изменении операций
+     */
+    private void onOperationsChanged(List<Operation> removed, List<Operation> added) {
+        long start = AGGREGATE_TIMER.start();
+        try {
+            synchronized (contributions) {
+                for (Operation operation : removed) {
+                    Contribution contribution = contributions.remove(operation.getId());
+                    if (contribution != null) {
+                        applyDelta(contribution.categoryKey(), -1, -contribution.amount());
+                    }
+                }
+                
+                for (Operation operation : added) {
+                    Contribution previous = contributions.remove(operation.getId());
+                    if (previous != null) {
+                        applyDelta(previous.categoryKey(), -1, -previous.amount());
+                    }
+                    
+                    Contribution contribution = new Contribution(categoryKey(operation.getCategory()), operation.getAmount());
+                    contributions.put(operation.getId(), contribution);
+                    applyDelta(contribution.categoryKey(), 1, contribution.amount());
+                }
+            }
+        } finally {
+            AGGREGATE_TIMER.stop(start);
+        }
+    }
+    
+    private void applyDelta(String categoryKey, int countDelta, double amountDelta) {
+        mergeDelta(aggregates, categoryKey, countDelta, amountDelta);
+        propagateDelta(rollups, index, index.byName().get(categoryKey), countDelta, amountDelta);
+    }
+    
+    /**
+     * Распространение изменения вверх по цепочке предков категории
+     */
+    private static void propagateDelta(Map<String, CategoryAggregate> target, CategoryIndex snapshot,
+                                       Category category, int countDelta, double amountDelta) {
+        // Ограничение глубины защищает от циклов в parentId
+        int depthLimit = snapshot.all().size();
+        for (int depth = 0; category != null && depth < depthLimit; depth++) {
+            mergeDelta(target, category.getId(), countDelta, amountDelta);
+            category = category.getParentId() == null ? null : snapshot.byId().get(category.getParentId());
+        }
+    }
+    
+    private static void mergeDelta(Map<String, CategoryAggregate> target, String key,
+                                   int countDelta, double amountDelta) {
+        // Агрегаты неизменяемы и заменяются целиком, поэтому читатели не блокируются
+        target.compute(key, (k, aggregate) -> {
+            int operationsCount = (aggregate == null ? 0 : aggregate.operationsCount()) + countDelta;
+            double totalAmount = (aggregate == null ? 0 : aggregate.totalAmount()) + amountDelta;
+            return operationsCount == 0 ? null : new CategoryAggregate(operationsCount, totalAmount);
+        });
+    }
+    
+    /**
+     * Пересборка агрегатов дерева из агрегатов категорий после изменения иерархии
+     */
+    private void rebuildRollups() {
+        synchronized (contributions) {
+            CategoryIndex snapshot = index;
+            Map<String, CategoryAggregate> rebuilt = new ConcurrentHashMap<>();
+            aggregates.forEach((key, aggregate) -> propagateDelta(
+                rebuilt, snapshot, snapshot.byName().get(key),
+                aggregate.operationsCount(), aggregate.totalAmount()
+            ));
+            rollups = rebuilt;
+        }
+    }
+    
+    private static String categoryKey(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Снимок категории с актуальной статистикой по операциям (включая подкатегории)
+     */
+    private Category withStats(Category category) {
+        CategoryAggregate aggregate = rollups.get(category.getId());
+        return copyOf(category,
+            aggregate == null ? 0 : aggregate.operationsCount(),
+            aggregate == null ? 0 : aggregate.totalAmount());
+    }
+    
+    private static Category copyOf(Category category, int operationsCount, double totalAmount) {
+        Category copy = new Category(
+            category.getId(),
+            category.getName(),
+            category.getIcon(),
+            category.getType(),
+            operationsCount,
+            totalAmount,
+            category.getColor()
+        );
+        copy.setParentId(category.getParentId());
+        return copy;
+    }
+    
+    // ========== INDEXES ==========
+    
+    /**
+     * Публикация нового снимка индексов после изменения списка (вызывается под writeLock)
+     */
+    private void publishIndex() {
+        index = CategoryIndex.build(categories);
+        rebuildRollups();
+    }
+    
     /**
      * Получение всех категорий
      */
     public List<Category> getAllCategories() {
-        return new ArrayList<>(categories);
+        return index.all().stream()
+            .map(this::withStats)
+            .collect(Collectors.toList());
     }
     
     /**
      * Получение категорий по типу
      */
     public List<Category> getCategoriesByType(Category.CategoryType type) {
-        return categories.stream()
-            .filter(cat -> cat.getType() == type)
+        return index.byType().getOrDefault(type, List.of()).stream()
+            .map(this::withStats)
             .collect(Collectors.toList());
     }
     
@@ -157,47 +317,62 @@ public class CategoriesService {
      * Получение категории по ID
      */
     public Category getCategoryById(String id) {
-        return categories.stream()
-            .filter(cat -> cat.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        Category category = index.byId().get(id);
+        return category == null ? null : withStats(category);
     }
     
     /**
-     * Получение категории по имени
+     * Получение категории по имени (без учёта регистра)
      */
     public Category getCategoryByName(String name) {
-        return categories.stream()
-            .filter(cat -> cat.getName().equalsIgnoreCase(name))
-            .findFirst()
-            .orElse(null);
+        Category category = index.byName().get(categoryKey(name));
+        return category == null ? null : withStats(category);
+    }
+    
+    /**
+     * Получение подкатегорий (parentId == null — категории верхнего уровня)
+     */
+    public List<Category> getSubcategories(String parentId) {
+        CategoryIndex snapshot = index;
+        List<Category> subcategories = parentId == null
+            ? snapshot.roots()
+            : snapshot.children().getOrDefault(parentId, List.of());
+        return subcategories.stream()
+            .map(this::withStats)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Проверка наличия подкатегорий
+     */
+    public boolean hasSubcategories(String categoryId) {
+        return index.children().containsKey(categoryId);
     }
     
     /**
      * Добавление новой категории
      */
     public boolean addCategory(Category category) {
-        categories.add(category);
-        return true;
-        
-        /* Будущая реализация с API:
-        try {
-            Response<Category> response = apiService.createCategory(category);
-            return response.isSuccessful();
-        } catch (Exception e) {
-            throw new RuntimeException("Ошибка создания категории", e);
+        synchronized (writeLock) {
+            categories.add(copyOf(category, 0, 0));
+            publishIndex();
         }
-        */
+        fireChanged(category.getId());
+        return true;
     }
     
     /**
      * Обновление категории
      */
     public boolean updateCategory(Category category) {
-        for (int i = 0; i < categories.size(); i++) {
-            if (categories.get(i).getId().equals(category.getId())) {
-                categories.set(i, category);
-                return true;
+        synchronized (writeLock) {
+            for (int i = 0; i < categories.size(); i++) {
+                if (categories.get(i).getId().equals(category.getId())) {
+                    categories.set(i, copyOf(category, 0, 0));
+                    publishIndex();
+                    fireChanged(category.getId());
+                    return true;
+                }
             }
         }
         return false;
@@ -207,6 +382,83 @@ public class CategoriesService {
      * Удаление категории
      */
     public boolean deleteCategory(String id) {
-        return categories.removeIf(cat -> cat.getId().equals(id));
+        synchronized (writeLock) {
+            boolean removed = categories.removeIf(cat -> cat.getId().equals(id));
+            if (removed) {
+                publishIndex();
+                fireChanged(id);
+            }
+            return removed;
+        }
+    }
+    
+    /**
+     * Подписка на добавление, изменение и удаление категорий
+     */
+    public void addChangeListener(EntityChangeListener listener) {
+        changeListeners.add(listener);
+    }
+    
+    public void removeChangeListener(EntityChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+    
+    private void fireChanged(String id) {
+        for (EntityChangeListener listener : changeListeners) {
+            listener.onEntityChanged(id);
+        }
+    }
+    
+    /**
+     * Накопленная статистика категории
+     */
+    private record CategoryAggregate(int operationsCount, double totalAmount) {
+    }
+    
+    /**
+     * Снимок списка категорий с индексами по ID, имени (в нижнем регистре), типу и родителю
+     */
+    private record CategoryIndex(List<Category> all,
+                                 Map<String, Category> byId,
+                                 Map<String, Category> byName,
+                                 Map<Category.CategoryType, List<Category>> byType,
+                                 List<Category> roots,
+                                 Map<String, List<Category>> children) {
+        
+        static CategoryIndex build(List<Category> categories) {
+            Map<String, Category> byId = new HashMap<>();
+            Map<String, Category> byName = new HashMap<>();
+            Map<Category.CategoryType, List<Category>> byType = new EnumMap<>(Category.CategoryType.class);
+            List<Category> roots = new ArrayList<>();
+            Map<String, List<Category>> children = new HashMap<>();
+            
+            for (Category category : categories) {
+                byId.putIfAbsent(category.getId(), category);
+                byName.putIfAbsent(categoryKey(category.getName()), category);
+                byType.computeIfAbsent(category.getType(), type -> new ArrayList<>()).add(category);
+                if (category.getParentId() == null) {
+                    roots.add(category);
+                } else {
+                    children.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category);
+                }
+            }
+            byType.replaceAll((type, bucket) -> List.copyOf(bucket));
+            children.replaceAll((id, bucket) -> List.copyOf(bucket));
+            
+            return new CategoryIndex(
+                List.copyOf(categories),
+                Collections.unmodifiableMap(byId),
+                Collections.unmodifiableMap(byName),
+                Collections.unmodifiableMap(byType),
+                List.copyOf(roots),
+                Collections.unmodifiableMap(children)
+            );
+        }
+    }
+    
+    /**
+     * Вклад одной операции в статистику категории
+     */
+    private record Contribution(String categoryKey, double amount) {
     }
 }
@@ -0,0 +1,501 @@
+package com.financetracker.services;
+
+import com.financetracker.models.CategorySuggestion;
+import com.financetracker.models.Operation;
+import com.financetracker.utils.LongIntHashMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Подсказка категорий наивным байесовским классификатором.
+ *
+ * Модель обучается инкрементально по уведомлениям OperationsService: признаки
+ * операции — слова комментария, теги, тип и порядок суммы. Обучение и откат
+ * одной операции стоят O(число признаков); счётчики хранятся в LongIntHashMap
+ * без упаковки. Подсказка — O(признаки × категории), единицы микросекунд.
+ *
+ * Модель сохраняется рядом с данными приложения вместе с подписью журнала;
+ * при запуске она загружается, только если подпись совпадает с текущим журналом,
+ * иначе переобучается заново.
+ */
+public class CategorySuggester {
+
+    private static final String MODEL_FILE = "category-model.bin";
+    private static final int MAGIC = 0x46544E42; // "FTNB"
+    private static final int VERSION = 1;
+
+    private static final int TAG_SEED = 0x5bd1e995;
+    private static final int TYPE_SEED = 0x27d4eb2f;
+    private static final int AMOUNT_SEED = 0x165667b1;
+
+    private final Object lock = new Object();
+
+    // Категории по порядковому номеру; ключ индекса — имя в нижнем регистре
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> categoryIndex = new HashMap<>();
+    private int[] documentCounts = new int[16];
+    private long[] tokenTotals = new long[16];
+    private int totalDocuments;
+
+    // (признак, категория) → количество; признак → число операций с ним (размер — словарь)
+    private LongIntHashMap tokenCounts = new LongIntHashMap(1024);
+    private LongIntHashMap vocabulary = new LongIntHashMap(1024);
+
+    // Вклад каждой операции — для отката при изменении или удалении
+    private Map<String, Contribution> contributions = new HashMap<>();
+    private long ledgerSignature;
+
+    // Файл сохранённой модели (null — модель не сохраняется)
+    private final Path modelFile;
+
+    private CategorySuggester(Path modelFile) {
+        this.modelFile = modelFile;
+        OperationsService operationsService = OperationsService.getInstance();
+        operationsService.addListener(this::onOperationsChanged);
+
+        List<Operation> operations = operationsService.getAllOperations();
+        if (!loadIfCurrent(operations)) {
+            onOperationsChanged(List.of(), operations);
+        }
+    }
+
+    /**
+     * Экземпляр области текущего пользователя (см. {@link UserScope});
+     * модель сохраняется в каталог пользователя при закрытии области
+     */
+    public static CategorySuggester getInstance() {
+        return UserScope.current().service(CategorySuggester.class, scope -> {
+            CategorySuggester suggester = new CategorySuggester(scope.dataFile(MODEL_FILE));
+            scope.onClose(suggester::save);
+            return suggester;
+        });
+    }
+
+    // ========== SUGGESTIONS ==========
+
+    /**
+     * Наиболее вероятные категории для операции (по убыванию вероятности).
+     * Учитываются только существующие категории приложения; если ни один признак
+     * операции не встречался при обучении, список пуст.
+     */
+    public List<CategorySuggestion> suggest(Operation operation, int limit) {
+        int[] tokens = tokenize(operation);
+        CategoriesService categoriesService = CategoriesService.getInstance();
+
+        List<String> names = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+
+        synchronized (lock) {
+            if (totalDocuments == 0) {
+                return List.of();
+            }
+
+            // Незнакомые признаки не несут информации; без знакомых слов или тегов
+            // (только тип и сумма) подсказка была бы угадыванием по частоте
+            int known = 0;
+            boolean hasContent = false;
+            for (int i = 0; i < tokens.length; i++) {
+                if (vocabulary.get(tokens[i]) > 0) {
+                    hasContent |= !isMetaToken(tokens[i], operation);
+                    tokens[known++] = tokens[i];
+                }
+            }
+            if (!hasContent) {
+                return List.of();
+            }
+
+            double vocabularySize = vocabulary.size() + 1;
+            for (int category = 0; category < categoryNames.size(); category++) {
+                if (documentCounts[category] == 0) {
+                    continue;
+                }
+
+                double score = Math.log((double) documentCounts[category] / totalDocuments);
+                double denominator = Math.log(tokenTotals[category] + vocabularySize);
+                for (int i = 0; i < known; i++) {
+                    score += Math.log(tokenCounts.get(key(tokens[i], category)) + 1) - denominator;
+                }
+                names.add(categoryNames.get(category));
+                scores.add(score);
+            }
+        }
+
+        // Нормировка (softmax) и отбор существующих категорий
+        double max = scores.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        double sum = 0;
+        double[] weights = new double[scores.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Math.exp(scores.get(i) - max);
+            sum += weights[i];
+        }
+
+        List<CategorySuggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < weights.length; i++) {
+            if (categoriesService.getCategoryByName(names.get(i)) != null) {
+                suggestions.add(new CategorySuggestion(names.get(i), weights[i] / sum));
+            }
+        }
+        suggestions.sort((a, b) -> Double.compare(b.getProbability(), a.getProbability()));
+        return suggestions.size() > limit ? List.copyOf(suggestions.subList(0, limit)) : suggestions;
+    }
+
+    // ========== TRAINING ==========
+
+    private void onOperationsChanged(List<Operation> removed, List<Operation> added) {
+        synchronized (lock) {
+            for (Operation operation : removed) {
+                untrain(contributions.remove(operation.getId()));
+            }
+            for (Operation operation : added) {
+                untrain(contributions.remove(operation.getId()));
+                Contribution contribution = train(operation);
+                contributions.put(operation.getId(), contribution);
+            }
+        }
+    }
+
+    private Contribution train(Operation operation) {
+        long signature = signature(operation);
+        ledgerSignature += signature;
+
+        String name = operation.getCategory();
+        if (name == null || name.isBlank()) {
+            return new Contribution(signature, -1, null);
+        }
+
+        int category = categoryIndex(name.strip());
+        int[] tokens = tokenize(operation);
+        documentCounts[category]++;
+        tokenTotals[category] += tokens.length;
+        totalDocuments++;
+        for (int token : tokens) {
+            tokenCounts.add(key(token, category), 1);
+            vocabulary.add(token, 1);
+        }
+        return new Contribution(signature, category, tokens);
+    }
+
+    private void untrain(Contribution contribution) {
+        if (contribution == null) {
+            return;
+        }
+        ledgerSignature -= contribution.signature();
+        if (contribution.category() < 0) {
+            return;
+        }
+
+        int category = contribution.category();
+        documentCounts[category]--;
+        tokenTotals[category] -= contribution.tokens().length;
+        totalDocuments--;
+        for (int token : contribution.tokens()) {
+            tokenCounts.add(key(token, category), -1);
+            vocabulary.add(token, -1);
+        }
+    }
+
+    private int categoryIndex(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Integer index = categoryIndex.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        int created = categoryNames.size();
+        categoryNames.add(name);
+        categoryIndex.put(key, created);
+        if (created == documentCounts.length) {
+            documentCounts = Arrays.copyOf(documentCounts, created * 2);
+            tokenTotals = Arrays.copyOf(tokenTotals, created * 2);
+        }
+        return created;
+    }
+
+    private static long key(int token, int category) {
+        return ((long) token << 32) | (category & 0xFFFFFFFFL);
+    }
+
+    // ========== FEATURES ==========
+
+    /**
+     * Признаки операции без повторов: слова комментария (от 2 символов, не числа),
+     * теги, тип и порядок суммы
+     */
+    static int[] tokenize(Operation operation) {
+        int[] tokens = new int[16];
+        int count = 0;
+
+        String comment = operation.getComment();
+        if (comment != null) {
+            int hash = 0x811c9dc5;
+            int length = 0;
+            boolean hasLetter = false;
+            for (int i = 0; i <= comment.length(); i++) {
+                char c = i < comment.length() ? comment.charAt(i) : ' ';
+                if (Character.isLetterOrDigit(c)) {
+                    c = Character.toLowerCase(c);
+                    if (c == 'ё') {
+                        c = 'е';
+                    }
+                    hash = (hash ^ c) * 0x01000193;
+                    hasLetter |= Character.isLetter(c);
+                    length++;
+                } else {
+                    if (length >= 2 && hasLetter) {
+                        tokens = append(tokens, count++, hash);
+                    }
+                    hash = 0x811c9dc5;
+                    length = 0;
+                    hasLetter = false;
+                }
+            }
+        }
+
+        for (String tag : operation.getTags()) {
+            tokens = append(tokens, count++, tag.strip().toLowerCase(Locale.ROOT).hashCode() ^ TAG_SEED);
+        }
+        if (operation.getType() != null) {
+            tokens = append(tokens, count++, typeToken(operation));
+        }
+        tokens = append(tokens, count++, amountToken(operation));
+
+        int[] result = Arrays.copyOf(tokens, count);
+        Arrays.sort(result);
+        int unique = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (i == 0 || result[i] != result[i - 1]) {
+                result[unique++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, unique);
+    }
+
+    private static int typeToken(Operation operation) {
+        return operation.getType().ordinal() ^ TYPE_SEED;
+    }
+
+    /**
+     * Порядок суммы: единицы, десятки, сотни рублей и т.д.
+     */
+    private static int amountToken(Operation operation) {
+        int magnitude = operation.getAmount() >= 1 ? (int) Math.log10(operation.getAmount()) : 0;
+        return magnitude ^ AMOUNT_SEED;
+    }
+
+    private static boolean isMetaToken(int token, Operation operation) {
+        return token == amountToken(operation) || (operation.getType() != null && token == typeToken(operation));
+    }
+
+    private static int[] append(int[] tokens, int index, int token) {
+        if (index == tokens.length) {
+            tokens = Arrays.copyOf(tokens, index * 2);
+        }
+        tokens[index] = token;
+        return tokens;
+    }
+
+    /**
+     * Вклад операции в подпись журнала; подпись — сумма по всем операциям,
+     * поэтому не зависит от их порядка
+     */
+    private static long signature(Operation operation) {
+        long hash = operation.getId().hashCode();
+        hash = hash * 31 + (operation.getCategory() == null ? 0 : operation.getCategory().hashCode());
+        hash = hash * 31 + (operation.getComment() == null ? 0 : operation.getComment().hashCode());
+        hash = hash * 31 + operation.getTags().hashCode();
+        hash = hash * 31 + Double.hashCode(operation.getAmount());
+        hash = hash * 31 + (operation.getType() == null ? 0 : operation.getType().ordinal());
+        hash *= 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static long ledgerSignature(List<Operation> operations) {
+        long signature = 0;
+        for (Operation operation : operations) {
+            signature += signature(operation);
+        }
+        return signature;
+    }
+
+    // ========== PERSISTENCE ==========
+
+    /**
+     * Сохранение модели в каталог данных пользователя
+     */
+    public void save() throws IOException {
+        if (modelFile == null) {
+            return;
+        }
+        Path target = modelFile;
+        Path temp = Files.createTempFile(target.getParent(), MODEL_FILE, ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)))) {
+                synchronized (lock) {
+                    writeModel(out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeModel(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(ledgerSignature);
+
+        out.writeInt(categoryNames.size());
+        for (int i = 0; i < categoryNames.size(); i++) {
+            out.writeUTF(categoryNames.get(i));
+            out.writeInt(documentCounts[i]);
+            out.writeLong(tokenTotals[i]);
+        }
+        out.writeInt(totalDocuments);
+
+        writeCounts(out, tokenCounts);
+        writeCounts(out, vocabulary);
+
+        out.writeInt(contributions.size());
+        for (Map.Entry<String, Contribution> entry : contributions.entrySet()) {
+            Contribution contribution = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeLong(contribution.signature());
+            out.writeInt(contribution.category());
+            if (contribution.category() >= 0) {
+                out.writeShort(contribution.tokens().length);
+                for (int token : contribution.tokens()) {
+                    out.writeInt(token);
+                }
+            }
+        }
+    }
+
+    private static void writeCounts(DataOutputStream out, LongIntHashMap counts) throws IOException {
+        out.writeInt(counts.size());
+        IOException[] failure = new IOException[1];
+        counts.forEach((key, value) -> {
+            if (failure[0] == null) {
+                try {
+                    out.writeLong(key);
+                    out.writeInt(value);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    /**
+     * Загрузка сохранённой модели, если она построена по тому же журналу
+     */
+    private boolean loadIfCurrent(List<Operation> operations) {
+        try {
+            Path file = modelFile;
+            if (file == null || !Files.exists(file)) {
+                return false;
+            }
+
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new GZIPInputStream(Files.newInputStream(file), 1 << 16)))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    return false;
+                }
+                long signature = in.readLong();
+                if (signature != ledgerSignature(operations)) {
+                    return false;
+                }
+
+                synchronized (lock) {
+                    readModel(in);
+                    ledgerSignature = signature;
+                }
+                return true;
+            }
+        } catch (IOException e) {
+            // Повреждённая или недоступная модель — переобучаемся по журналу
+            synchronized (lock) {
+                resetModel();
+            }
+            return false;
+        }
+    }
+
+    private void readModel(DataInputStream in) throws IOException {
+        resetModel();
+
+        int categories = in.readInt();
+        for (int i = 0; i < categories; i++) {
+            int index = categoryIndex(in.readUTF());
+            documentCounts[index] = in.readInt();
+            tokenTotals[index] = in.readLong();
+        }
+        totalDocuments = in.readInt();
+
+        tokenCounts = readCounts(in);
+        vocabulary = readCounts(in);
+
+        int count = in.readInt();
+        contributions = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String id = in.readUTF();
+            long signature = in.readLong();
+            int category = in.readInt();
+            int[] tokens = null;
+            if (category >= 0) {
+                tokens = new int[in.readShort()];
+                for (int t = 0; t < tokens.length; t++) {
+                    tokens[t] = in.readInt();
+                }
+            }
+            contributions.put(id, new Contribution(signature, category, tokens));
+        }
+    }
+
+    private static LongIntHashMap readCounts(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        LongIntHashMap counts = new LongIntHashMap(Math.max(size, 16));
+        for (int i = 0; i < size; i++) {
+            counts.add(in.readLong(), in.readInt());
+        }
+        return counts;
+    }
+
+    private void resetModel() {
+        categoryNames.clear();
+        categoryIndex.clear();
+        documentCounts = new int[16];
+        tokenTotals = new long[16];
+        totalDocuments = 0;
+        tokenCounts = new LongIntHashMap(1024);
+        vocabulary = new LongIntHashMap(1024);
+        contributions = new HashMap<>();
+        ledgerSignature = 0;
+    }
+
+    /**
+     * Вклад операции: подпись, номер категории (-1 — не обучалась) и признаки
+     */
+    private record Contribution(long signature, int category, int[] tokens) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.financetracker.services;
+
+import com.financetracker.api.ApiJson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Локальные учётные данные: пользователь и хэш его пароля (см. {@link PasswordHasher}).
+ * Пароли в открытом виде не хранятся ни в памяти, ни на диске.
+ *
+ * Файл перезаписывается целиком через временный файл, поэтому сбой при записи
+ * не оставляет его наполовину записанным.
+ */
+final class CredentialStore {
+    
+    /**
+     * Запись хранилища; неизменяема — замена записи атомарна
+     */
+    static final class Credential {
+        
+        private final String userId;
+        private final String name;
+        private final String email;
+        private final String passwordHash;
+        
+        Credential(String userId, String name, String email, String passwordHash) {
+            this.userId = userId;
+            this.name = name;
+            this.email = email;
+            this.passwordHash = passwordHash;
+        }
+        
+        String getUserId() {
+            return userId;
+        }
+        
+        String getName() {
+            return name;
+        }
+        
+        String getEmail() {
+            return email;
+        }
+        
+        String getPasswordHash() {
+            return passwordHash;
+        }
+        
+        Credential withPasswordHash(String hash) {
+            return new Credential(userId, name, email, hash);
+        }
+    }
+    
+    private static final Type CREDENTIAL_LIST = new TypeToken<List<Credential>>() { }.getType();
+    
+    private final Path file;
+    private final Map<String, Credential> credentials = new ConcurrentHashMap<>();
+    
+    /**
+     * @param file файл хранилища (null — только в памяти)
+     */
+    CredentialStore(Path file) {
+        this.file = file;
+        load();
+    }
+    
+    Credential get(String email) {
+        return credentials.get(email);
+    }
+    
+    /**
+     * Добавление, если email ещё не занят
+     */
+    boolean add(Credential credential) throws IOException {
+        if (credentials.putIfAbsent(credential.getEmail(), credential) != null) {
+            return false;
+        }
+        save();
+        return true;
+    }
+    
+    /**
+     * Замена записи, если её не успели изменить с момента чтения
+     */
+    boolean replace(Credential expected, Credential updated) throws IOException {
+        if (!credentials.replace(expected.getEmail(), expected, updated)) {
+            return false;
+        }
+        save();
+        return true;
+    }
+    
+    private void load() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<Credential> stored = ApiJson.gson().fromJson(reader, CREDENTIAL_LIST);
+            if (stored != null) {
+                for (Credential credential : stored) {
+                    if (credential != null && credential.getEmail() != null) {
+                        credentials.put(credential.getEmail(), credential);
+                    }
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Не удалось прочитать учётные данные: " + e.getMessage());
+        }
+    }
+    
+    private synchronized void save() throws IOException {
+        if (file == null) {
+            return;
+        }
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), ".credentials-", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                ApiJson.gson().toJson(new ArrayList<>(credentials.values()), CREDENTIAL_LIST, writer);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -1,24 +1,33 @@
 package com.financetracker.services;
 
+import com.financetracker.metrics.Metrics;
+import com.financetracker.metrics.Timer;
+import com.financetracker.models.Category;
+
+import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Сервис для работы с данными Dashboard
- * Сейчас использует mock данные, в будущем будет работать с REST API
+ * Считается по локальным операциям и категориям, без запросов к бекенду
  */
 public class DashboardService {
     
-    private static DashboardService instance;
+    private static final Timer BREAKDOWN_TIMER = Metrics.timer("dashboard.categoryBreakdown");
+    
+    private final CategoriesService categoriesService;
     
     private DashboardService() {
+        this.categoriesService = CategoriesService.getInstance();
     }
     
-    public static synchronized DashboardService getInstance() {
-        if (instance == null) {
-            instance = new DashboardService();
-        }
-        return instance;
+    /**
+     * Экземпляр области текущего пользователя (см. {@link UserScope})
+     */
+    public static DashboardService getInstance() {
+        return UserScope.current().service(DashboardService.class, scope -> new DashboardService());
     }
     
     /**
@@ -50,31 +59,31 @@ public class DashboardService {
     }
     
     /**
-     * Получение расходов по категориям
+     * Получение расходов по категориям верхнего уровня
      */
     public Map<String, Double> getCategoryExpenses() {
         Map<String, Double> categories = new LinkedHashMap<>();
-        
-        categories.put("Продукты", 18000.0);
-        categories.put("Транспорт", 12000.0);
-        categories.put("Развлечения", 9000.0);
-        categories.put("Здоровье", 15000.0);
-        categories.put("Одежда", 8000.0);
-        categories.put("Прочее", 12770.0);
-        
+        for (Category category : getCategoryExpenseBreakdown(null)) {
+            categories.put(category.getName(), category.getTotalAmount());
+        }
         return categories;
-        
-        /* Будущая реализация с API:
+    }
+    
+    /**
+     * Расходы по подкатегориям с учётом вложенных (parentId == null — верхний уровень).
+     * Суммы берутся из агрегатов дерева категорий, поэтому переход по уровням не требует пересчёта.
+     */
+    public List<Category> getCategoryExpenseBreakdown(String parentId) {
+        long start = BREAKDOWN_TIMER.start();
         try {
-            Response<Map<String, Double>> response = apiService.getCategoryExpenses();
-            if (response.isSuccessful() && response.body() != null) {
-                return response.body();
-            }
-            return new HashMap<>();
-        } catch (Exception e) {
-            throw new RuntimeException("Ошибка получения данных", e);
+            return categoriesService.getSubcategories(parentId).stream()
+                .filter(category -> category.getType() != Category.CategoryType.INCOME)
+                .filter(category -> category.getTotalAmount() > 0)
+                .sorted(Comparator.comparingDouble(Category::getTotalAmount).reversed())
+                .toList();
+        } finally {
+            BREAKDOWN_TIMER.stop(start);
         }
-        */
     }
     
     /**
@@ -0,0 +1,121 @@
+package com.financetracker.services;
+
+import com.financetracker.models.Operation;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Хэш-индекс операций по (дата, сумма со знаком, нормализованный комментарий)
+ * для поиска дубликатов при импорте выписок.
+ * Хранит количество операций на каждый отпечаток и обновляется инкрементально
+ * по уведомлениям OperationsService.
+ */
+public class DuplicateIndex {
+    
+    // Количество операций с данным отпечатком
+    private final Map<Long, Integer> counts = new HashMap<>();
+    
+    // Отпечаток каждой операции, чтобы корректно откатывать изменённые на месте операции
+    private final Map<String, Long> fingerprints = new HashMap<>();
+    
+    private DuplicateIndex() {
+        OperationsService operationsService = OperationsService.getInstance();
+        operationsService.addListener(this::onOperationsChanged);
+        onOperationsChanged(List.of(), operationsService.getAllOperations());
+    }
+    
+    /**
+     * Экземпляр области текущего пользователя (см. {@link UserScope})
+     */
+    public static DuplicateIndex getInstance() {
+        return UserScope.current().service(DuplicateIndex.class, scope -> new DuplicateIndex());
+    }
+    
+    /**
+     * Количество операций журнала с тем же отпечатком
+     */
+    public int count(long fingerprint) {
+        synchronized (counts) {
+            return counts.getOrDefault(fingerprint, 0);
+        }
+    }
+    
+    private void onOperationsChanged(List<Operation> removed, List<Operation> added) {
+        synchronized (counts) {
+            for (Operation operation : removed) {
+                Long previous = fingerprints.remove(operation.getId());
+                if (previous != null) {
+                    decrement(previous);
+                }
+            }
+            
+            for (Operation operation : added) {
+                Long previous = fingerprints.remove(operation.getId());
+                if (previous != null) {
+                    decrement(previous);
+                }
+                
+                long fingerprint = fingerprint(operation);
+                fingerprints.put(operation.getId(), fingerprint);
+                counts.merge(fingerprint, 1, Integer::sum);
+            }
+        }
+    }
+    
+    private void decrement(long fingerprint) {
+        counts.computeIfPresent(fingerprint, (key, count) -> count > 1 ? count - 1 : null);
+    }
+    
+    // ========== FINGERPRINT ==========
+    
+    /**
+     * Отпечаток операции: расходы учитываются с отрицательной суммой
+     */
+    public static long fingerprint(Operation operation) {
+        long cents = Math.round(operation.getAmount() * 100);
+        if (operation.getType() == Operation.OperationType.EXPENSE) {
+            cents = -cents;
+        }
+        return fingerprint(operation.getDate(), cents, operation.getComment());
+    }
+    
+    /**
+     * 64-битный отпечаток (дата, сумма в копейках, комментарий).
+     * Комментарий сравнивается без учёта регистра, пунктуации и пробелов.
+     */
+    public static long fingerprint(LocalDate date, long signedCents, String comment) {
+        long hash = 0xcbf29ce484222325L;
+        if (comment != null) {
+            for (int i = 0; i < comment.length(); i++) {
+                char c = comment.charAt(i);
+                if (!Character.isLetterOrDigit(c)) {
+                    continue;
+                }
+                c = Character.toLowerCase(c);
+                if (c == 'ё') {
+                    c = 'е';
+                }
+                // FNV-1a по символам
+                hash = (hash ^ c) * 0x100000001b3L;
+            }
+        }
+        
+        hash = mix(hash ^ date.toEpochDay() * 0x9E3779B97F4A7C15L);
+        return mix(hash ^ signedCents * 0xC2B2AE3D27D4EB4FL);
+    }
+    
+    /**
+     * Финальное перемешивание из MurmurHash3
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,131 @@
+package com.financetracker.services;
+
+import com.financetracker.api.SessionManager;
+import com.financetracker.api.SessionTokens;
+import com.financetracker.utils.AesGcm;
+import com.financetracker.utils.AppPaths;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.prefs.Preferences;
+
+/**
+ * Токены сеанса в Preferences в зашифрованном виде (AES-GCM).
+ *
+ * Ключ лежит отдельно, в каталоге данных приложения с доступом только для владельца:
+ * копия Preferences (экспорт, резервная копия реестра) без ключа токенов не раскрывает.
+ * Нерасшифровываемая запись (другой ключ, повреждение) считается отсутствующей.
+ */
+final class EncryptedTokenStore implements SessionManager.TokenStore {
+    
+    private static final String PREF_SESSION_TOKENS = "session_tokens";
+    private static final byte[] AAD = "financetracker-session-tokens".getBytes(StandardCharsets.UTF_8);
+    private static final int KEY_BYTES = 32;
+    
+    private final Preferences preferences;
+    private SecretKey key;
+    
+    EncryptedTokenStore(Preferences preferences) {
+        this.preferences = preferences;
+    }
+    
+    @Override
+    public synchronized SessionTokens load() {
+        String stored = preferences.get(PREF_SESSION_TOKENS, null);
+        if (stored == null) {
+            return null;
+        }
+        try {
+            byte[] plaintext = AesGcm.decrypt(key(), Base64.getDecoder().decode(stored), AAD);
+            String[] fields = new String(plaintext, StandardCharsets.UTF_8).split("\n", -1);
+            if (fields.length != 4) {
+                return null;
+            }
+            return new SessionTokens(
+                fields[0],
+                fields[1].isEmpty() ? null : fields[1],
+                Long.parseLong(fields[2]),
+                Long.parseLong(fields[3])
+            );
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public synchronized void save(SessionTokens tokens) {
+        String plaintext = tokens.getAccessToken() + "\n"
+            + (tokens.getRefreshToken() == null ? "" : tokens.getRefreshToken()) + "\n"
+            + tokens.getIssuedAt() + "\n"
+            + tokens.getExpiresAt();
+        try {
+            byte[] encrypted = AesGcm.encrypt(key(), plaintext.getBytes(StandardCharsets.UTF_8), AAD);
+            preferences.put(PREF_SESSION_TOKENS, Base64.getEncoder().encodeToString(encrypted));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public synchronized void clear() {
+        preferences.remove(PREF_SESSION_TOKENS);
+    }
+    
+    /**
+     * Ключ из файла session.key; создаётся при первом сохранении. Файл неверной длины
+     * (запись прервана сбоем) заменяется новым ключом: прежние токены с ним не расшифровать.
+     */
+    private SecretKey key() throws IOException {
+        if (key != null) {
+            return key;
+        }
+        Path file = AppPaths.dataFile("session.key");
+        byte[] raw = readKey(file);
+        if (raw == null) {
+            writeKey(file, AesGcm.newKey().getEncoded());
+            // Другой экземпляр приложения мог записать свой ключ одновременно: берётся тот, что в файле
+            raw = readKey(file);
+            if (raw == null) {
+                throw new IOException("Не удалось создать ключ токенов: " + file);
+            }
+        }
+        key = AesGcm.key(raw);
+        return key;
+    }
+    
+    private static byte[] readKey(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        byte[] raw = Files.readAllBytes(file);
+        return raw.length == KEY_BYTES ? raw : null;
+    }
+    
+    /**
+     * Запись во временный файл и атомарная замена: файл ключа всегда целый.
+     * Временный файл создаётся с доступом только для владельца (на POSIX).
+     */
+    private static void writeKey(Path file, byte[] raw) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), ".session-key-", ".tmp");
+        try {
+            Files.write(temp, raw);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.financetracker.services;
+
+/**
+ * Подписчик на изменения сущностей справочных сервисов (категорий, целей, лимитов).
+ * Вызывается после публикации нового снимка с ID изменённой, добавленной или удалённой сущности.
+ */
+public interface EntityChangeListener {
+
+    void onEntityChanged(String id);
+}
@@ -1,33 +1,59 @@
 package com.financetracker.services;
 
+import com.financetracker.models.AmortizationEntry;
+import com.financetracker.models.DebtPayoffPlan;
 import com.financetracker.models.Goal;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Сервис целей.
- * Сейчас использует mock данные, в будущем будет работать с REST API.
+ * Данные в памяти области пользователя; с бекендом сверяются через SyncEngine.
  */
 public class GoalsService {
 
-    private static GoalsService instance;
-    private final List<Goal> goals;
+    /** Горизонт моделирования погашения долгов — 30 лет */
+    private static final int MAX_MONTHS = 360;
+
+    /** Ограничение размера кэшей графиков и планов */
+    private static final int MAX_CACHE_SIZE = 256;
+
+    // Неизменяемый снимок; читатели работают без блокировок
+    private volatile List<Goal> goals;
+    private final Object writeLock = new Object();
+    private final List<EntityChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Графики погашения и планы считаются лениво и кэшируются по набору параметров
+    private final Map<ScheduleKey, List<AmortizationEntry>> scheduleCache = new ConcurrentHashMap<>();
+    private final Map<PlanKey, DebtPayoffPlan> planCache = new ConcurrentHashMap<>();
 
     private GoalsService() {
-        this.goals = new ArrayList<>();
-        initializeMockGoals();
+        List<Goal> initial = new ArrayList<>();
+        if (SyntheticLedger.isEnabled()) {
+            initial.addAll(SyntheticLedger.getInstance().getGoals());
+        } else {
+            initializeMockGoals(initial);
+        }
+        this.goals = List.copyOf(initial);
     }
 
-    public static synchronized GoalsService getInstance() {
-        if (instance == null) {
-            instance = new GoalsService();
-        }
-        return instance;
+    /**
+     * Экземпляр области текущего пользователя (см. {@link UserScope})
+     */
+    public static GoalsService getInstance() {
+        return UserScope.current().service(GoalsService.class, scope -> new GoalsService());
     }
 
-    private void initializeMockGoals() {
+    private void initializeMockGoals(List<Goal> goals) {
         goals.add(new Goal(
             "1",
             "Отпуск в Европе",
@@ -51,9 +77,298 @@ public class GoalsService {
             117,
             "#8B5CF6"
         ));
+
+        Goal creditCard = new Goal(
+            "3",
+            "Кредитная карта",
+            "💳",
+            Goal.GoalType.DEBT,
+            120_000,
+            35_000,
+            LocalDate.of(2027, 3, 1),
+            390,
+            "#EF4444"
+        );
+        creditCard.setInterestRate(24.9);
+        creditCard.setMonthlyPayment(8_000);
+        goals.add(creditCard);
+
+        Goal carLoan = new Goal(
+            "4",
+            "Автокредит",
+            "🚗",
+            Goal.GoalType.DEBT,
+            600_000,
+            210_000,
+            LocalDate.of(2028, 9, 1),
+            944,
+            "#F59E0B"
+        );
+        carLoan.setInterestRate(12.5);
+        carLoan.setMonthlyPayment(18_500);
+        goals.add(carLoan);
     }
 
     public List<Goal> getAllGoals() {
-        return new ArrayList<>(goals);
+        return goals;
+    }
+
+    public Goal getGoalById(String id) {
+        for (Goal goal : goals) {
+            if (goal.getId().equals(id)) {
+                return goal;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Добавление цели или долга, либо замена существующей с тем же ID
+     */
+    public void saveGoal(Goal goal) {
+        synchronized (writeLock) {
+            List<Goal> updated = new ArrayList<>(goals);
+            updated.removeIf(existing -> existing.getId().equals(goal.getId()));
+            updated.add(goal);
+            goals = List.copyOf(updated);
+        }
+        fireChanged(goal.getId());
+    }
+
+    public boolean deleteGoal(String id) {
+        synchronized (writeLock) {
+            List<Goal> updated = new ArrayList<>(goals);
+            if (!updated.removeIf(goal -> goal.getId().equals(id))) {
+                return false;
+            }
+            goals = List.copyOf(updated);
+        }
+        fireChanged(id);
+        return true;
+    }
+
+    /**
+     * Подписка на изменения целей и долгов
+     */
+    public void addChangeListener(EntityChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(EntityChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void fireChanged(String id) {
+        for (EntityChangeListener listener : changeListeners) {
+            listener.onEntityChanged(id);
+        }
+    }
+
+    /**
+     * Получение всех долгов
+     */
+    public List<Goal> getDebts() {
+        return goals.stream()
+            .filter(Goal::isDebt)
+            .toList();
+    }
+
+    // ========== DEBTS ==========
+
+    /**
+     * График погашения долга с текущего месяца при обязательном платеже.
+     * Если платёж не покрывает проценты, график обрывается на первом месяце.
+     */
+    public List<AmortizationEntry> getAmortizationSchedule(Goal debt) {
+        return getAmortizationSchedule(debt, 0);
+    }
+
+    /**
+     * График погашения долга с дополнительным ежемесячным платежом
+     */
+    public List<AmortizationEntry> getAmortizationSchedule(Goal debt, double extraPayment) {
+        ScheduleKey key = ScheduleKey.of(debt, extraPayment, YearMonth.now());
+        trimCache(scheduleCache);
+        return scheduleCache.computeIfAbsent(key, this::buildSchedule);
+    }
+
+    /**
+     * Моделирование погашения всех долгов выбранной стратегией.
+     * Бюджет на месяц — сумма обязательных платежей плюс extraPayment;
+     * платежи по закрытым долгам переходят на следующий долг в очереди.
+     */
+    public DebtPayoffPlan simulatePayoff(DebtPayoffPlan.Strategy strategy, double extraPayment) {
+        YearMonth start = YearMonth.now();
+        List<ScheduleKey> debtKeys = new ArrayList<>();
+        List<String> debtIds = new ArrayList<>();
+        for (Goal debt : getDebts()) {
+            debtKeys.add(ScheduleKey.of(debt, 0, start));
+            debtIds.add(debt.getId());
+        }
+
+        PlanKey key = new PlanKey(strategy, extraPayment, List.copyOf(debtKeys), List.copyOf(debtIds));
+        trimCache(planCache);
+        return planCache.computeIfAbsent(key, this::buildPlan);
+    }
+
+    /**
+     * Сравнение стратегий погашения при одинаковом дополнительном платеже
+     */
+    public Map<DebtPayoffPlan.Strategy, DebtPayoffPlan> compareStrategies(double extraPayment) {
+        Map<DebtPayoffPlan.Strategy, DebtPayoffPlan> plans = new EnumMap<>(DebtPayoffPlan.Strategy.class);
+        for (DebtPayoffPlan.Strategy strategy : DebtPayoffPlan.Strategy.values()) {
+            plans.put(strategy, simulatePayoff(strategy, extraPayment));
+        }
+        return plans;
+    }
+
+    private List<AmortizationEntry> buildSchedule(ScheduleKey key) {
+        List<AmortizationEntry> schedule = new ArrayList<>();
+        double monthlyRate = key.annualRate() / 12.0 / 100.0;
+        double payment = key.payment() + key.extraPayment();
+        double balance = key.balance();
+
+        for (int month = 1; month <= MAX_MONTHS && balance > 0.005; month++) {
+            double interest = roundMoney(balance * monthlyRate);
+            double paid = roundMoney(Math.min(payment, balance + interest));
+            double principal = roundMoney(paid - interest);
+            balance = Math.max(0, roundMoney(balance - principal));
+
+            schedule.add(new AmortizationEntry(
+                month, key.start().plusMonths(month - 1), paid, principal, interest, balance
+            ));
+
+            if (principal <= 0) {
+                // Платёж не покрывает проценты — долг не гасится
+                break;
+            }
+        }
+        return List.copyOf(schedule);
+    }
+
+    private DebtPayoffPlan buildPlan(PlanKey key) {
+        int count = key.debts().size();
+        double[] balance = new double[count];
+        double[] monthlyRate = new double[count];
+        double[] minPayment = new double[count];
+        double budget = key.extraPayment();
+
+        for (int i = 0; i < count; i++) {
+            ScheduleKey debt = key.debts().get(i);
+            balance[i] = debt.balance();
+            monthlyRate[i] = debt.annualRate() / 12.0 / 100.0;
+            minPayment[i] = debt.payment();
+            budget += debt.payment();
+        }
+
+        int[] order = payoffOrder(key.strategy(), key.debts());
+        Map<String, YearMonth> payoffMonths = new HashMap<>();
+        YearMonth start = key.debts().isEmpty() ? YearMonth.now() : key.debts().get(0).start();
+        double totalInterest = 0;
+        double totalPaid = 0;
+        int remainingDebts = 0;
+        for (double value : balance) {
+            if (value > 0.005) {
+                remainingDebts++;
+            }
+        }
+
+        int month = 0;
+        while (remainingDebts > 0 && month < MAX_MONTHS) {
+            month++;
+
+            for (int i = 0; i < count; i++) {
+                if (balance[i] > 0.005) {
+                    double interest = roundMoney(balance[i] * monthlyRate[i]);
+                    balance[i] += interest;
+                    totalInterest += interest;
+                }
+            }
+
+            double available = budget;
+            for (int i = 0; i < count && available > 0; i++) {
+                if (balance[i] > 0.005) {
+                    double paid = Math.min(Math.min(minPayment[i], balance[i]), available);
+                    balance[i] -= paid;
+                    available -= paid;
+                }
+            }
+
+            // Остаток бюджета — в приоритетный долг по стратегии
+            for (int i = 0; i < count && available > 0.005; i++) {
+                int index = order[i];
+                if (balance[index] > 0.005) {
+                    double paid = Math.min(available, balance[index]);
+                    balance[index] -= paid;
+                    available -= paid;
+                }
+            }
+            totalPaid += budget - available;
+
+            for (int i = 0; i < count; i++) {
+                String id = key.debtIds().get(i);
+                if (balance[i] <= 0.005 && !payoffMonths.containsKey(id)) {
+                    balance[i] = 0;
+                    payoffMonths.put(id, start.plusMonths(month - 1));
+                    remainingDebts--;
+                }
+            }
+        }
+
+        return new DebtPayoffPlan(
+            key.strategy(), month, roundMoney(totalInterest), roundMoney(totalPaid),
+            remainingDebts == 0, payoffMonths
+        );
+    }
+
+    /**
+     * Порядок направления свободных средств: лавина — по убыванию ставки,
+     * снежный ком — по возрастанию остатка
+     */
+    private int[] payoffOrder(DebtPayoffPlan.Strategy strategy, List<ScheduleKey> debts) {
+        Comparator<Integer> comparator = switch (strategy) {
+            case AVALANCHE -> Comparator.comparingDouble((Integer i) -> debts.get(i).annualRate()).reversed()
+                .thenComparingDouble(i -> debts.get(i).balance());
+            case SNOWBALL -> Comparator.comparingDouble((Integer i) -> debts.get(i).balance())
+                .thenComparing(Comparator.comparingDouble((Integer i) -> debts.get(i).annualRate()).reversed());
+        };
+
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < debts.size(); i++) {
+            indexes.add(i);
+        }
+        indexes.sort(comparator);
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static double roundMoney(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+
+    private static void trimCache(Map<?, ?> cache) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Параметры расчёта графика одного долга
+     */
+    private record ScheduleKey(double balance, double annualRate, double payment,
+                               double extraPayment, YearMonth start) {
+
+        static ScheduleKey of(Goal debt, double extraPayment, YearMonth start) {
+            return new ScheduleKey(
+                Math.max(0, debt.getRemaining()), debt.getInterestRate(),
+                debt.getMonthlyPayment(), extraPayment, start
+            );
+        }
+    }
+
+    /**
+     * Параметры моделирования стратегии по всем долгам
+     */
+    private record PlanKey(DebtPayoffPlan.Strategy strategy, double extraPayment,
+                           List<ScheduleKey> debts, List<String> debtIds) {
     }
 }
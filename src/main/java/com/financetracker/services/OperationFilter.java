@@ -0,0 +1,94 @@
+package com.financetracker.services;
+
+import com.financetracker.metrics.Metrics;
+import com.financetracker.metrics.Timer;
+import com.financetracker.models.Category;
+import com.financetracker.models.Operation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Фильтр списка операций: текст поиска, тип и категория (вместе с подкатегориями).
+ * Не зависит от JavaFX, поэтому используется и экраном операций, и бенчмарками.
+ */
+public final class OperationFilter implements Predicate<Operation> {
+    
+    private static final Timer FILTER_TIMER = Metrics.timer("operations.filter");
+    
+    private final String searchText;
+    private final Operation.OperationType type;
+    private final Set<String> categoryNames;
+    
+    private OperationFilter(String searchText, Operation.OperationType type, Set<String> categoryNames) {
+        this.searchText = searchText;
+        this.type = type;
+        this.categoryNames = categoryNames;
+    }
+    
+    /**
+     * Фильтр по условиям экрана операций
+     *
+     * @param searchText текст поиска по комментарию и категории (пустой — без поиска)
+     * @param type тип операций (null — все)
+     * @param category категория (null — все); операции подкатегорий тоже проходят фильтр
+     */
+    public static OperationFilter of(String searchText, Operation.OperationType type,
+                                     String category, CategoriesService categoriesService) {
+        Set<String> categoryNames = category == null ? null : categoryWithSubcategories(category, categoriesService);
+        return new OperationFilter(searchText.toLowerCase(), type, categoryNames);
+    }
+    
+    @Override
+    public boolean test(Operation op) {
+        // Комментарий и категория могут отсутствовать (операции с сервера и из журнала)
+        boolean matchesSearch = searchText.isEmpty() ||
+            (op.getComment() != null && op.getComment().toLowerCase().contains(searchText)) ||
+            (op.getCategory() != null && op.getCategory().toLowerCase().contains(searchText));
+        
+        boolean matchesType = type == null || op.getType() == type;
+        
+        boolean matchesCategory = categoryNames == null ||
+            (op.getCategory() != null && categoryNames.contains(op.getCategory().toLowerCase(Locale.ROOT)));
+        
+        return matchesSearch && matchesType && matchesCategory;
+    }
+    
+    /**
+     * Операции, прошедшие фильтр, в исходном порядке
+     */
+    public List<Operation> apply(List<Operation> operations) {
+        long start = FILTER_TIMER.start();
+        try {
+            return operations.stream().filter(this).toList();
+        } finally {
+            FILTER_TIMER.stop(start);
+        }
+    }
+    
+    /**
+     * Имена выбранной категории и всех её подкатегорий (в нижнем регистре)
+     */
+    private static Set<String> categoryWithSubcategories(String name, CategoriesService categoriesService) {
+        Set<String> names = new HashSet<>();
+        names.add(name.toLowerCase(Locale.ROOT));
+        
+        Category category = categoriesService.getCategoryByName(name);
+        if (category != null) {
+            Deque<Category> pending = new ArrayDeque<>(categoriesService.getSubcategories(category.getId()));
+            while (!pending.isEmpty()) {
+                Category child = pending.poll();
+                // Повторно посещённая категория означает цикл в parentId
+                if (names.add(child.getName().toLowerCase(Locale.ROOT))) {
+                    pending.addAll(categoriesService.getSubcategories(child.getId()));
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,361 @@
+package com.financetracker.services;
+
+import com.financetracker.models.Operation;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Неизменяемый набор операций в порядке добавления с индексом по ID.
+ *
+ * Операции хранятся блоками по CHUNK_SIZE, индекс по ID разбит на ID_BUCKETS корзин.
+ * Изменение (см. {@link Editor}) копирует только затронутые блоки и корзины, а остальные
+ * разделяются с прежней версией, поэтому правка одной операции стоит O(√n), а не O(n),
+ * и читатели прежней версии её изменений не видят.
+ */
+final class OperationLedger {
+    
+    private static final int CHUNK_SIZE = 1024;
+    private static final int ID_BUCKETS = 4096;
+    
+    static final OperationLedger EMPTY = new OperationLedger(new Chunk[0], new int[] {0},
+        new Bucket[ID_BUCKETS], 0);
+    
+    private final Chunk[] chunks;
+    // Позиция первой операции каждого блока; последний элемент — общее число операций
+    private final int[] starts;
+    private final Bucket[] buckets;
+    private final long nextSeq;
+    private final List<Operation> operations = new OperationsView();
+    
+    private OperationLedger(Chunk[] chunks, int[] starts, Bucket[] buckets, long nextSeq) {
+        this.chunks = chunks;
+        this.starts = starts;
+        this.buckets = buckets;
+        this.nextSeq = nextSeq;
+    }
+    
+    /**
+     * Набор из списка операций (при повторе ID остаётся последняя версия)
+     */
+    static OperationLedger of(List<Operation> operations) {
+        Editor editor = EMPTY.edit();
+        for (Operation operation : operations) {
+            editor.put(operation);
+        }
+        return editor.build();
+    }
+    
+    /**
+     * Неизменяемый список операций в порядке добавления
+     */
+    List<Operation> operations() {
+        return operations;
+    }
+    
+    int size() {
+        return starts[chunks.length];
+    }
+    
+    Operation get(String id) {
+        Slot slot = slot(buckets, id);
+        return slot == null ? null : slot.operation;
+    }
+    
+    boolean contains(String id) {
+        return slot(buckets, id) != null;
+    }
+    
+    /**
+     * Редактор новой версии набора; текущий экземпляр не меняется
+     */
+    Editor edit() {
+        return new Editor(this);
+    }
+    
+    private static Slot slot(Bucket[] buckets, String id) {
+        Bucket bucket = buckets[bucketIndex(id)];
+        return bucket == null ? null : bucket.slots.get(id);
+    }
+    
+    private static int bucketIndex(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (ID_BUCKETS - 1);
+    }
+    
+    /**
+     * Изменение набора: каждый блок и корзина копируются при первом изменении
+     * в этом редакторе, последующие изменения в них идут на месте.
+     */
+    static final class Editor {
+        
+        private final List<Chunk> chunks;
+        private final Bucket[] buckets;
+        private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        private long nextSeq;
+        private boolean built;
+        
+        private Editor(OperationLedger base) {
+            this.chunks = new ArrayList<>(Arrays.asList(base.chunks));
+            this.buckets = base.buckets.clone();
+            this.nextSeq = base.nextSeq;
+        }
+        
+        Operation get(String id) {
+            Slot slot = slot(buckets, id);
+            return slot == null ? null : slot.operation;
+        }
+        
+        boolean contains(String id) {
+            return slot(buckets, id) != null;
+        }
+        
+        /**
+         * Добавление операции в конец или замена существующей на её месте
+         */
+        void put(Operation operation) {
+            checkOpen();
+            Bucket bucket = ownedBucket(operation.getId());
+            Slot existing = bucket.slots.get(operation.getId());
+            if (existing != null) {
+                int chunkIndex = chunkOf(existing.seq);
+                Chunk chunk = ownedChunk(chunkIndex);
+                chunk.operations[chunk.indexOf(existing.seq)] = operation;
+                bucket.slots.put(operation.getId(), new Slot(existing.seq, operation));
+                return;
+            }
+            
+            long seq = nextSeq++;
+            int last = chunks.size() - 1;
+            Chunk chunk;
+            if (last >= 0 && chunks.get(last).size < CHUNK_SIZE) {
+                chunk = ownedChunk(last);
+            } else {
+                chunk = new Chunk(CHUNK_SIZE);
+                owned.add(chunk);
+                chunks.add(chunk);
+            }
+            chunk.seqs[chunk.size] = seq;
+            chunk.operations[chunk.size] = operation;
+            chunk.size++;
+            bucket.slots.put(operation.getId(), new Slot(seq, operation));
+        }
+        
+        /**
+         * Удаление операции; возвращает удалённую версию или null
+         */
+        Operation remove(String id) {
+            checkOpen();
+            if (!contains(id)) {
+                return null;
+            }
+            Slot slot = ownedBucket(id).slots.remove(id);
+            int chunkIndex = chunkOf(slot.seq);
+            Chunk chunk = ownedChunk(chunkIndex);
+            int position = chunk.indexOf(slot.seq);
+            System.arraycopy(chunk.seqs, position + 1, chunk.seqs, position, chunk.size - position - 1);
+            System.arraycopy(chunk.operations, position + 1, chunk.operations, position, chunk.size - position - 1);
+            chunk.size--;
+            chunk.operations[chunk.size] = null;
+            if (chunk.size == 0) {
+                chunks.remove(chunkIndex);
+            }
+            return slot.operation;
+        }
+        
+        /**
+         * Публикация новой версии; после неё редактор использовать нельзя
+         */
+        OperationLedger build() {
+            checkOpen();
+            built = true;
+            
+            int total = 0;
+            for (Chunk chunk : chunks) {
+                total += chunk.size;
+            }
+            // После многих удалений блоки мельчают — тогда они собираются заново
+            List<Chunk> result = chunks;
+            if (chunks.size() > 2 * (total / CHUNK_SIZE) + 2) {
+                result = repack(chunks, total);
+            }
+            
+            int[] starts = new int[result.size() + 1];
+            for (int i = 0; i < result.size(); i++) {
+                starts[i + 1] = starts[i] + result.get(i).size;
+            }
+            return new OperationLedger(result.toArray(new Chunk[0]), starts, buckets, nextSeq);
+        }
+        
+        private static List<Chunk> repack(List<Chunk> chunks, int total) {
+            List<Chunk> packed = new ArrayList<>(total / CHUNK_SIZE + 1);
+            Chunk target = null;
+            for (Chunk chunk : chunks) {
+                for (int i = 0; i < chunk.size; i++) {
+                    if (target == null || target.size == CHUNK_SIZE) {
+                        target = new Chunk(CHUNK_SIZE);
+                        packed.add(target);
+                    }
+                    target.seqs[target.size] = chunk.seqs[i];
+                    target.operations[target.size] = chunk.operations[i];
+                    target.size++;
+                }
+            }
+            return packed;
+        }
+        
+        /**
+         * Блок, содержащий операцию с данным порядковым номером
+         */
+        private int chunkOf(long seq) {
+            int low = 0;
+            int high = chunks.size() - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (chunks.get(mid).seqs[0] <= seq) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+        
+        private Chunk ownedChunk(int index) {
+            Chunk chunk = chunks.get(index);
+            if (!owned.contains(chunk)) {
+                chunk = chunk.copy(CHUNK_SIZE);
+                owned.add(chunk);
+                chunks.set(index, chunk);
+            }
+            return chunk;
+        }
+        
+        private Bucket ownedBucket(String id) {
+            int index = bucketIndex(id);
+            Bucket bucket = buckets[index];
+            if (bucket == null || !owned.contains(bucket)) {
+                bucket = bucket == null ? new Bucket(new HashMap<>()) : new Bucket(new HashMap<>(bucket.slots));
+                owned.add(bucket);
+                buckets[index] = bucket;
+            }
+            return bucket;
+        }
+        
+        private void checkOpen() {
+            if (built) {
+                throw new IllegalStateException("Версия набора уже опубликована");
+            }
+        }
+    }
+    
+    /**
+     * Блок операций; после публикации не меняется
+     */
+    private static final class Chunk {
+        
+        final long[] seqs;
+        final Operation[] operations;
+        int size;
+        
+        Chunk(int capacity) {
+            this.seqs = new long[capacity];
+            this.operations = new Operation[capacity];
+        }
+        
+        Chunk copy(int capacity) {
+            Chunk copy = new Chunk(capacity);
+            System.arraycopy(seqs, 0, copy.seqs, 0, size);
+            System.arraycopy(operations, 0, copy.operations, 0, size);
+            copy.size = size;
+            return copy;
+        }
+        
+        int indexOf(long seq) {
+            return Arrays.binarySearch(seqs, 0, size, seq);
+        }
+    }
+    
+    private record Bucket(HashMap<String, Slot> slots) {
+    }
+    
+    private record Slot(long seq, Operation operation) {
+    }
+    
+    /**
+     * Список поверх блоков без копирования
+     */
+    private final class OperationsView extends AbstractList<Operation> implements RandomAccess {
+        
+        @Override
+        public Operation get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int chunk = Arrays.binarySearch(starts, 0, chunks.length, index);
+            if (chunk < 0) {
+                chunk = -chunk - 2;
+            }
+            return chunks[chunk].operations[index - starts[chunk]];
+        }
+        
+        @Override
+        public int size() {
+            return OperationLedger.this.size();
+        }
+        
+        @Override
+        public Iterator<Operation> iterator() {
+            return new Iterator<>() {
+                private int chunk;
+                private int position;
+                
+                @Override
+                public boolean hasNext() {
+                    return chunk < chunks.length;
+                }
+                
+                @Override
+                public Operation next() {
+                    if (chunk >= chunks.length) {
+                        throw new NoSuchElementException();
+                    }
+                    Chunk current = chunks[chunk];
+                    Operation operation = current.operations[position++];
+                    if (position == current.size) {
+                        chunk++;
+                        position = 0;
+                    }
+                    return operation;
+                }
+            };
+        }
+        
+        @Override
+        public void forEach(Consumer<? super Operation> action) {
+            for (Chunk chunk : chunks) {
+                for (int i = 0; i < chunk.size; i++) {
+                    action.accept(chunk.operations[i]);
+                }
+            }
+        }
+        
+        @Override
+        public Spliterator<Operation> spliterator() {
+            return Spliterators.spliterator(this,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+        }
+    }
+}
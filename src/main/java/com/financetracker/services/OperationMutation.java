@@ -0,0 +1,60 @@
+package com.financetracker.services;
+
+import com.financetracker.models.Operation;
+
+/**
+ * Изменение операции в составе пакета {@link OperationsService#applyBatch}.
+ */
+public final class OperationMutation {
+
+    public enum Kind {
+        ADD,
+        UPDATE,
+        DELETE
+    }
+
+    private final Kind kind;
+    private final String operationId;
+    private final Operation operation;
+
+    private OperationMutation(Kind kind, String operationId, Operation operation) {
+        this.kind = kind;
+        this.operationId = operationId;
+        this.operation = operation;
+    }
+
+    public static OperationMutation add(Operation operation) {
+        return new OperationMutation(Kind.ADD, operation.getId(), operation);
+    }
+
+    public static OperationMutation update(Operation operation) {
+        return new OperationMutation(Kind.UPDATE, operation.getId(), operation);
+    }
+
+    public static OperationMutation delete(String operationId) {
+        return new OperationMutation(Kind.DELETE, operationId, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    /**
+     * Новая версия операции (null для удаления)
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationMutation{" +
+                "kind=" + kind +
+                ", operationId='" + operationId + '\'' +
+                '}';
+    }
+}
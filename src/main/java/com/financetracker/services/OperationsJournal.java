@@ -0,0 +1,43 @@
+package com.financetracker.services;
+
+import com.financetracker.models.Operation;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Журнал изменений операций.
+ * Каждый пакет изменений записывается одной записью до публикации в памяти.
+ */
+public interface OperationsJournal {
+    
+    /**
+     * Журнал, который ничего не сохраняет (данные живут только в памяти)
+     */
+    OperationsJournal NONE = batch -> {
+    };
+    
+    void append(List<OperationMutation> batch) throws IOException;
+    
+    /**
+     * Воспроизведение сохранённых пакетов в порядке записи
+     * (журнал без хранения ничего не воспроизводит)
+     */
+    default void replay(Consumer<List<OperationMutation>> consumer) throws IOException {
+    }
+    
+    /**
+     * Пакетов после последней контрольной точки накопилось столько, что журнал стоит свернуть
+     */
+    default boolean needsCheckpoint() {
+        return false;
+    }
+    
+    /**
+     * Контрольная точка: operations — все операции после последнего записанного пакета.
+     * Воспроизведение начинается с неё, более ранние пакеты больше не хранятся.
+     */
+    default void checkpoint(List<Operation> operations) throws IOException {
+    }
+}
@@ -0,0 +1,14 @@
+package com.financetracker.services;
+
+import com.financetracker.models.Operation;
+
+import java.util.List;
+
+/**
+ * Подписчик на изменения операций.
+ * Обновление операции приходит как пара: старая версия в removed, новая в added.
+ */
+public interface OperationsListener {
+
+    void onOperationsChanged(List<Operation> removed, List<Operation> added);
+}
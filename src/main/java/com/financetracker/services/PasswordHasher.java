@@ -0,0 +1,168 @@
+package com.financetracker.services;
+
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Хэширование паролей PBKDF2-HMAC-SHA256 со случайной солью.
+ *
+ * Хэш хранится строкой "pbkdf2-sha256$итерации$соль$хэш" (соль и хэш в Base64),
+ * поэтому параметры можно менять: старые хэши проверяются со своими параметрами,
+ * а {@link #needsRehash(String)} подсказывает, что хэш пора пересчитать.
+ *
+ * Вычисление хэша намеренно дорогое (сотни миллисекунд) — вызывать не из FX-потока.
+ */
+public final class PasswordHasher {
+    
+    private static final String ALGORITHM = "pbkdf2-sha256";
+    private static final String JCA_ALGORITHM = "PBKDF2WithHmacSHA256";
+    
+    public static final int DEFAULT_ITERATIONS = 600_000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    
+    // Калибровка заканчивается, если лучшее время не улучшилось за CALIBRATION_PLATEAU
+    private static final Duration CALIBRATION_PLATEAU = Duration.ofSeconds(2);
+    private static final Duration CALIBRATION_LIMIT = Duration.ofSeconds(20);
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private final int iterations;
+    
+    public PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Число итераций должно быть положительным");
+        }
+        this.iterations = iterations;
+    }
+    
+    public int getIterations() {
+        return iterations;
+    }
+    
+    /**
+     * Хэш пароля с новой случайной солью
+     */
+    public String hash(char[] password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations, HASH_BITS);
+        
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return ALGORITHM + "$" + iterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+    }
+    
+    /**
+     * Проверка пароля; время сравнения не зависит от того, где хэши различаются.
+     * Неразборчивый хэш считается несовпадением.
+     */
+    public boolean verify(char[] password, String encoded) {
+        Encoded parsed = Encoded.parse(encoded);
+        if (parsed == null) {
+            return false;
+        }
+        byte[] actual = derive(password, parsed.salt(), parsed.iterations(), parsed.hash().length * 8);
+        return MessageDigest.isEqual(actual, parsed.hash());
+    }
+    
+    /**
+     * Хэш получен с другими параметрами и должен быть пересчитан при следующем входе
+     */
+    public boolean needsRehash(String encoded) {
+        Encoded parsed = Encoded.parse(encoded);
+        return parsed == null
+            || parsed.iterations() != iterations
+            || parsed.salt().length != SALT_BYTES
+            || parsed.hash().length * 8 != HASH_BITS;
+    }
+    
+    /**
+     * Подбор числа итераций, при котором хэш на этой машине считается не быстрее target.
+     * Берётся лучшее время прогона: пока JIT не скомпилировал HMAC, прогоны в разы
+     * медленнее, поэтому замеры идут, пока лучшее время не перестанет улучшаться
+     * (несколько секунд; запускается отдельно, см. бенчмарк PasswordHashingBenchmark).
+     */
+    public static int calibrate(Duration target) {
+        char[] password = "calibration-password".toCharArray();
+        byte[] salt = new byte[SALT_BYTES];
+        int probe = 20_000;
+        
+        long now = System.nanoTime();
+        long deadline = now + CALIBRATION_LIMIT.toNanos();
+        long improvedAt = now;
+        long best = Long.MAX_VALUE;
+        while (now - improvedAt < CALIBRATION_PLATEAU.toNanos() && now < deadline) {
+            long start = System.nanoTime();
+            derive(password, salt, probe, HASH_BITS);
+            now = System.nanoTime();
+            long elapsed = now - start;
+            // Улучшение меньше 5% — шум, а не завершившаяся компиляция
+            if (elapsed < best - best / 20) {
+                improvedAt = now;
+            }
+            best = Math.min(best, elapsed);
+        }
+        
+        double perIteration = (double) best / probe;
+        long iterations = (long) Math.ceil(target.toNanos() / perIteration);
+        // Кратно 10 000; медленная машина не должна ослаблять хэш ниже 200 000 итераций
+        iterations = Math.max(200_000, (iterations + 9_999) / 10_000 * 10_000);
+        return (int) Math.min(iterations, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Ключ AES-256 из пароля (для шифрования локальных данных).
+     * Соль должна отличаться от соли хэша пароля, иначе хэш раскрывал бы ключ.
+     */
+    public static SecretKey deriveKey(char[] password, byte[] salt, int iterations) {
+        byte[] raw = derive(password, salt, iterations, 256);
+        try {
+            return new SecretKeySpec(raw, "AES");
+        } finally {
+            Arrays.fill(raw, (byte) 0);
+        }
+    }
+    
+    private static byte[] derive(char[] password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(JCA_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 недоступен", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+    
+    private record Encoded(int iterations, byte[] salt, byte[] hash) {
+        
+        static Encoded parse(String encoded) {
+            if (encoded == null) {
+                return null;
+            }
+            String[] parts = encoded.split("\\$");
+            if (parts.length != 4 || !ALGORITHM.equals(parts[0])) {
+                return null;
+            }
+            try {
+                int iterations = Integer.parseInt(parts[1]);
+                byte[] salt = Base64.getDecoder().decode(parts[2]);
+                byte[] hash = Base64.getDecoder().decode(parts[3]);
+                if (iterations < 1 || salt.length == 0 || hash.length == 0) {
+                    return null;
+                }
+                return new Encoded(iterations, salt, hash);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -1,32 +1,44 @@
 package com.financetracker.services;
 
+import com.financetracker.metrics.Metrics;
+import com.financetracker.metrics.Timer;
 import com.financetracker.models.SpendingLimit;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Сервис лимитов по категориям.
- * Сейчас использует mock данные, в будущем будет работать с REST API.
+ * Данные в памяти области пользователя; с бекендом сверяются через SyncEngine.
  */
 public class PlansLimitsService {
 
-    private static PlansLimitsService instance;
-    private final List<SpendingLimit> limits;
+    private static final Timer TOTALS_TIMER = Metrics.timer("limits.totals");
+
+    // Неизменяемый снимок; читатели работают без блокировок
+    private volatile List<SpendingLimit> limits;
+    private final Object writeLock = new Object();
+    private final List<EntityChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     private PlansLimitsService() {
-        this.limits = new ArrayList<>();
-        initializeMockLimits();
+        List<SpendingLimit> initial = new ArrayList<>();
+        if (SyntheticLedger.isEnabled()) {
+            initial.addAll(SyntheticLedger.getInstance().getLimits());
+        } else {
+            initializeMockLimits(initial);
+        }
+        this.limits = List.copyOf(initial);
     }
 
-    public static synchronized PlansLimitsService getInstance() {
-        if (instance == null) {
-            instance = new PlansLimitsService();
-        }
-        return instance;
+    /**
+     * Экземпляр области текущего пользователя (см. {@link UserScope})
+     */
+    public static PlansLimitsService getInstance() {
+        return UserScope.current().service(PlansLimitsService.class, scope -> new PlansLimitsService());
     }
 
-    private void initializeMockLimits() {
+    private void initializeMockLimits(List<SpendingLimit> limits) {
         limits.add(new SpendingLimit("1", "Продукты", "Февраль 2026", 18500, 20000));
         limits.add(new SpendingLimit("2", "Транспорт", "Февраль 2026", 12300, 15000));
         limits.add(new SpendingLimit("3", "Развлечения", "Февраль 2026", 8900, 10000));
@@ -34,18 +46,85 @@ public class PlansLimitsService {
     }
 
     public List<SpendingLimit> getAllLimits() {
-        return new ArrayList<>(limits);
+        return limits;
+    }
+
+    public SpendingLimit getLimitById(String id) {
+        for (SpendingLimit limit : limits) {
+            if (limit.getId().equals(id)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Добавление лимита или замена существующего с тем же ID
+     */
+    public void saveLimit(SpendingLimit limit) {
+        synchronized (writeLock) {
+            List<SpendingLimit> updated = new ArrayList<>(limits);
+            updated.removeIf(existing -> existing.getId().equals(limit.getId()));
+            updated.add(limit);
+            limits = List.copyOf(updated);
+        }
+        fireChanged(limit.getId());
+    }
+
+    public boolean deleteLimit(String id) {
+        synchronized (writeLock) {
+            List<SpendingLimit> updated = new ArrayList<>(limits);
+            if (!updated.removeIf(limit -> limit.getId().equals(id))) {
+                return false;
+            }
+            limits = List.copyOf(updated);
+        }
+        fireChanged(id);
+        return true;
+    }
+
+    /**
+     * Подписка на изменения лимитов
+     */
+    public void addChangeListener(EntityChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(EntityChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void fireChanged(String id) {
+        for (EntityChangeListener listener : changeListeners) {
+            listener.onEntityChanged(id);
+        }
     }
 
     public double getTotalLimit() {
-        return limits.stream().mapToDouble(SpendingLimit::getLimitAmount).sum();
+        long start = TOTALS_TIMER.start();
+        try {
+            return limits.stream().mapToDouble(SpendingLimit::getLimitAmount).sum();
+        } finally {
+            TOTALS_TIMER.stop(start);
+        }
     }
 
     public double getTotalSpent() {
-        return limits.stream().mapToDouble(SpendingLimit::getSpent).sum();
+        long start = TOTALS_TIMER.start();
+        try {
+            return limits.stream().mapToDouble(SpendingLimit::getSpent).sum();
+        } finally {
+            TOTALS_TIMER.stop(start);
+        }
     }
 
     public double getTotalRemaining() {
-        return getTotalLimit() - getTotalSpent();
+        long start = TOTALS_TIMER.start();
+        try {
+            List<SpendingLimit> snapshot = limits;
+            return snapshot.stream().mapToDouble(SpendingLimit::getRemaining).sum();
+        } finally {
+            TOTALS_TIMER.stop(start);
+        }
     }
 }
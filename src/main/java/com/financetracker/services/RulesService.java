@@ -0,0 +1,168 @@
+package com.financetracker.services;
+
+import com.financetracker.models.CategoryRule;
+import com.financetracker.models.Operation;
+import com.financetracker.rules.RuleEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сервис правил автоматической категоризации.
+ * Правила живут в памяти области пользователя и с бекендом не синхронизируются.
+ *
+ * Правила хранятся неизменяемым снимком вместе со скомпилированным движком;
+ * при каждом изменении движок пересобирается один раз, а не на каждую операцию.
+ */
+public class RulesService {
+
+    private final Object writeLock = new Object();
+
+    // Правила и движок публикуются вместе, читатели работают без блокировок
+    private volatile RuleSet ruleSet;
+
+    private RulesService() {
+        List<CategoryRule> initial = new ArrayList<>();
+        initializeMockRules(initial);
+        this.ruleSet = RuleSet.of(initial);
+    }
+
+    /**
+     * Экземпляр области текущего пользователя (см. {@link UserScope})
+     */
+    public static RulesService getInstance() {
+        return UserScope.current().service(RulesService.class, scope -> new RulesService());
+    }
+
+    private void initializeMockRules(List<CategoryRule> rules) {
+        rules.add(CategoryRule.keyword("1", "пятёрочка", "Продукты"));
+        rules.add(CategoryRule.keyword("2", "перекрёсток", "Продукты"));
+        rules.add(CategoryRule.keyword("3", "магнит", "Продукты"));
+        rules.add(CategoryRule.keyword("4", "супермаркет", "Продукты"));
+        rules.add(CategoryRule.keyword("5", "такси", "Такси"));
+        rules.add(CategoryRule.keyword("6", "yandex go", "Такси"));
+        rules.add(CategoryRule.keyword("7", "метро", "Метро"));
+        rules.add(CategoryRule.keyword("8", "тройка", "Метро"));
+        rules.add(CategoryRule.keyword("9", "азс", "Бензин"));
+        rules.add(CategoryRule.keyword("10", "заправка", "Бензин"));
+        rules.add(CategoryRule.keyword("11", "лукойл", "Бензин"));
+        rules.add(CategoryRule.keyword("12", "аптека", "Здоровье"));
+        rules.add(CategoryRule.keyword("13", "кино", "Развлечения"));
+
+        CategoryRule salary = CategoryRule.pattern("14", "зарплат|аванс|salary", "Зарплата");
+        salary.setType(Operation.OperationType.INCOME);
+        rules.add(salary);
+
+        CategoryRule freelance = new CategoryRule("15", "Фриланс");
+        freelance.setTag("фриланс");
+        freelance.setType(Operation.OperationType.INCOME);
+        rules.add(freelance);
+    }
+
+    /**
+     * Получение всех правил в порядке применения
+     */
+    public List<CategoryRule> getAllRules() {
+        return ruleSet.rules();
+    }
+
+    /**
+     * Скомпилированный движок текущего набора правил
+     */
+    public RuleEngine getEngine() {
+        return ruleSet.engine();
+    }
+
+    /**
+     * Подбор категории для одной операции (null — ни одно правило не сработало).
+     * Для пакетов эффективнее взять getEngine().newMatcher().
+     */
+    public String categorize(Operation operation) {
+        return ruleSet.engine().newMatcher().categorize(operation);
+    }
+
+    /**
+     * Добавление правила в конец списка (с наименьшим приоритетом)
+     */
+    public boolean addRule(CategoryRule rule) {
+        synchronized (writeLock) {
+            if (indexOf(rule.getId()) >= 0) {
+                return false;
+            }
+            List<CategoryRule> updated = new ArrayList<>(ruleSet.rules());
+            updated.add(rule);
+            ruleSet = RuleSet.of(updated);
+            return true;
+        }
+    }
+
+    /**
+     * Обновление правила
+     */
+    public boolean updateRule(CategoryRule rule) {
+        synchronized (writeLock) {
+            int index = indexOf(rule.getId());
+            if (index < 0) {
+                return false;
+            }
+            List<CategoryRule> updated = new ArrayList<>(ruleSet.rules());
+            updated.set(index, rule);
+            ruleSet = RuleSet.of(updated);
+            return true;
+        }
+    }
+
+    /**
+     * Перемещение правила на новую позицию (0 — наивысший приоритет)
+     */
+    public boolean moveRule(String id, int position) {
+        synchronized (writeLock) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            List<CategoryRule> updated = new ArrayList<>(ruleSet.rules());
+            CategoryRule rule = updated.remove(index);
+            updated.add(Math.max(0, Math.min(position, updated.size())), rule);
+            ruleSet = RuleSet.of(updated);
+            return true;
+        }
+    }
+
+    /**
+     * Удаление правила
+     */
+    public boolean deleteRule(String id) {
+        synchronized (writeLock) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            List<CategoryRule> updated = new ArrayList<>(ruleSet.rules());
+            updated.remove(index);
+            ruleSet = RuleSet.of(updated);
+            return true;
+        }
+    }
+
+    private int indexOf(String id) {
+        List<CategoryRule> rules = ruleSet.rules();
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Неизменяемый набор правил вместе со скомпилированным движком
+     */
+    private record RuleSet(List<CategoryRule> rules, RuleEngine engine) {
+
+        static RuleSet of(List<CategoryRule> rules) {
+            List<CategoryRule> snapshot = List.copyOf(rules);
+            return new RuleSet(snapshot, RuleEngine.compile(snapshot));
+        }
+    }
+}
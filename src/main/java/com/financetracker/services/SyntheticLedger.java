@@ -0,0 +1,518 @@
+package com.financetracker.services;
+
+import com.financetracker.models.Goal;
+import com.financetracker.models.Operation;
+import com.financetracker.models.SpendingLimit;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Синтетические данные пользователя для проверки производительности на больших объёмах.
+ *
+ * По одному и тому же seed всегда строится один и тот же журнал за несколько лет:
+ * зарплата и коммунальные платежи по расписанию, повседневные траты с сезонностью,
+ * ростом цен и недельным ритмом, категории, магазины и метки с распределением Ципфа,
+ * цели, долги и лимиты по фактическим тратам.
+ *
+ * Включается свойством financetracker.synthetic.operations (число операций, до 10 млн):
+ * сервисы области берут данные отсюда вместо тестовых, а журнал пользователя
+ * не подключается. 10 млн операций вместе с индексом OperationsService занимают
+ * около 2,3 ГБ кучи; с запасом на расчёты экранов и сборку мусора — запуск с -Xmx4g.
+ */
+public final class SyntheticLedger {
+    
+    public static final String OPERATIONS_PROPERTY = "financetracker.synthetic.operations";
+    public static final String SEED_PROPERTY = "financetracker.synthetic.seed";
+    public static final String YEARS_PROPERTY = "financetracker.synthetic.years";
+    public static final String END_PROPERTY = "financetracker.synthetic.end";
+    
+    public static final int MAX_OPERATIONS = 10_000_000;
+    public static final int MAX_YEARS = 50;
+    public static final LocalDate DEFAULT_END = LocalDate.of(2026, 2, 28);
+    
+    private static final Locale RU = Locale.forLanguageTag("ru-RU");
+    
+    /** Показатель распределения Ципфа для категорий, магазинов и меток */
+    private static final double ZIPF_EXPONENT = 1.07;
+    
+    /** Годовой рост цен и ежегодная индексация зарплаты */
+    private static final double PRICE_GROWTH = 0.07;
+    private static final double SALARY_GROWTH = 0.08;
+    private static final double BASE_SALARY = 180_000;
+    
+    /** Рост числа покупок за год (привычки «расширяются» вместе с доходом) */
+    private static final double ACTIVITY_GROWTH = 0.03;
+    
+    private static final String UTILITIES = "Коммунальные";
+    private static final double[] HEATING = {1.4, 1.35, 1.2, 1.0, 0.85, 0.75, 0.75, 0.75, 0.85, 1.0, 1.2, 1.35};
+    
+    /**
+     * Повседневные операции: расходы по убыванию частоты (ранг Ципфа), затем доходы
+     * с фиксированной долей. Сезонность — множители по месяцам с января.
+     */
+    private static final Profile[] PROFILES = {
+        Profile.expense("Продукты", 850, 0.8,
+            new double[] {1.0, 0.95, 1.0, 1.0, 1.05, 1.0, 1.0, 1.0, 1.0, 1.0, 1.05, 1.25},
+            "Пятёрочка", "Перекрёсток", "Магнит", "ВкусВилл", "Лента", "Ашан", "Рынок", "Азбука вкуса"),
+        Profile.expense("Метро", 62, 0.15,
+            new double[] {1.0, 1.0, 1.0, 1.0, 0.9, 0.75, 0.7, 0.75, 1.0, 1.0, 1.0, 0.95},
+            "Метро", "МЦД", "Автобус", "Электричка"),
+        Profile.expense("Развлечения", 1200, 0.9,
+            new double[] {0.9, 0.85, 0.95, 1.0, 1.1, 1.3, 1.3, 1.25, 0.95, 0.9, 0.95, 1.5},
+            "Кафе у дома", "Кинотеатр", "Ресторан", "Подписка", "Концерт", "Боулинг", "Театр"),
+        Profile.expense("Такси", 450, 0.6,
+            new double[] {1.3, 1.25, 1.1, 1.0, 0.9, 0.85, 0.85, 0.85, 0.95, 1.05, 1.2, 1.4},
+            "Яндекс Go", "Такси", "Ситимобил"),
+        Profile.expense("Здоровье", 900, 1.0,
+            new double[] {1.35, 1.3, 1.15, 1.0, 0.9, 0.8, 0.8, 0.8, 0.95, 1.1, 1.25, 1.3},
+            "Аптека", "Клиника", "Стоматология", "Анализы"),
+        Profile.expense("Одежда", 3500, 0.9,
+            new double[] {0.8, 0.75, 1.25, 1.3, 1.0, 0.9, 0.85, 0.95, 1.3, 1.25, 1.2, 1.2},
+            "Уайлдберриз", "Озон", "Спортмастер", "Обувной", "Торговый центр"),
+        Profile.expense("Бензин", 2500, 0.35,
+            new double[] {0.85, 0.85, 0.95, 1.0, 1.15, 1.3, 1.35, 1.3, 1.05, 0.95, 0.9, 0.9},
+            "Лукойл", "Роснефть", "Газпромнефть"),
+        Profile.expense("Подарки", 3000, 0.8,
+            new double[] {0.6, 1.8, 1.8, 0.8, 0.8, 0.8, 0.8, 0.8, 0.8, 0.8, 0.9, 3.0},
+            "Цветы", "Подарок", "Сувениры"),
+        Profile.income("Фриланс", 0.02, 15_000, 0.7,
+            new double[] {0.9, 1.0, 1.1, 1.1, 1.0, 0.8, 0.6, 0.6, 1.0, 1.3, 1.3, 1.2},
+            "Проект", "Консультация", "Заказ"),
+        Profile.income("Подарки", 0.004, 5_000, 0.9,
+            new double[] {0.8, 0.8, 0.8, 0.8, 0.8, 0.8, 0.8, 0.8, 0.8, 0.8, 0.8, 3.0},
+            "Подарок", "Перевод от родных")
+    };
+    
+    private static final String[] TAGS = {
+        "семья", "кешбэк", "работа", "дом", "онлайн", "друзья", "подписка", "машина",
+        "дети", "отпуск", "праздник", "здоровье", "спорт", "наличные", "ремонт",
+        "командировка", "питомец", "учёба", "возврат", "благотворительность"
+    };
+    
+    // Размер цели или долга — в месячных зарплатах
+    private static final GoalTemplate[] SAVINGS_GOALS = {
+        new GoalTemplate("Отпуск", "🏖️", 1, 2), new GoalTemplate("Подушка безопасности", "🛟", 3, 6),
+        new GoalTemplate("Ремонт", "🔨", 2, 5), new GoalTemplate("Новый ноутбук", "💻", 0.8, 1.5),
+        new GoalTemplate("Автомобиль", "🚗", 6, 12), new GoalTemplate("Обучение", "🎓", 1, 3),
+        new GoalTemplate("Первый взнос", "🏠", 8, 20), new GoalTemplate("Свадьба", "💍", 3, 6)
+    };
+    
+    private static final GoalTemplate[] DEBTS = {
+        new GoalTemplate("Кредитная карта", "💳", 0.5, 1.5), new GoalTemplate("Автокредит", "🚗", 5, 10),
+        new GoalTemplate("Потребительский кредит", "💰", 2, 5), new GoalTemplate("Ипотека", "🏠", 30, 60)
+    };
+    
+    private static final String[] COLORS = {
+        "#3B82F6", "#8B5CF6", "#EF4444", "#F59E0B", "#10B981", "#EC4899", "#06B6D4"
+    };
+    
+    // Выбор профиля по месяцу: накопленные веса с учётом сезонности
+    private static final double[][] PROFILE_CUMULATIVE = new double[12][];
+    private static final double[] MONTH_ACTIVITY = new double[12];
+    private static final double[] TAG_CUMULATIVE = zipf(TAGS.length);
+    
+    static {
+        double[] rank = zipf(Profile.expenseCount());
+        for (int month = 0; month < 12; month++) {
+            double[] cumulative = new double[PROFILES.length];
+            double sum = 0;
+            for (int i = 0; i < PROFILES.length; i++) {
+                Profile profile = PROFILES[i];
+                double share = profile.type() == Operation.OperationType.EXPENSE
+                    ? rank[i] - (i == 0 ? 0 : rank[i - 1])
+                    : profile.share();
+                sum += share * profile.season()[month];
+                cumulative[i] = sum;
+            }
+            PROFILE_CUMULATIVE[month] = cumulative;
+            MONTH_ACTIVITY[month] = sum;
+        }
+    }
+    
+    private final long seed;
+    private final int size;
+    private final int years;
+    private final LocalDate endDate;
+    
+    // Строятся при первом обращении
+    private List<Operation> operations;
+    private List<Goal> goals;
+    private List<SpendingLimit> limits;
+    
+    /**
+     * @param seed начальное значение генератора
+     * @param size число операций (1..MAX_OPERATIONS)
+     * @param years период учёта в годах, заканчивается endDate
+     */
+    public SyntheticLedger(long seed, int size, int years, LocalDate endDate) {
+        if (size < 1 || size > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("Число синтетических операций должно быть от 1 до " + MAX_OPERATIONS + ": " + size);
+        }
+        if (years < 1 || years > MAX_YEARS) {
+            throw new IllegalArgumentException("Период синтетического журнала должен быть от 1 до " + MAX_YEARS + " лет: " + years);
+        }
+        this.seed = seed;
+        this.size = size;
+        this.years = years;
+        this.endDate = endDate;
+    }
+    
+    /**
+     * Включена ли подмена данных синтетическими (свойство financetracker.synthetic.operations)
+     */
+    public static boolean isEnabled() {
+        return System.getProperty(OPERATIONS_PROPERTY) != null;
+    }
+    
+    /**
+     * Журнал области текущего пользователя по параметрам из системных свойств
+     */
+    public static SyntheticLedger getInstance() {
+        return UserScope.current().service(SyntheticLedger.class, scope -> fromSystemProperties());
+    }
+    
+    private static SyntheticLedger fromSystemProperties() {
+        String end = System.getProperty(END_PROPERTY);
+        return new SyntheticLedger(
+            Long.getLong(SEED_PROPERTY, 1L),
+            Integer.getInteger(OPERATIONS_PROPERTY, 0),
+            Integer.getInteger(YEARS_PROPERTY, 3),
+            end != null ? LocalDate.parse(end) : DEFAULT_END
+        );
+    }
+    
+    /**
+     * Операции в хронологическом порядке
+     */
+    public synchronized List<Operation> getOperations() {
+        generate();
+        return operations;
+    }
+    
+    /**
+     * Цели и долги; их число растёт с размером журнала (до 100)
+     */
+    public synchronized List<Goal> getGoals() {
+        generate();
+        return goals;
+    }
+    
+    /**
+     * Лимиты на каждую категорию расходов и каждый месяц периода
+     */
+    public synchronized List<SpendingLimit> getLimits() {
+        generate();
+        return limits;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public int getYears() {
+        return years;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    // ========== GENERATION ==========
+    
+    private void generate() {
+        if (operations != null) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate start = endDate.minusYears(years).plusDays(1);
+        int days = (int) ChronoUnit.DAYS.between(start, endDate) + 1;
+        YearMonth firstMonth = YearMonth.from(start);
+        int months = (int) firstMonth.until(YearMonth.from(endDate), ChronoUnit.MONTHS) + 1;
+        
+        // Операции по расписанию (аванс, зарплата, коммунальные) — только если они
+        // не вытесняют повседневные траты
+        int scheduled = 0;
+        for (int day = 0; day < days; day++) {
+            if (isScheduledDay(start.plusDays(day))) {
+                scheduled++;
+            }
+        }
+        if (scheduled * 2 > size) {
+            scheduled = 0;
+        }
+        boolean withSchedule = scheduled > 0;
+        int variable = size - scheduled;
+        
+        double totalWeight = 0;
+        for (int day = 0; day < days; day++) {
+            totalWeight += dayWeight(start.plusDays(day), day);
+        }
+        
+        // Фактические траты по месяцам и категориям (последний столбец — коммунальные)
+        double[][] spent = new double[months][Profile.expenseCount() + 1];
+        List<Operation> generated = new ArrayList<>(size);
+        double expected = 0;
+        long emitted = 0;
+        
+        for (int day = 0; day < days; day++) {
+            LocalDate date = start.plusDays(day);
+            int month = date.getMonthValue() - 1;
+            int monthIndex = (int) firstMonth.until(YearMonth.from(date), ChronoUnit.MONTHS);
+            double prices = Math.pow(1 + PRICE_GROWTH, day / 365.0);
+            
+            if (withSchedule && isScheduledDay(date)) {
+                generated.add(scheduledOperation(generated.size(), date, start, prices, spent[monthIndex]));
+            }
+            
+            // Накопленное ожидание округляется, поэтому всего выходит ровно variable операций
+            expected += variable * dayWeight(date, day) / totalWeight;
+            long due = day == days - 1 ? variable : Math.min(variable, Math.round(expected));
+            for (; emitted < due; emitted++) {
+                int index = pick(PROFILE_CUMULATIVE[month], random);
+                Profile profile = PROFILES[index];
+                double amount = amount(profile.median() * prices, profile.sigma(), random);
+                Operation operation = new Operation(
+                    "syn-" + generated.size(),
+                    date,
+                    profile.type(),
+                    profile.category(),
+                    profile.merchants()[pick(profile.merchantCumulative(), random)],
+                    amount
+                );
+                List<String> tags = randomTags(random);
+                if (tags != null) {
+                    operation.setTags(tags);
+                }
+                generated.add(operation);
+                if (profile.type() == Operation.OperationType.EXPENSE) {
+                    spent[monthIndex][index] += amount;
+                }
+            }
+        }
+        
+        operations = Collections.unmodifiableList(generated);
+        limits = generateLimits(firstMonth, spent, random);
+        goals = generateGoals(random);
+    }
+    
+    private static boolean isScheduledDay(LocalDate date) {
+        int day = date.getDayOfMonth();
+        return day == 5 || day == 10 || day == 20;
+    }
+    
+    private Operation scheduledOperation(int index, LocalDate date, LocalDate start, double prices, double[] monthSpent) {
+        if (date.getDayOfMonth() == 10) {
+            double amount = Math.round(6_500 * prices * HEATING[date.getMonthValue() - 1]);
+            monthSpent[monthSpent.length - 1] += amount;
+            return new Operation("syn-" + index, date, Operation.OperationType.EXPENSE, UTILITIES, "ЖКХ", amount);
+        }
+        // Индексация зарплаты каждый январь
+        double salary = BASE_SALARY * Math.pow(1 + SALARY_GROWTH, date.getYear() - start.getYear());
+        boolean advance = date.getDayOfMonth() == 5;
+        return new Operation(
+            "syn-" + index,
+            date,
+            Operation.OperationType.INCOME,
+            "Зарплата",
+            advance ? "Аванс" : "Зарплата",
+            Math.round(salary * (advance ? 0.4 : 0.6))
+        );
+    }
+    
+    /**
+     * Вес дня: сезонность месяца, выходные и постепенный рост числа покупок
+     */
+    private static double dayWeight(LocalDate date, int day) {
+        DayOfWeek weekday = date.getDayOfWeek();
+        double week = switch (weekday) {
+            case FRIDAY -> 1.2;
+            case SATURDAY -> 1.35;
+            case SUNDAY -> 1.1;
+            default -> 0.9;
+        };
+        return MONTH_ACTIVITY[date.getMonthValue() - 1] * week * (1 + ACTIVITY_GROWTH * day / 365.0);
+    }
+    
+    /**
+     * Логнормальная сумма; мелкие — с копейками, крупные — в целых рублях
+     */
+    private static double amount(double median, double sigma, SplittableRandom random) {
+        double amount = median * Math.exp(sigma * random.nextGaussian());
+        return amount < 1_000
+            ? Math.max(1, Math.round(amount * 100) / 100.0)
+            : Math.round(amount);
+    }
+    
+    /**
+     * Треть операций с одной меткой, часть — с двумя (null — без меток)
+     */
+    private static List<String> randomTags(SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll >= 0.38) {
+            return null;
+        }
+        String first = TAGS[pick(TAG_CUMULATIVE, random)];
+        if (roll < 0.30) {
+            return new ArrayList<>(List.of(first));
+        }
+        String second = TAGS[pick(TAG_CUMULATIVE, random)];
+        return second.equals(first) ? new ArrayList<>(List.of(first)) : new ArrayList<>(List.of(first, second));
+    }
+    
+    /**
+     * Лимит на месяц — траты прошлого месяца с запасом, округлённые до 500 ₽
+     */
+    private static List<SpendingLimit> generateLimits(YearMonth firstMonth, double[][] spent, SplittableRandom random) {
+        List<SpendingLimit> limits = new ArrayList<>();
+        int columns = spent[0].length;
+        for (int month = 0; month < spent.length; month++) {
+            YearMonth yearMonth = firstMonth.plusMonths(month);
+            String label = capitalize(yearMonth.getMonth().getDisplayName(TextStyle.FULL_STANDALONE, RU))
+                + " " + yearMonth.getYear();
+            for (int column = 0; column < columns; column++) {
+                double planned = month > 0 ? spent[month - 1][column] : spent[month][column];
+                if (planned <= 0) {
+                    continue;
+                }
+                double limit = Math.max(500, Math.round(planned * (0.95 + random.nextDouble() * 0.3) / 500) * 500);
+                String category = column < columns - 1 ? PROFILES[column].category() : UTILITIES;
+                limits.add(new SpendingLimit(
+                    "syn-limit-" + limits.size(),
+                    category,
+                    label,
+                    Math.round(spent[month][column]),
+                    limit
+                ));
+            }
+        }
+        return Collections.unmodifiableList(limits);
+    }
+    
+    /**
+     * Цели накоплений и долги с графиком платежей до срока
+     */
+    private List<Goal> generateGoals(SplittableRandom random) {
+        int count = Math.min(100, 4 + size / 100_000);
+        double salary = BASE_SALARY * Math.pow(1 + SALARY_GROWTH, years - 1);
+        List<Goal> goals = new ArrayList<>(count);
+        
+        for (int i = 0; i < count; i++) {
+            boolean debt = i % 4 == 3;
+            GoalTemplate[] templates = debt ? DEBTS : SAVINGS_GOALS;
+            int ordinal = debt ? i / 4 : i - i / 4;
+            GoalTemplate template = templates[ordinal % templates.length];
+            int round = ordinal / templates.length;
+            String name = round == 0 ? template.name() : template.name() + " " + (round + 1);
+            
+            double salaries = template.minSalaries() + random.nextDouble() * (template.maxSalaries() - template.minSalaries());
+            double target = Math.max(5_000, Math.round(salary * salaries / 5_000) * 5_000);
+            double current = Math.round(target * (0.05 + random.nextDouble() * 0.9) / 1_000) * 1_000;
+            LocalDate deadline = endDate.plusMonths(2 + random.nextInt(47));
+            int daysRemaining = (int) ChronoUnit.DAYS.between(endDate, deadline);
+            
+            Goal goal = new Goal(
+                "syn-goal-" + i,
+                name,
+                template.icon(),
+                debt ? Goal.GoalType.DEBT : Goal.GoalType.GOAL,
+                target,
+                current,
+                deadline,
+                daysRemaining,
+                COLORS[i % COLORS.length]
+            );
+            if (debt) {
+                double rate = Math.round((8 + random.nextDouble() * 22) * 10) / 10.0;
+                double monthlyRate = rate / 100 / 12;
+                int payments = Math.max(1, (int) ChronoUnit.MONTHS.between(endDate, deadline));
+                double annuity = (target - current) * monthlyRate / (1 - Math.pow(1 + monthlyRate, -payments));
+                goal.setInterestRate(rate);
+                goal.setMonthlyPayment(Math.ceil(annuity / 500) * 500);
+            }
+            goals.add(goal);
+        }
+        return Collections.unmodifiableList(goals);
+    }
+    
+    // ========== DISTRIBUTIONS ==========
+    
+    /**
+     * Накопленные веса распределения Ципфа для n рангов (последний равен 1)
+     */
+    private static double[] zipf(int n) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+    
+    /**
+     * Индекс по накопленным весам
+     */
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double value = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, value);
+        return index >= 0 ? Math.min(index + 1, cumulative.length - 1) : -index - 1;
+    }
+    
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+    
+    /**
+     * Шаблон цели или долга: название, значок и размер в месячных зарплатах
+     */
+    private record GoalTemplate(String name, String icon, double minSalaries, double maxSalaries) {
+    }
+    
+    /**
+     * Вид повседневной операции: категория, типичная сумма, разброс, сезонность и места покупки
+     */
+    private record Profile(Operation.OperationType type,
+                           String category,
+                           double share,
+                           double median,
+                           double sigma,
+                           double[] season,
+                           String[] merchants,
+                           double[] merchantCumulative) {
+        
+        static Profile expense(String category, double median, double sigma, double[] season, String... merchants) {
+            return new Profile(Operation.OperationType.EXPENSE, category, 0, median, sigma, season, merchants, zipf(merchants.length));
+        }
+        
+        static Profile income(String category, double share, double median, double sigma, double[] season, String... merchants) {
+            return new Profile(Operation.OperationType.INCOME, category, share, median, sigma, season, merchants, zipf(merchants.length));
+        }
+        
+        static int expenseCount() {
+            int count = 0;
+            for (Profile profile : PROFILES) {
+                if (profile.type() == Operation.OperationType.EXPENSE) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.financetracker.services;
+
+import com.financetracker.api.ApiClient;
+import com.financetracker.models.User;
+import com.financetracker.storage.EncryptedSegmentJournal;
+import com.financetracker.utils.AppPaths;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Область данных вошедшего пользователя.
+ *
+ * Сервисы с данными пользователя (операции, категории, цели, лимиты, правила,
+ * подсказки, синхронизация) создаются в области текущего пользователя при первом
+ * обращении к getInstance() и освобождаются вместе с ней при выходе. Файлы
+ * пользователя лежат в его собственном каталоге (users/&lt;id&gt;), поэтому другой
+ * пользователь не видит ни его данных в памяти, ни его файлов.
+ *
+ * Если журнал не открылся (неверный пароль к ключу, повреждённые файлы), ошибка
+ * сохраняется в области ({@link #getJournalError}): сервисы с данными пользователя
+ * в такой области не создаются, а вход показывает ошибку.
+ *
+ * До входа действует гостевая область: её данные живут только в памяти.
+ * Общие для всех пользователей объекты (AuthService, HTTP-клиент) в области не входят.
+ */
+public final class UserScope {
+    
+    private static final UserScope GUEST = new UserScope(null, null, OperationsJournal.NONE, null);
+    private static final String LEDGER_DIRECTORY = "ledger";
+    private static final List<Consumer<UserScope>> OPEN_LISTENERS = new CopyOnWriteArrayList<>();
+    
+    private static volatile UserScope current = GUEST;
+    
+    private final User user;
+    private final Path directory;
+    private final OperationsJournal journal;
+    private final IOException journalError;
+    
+    private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+    // Действия при закрытии, выполняются в обратном порядке; доступ под монитором this
+    private final List<AutoCloseable> closeActions = new ArrayList<>();
+    private boolean closed;
+    
+    private UserScope(User user, Path directory, OperationsJournal journal, IOException journalError) {
+        this.user = user;
+        this.directory = directory;
+        this.journal = journal;
+        this.journalError = journalError;
+    }
+    
+    /**
+     * Текущая область (гостевая, если никто не вошёл)
+     */
+    public static UserScope current() {
+        return current;
+    }
+    
+    /**
+     * Открытие области пользователя после входа; предыдущая область закрывается.
+     * Если известен пароль, подключается зашифрованный журнал операций пользователя;
+     * сами данные загружаются при первом обращении к сервисам (при входе — сразу,
+     * в фоновом потоке входа). Если подписчик на открытие
+     * не смог подготовить область, она закрывается, а ошибка пробрасывается.
+     */
+    public static UserScope open(User user, char[] password, int iterations) {
+        UserScope scope;
+        synchronized (UserScope.class) {
+            closeCurrent();
+            
+            Path directory = null;
+            OperationsJournal journal = OperationsJournal.NONE;
+            IOException journalError = null;
+            try {
+                directory = AppPaths.userDirectory(user.getId());
+                if (password != null) {
+                    journal = EncryptedSegmentJournal.open(directory.resolve(LEDGER_DIRECTORY), password, iterations);
+                }
+            } catch (IOException e) {
+                journalError = e;
+            }
+            
+            // Ответы бекенда в кэше относятся к прежнему пользователю
+            if (ApiClient.isConfigured()) {
+                ApiClient.getInstance().invalidateCache();
+            }
+            
+            scope = new UserScope(user, directory, journal, journalError);
+            if (journal instanceof AutoCloseable closeable) {
+                scope.onClose(closeable);
+            }
+            current = scope;
+        }
+        
+        try {
+            for (Consumer<UserScope> listener : OPEN_LISTENERS) {
+                listener.accept(scope);
+            }
+        } catch (RuntimeException e) {
+            closeCurrent();
+            throw e;
+        }
+        return scope;
+    }
+    
+    /**
+     * Перешифровка ключа журнала пользователя паролем password; previous — пароль,
+     * которым ключ зашифрован сейчас. Неверный previous — WrongPasswordException.
+     */
+    public static void changeLedgerPassword(User user, char[] previous, char[] password, int iterations)
+            throws IOException {
+        Path directory = AppPaths.userDirectory(user.getId()).resolve(LEDGER_DIRECTORY);
+        EncryptedSegmentJournal.changePassword(directory, previous, password, iterations);
+    }
+    
+    /**
+     * Закрытие текущей области (выход или завершение приложения)
+     */
+    public static void closeCurrent() {
+        synchronized (UserScope.class) {
+            UserScope scope = current;
+            if (scope == GUEST) {
+                return;
+            }
+            // Действия при закрытии обращаются к сервисам закрываемой области
+            scope.close();
+            current = GUEST;
+        }
+    }
+    
+    /**
+     * Подписка на открытие областей пользователей
+     */
+    public static void addOpenListener(Consumer<UserScope> listener) {
+        OPEN_LISTENERS.add(listener);
+    }
+    
+    /**
+     * Сервис области: создаётся factory при первом обращении
+     */
+    public <T> T service(Class<T> type, Function<UserScope, T> factory) {
+        Object existing = services.get(type);
+        if (existing != null) {
+            return type.cast(existing);
+        }
+        // Монитор реентерабелен: сервис может при создании обращаться к другим сервисам области
+        synchronized (this) {
+            existing = services.get(type);
+            if (existing != null) {
+                return type.cast(existing);
+            }
+            T created = factory.apply(this);
+            services.put(type, created);
+            return created;
+        }
+    }
+    
+    /**
+     * Действие при закрытии области (сохранение, остановка фоновых задач)
+     */
+    public synchronized void onClose(AutoCloseable action) {
+        closeActions.add(action);
+    }
+    
+    private synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<AutoCloseable> actions = new ArrayList<>(closeActions);
+        Collections.reverse(actions);
+        for (AutoCloseable action : actions) {
+            try {
+                action.close();
+            } catch (Exception e) {
+                System.err.println("Ошибка при закрытии данных пользователя: " + e.getMessage());
+            }
+        }
+        closeActions.clear();
+        services.clear();
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public boolean isGuest() {
+        return user == null;
+    }
+    
+    /**
+     * Журнал операций пользователя (NONE — данные только в памяти)
+     */
+    public OperationsJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * Ошибка открытия журнала (null — журнал открыт или пароль не передавался)
+     */
+    public IOException getJournalError() {
+        return journalError;
+    }
+    
+    /**
+     * Файл в каталоге пользователя (null — гостевая область или каталог недоступен)
+     */
+    public Path dataFile(String name) {
+        return directory == null ? null : directory.resolve(name);
+    }
+}
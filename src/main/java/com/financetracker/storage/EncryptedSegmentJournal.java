@@ -0,0 +1,563 @@
+package com.financetracker.storage;
+
+import com.financetracker.api.OperationBinaryCodec;
+import com.financetracker.models.Operation;
+import com.financetracker.services.OperationMutation;
+import com.financetracker.services.OperationsJournal;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Журнал операций на диске, зашифрованный AES-256-GCM.
+ *
+ * Журнал состоит из сегментов (segment-000001.seg, ...), новый сегмент начинается,
+ * когда текущий превышает SEGMENT_BYTES. Каждый пакет изменений — отдельная запись
+ * сегмента: длина, вектор инициализации и шифртекст с тегом. Ключ сегмента выводится
+ * из ключа данных и номера сегмента, а номер сегмента и смещение записи входят в
+ * связанные данные GCM, поэтому записи нельзя незаметно переставить или подменить.
+ *
+ * Когда сегменты после контрольной точки перерастают её (см. {@link #needsCheckpoint}),
+ * все операции записываются в новую контрольную точку (checkpoint-000042.seg, тот же
+ * формат, записи — пакеты добавления по CHECKPOINT_BATCH операций, ключ из отдельной
+ * области). Файл пишется во временный и переименовывается атомарно, после этого
+ * свёрнутые сегменты и прежняя контрольная точка удаляются, а новые сегменты
+ * нумеруются после неё. Воспроизведение читает последнюю контрольную точку и сегменты
+ * с большими номерами.
+ *
+ * При воспроизведении файлы читаются и расшифровываются по записи по мере
+ * потребления, без загрузки всего журнала в память. AES и GHASH на современных
+ * процессорах JDK выполняет аппаратными инструкциями. Отложенной расшифровки нет:
+ * OperationsService держит все операции в памяти, поэтому при входе журнал
+ * воспроизводится целиком (см. OperationsService.attachJournal).
+ *
+ * Запись, оборванная сбоем при добавлении, отбрасывается при открытии журнала;
+ * недописанная контрольная точка и уже свёрнутые сегменты — удаляются.
+ */
+public final class EncryptedSegmentJournal implements OperationsJournal, Closeable {
+    
+    private static final long SEGMENT_BYTES = 8 << 20;
+    private static final long MIN_CHECKPOINT_LOG_BYTES = SEGMENT_BYTES / 2;
+    private static final int CHECKPOINT_BATCH = 50_000;
+    
+    private static final byte[] MAGIC = {'F', 'T', 'L', 'S'};
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = MAGIC.length + 1;
+    
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final int MAX_RECORD_BYTES = 256 << 20;
+    
+    private static final String KEY_FILE = "ledger.key";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private final Path directory;
+    private final SecretKey dataKey;
+    
+    // Доступ под монитором this
+    private final List<Long> segments = new ArrayList<>();
+    private long checkpointNumber;
+    private long checkpointBytes;
+    private long logBytes;
+    private FileChannel current;
+    private long currentNumber;
+    private SecretKey currentKey;
+    private Cipher cipher;
+    private boolean closed;
+    
+    private EncryptedSegmentJournal(Path directory, SecretKey dataKey) {
+        this.directory = directory;
+        this.dataKey = dataKey;
+    }
+    
+    /**
+     * Открытие журнала в каталоге; ключ данных расшифровывается паролем
+     * (для нового каталога ключ создаётся). Неверный пароль — {@link WrongPasswordException}.
+     */
+    public static EncryptedSegmentJournal open(Path directory, char[] password, int iterations) throws IOException {
+        Files.createDirectories(directory);
+        SecretKey dataKey = LedgerKey.unlock(directory.resolve(KEY_FILE), password, iterations);
+        
+        EncryptedSegmentJournal journal = new EncryptedSegmentJournal(directory, dataKey);
+        journal.load();
+        return journal;
+    }
+    
+    /**
+     * Чтение состава каталога: последняя контрольная точка и сегменты после неё
+     */
+    private void load() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.toString().endsWith(TEMPORARY_SUFFIX)).toList()) {
+                // Контрольная точка, запись которой прервана
+                Files.delete(file);
+            }
+        }
+        
+        List<Long> checkpoints = listFiles(directory, CHECKPOINT_PREFIX);
+        if (!checkpoints.isEmpty()) {
+            checkpointNumber = checkpoints.get(checkpoints.size() - 1);
+            checkpointBytes = Files.size(checkpointFile(directory, checkpointNumber));
+        }
+        for (long number : checkpoints) {
+            if (number < checkpointNumber) {
+                Files.delete(checkpointFile(directory, number));
+            }
+        }
+        for (long number : listFiles(directory, SEGMENT_PREFIX)) {
+            Path file = segmentFile(directory, number);
+            if (number <= checkpointNumber) {
+                // Свёрнут в контрольную точку, удаление прервано
+                Files.delete(file);
+            } else {
+                segments.add(number);
+                logBytes += Files.size(file);
+            }
+        }
+        if (!segments.isEmpty()) {
+            recoverTail();
+        }
+    }
+    
+    /**
+     * Перешифровка ключа журнала в каталоге новым паролем (пароль сменён на бекенде
+     * или на другом устройстве). Неверный прежний пароль — {@link WrongPasswordException}.
+     */
+    public static void changePassword(Path directory, char[] previous, char[] password, int iterations)
+            throws IOException {
+        LedgerKey.rewrap(directory.resolve(KEY_FILE), previous, password, iterations);
+    }
+    
+    // ========== WRITE ==========
+    
+    @Override
+    public synchronized void append(List<OperationMutation> batch) throws IOException {
+        if (closed) {
+            throw new IOException("Журнал операций закрыт");
+        }
+        byte[] plaintext = encode(batch);
+        
+        if (current == null || current.size() >= SEGMENT_BYTES) {
+            startSegment();
+        }
+        
+        logBytes += writeRecord(current, currentNumber, currentKey, current.size(), plaintext);
+        current.force(false);
+    }
+    
+    /**
+     * Запись зашифрованного пакета по смещению; возвращает размер записи в байтах
+     */
+    private long writeRecord(FileChannel channel, long number, SecretKey key, long offset, byte[] plaintext)
+            throws IOException {
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        Cipher writer = cipher();
+        byte[] ciphertext;
+        try {
+            writer.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            writer.updateAAD(aad(number, offset));
+            ciphertext = writer.doFinal(plaintext);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Ошибка шифрования журнала операций", e);
+        }
+        
+        ByteBuffer record = ByteBuffer.allocate(4 + IV_BYTES + ciphertext.length);
+        record.putInt(IV_BYTES + ciphertext.length).put(iv).put(ciphertext).flip();
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        return record.capacity();
+    }
+    
+    private void startSegment() throws IOException {
+        if (current != null) {
+            current.close();
+        }
+        long number = nextNumber();
+        Path file = segmentFile(directory, number);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+            StandardOpenOption.READ);
+        writeHeader(channel);
+        logBytes += HEADER_BYTES;
+        segments.add(number);
+        openForAppend(number, channel);
+    }
+    
+    /**
+     * Номер следующего файла: после последнего сегмента и контрольной точки
+     */
+    private long nextNumber() {
+        return (segments.isEmpty() ? checkpointNumber : segments.get(segments.size() - 1)) + 1;
+    }
+    
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).put(MAGIC).put((byte) VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+    
+    private void openForAppend(long number, FileChannel channel) throws IOException {
+        current = channel;
+        currentNumber = number;
+        currentKey = segmentKey(number);
+    }
+    
+    private Cipher cipher() throws IOException {
+        try {
+            if (cipher == null) {
+                cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            }
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("AES-GCM недоступен", e);
+        }
+    }
+    
+    /**
+     * Отбрасывание оборванной записи в конце последнего сегмента (только по длинам записей)
+     */
+    private void recoverTail() throws IOException {
+        long number = segments.get(segments.size() - 1);
+        FileChannel channel = FileChannel.open(segmentFile(directory, number),
+            StandardOpenOption.WRITE, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            long valid = HEADER_BYTES;
+            ByteBuffer length = ByteBuffer.allocate(4);
+            while (valid + 4 <= size) {
+                length.clear();
+                channel.read(length, valid);
+                int recordBytes = length.flip().getInt();
+                if (recordBytes <= IV_BYTES || recordBytes > MAX_RECORD_BYTES || valid + 4 + recordBytes > size) {
+                    break;
+                }
+                valid += 4 + recordBytes;
+            }
+            if (size < HEADER_BYTES) {
+                // Сегмент без заголовка: создание прервано
+                channel.close();
+                Files.delete(segmentFile(directory, number));
+                segments.remove(segments.size() - 1);
+                logBytes -= size;
+                return;
+            }
+            if (valid < size) {
+                channel.truncate(valid);
+                channel.force(true);
+                logBytes -= size - valid;
+            }
+            openForAppend(number, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    // ========== CHECKPOINT ==========
+    
+    /**
+     * Сегменты после контрольной точки больше неё самой (и не меньше MIN_CHECKPOINT_LOG_BYTES)
+     */
+    @Override
+    public synchronized boolean needsCheckpoint() {
+        return logBytes > Math.max(MIN_CHECKPOINT_LOG_BYTES, checkpointBytes);
+    }
+    
+    /**
+     * Запись контрольной точки и удаление свёрнутых в неё файлов.
+     * Вызывающий не дописывает пакеты, пока точка пишется (см. OperationsService).
+     */
+    @Override
+    public synchronized void checkpoint(List<Operation> operations) throws IOException {
+        if (closed) {
+            throw new IOException("Журнал операций закрыт");
+        }
+        long number = nextNumber();
+        Path file = checkpointFile(directory, number);
+        Path temporary = directory.resolve(file.getFileName() + TEMPORARY_SUFFIX);
+        SecretKey key = checkpointKey(number);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(channel);
+            long offset = HEADER_BYTES;
+            for (int from = 0; from < operations.size(); from += CHECKPOINT_BATCH) {
+                List<OperationMutation> batch = operations
+                    .subList(from, Math.min(from + CHECKPOINT_BATCH, operations.size()))
+                    .stream()
+                    .map(OperationMutation::add)
+                    .toList();
+                offset += writeRecord(channel, number, key, offset, encode(batch));
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        
+        // С этого момента журнал начинается с новой контрольной точки
+        List<Path> folded = new ArrayList<>();
+        if (checkpointNumber > 0) {
+            folded.add(checkpointFile(directory, checkpointNumber));
+        }
+        for (long segment : segments) {
+            folded.add(segmentFile(directory, segment));
+        }
+        if (current != null) {
+            current.close();
+            current = null;
+            currentKey = null;
+        }
+        segments.clear();
+        checkpointNumber = number;
+        checkpointBytes = Files.size(file);
+        logBytes = 0;
+        
+        for (Path old : folded) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                // Удалится при следующем открытии журнала
+                System.err.println("Не удалось удалить свёрнутый файл журнала: " + old);
+            }
+        }
+    }
+    
+    // ========== READ ==========
+    
+    /**
+     * Воспроизведение пакетов: контрольная точка, затем сегменты после неё
+     */
+    @Override
+    public void replay(Consumer<List<OperationMutation>> consumer) throws IOException {
+        List<Long> snapshot;
+        long checkpoint;
+        synchronized (this) {
+            snapshot = List.copyOf(segments);
+            checkpoint = checkpointNumber;
+        }
+        Cipher reader;
+        try {
+            reader = Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new IOException("AES-GCM недоступен", e);
+        }
+        if (checkpoint > 0) {
+            replayFile(checkpointFile(directory, checkpoint), checkpoint, checkpointKey(checkpoint), reader, consumer);
+        }
+        for (long number : snapshot) {
+            replayFile(segmentFile(directory, number), number, segmentKey(number), reader, consumer);
+        }
+    }
+    
+    private void replayFile(Path file, long number, SecretKey key, Cipher reader,
+                            Consumer<List<OperationMutation>> consumer) throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16))) {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC) || in.read() != VERSION) {
+                throw new IOException("Неизвестный формат сегмента журнала: " + file);
+            }
+            
+            long offset = HEADER_BYTES;
+            while (true) {
+                int recordBytes;
+                try {
+                    recordBytes = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (recordBytes <= IV_BYTES || recordBytes > MAX_RECORD_BYTES) {
+                    throw new IOException("Повреждённая запись журнала: " + file + " @" + offset);
+                }
+                byte[] record = in.readNBytes(recordBytes);
+                if (record.length < recordBytes) {
+                    // Запись дописывается прямо сейчас
+                    return;
+                }
+                
+                byte[] plaintext;
+                try {
+                    reader.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, record, 0, IV_BYTES));
+                    reader.updateAAD(aad(number, offset));
+                    plaintext = reader.doFinal(record, IV_BYTES, recordBytes - IV_BYTES);
+                } catch (GeneralSecurityException e) {
+                    throw new IOException("Запись журнала не прошла проверку подлинности: " + file + " @" + offset, e);
+                }
+                consumer.accept(decode(plaintext));
+                offset += 4 + recordBytes;
+            }
+        }
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        currentKey = null;
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+    
+    // ========== ENCODING ==========
+    
+    /**
+     * Пакет: число изменений, виды изменений по байту, затем операции в формате
+     * {@link OperationBinaryCodec} (для удаления — только ID)
+     */
+    private static byte[] encode(List<OperationMutation> batch) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + batch.size() * 32);
+        List<Operation> operations = new ArrayList<>(batch.size());
+        writeVarint(out, batch.size());
+        for (OperationMutation mutation : batch) {
+            out.write(mutation.getKind().ordinal());
+            if (mutation.getOperation() != null) {
+                operations.add(mutation.getOperation());
+            } else {
+                Operation deleted = new Operation();
+                deleted.setId(mutation.getOperationId());
+                operations.add(deleted);
+            }
+        }
+        OperationBinaryCodec.encode(operations, out, false);
+        return out.toByteArray();
+    }
+    
+    private static List<OperationMutation> decode(byte[] plaintext) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(plaintext);
+        int count = (int) readVarint(in);
+        OperationMutation.Kind[] kinds = OperationMutation.Kind.values();
+        int[] kindOfMutation = new int[count];
+        for (int i = 0; i < count; i++) {
+            int kind = in.read();
+            if (kind < 0 || kind >= kinds.length) {
+                throw new IOException("Неизвестный вид изменения в журнале: " + kind);
+            }
+            kindOfMutation[i] = kind;
+        }
+        
+        List<OperationMutation> batch = new ArrayList<>(count);
+        OperationBinaryCodec.decode(in, Math.max(count, 1), operations -> {
+            for (Operation operation : operations) {
+                batch.add(switch (kinds[kindOfMutation[batch.size()]]) {
+                    case ADD -> OperationMutation.add(operation);
+                    case UPDATE -> OperationMutation.update(operation);
+                    case DELETE -> OperationMutation.delete(operation.getId());
+                });
+            }
+        });
+        if (batch.size() != count) {
+            throw new IOException("Повреждённый пакет журнала");
+        }
+        return batch;
+    }
+    
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Повреждённый пакет журнала");
+    }
+    
+    // ========== KEYS AND FILES ==========
+    
+    /**
+     * Ключ сегмента: HMAC-SHA256(ключ данных, номер сегмента). Отдельный ключ на сегмент
+     * держит число шифрований одним ключом далеко от предела случайных IV в GCM.
+     */
+    private SecretKey segmentKey(long number) throws IOException {
+        return deriveKey("segment:" + number);
+    }
+    
+    /**
+     * Ключ контрольной точки из отдельной области: её записи не подставить в сегмент
+     */
+    private SecretKey checkpointKey(long number) throws IOException {
+        return deriveKey("checkpoint:" + number);
+    }
+    
+    private SecretKey deriveKey(String label) throws IOException {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(dataKey.getEncoded(), "HmacSHA256"));
+            mac.update(label.getBytes(StandardCharsets.US_ASCII));
+            return new SecretKeySpec(mac.doFinal(), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IOException("HMAC-SHA256 недоступен", e);
+        }
+    }
+    
+    private static byte[] aad(long segment, long offset) {
+        return ByteBuffer.allocate(16).putLong(segment).putLong(offset).array();
+    }
+    
+    private static Path segmentFile(Path directory, long number) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+    
+    private static Path checkpointFile(Path directory, long number) {
+        return directory.resolve(String.format("%s%06d%s", CHECKPOINT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+    
+    private static List<Long> listFiles(Path directory, String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(prefix) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> name.substring(prefix.length(), name.length() - SEGMENT_SUFFIX.length()))
+                .filter(number -> number.chars().allMatch(Character::isDigit) && !number.isEmpty())
+                .map(Long::parseLong)
+                .sorted()
+                .toList();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.financetracker.storage;
+
+import com.financetracker.services.PasswordHasher;
+import com.financetracker.utils.AesGcm;
+
+import javax.crypto.SecretKey;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Ключ шифрования локальных данных.
+ *
+ * Данные шифруются случайным ключом, а он хранится в файле зашифрованным ключом,
+ * полученным из пароля (PBKDF2 со своей солью). Без пароля ключ не восстановить,
+ * а при смене пароля достаточно перешифровать только сам ключ.
+ */
+final class LedgerKey {
+    
+    private static final byte[] MAGIC = {'F', 'T', 'L', 'K'};
+    private static final int VERSION = 1;
+    private static final int SALT_BYTES = 16;
+    private static final byte[] AAD = "financetracker-ledger-key".getBytes(StandardCharsets.UTF_8);
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private LedgerKey() {
+    }
+    
+    /**
+     * Ключ данных из файла; если файла нет — создаётся новый ключ
+     *
+     * @throws WrongPasswordException пароль не подходит к ключу
+     */
+    static SecretKey unlock(Path file, char[] password, int iterations) throws IOException {
+        if (Files.exists(file)) {
+            return read(file, password);
+        }
+        SecretKey dataKey = AesGcm.newKey();
+        write(file, dataKey, password, iterations);
+        return dataKey;
+    }
+    
+    /**
+     * Перешифровка ключа данных паролем password; сам ключ и данные не меняются
+     *
+     * @throws WrongPasswordException previous не подходит к ключу
+     */
+    static void rewrap(Path file, char[] previous, char[] password, int iterations) throws IOException {
+        write(file, read(file, previous), password, iterations);
+    }
+    
+    private static SecretKey read(Path file, char[] password) throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(stream)) {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC) || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Неизвестный формат ключа локальных данных: " + file);
+            }
+            int iterations = in.readInt();
+            byte[] salt = in.readNBytes(SALT_BYTES);
+            byte[] wrapped = in.readNBytes(in.readUnsignedShort());
+            
+            SecretKey passwordKey = PasswordHasher.deriveKey(password, salt, iterations);
+            byte[] raw = AesGcm.decrypt(passwordKey, wrapped, AAD);
+            try {
+                return AesGcm.key(raw);
+            } finally {
+                Arrays.fill(raw, (byte) 0);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new WrongPasswordException();
+        }
+    }
+    
+    private static void write(Path file, SecretKey dataKey, char[] password, int iterations) throws IOException {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        SecretKey passwordKey = PasswordHasher.deriveKey(password, salt, iterations);
+        byte[] wrapped = AesGcm.encrypt(passwordKey, dataKey.getEncoded(), AAD);
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(iterations);
+            out.write(salt);
+            out.writeShort(wrapped.length);
+            out.write(wrapped);
+        }
+        
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), ".ledger-key-", ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.financetracker.storage;
+
+import java.io.IOException;
+
+/**
+ * Пароль не подходит к ключу локальных данных
+ */
+public final class WrongPasswordException extends IOException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    WrongPasswordException() {
+        super("Пароль не подходит к локальным данным");
+    }
+}
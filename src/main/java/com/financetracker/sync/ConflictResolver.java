@@ -0,0 +1,29 @@
+package com.financetracker.sync;
+
+/**
+ * Разрешение конфликта: сущность изменена локально и на сервере одновременно.
+ *
+ * Получает обе версии (не null) и общую базу — последнюю серверную версию, от которой
+ * сделана локальная правка (null — база не сохраняется для этого типа или неизвестна).
+ * Серверную версию можно изменять и возвращать. Итог применяется локально, и если
+ * по содержимому он отличается от серверной версии — отправляется на сервер поверх неё.
+ */
+@FunctionalInterface
+public interface ConflictResolver<T> {
+    
+    T resolve(T base, T local, T remote);
+    
+    /**
+     * Побеждает изменение, сделанное на этом устройстве
+     */
+    static <T> ConflictResolver<T> localWins() {
+        return (base, local, remote) -> local;
+    }
+    
+    /**
+     * Побеждает версия с сервера
+     */
+    static <T> ConflictResolver<T> remoteWins() {
+        return (base, local, remote) -> remote;
+    }
+}
@@ -0,0 +1,175 @@
+package com.financetracker.sync;
+
+import com.financetracker.models.Category;
+import com.financetracker.models.Goal;
+import com.financetracker.models.Operation;
+import com.financetracker.models.SpendingLimit;
+import com.financetracker.services.CategoriesService;
+import com.financetracker.services.GoalsService;
+import com.financetracker.services.OperationMutation;
+import com.financetracker.services.OperationsService;
+import com.financetracker.services.PlansLimitsService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Локальное хранилище сущностей одного типа для синхронизации: чтение текущей версии,
+ * применение изменений с сервера и политика разрешения конфликтов.
+ */
+final class EntityStore<T> {
+    
+    private final SyncEntity entity;
+    private final Class<T> type;
+    private final Function<String, T> reader;
+    private final Function<T, String> idReader;
+    private final BiConsumer<List<T>, List<String>> writer;
+    private final ConflictResolver<T> resolver;
+    private final boolean keepsBase;
+    
+    private EntityStore(SyncEntity entity, Class<T> type, Function<String, T> reader, Function<T, String> idReader,
+                        BiConsumer<List<T>, List<String>> writer, ConflictResolver<T> resolver) {
+        this(entity, type, reader, idReader, writer, resolver, false);
+    }
+    
+    private EntityStore(SyncEntity entity, Class<T> type, Function<String, T> reader, Function<T, String> idReader,
+                        BiConsumer<List<T>, List<String>> writer, ConflictResolver<T> resolver,
+                        boolean keepsBase) {
+        this.entity = entity;
+        this.type = type;
+        this.reader = reader;
+        this.idReader = idReader;
+        this.writer = writer;
+        this.resolver = resolver;
+        this.keepsBase = keepsBase;
+    }
+    
+    SyncEntity entity() {
+        return entity;
+    }
+    
+    Class<T> type() {
+        return type;
+    }
+    
+    /**
+     * Текущая локальная версия (null — сущности нет или она удалена)
+     */
+    T get(String id) {
+        return reader.apply(id);
+    }
+    
+    String idOf(T value) {
+        return idReader.apply(value);
+    }
+    
+    /**
+     * Применение изменений: добавление или замена upserts, удаление deletes
+     */
+    void apply(List<T> upserts, List<String> deletes) {
+        if (!upserts.isEmpty() || !deletes.isEmpty()) {
+            writer.accept(upserts, deletes);
+        }
+    }
+    
+    ConflictResolver<T> resolver() {
+        return resolver;
+    }
+    
+    /**
+     * Хранить ли последнюю серверную версию как базу для разрешения конфликтов.
+     * Только для немногочисленных сущностей: база лежит в состоянии синхронизации.
+     */
+    boolean keepsBase() {
+        return keepsBase;
+    }
+    
+    // ========== STORES ==========
+    
+    /**
+     * Операции: побеждает локальное изменение (его сделал пользователь этого устройства);
+     * изменения с сервера применяются одним атомарным пакетом
+     */
+    static EntityStore<Operation> operations(OperationsService service) {
+        return new EntityStore<>(SyncEntity.OPERATION, Operation.class, service::getOperationById, Operation::getId,
+            (upserts, deletes) -> {
+                if (!service.applyBatch(operationMutations(service, upserts, deletes))) {
+                    // Список успел измениться между проверкой и применением — применяем по одной
+                    for (Operation operation : upserts) {
+                        if (!service.updateOperation(operation)) {
+                            service.addOperation(operation);
+                        }
+                    }
+                    deletes.forEach(service::deleteOperation);
+                }
+            },
+            ConflictResolver.localWins());
+    }
+    
+    private static List<OperationMutation> operationMutations(OperationsService service, List<Operation> upserts,
+                                                              List<String> deletes) {
+        List<OperationMutation> batch = new ArrayList<>(upserts.size() + deletes.size());
+        for (Operation operation : upserts) {
+            batch.add(service.getOperationById(operation.getId()) == null
+                ? OperationMutation.add(operation)
+                : OperationMutation.update(operation));
+        }
+        for (String id : deletes) {
+            if (service.getOperationById(id) != null) {
+                batch.add(OperationMutation.delete(id));
+            }
+        }
+        return batch;
+    }
+    
+    /**
+     * Категории: общая структура, побеждает версия с сервера
+     */
+    static EntityStore<Category> categories(CategoriesService service) {
+        return new EntityStore<>(SyncEntity.CATEGORY, Category.class, service::getCategoryById, Category::getId,
+            (upserts, deletes) -> {
+                for (Category category : upserts) {
+                    if (!service.updateCategory(category)) {
+                        service.addCategory(category);
+                    }
+                }
+                deletes.forEach(service::deleteCategory);
+            },
+            ConflictResolver.remoteWins());
+    }
+    
+    /**
+     * Цели и долги: поля берутся с сервера, а к серверной накопленной сумме добавляются
+     * локальные взносы — разница с базой, — поэтому взносы, сделанные на разных
+     * устройствах, складываются. Без базы остаётся наибольшая из двух сумм.
+     */
+    static EntityStore<Goal> goals(GoalsService service) {
+        return new EntityStore<>(SyncEntity.GOAL, Goal.class, service::getGoalById, Goal::getId,
+            (upserts, deletes) -> {
+                upserts.forEach(service::saveGoal);
+                deletes.forEach(service::deleteGoal);
+            },
+            (base, local, remote) -> {
+                remote.setCurrentAmount(base == null
+                    ? Math.max(local.getCurrentAmount(), remote.getCurrentAmount())
+                    : remote.getCurrentAmount() + local.getCurrentAmount() - base.getCurrentAmount());
+                return remote;
+            },
+            true);
+    }
+    
+    /**
+     * Лимиты: побеждает локальное изменение
+     */
+    static EntityStore<SpendingLimit> limits(PlansLimitsService service) {
+        return new EntityStore<>(SyncEntity.SPENDING_LIMIT, SpendingLimit.class, service::getLimitById,
+            SpendingLimit::getId,
+            (upserts, deletes) -> {
+                upserts.forEach(service::saveLimit);
+                deletes.forEach(service::deleteLimit);
+            },
+            ConflictResolver.localWins());
+    }
+}
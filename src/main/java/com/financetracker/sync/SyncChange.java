@@ -0,0 +1,30 @@
+package com.financetracker.sync;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Изменение сущности в протоколе синхронизации.
+ *
+ * В отправке version не используется, а baseVersion — серверная версия, от которой
+ * сделано локальное изменение (0 — сущность создана локально). В ленте изменений
+ * сервера version — новая версия сущности. Для удаления data == null.
+ */
+class SyncChange {
+    
+    String entity;
+    String id;
+    boolean deleted;
+    long version;
+    long baseVersion;
+    JsonElement data;
+    
+    static SyncChange of(SyncEntity entity, String id, JsonElement data, long baseVersion) {
+        SyncChange change = new SyncChange();
+        change.entity = entity.getWireName();
+        change.id = id;
+        change.deleted = data == null;
+        change.data = data;
+        change.baseVersion = baseVersion;
+        return change;
+    }
+}
@@ -0,0 +1,611 @@
+package com.financetracker.sync;
+
+import com.financetracker.api.ApiClient;
+import com.financetracker.api.ApiEndpoint;
+import com.financetracker.api.ApiJson;
+import com.financetracker.models.Operation;
+import com.financetracker.services.CategoriesService;
+import com.financetracker.services.EntityChangeListener;
+import com.financetracker.services.GoalsService;
+import com.financetracker.services.OperationsJournal;
+import com.financetracker.services.OperationsListener;
+import com.financetracker.services.OperationsService;
+import com.financetracker.services.PlansLimitsService;
+import com.financetracker.services.UserScope;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фоновая синхронизация локальных данных с бекендом.
+ *
+ * Источник истины — локальные сервисы: экраны читают и изменяют их, не дожидаясь сети.
+ * Локальные изменения попадают в очередь (outbox) через подписки на сервисы и отправляются
+ * пакетами; изменения с сервера забираются по курсору ленты изменений, страница
+ * разбирается потоком и применяется пакетами по мере чтения. Если сущность изменена
+ * и локально, и на сервере, конфликт разрешает политика её типа (см. {@link EntityStore}).
+ *
+ * Цикл синхронизации выполняется на отдельном потоке: по таймеру, вскоре после локального
+ * изменения (с небольшой задержкой, чтобы собрать серию правок в один пакет) и с
+ * экспоненциальной задержкой со случайным разбросом после ошибок сети или сервера.
+ */
+public class SyncEngine {
+    
+    private static final long INTERVAL_MILLIS = Duration.ofSeconds(30).toMillis();
+    private static final long DEBOUNCE_MILLIS = 500;
+    private static final long MIN_BACKOFF_MILLIS = Duration.ofSeconds(1).toMillis();
+    private static final long MAX_BACKOFF_MILLIS = Duration.ofMinutes(5).toMillis();
+    
+    private static final int PUSH_BATCH_SIZE = 500;
+    private static final int PULL_PAGE_SIZE = 1000;
+    // Первая синхронизация забирает всю историю: страница больше, в памяти всё равно один пакет
+    private static final int INITIAL_PULL_PAGE_SIZE = 100_000;
+    private static final int APPLY_BATCH_SIZE = 1000;
+    
+    private final ApiClient client;
+    private final Path stateFile;
+    private final SyncState state;
+    private final Gson gson = ApiJson.gson();
+    private final Map<SyncEntity, EntityStore<?>> stores = new EnumMap<>(SyncEntity.class);
+    
+    private final OperationsListener operationsListener = this::onOperationsChanged;
+    private final EntityChangeListener categoriesListener = id -> onLocalChange(SyncEntity.CATEGORY, id);
+    private final EntityChangeListener goalsListener = id -> onLocalChange(SyncEntity.GOAL, id);
+    private final EntityChangeListener limitsListener = id -> onLocalChange(SyncEntity.SPENDING_LIMIT, id);
+    
+    // Поток, применяющий изменения с сервера: его изменения не ставятся в очередь
+    private volatile Thread applyingThread;
+    
+    // Планирование; доступ под монитором this
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> nextCycle;
+    private long nextCycleAt;
+    private int failures;
+    
+    private volatile Instant lastSyncTime;
+    private volatile String lastError;
+    
+    /**
+     * stateFile == null — состояние только в памяти, синхронизация с начала ленты
+     */
+    public SyncEngine(ApiClient client, Path stateFile) {
+        this.client = client;
+        this.stateFile = stateFile;
+        this.state = stateFile == null ? new SyncState() : SyncState.load(stateFile);
+        
+        register(EntityStore.operations(OperationsService.getInstance()));
+        register(EntityStore.categories(CategoriesService.getInstance()));
+        register(EntityStore.goals(GoalsService.getInstance()));
+        register(EntityStore.limits(PlansLimitsService.getInstance()));
+    }
+    
+    /**
+     * Экземпляр области текущего пользователя (см. {@link UserScope}): у каждого
+     * пользователя своё состояние синхронизации; при закрытии области синхронизация
+     * останавливается
+     */
+    public static SyncEngine getInstance() {
+        return UserScope.current().service(SyncEngine.class, scope -> {
+            if (scope.isGuest()) {
+                throw new IllegalStateException("Синхронизация доступна только после входа");
+            }
+            // Без журнала операций (вход без пароля) в памяти нет локальных данных: сохранённые
+            // курсор и очередь относятся к журналу, поэтому лента читается с начала, а
+            // состояние не сохраняется
+            Path stateFile = scope.getJournal() == OperationsJournal.NONE
+                ? null
+                : scope.dataFile("sync-state.json");
+            SyncEngine engine = new SyncEngine(ApiClient.getInstance(), stateFile);
+            scope.onClose(engine::stop);
+            return engine;
+        });
+    }
+    
+    private void register(EntityStore<?> store) {
+        stores.put(store.entity(), store);
+    }
+    
+    // ========== LIFECYCLE ==========
+    
+    /**
+     * Подписка на локальные изменения и запуск фоновой синхронизации
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        OperationsService.getInstance().addListener(operationsListener);
+        CategoriesService.getInstance().addChangeListener(categoriesListener);
+        GoalsService.getInstance().addChangeListener(goalsListener);
+        PlansLimitsService.getInstance().addChangeListener(limitsListener);
+        
+        schedule(0);
+    }
+    
+    /**
+     * Остановка синхронизации с сохранением очереди; неотправленные изменения
+     * уйдут при следующем запуске
+     */
+    public void stop() {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            if (scheduler == null) {
+                return;
+            }
+            executor = scheduler;
+            scheduler = null;
+            nextCycle = null;
+        }
+        
+        OperationsService.getInstance().removeListener(operationsListener);
+        CategoriesService.getInstance().removeChangeListener(categoriesListener);
+        GoalsService.getInstance().removeChangeListener(goalsListener);
+        PlansLimitsService.getInstance().removeChangeListener(limitsListener);
+        
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveState();
+    }
+    
+    /**
+     * Синхронизация в ближайшее время (например, по кнопке «Обновить»)
+     */
+    public void requestSync() {
+        schedule(DEBOUNCE_MILLIS);
+    }
+    
+    /**
+     * Немедленный цикл синхронизации с ожиданием результата
+     */
+    public void syncNow() throws IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (this) {
+            if (scheduler == null) {
+                throw new IllegalStateException("Синхронизация не запущена");
+            }
+            scheduler.execute(() -> {
+                try {
+                    runCycle();
+                    done.complete(null);
+                } catch (IOException | RuntimeException e) {
+                    done.completeExceptionally(e);
+                }
+            });
+        }
+        await(done);
+    }
+    
+    public int getPendingChanges() {
+        return state.pendingCount();
+    }
+    
+    /**
+     * Время последней успешной синхронизации (null — ещё не было)
+     */
+    public Instant getLastSyncTime() {
+        return lastSyncTime;
+    }
+    
+    /**
+     * Ошибка последнего цикла или отклонённое сервером изменение (null — всё принято)
+     */
+    public String getLastError() {
+        return lastError;
+    }
+    
+    // ========== SCHEDULING ==========
+    
+    /**
+     * Планирование цикла через delay мс; уже запланированный более ранний цикл не сдвигается
+     */
+    private synchronized void schedule(long delayMillis) {
+        if (scheduler == null) {
+            return;
+        }
+        long at = System.currentTimeMillis() + delayMillis;
+        if (nextCycle != null && !nextCycle.isDone()) {
+            if (nextCycleAt <= at) {
+                return;
+            }
+            nextCycle.cancel(false);
+        }
+        nextCycleAt = at;
+        nextCycle = scheduler.schedule(this::scheduledCycle, delayMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private void scheduledCycle() {
+        synchronized (this) {
+            nextCycle = null;
+        }
+        try {
+            runCycle();
+        } catch (IOException | RuntimeException e) {
+            // Ошибка уже учтена в runCycle
+        }
+    }
+    
+    private void runCycle() throws IOException {
+        long delay;
+        try {
+            // Отклонённые сервером изменения сообщаются через lastError и в успешном цикле
+            lastError = null;
+            push();
+            pull();
+            synchronized (this) {
+                failures = 0;
+            }
+            lastSyncTime = Instant.now();
+            delay = state.pendingCount() > 0 ? DEBOUNCE_MILLIS : INTERVAL_MILLIS;
+        } catch (IOException | RuntimeException e) {
+            lastError = e.getMessage();
+            schedule(backoffDelay());
+            throw e;
+        } finally {
+            saveState();
+        }
+        schedule(delay);
+    }
+    
+    /**
+     * Задержка после ошибки: случайная в пределах удваивающегося окна (full jitter),
+     * чтобы клиенты не приходили к восстановившемуся серверу одновременно
+     */
+    private long backoffDelay() {
+        int attempt;
+        synchronized (this) {
+            attempt = ++failures;
+        }
+        long window = Math.min(MAX_BACKOFF_MILLIS, MIN_BACKOFF_MILLIS << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(MIN_BACKOFF_MILLIS, window + 1);
+    }
+    
+    private void saveState() {
+        if (stateFile == null) {
+            return;
+        }
+        try {
+            state.save(stateFile);
+        } catch (IOException e) {
+            lastError = "Не удалось сохранить состояние синхронизации: " + e.getMessage();
+        }
+    }
+    
+    // ========== LOCAL CHANGES ==========
+    
+    private void onOperationsChanged(List<Operation> removed, List<Operation> added) {
+        if (Thread.currentThread() == applyingThread) {
+            return;
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        removed.forEach(operation -> ids.add(operation.getId()));
+        added.forEach(operation -> ids.add(operation.getId()));
+        for (String id : ids) {
+            state.enqueue(SyncState.key(SyncEntity.OPERATION, id));
+        }
+        if (!ids.isEmpty()) {
+            schedule(DEBOUNCE_MILLIS);
+        }
+    }
+    
+    private void onLocalChange(SyncEntity entity, String id) {
+        if (Thread.currentThread() == applyingThread) {
+            return;
+        }
+        state.enqueue(SyncState.key(entity, id));
+        schedule(DEBOUNCE_MILLIS);
+    }
+    
+    // ========== PUSH ==========
+    
+    /**
+     * Отправка очереди пакетами. За цикл каждое изменение отправляется не больше одного
+     * раза: изменения после конфликта уйдут в следующем цикле с новой базовой версией.
+     */
+    private void push() throws IOException {
+        List<Map.Entry<String, Long>> pending = state.pending();
+        for (int from = 0; from < pending.size(); from += PUSH_BATCH_SIZE) {
+            List<Map.Entry<String, Long>> batch = pending.subList(from, Math.min(from + PUSH_BATCH_SIZE, pending.size()));
+            
+            List<SyncChange> changes = new ArrayList<>(batch.size());
+            Map<String, Long> numbers = new HashMap<>();
+            Map<String, JsonElement> payloads = new HashMap<>();
+            for (Map.Entry<String, Long> entry : batch) {
+                String key = entry.getKey();
+                EntityStore<?> store = stores.get(SyncState.entityOf(key));
+                if (store == null) {
+                    state.acknowledge(key, entry.getValue());
+                    continue;
+                }
+                String id = SyncState.idOf(key);
+                JsonElement data = toJson(store.get(id));
+                changes.add(SyncChange.of(store.entity(), id, data, state.getVersion(key)));
+                numbers.put(key, entry.getValue());
+                payloads.put(key, data);
+            }
+            if (changes.isEmpty()) {
+                continue;
+            }
+            
+            SyncProtocol.PushResponse response = await(client.call(ApiEndpoint.SYNC_PUSH,
+                new SyncProtocol.PushRequest(changes), SyncProtocol.PushResponse.class));
+            if (response == null || response.results == null) {
+                continue;
+            }
+            
+            for (SyncProtocol.PushResult result : response.results) {
+                SyncEntity entity = SyncEntity.fromWireName(result.entity);
+                if (entity == null) {
+                    continue;
+                }
+                String key = SyncState.key(entity, result.id);
+                Long number = numbers.get(key);
+                if (number == null) {
+                    continue;
+                }
+                
+                switch (result.status) {
+                    case SyncProtocol.APPLIED -> {
+                        remember(stores.get(entity), key, result.version, payloads.get(key));
+                        state.acknowledge(key, number);
+                    }
+                    case SyncProtocol.CONFLICT ->
+                        resolveConflict(stores.get(entity), result.id, result.deleted ? null : result.data,
+                            result.version, number);
+                    case SyncProtocol.REJECTED -> {
+                        // Повтор не поможет: изменение остаётся только локально
+                        state.acknowledge(key, number);
+                        lastError = "Сервер отклонил изменение " + key
+                            + (result.message == null ? "" : ": " + result.message);
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+    }
+    
+    // ========== PULL ==========
+    
+    private void pull() throws IOException {
+        PageSummary page;
+        do {
+            String cursor = state.getCursor();
+            Map<String, String> query = new HashMap<>();
+            query.put("limit", String.valueOf(cursor == null ? INITIAL_PULL_PAGE_SIZE : PULL_PAGE_SIZE));
+            if (cursor != null) {
+                query.put("cursor", cursor);
+            }
+            
+            page = await(client.stream(ApiEndpoint.SYNC_CHANGES, query, this::readPage));
+            if (page.cursor() != null) {
+                state.setCursor(page.cursor());
+            }
+        } while (page.hasMore() && page.count() > 0);
+    }
+    
+    /**
+     * Чтение страницы ленты: изменения применяются пакетами по APPLY_BATCH_SIZE по мере
+     * разбора, не дожидаясь конца ответа. Курсор сохраняется только после всей страницы;
+     * при обрыве страница читается заново, а уже применённые версии пропускаются.
+     */
+    private PageSummary readPage(JsonReader in) throws IOException {
+        TypeAdapter<SyncChange> adapter = gson.getAdapter(SyncChange.class);
+        List<SyncChange> batch = new ArrayList<>();
+        String cursor = null;
+        boolean hasMore = false;
+        int count = 0;
+        
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "changes" -> {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        continue;
+                    }
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        batch.add(adapter.read(in));
+                        count++;
+                        if (batch.size() == APPLY_BATCH_SIZE) {
+                            applyRemote(batch);
+                            batch = new ArrayList<>();
+                        }
+                    }
+                    in.endArray();
+                }
+                case "cursor" -> {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                    } else {
+                        cursor = in.nextString();
+                    }
+                }
+                case "hasMore" -> hasMore = in.nextBoolean();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        
+        if (!batch.isEmpty()) {
+            applyRemote(batch);
+        }
+        return new PageSummary(cursor, hasMore, count);
+    }
+    
+    private record PageSummary(String cursor, boolean hasMore, int count) {
+    }
+    
+    /**
+     * Применение пакета изменений с сервера: по одному пакету на тип сущности
+     */
+    private void applyRemote(List<SyncChange> changes) {
+        Map<SyncEntity, List<SyncChange>> byEntity = new EnumMap<>(SyncEntity.class);
+        for (SyncChange change : changes) {
+            SyncEntity entity = SyncEntity.fromWireName(change.entity);
+            if (entity != null && change.id != null) {
+                byEntity.computeIfAbsent(entity, e -> new ArrayList<>()).add(change);
+            }
+        }
+        byEntity.forEach((entity, entityChanges) -> applyRemote(stores.get(entity), entityChanges));
+    }
+    
+    private <T> void applyRemote(EntityStore<T> store, List<SyncChange> changes) {
+        // В пределах пакета действует последнее изменение сущности
+        Map<String, SyncChange> latest = new HashMap<>();
+        for (SyncChange change : changes) {
+            latest.merge(change.id, change, (a, b) -> b.version >= a.version ? b : a);
+        }
+        
+        List<T> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (SyncChange change : latest.values()) {
+            String key = SyncState.key(store.entity(), change.id);
+            if (change.version != 0 && change.version <= state.getVersion(key)) {
+                // Уже известная версия, в том числе собственное отправленное изменение
+                continue;
+            }
+            
+            if (state.isPending(key)) {
+                resolveConflict(store, change.id, change.deleted ? null : change.data, change.version, null);
+                continue;
+            }
+            
+            remember(store, key, change.version, change.deleted ? null : change.data);
+            if (change.deleted || change.data == null) {
+                deletes.add(change.id);
+            } else {
+                upserts.add(gson.fromJson(change.data, store.type()));
+            }
+        }
+        applyLocally(store, upserts, deletes);
+    }
+    
+    // ========== CONFLICTS ==========
+    
+    /**
+     * Сущность изменена и локально, и на сервере.
+     * Удаление против изменения решается в пользу изменения, чтобы не терять данные;
+     * два изменения — политикой типа сущности.
+     *
+     * @param remoteData серверная версия (null — удалена на сервере)
+     * @param number     номер отправленной правки (null — конфликт при получении)
+     */
+    private <T> void resolveConflict(EntityStore<T> store, String id, JsonElement remoteData, long remoteVersion,
+                                     Long number) {
+        String key = SyncState.key(store.entity(), id);
+        JsonElement baseData = state.getBase(key);
+        remember(store, key, remoteVersion, remoteData);
+        
+        T local = store.get(id);
+        T remote = remoteData == null ? null : gson.fromJson(remoteData, store.type());
+        
+        if (local == null && remote == null) {
+            // Удалено с обеих сторон
+            dropPending(key, number);
+            return;
+        }
+        if (local == null) {
+            // Удалено локально, изменено на сервере — восстанавливаем серверную версию
+            applyLocally(store, List.of(remote), List.of());
+            dropPending(key, number);
+            return;
+        }
+        if (remote == null) {
+            // Удалено на сервере, изменено локально — правка остаётся в очереди и создаст сущность заново
+            return;
+        }
+        
+        T base = baseData == null ? null : gson.fromJson(baseData, store.type());
+        T resolved = store.resolver().resolve(base, local, remote);
+        applyLocally(store, List.of(resolved), List.of());
+        if (gson.toJsonTree(resolved).equals(remoteData)) {
+            dropPending(key, number);
+        }
+    }
+    
+    /**
+     * Серверная версия сущности (data == null — удалена) стала известна
+     */
+    private void remember(EntityStore<?> store, String key, long version, JsonElement data) {
+        state.setVersion(key, version);
+        if (store.keepsBase()) {
+            state.setBase(key, data);
+        }
+    }
+    
+    private void dropPending(String key, Long number) {
+        if (number != null) {
+            state.acknowledge(key, number);
+        } else {
+            // Правка не отправлялась в этом цикле, а локальная версия уже сведена с серверной
+            state.discard(key);
+        }
+    }
+    
+    private <T> void applyLocally(EntityStore<T> store, List<T> upserts, List<String> deletes) {
+        applyingThread = Thread.currentThread();
+        try {
+            store.apply(upserts, deletes);
+        } finally {
+            applyingThread = null;
+        }
+    }
+    
+    // ========== HELPERS ==========
+    
+    private JsonElement toJson(Object value) {
+        return value == null ? null : gson.toJsonTree(value);
+    }
+    
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Синхронизация прервана");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
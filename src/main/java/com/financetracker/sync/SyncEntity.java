@@ -0,0 +1,34 @@
+package com.financetracker.sync;
+
+/**
+ * Типы синхронизируемых сущностей и их имена в протоколе синхронизации
+ */
+public enum SyncEntity {
+    
+    OPERATION("operation"),
+    CATEGORY("category"),
+    GOAL("goal"),
+    SPENDING_LIMIT("spending_limit");
+    
+    private final String wireName;
+    
+    SyncEntity(String wireName) {
+        this.wireName = wireName;
+    }
+    
+    public String getWireName() {
+        return wireName;
+    }
+    
+    /**
+     * Тип по имени из протокола (null — неизвестный тип)
+     */
+    public static SyncEntity fromWireName(String wireName) {
+        for (SyncEntity entity : values()) {
+            if (entity.wireName.equals(wireName)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.financetracker.sync;
+
+import com.google.gson.JsonElement;
+
+import java.util.List;
+
+/**
+ * Тела запросов и ответов протокола синхронизации.
+ *
+ * POST sync/push — отправка локальных изменений пакетом, для каждого изменения сервер
+ * возвращает результат: applied (принято, новая версия), conflict (сервер уже изменил
+ * сущность — текущая серверная версия в data) или rejected (изменение отклонено).
+ *
+ * GET sync/changes?cursor=&amp;limit= — изменения после курсора в порядке применения
+ * на сервере: {"changes": [...], "cursor": ..., "hasMore": ...}. Страница разбирается
+ * потоком (см. SyncEngine), новый курсор сохраняется только после применения страницы.
+ */
+final class SyncProtocol {
+    
+    static final String APPLIED = "applied";
+    static final String CONFLICT = "conflict";
+    static final String REJECTED = "rejected";
+    
+    private SyncProtocol() {
+    }
+    
+    static class PushRequest {
+        List<SyncChange> changes;
+        
+        PushRequest(List<SyncChange> changes) {
+            this.changes = changes;
+        }
+    }
+    
+    static class PushResponse {
+        List<PushResult> results;
+    }
+    
+    static class PushResult {
+        String entity;
+        String id;
+        String status;
+        long version;
+        boolean deleted;
+        JsonElement data;
+        String message;
+    }
+}
@@ -0,0 +1,167 @@
+package com.financetracker.sync;
+
+import com.financetracker.api.ApiJson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сохраняемое состояние синхронизации: курсор ленты изменений сервера, известные
+ * серверные версии сущностей и очередь исходящих изменений (outbox).
+ *
+ * В очереди хранится только ключ сущности, а не её содержимое: при отправке берётся
+ * текущая локальная версия, поэтому несколько правок одной сущности между сеансами
+ * синхронизации уходят на сервер одним изменением. Номер правки позволяет не потерять
+ * изменение, сделанное, пока предыдущая версия была в пути.
+ *
+ * Все методы синхронизированы.
+ */
+final class SyncState {
+    
+    private String cursor;
+    private Map<String, Long> versions = new HashMap<>();
+    // Последняя серверная версия сущностей, конфликты которых сводятся относительно базы
+    private Map<String, JsonElement> bases = new HashMap<>();
+    // Ключ сущности → номер последней локальной правки, в порядке первой правки
+    private LinkedHashMap<String, Long> outbox = new LinkedHashMap<>();
+    private long sequence;
+    
+    static String key(SyncEntity entity, String id) {
+        return entity.getWireName() + ":" + id;
+    }
+    
+    static SyncEntity entityOf(String key) {
+        return SyncEntity.fromWireName(key.substring(0, key.indexOf(':')));
+    }
+    
+    static String idOf(String key) {
+        return key.substring(key.indexOf(':') + 1);
+    }
+    
+    synchronized String getCursor() {
+        return cursor;
+    }
+    
+    synchronized void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    /**
+     * Известная серверная версия (0 — сущность на сервер ещё не попадала)
+     */
+    synchronized long getVersion(String key) {
+        return versions.getOrDefault(key, 0L);
+    }
+    
+    synchronized void setVersion(String key, long version) {
+        versions.put(key, version);
+    }
+    
+    /**
+     * Сохранённая серверная версия (null — не сохранялась или сущность удалена)
+     */
+    synchronized JsonElement getBase(String key) {
+        return bases.get(key);
+    }
+    
+    synchronized void setBase(String key, JsonElement data) {
+        if (data == null) {
+            bases.remove(key);
+        } else {
+            bases.put(key, data);
+        }
+    }
+    
+    /**
+     * Постановка локальной правки в очередь; возвращает номер правки
+     */
+    synchronized long enqueue(String key) {
+        long number = ++sequence;
+        outbox.put(key, number);
+        return number;
+    }
+    
+    synchronized boolean isPending(String key) {
+        return outbox.containsKey(key);
+    }
+    
+    synchronized int pendingCount() {
+        return outbox.size();
+    }
+    
+    /**
+     * Снимок очереди: ключ → номер правки
+     */
+    synchronized List<Map.Entry<String, Long>> pending() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(outbox.size());
+        outbox.forEach((key, number) -> entries.add(Map.entry(key, number)));
+        return entries;
+    }
+    
+    /**
+     * Удаление из очереди, если после отправки сущность больше не правилась
+     */
+    synchronized void acknowledge(String key, long number) {
+        outbox.remove(key, number);
+    }
+    
+    synchronized void discard(String key) {
+        outbox.remove(key);
+    }
+    
+    // ========== PERSISTENCE ==========
+    
+    static SyncState load(Path file) {
+        if (!Files.exists(file)) {
+            return new SyncState();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            SyncState state = ApiJson.gson().fromJson(reader, SyncState.class);
+            if (state == null) {
+                return new SyncState();
+            }
+            if (state.versions == null) {
+                state.versions = new HashMap<>();
+            }
+            if (state.bases == null) {
+                state.bases = new HashMap<>();
+            }
+            if (state.outbox == null) {
+                state.outbox = new LinkedHashMap<>();
+            }
+            return state;
+        } catch (IOException | JsonParseException e) {
+            // Повреждённое состояние: полная синхронизация с начала ленты
+            return new SyncState();
+        }
+    }
+    
+    synchronized void save(Path file) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), ".sync-", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                ApiJson.gson().toJson(this, writer);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.financetracker.utils;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Шифрование AES-256-GCM: результат — случайный вектор инициализации (12 байт)
+ * и шифртекст с тегом подлинности. Изменённые или чужие данные не расшифровываются
+ * (GeneralSecurityException), а не превращаются в мусор.
+ */
+public class AesGcm {
+    
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private AesGcm() {
+    }
+    
+    /**
+     * Новый случайный ключ
+     */
+    public static SecretKey newKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256, RANDOM);
+            return generator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES недоступен", e);
+        }
+    }
+    
+    public static SecretKey key(byte[] raw) {
+        return new SecretKeySpec(raw, "AES");
+    }
+    
+    /**
+     * Шифрование; aad — связанные данные, которые не шифруются, но проверяются при расшифровке
+     */
+    public static byte[] encrypt(SecretKey key, byte[] plaintext, byte[] aad) {
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            if (aad != null) {
+                cipher.updateAAD(aad);
+            }
+            byte[] result = Arrays.copyOf(iv, IV_BYTES + cipher.getOutputSize(plaintext.length));
+            cipher.doFinal(plaintext, 0, plaintext.length, result, IV_BYTES);
+            return result;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Ошибка шифрования", e);
+        }
+    }
+    
+    public static byte[] decrypt(SecretKey key, byte[] data, byte[] aad) throws GeneralSecurityException {
+        if (data.length < IV_BYTES) {
+            throw new GeneralSecurityException("Слишком короткие данные");
+        }
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+        if (aad != null) {
+            cipher.updateAAD(aad);
+        }
+        return cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES);
+    }
+}
@@ -0,0 +1,56 @@
+package com.financetracker.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Расположение локальных данных приложения.
+ * По умолчанию ~/.financetracker, переопределяется свойством financetracker.home.
+ */
+public class AppPaths {
+    
+    private static final String HOME_PROPERTY = "financetracker.home";
+    
+    private AppPaths() {
+    }
+    
+    /**
+     * Каталог данных (создаётся при первом обращении)
+     */
+    public static Path dataDirectory() throws IOException {
+        String override = System.getProperty(HOME_PROPERTY);
+        Path directory = override != null
+            ? Path.of(override)
+            : Path.of(System.getProperty("user.home"), ".financetracker");
+        return Files.createDirectories(directory);
+    }
+    
+    /**
+     * Каталог данных пользователя (создаётся при первом обращении).
+     * Символы ID, недопустимые в именах файлов, кодируются.
+     */
+    public static Path userDirectory(String userId) throws IOException {
+        StringBuilder name = new StringBuilder(userId.length());
+        for (byte b : userId.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_') {
+                name.append(c);
+            } else {
+                name.append('%').append(String.format("%02X", b & 0xFF));
+            }
+        }
+        if (name.isEmpty()) {
+            name.append('_');
+        }
+        return Files.createDirectories(dataDirectory().resolve("users").resolve(name.toString()));
+    }
+    
+    /**
+     * Файл в каталоге данных
+     */
+    public static Path dataFile(String name) throws IOException {
+        return dataDirectory().resolve(name);
+    }
+}
@@ -0,0 +1,47 @@
+package com.financetracker.utils;
+
+import javafx.scene.paint.Color;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Мемоизированная палитра цветов карточек.
+ * Разбор hex-строк и расчёт производных оттенков выполняются один раз на цвет.
+ */
+public final class ColorPalette {
+
+    private static final Map<String, Color> COLORS = new ConcurrentHashMap<>();
+    private static final Map<String, String> GRADIENT_ENDS = new ConcurrentHashMap<>();
+
+    static {
+        // Оттенки из макета
+        GRADIENT_ENDS.put("#3B82F6", "#2563EB");
+        GRADIENT_ENDS.put("#8B5CF6", "#7C3AED");
+    }
+
+    private ColorPalette() {
+    }
+
+    /**
+     * Цвет по hex-строке
+     */
+    public static Color color(String hex) {
+        return COLORS.computeIfAbsent(hex.toUpperCase(), Color::web);
+    }
+
+    /**
+     * Второй цвет градиента кнопки для базового цвета
+     */
+    public static String gradientEnd(String baseHex) {
+        return GRADIENT_ENDS.computeIfAbsent(baseHex.toUpperCase(),
+            hex -> toHex(color(hex).deriveColor(0, 1.0, 0.88, 1.0)));
+    }
+
+    private static String toHex(Color color) {
+        return String.format("#%02X%02X%02X",
+            (int) Math.round(color.getRed() * 255),
+            (int) Math.round(color.getGreen() * 255),
+            (int) Math.round(color.getBlue() * 255));
+    }
+}
@@ -0,0 +1,145 @@
+package com.financetracker.utils;
+
+import java.util.Arrays;
+
+/**
+ * Компактная хэш-таблица long → int без упаковки в объекты.
+ * Открытая адресация с линейным пробированием; значение 0 означает отсутствие ключа,
+ * поэтому таблица подходит для счётчиков: при обнулении ключ удаляется.
+ * Не потокобезопасна.
+ */
+public class LongIntHashMap {
+    
+    private static final int MIN_CAPACITY = 16;
+    
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    
+    public LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+    
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Значение по ключу (0, если ключа нет)
+     */
+    public int get(long key) {
+        int slot = slot(key);
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+    
+    /**
+     * Прибавление delta к значению; возвращает новое значение (0 — ключ удалён)
+     */
+    public int add(long key, int delta) {
+        int slot = slot(key);
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                int value = values[slot] + delta;
+                if (value == 0) {
+                    removeAt(slot);
+                } else {
+                    values[slot] = value;
+                }
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        if (delta == 0) {
+            return 0;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return delta;
+    }
+    
+    public void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+    
+    /**
+     * Обход всех пар
+     */
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != 0) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+    
+    public interface Visitor {
+        void visit(long key, int value);
+    }
+    
+    /**
+     * Удаление со сдвигом последующих элементов цепочки, без надгробий
+     */
+    private void removeAt(int slot) {
+        size--;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (values[next] != 0) {
+            int home = slot(keys[next]);
+            // Элемент можно перенести в дыру, если его исходная позиция не лежит между дырой и им
+            boolean movable = hole <= next
+                ? home <= hole || home > next
+                : home <= hole && home > next;
+            if (movable) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[hole] = 0;
+    }
+    
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+    
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -1,5 +1,8 @@
 package com.financetracker.utils;
 
+import com.financetracker.metrics.FxPulseMonitor;
+import com.financetracker.metrics.Metrics;
+import com.financetracker.metrics.Timer;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -15,6 +18,11 @@ import java.util.Objects;
  */
 public class SceneManager {
 
+    // Загрузка FXML и создание контроллера новой сцены
+    private static final Timer SWITCH_TIMER = Metrics.timer("scene.switch");
+    // То же по экранам; переключение сцен идёт только на потоке FX
+    private static final Map<String, Timer> SCENE_TIMERS = new HashMap<>();
+
     private static Stage primaryStage;
     private static Scene mainScene;
 
@@ -32,14 +40,21 @@ public class SceneManager {
         mainScene.getStylesheets().add(cssPath);
 
         primaryStage.setScene(mainScene);
+        FxPulseMonitor.install(mainScene);
     }
 
     public static void switchScene(String sceneName) {
+        long start = SWITCH_TIMER.start();
         try {
             Parent newRoot = loadRoot(sceneName);
             mainScene.setRoot(newRoot);
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            SWITCH_TIMER.record(elapsed);
+            SCENE_TIMERS.computeIfAbsent(sceneName, name -> Metrics.timer("scene.switch." + name))
+                    .record(elapsed);
         }
     }
 
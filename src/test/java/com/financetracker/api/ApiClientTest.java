@@ -0,0 +1,339 @@
+package com.financetracker.api;
+
+import com.financetracker.models.User;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApiClientTest {
+    
+    private static final String USER_JSON = "{\"id\":\"1\",\"name\":\"Анна\"}";
+    
+    private final MockWebServer server = new MockWebServer();
+    private final ManualClock clock = new ManualClock();
+    private ApiClient client;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        server.start();
+        client = new ApiClient(server.url("/api/").toString(), new OkHttpClient(), clock);
+    }
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+    
+    // ========== CACHE ==========
+    
+    @Test
+    void freshResponseIsServedFromCache() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(USER_JSON));
+        
+        User first = currentUser();
+        clock.advance(Duration.ofMinutes(1));
+        User second = currentUser();
+        
+        assertEquals(1, server.getRequestCount());
+        assertEquals("Анна", first.getName());
+        assertEquals(first.getName(), second.getName());
+    }
+    
+    @Test
+    void expiredResponseIsRevalidatedWithEtagAndReplayedOn304() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(USER_JSON));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        
+        currentUser();
+        // Дальше stale-while-revalidate: ответ из памяти не отдаётся, запрос условный
+        clock.advance(Duration.ofHours(2));
+        User replayed = currentUser();
+        
+        assertEquals(2, server.getRequestCount());
+        assertNull(takeRequest().getHeader("If-None-Match"));
+        assertEquals("\"v1\"", takeRequest().getHeader("If-None-Match"));
+        assertEquals("Анна", replayed.getName());
+        
+        // 304 продлевает свежесть сохранённого ответа
+        currentUser();
+        assertEquals(2, server.getRequestCount());
+    }
+    
+    @Test
+    void staleResponseIsReturnedWhileRevalidatingInBackground() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(USER_JSON));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setBody("{\"id\":\"1\",\"name\":\"Анна К.\"}"));
+        
+        currentUser();
+        clock.advance(Duration.ofMinutes(10));
+        
+        assertEquals("Анна", currentUser().getName());
+        assertEquals("\"v1\"", awaitRequest(2).getHeader("If-None-Match"));
+        awaitCondition(() -> "Анна К.".equals(currentUserName()));
+    }
+    
+    @Test
+    void concurrentMissesShareOneRequest() throws Exception {
+        server.enqueue(new MockResponse().setBody(USER_JSON).setBodyDelay(200, TimeUnit.MILLISECONDS));
+        
+        List<CompletableFuture<User>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(client.get(ApiEndpoint.CURRENT_USER, User.class));
+        }
+        for (CompletableFuture<User> call : calls) {
+            assertEquals("Анна", call.get(5, TimeUnit.SECONDS).getName());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+    
+    @Test
+    void loginInvalidatesWholeCache() throws Exception {
+        server.enqueue(new MockResponse().setBody(USER_JSON));
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{\"id\":\"2\",\"name\":\"Борис\"}"));
+        
+        currentUser();
+        client.call(ApiEndpoint.LOGIN, new LoginRequest("b@b.c", "x"), LoginResponse.class).get(5, TimeUnit.SECONDS);
+        
+        assertEquals("Борис", currentUser().getName());
+        assertEquals(3, server.getRequestCount());
+    }
+    
+    // ========== TIMEOUTS ==========
+    
+    @Test
+    void eachCallGetsItsEndpointTimeout() throws Exception {
+        Map<String, Long> timeouts = new ConcurrentHashMap<>();
+        OkHttpClient recording = new OkHttpClient.Builder()
+            .addInterceptor(chain -> {
+                timeouts.put(chain.request().url().encodedPath(), chain.call().timeout().timeoutNanos());
+                return chain.proceed(chain.request());
+            })
+            .build();
+        ApiClient timed = new ApiClient(server.url("/api/").toString(), recording, clock);
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("[]"));
+        
+        timed.call(ApiEndpoint.LOGIN, new LoginRequest("a@b.c", "x"), LoginResponse.class).get(5, TimeUnit.SECONDS);
+        timed.get(ApiEndpoint.OPERATIONS, List.class).get(5, TimeUnit.SECONDS);
+        
+        assertEquals(ApiEndpoint.LOGIN.getTimeout().toNanos(), timeouts.get("/api/auth/login"));
+        assertEquals(ApiEndpoint.OPERATIONS.getTimeout().toNanos(), timeouts.get("/api/operations"));
+    }
+    
+    @Test
+    void slowResponseFailsAfterEndpointTimeout() throws Exception {
+        Duration timeout = ApiEndpoint.CURRENT_USER.getTimeout();
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        
+        long start = System.nanoTime();
+        ExecutionException error = assertThrows(ExecutionException.class,
+            () -> client.get(ApiEndpoint.CURRENT_USER, Object.class).get(timeout.toSeconds() + 10, TimeUnit.SECONDS));
+        long elapsed = System.nanoTime() - start;
+        
+        assertInstanceOf(InterruptedIOException.class, error.getCause());
+        assertTrue(elapsed >= timeout.toNanos() - TimeUnit.MILLISECONDS.toNanos(500), "прервано раньше таймаута");
+        assertTrue(elapsed < timeout.plusSeconds(4).toNanos(), "прервано слишком поздно");
+    }
+    
+    // ========== AUTHORIZATION ==========
+    
+    @Test
+    void rejectedTokenIsRefreshedOnceAndCallRetried() throws Exception {
+        MemoryTokenStore store = new MemoryTokenStore();
+        SessionManager session = SessionManager.attach(client, store);
+        session.start(new SessionTokens("old", "refresh-1", System.currentTimeMillis(),
+            System.currentTimeMillis() + 3_600_000));
+        
+        AtomicInteger refreshes = new AtomicInteger();
+        AtomicReference<String> refreshBody = new AtomicReference<>();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().endsWith("/auth/refresh")) {
+                    refreshes.incrementAndGet();
+                    refreshBody.set(request.getBody().readUtf8());
+                    return new MockResponse().setBody(
+                        "{\"token\":\"new\",\"refreshToken\":\"refresh-2\",\"expiresIn\":3600}")
+                        .setBodyDelay(100, TimeUnit.MILLISECONDS);
+                }
+                if (!"Bearer new".equals(request.getHeader("Authorization"))) {
+                    return new MockResponse().setResponseCode(401);
+                }
+                return new MockResponse().setBody("[]");
+            }
+        });
+        
+        List<CompletableFuture<List<?>>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(client.get(ApiEndpoint.OPERATIONS, List.class));
+        }
+        for (CompletableFuture<List<?>> call : calls) {
+            assertTrue(call.get(5, TimeUnit.SECONDS).isEmpty());
+        }
+        
+        assertEquals(1, refreshes.get());
+        assertTrue(refreshBody.get().contains("refresh-1"));
+        assertEquals("new", store.saved.getAccessToken());
+        assertEquals("refresh-2", store.saved.getRefreshToken());
+    }
+    
+    @Test
+    void rejectedRefreshTokenEndsSession() throws Exception {
+        MemoryTokenStore store = new MemoryTokenStore();
+        SessionManager session = SessionManager.attach(client, store);
+        session.start(new SessionTokens("old", "refresh-1", System.currentTimeMillis(),
+            System.currentTimeMillis() + 3_600_000));
+        
+        server.enqueue(new MockResponse().setResponseCode(401));
+        server.enqueue(new MockResponse().setResponseCode(401));
+        
+        ExecutionException error = assertThrows(ExecutionException.class,
+            () -> client.get(ApiEndpoint.OPERATIONS, List.class).get(5, TimeUnit.SECONDS));
+        
+        ApiException api = assertInstanceOf(ApiException.class, error.getCause());
+        assertEquals(401, api.getStatusCode());
+        assertFalse(session.isActive());
+        assertTrue(store.cleared);
+        assertEquals(2, server.getRequestCount());
+    }
+    
+    @Test
+    void publicEndpointsAreCalledWithoutToken() throws Exception {
+        SessionManager session = SessionManager.attach(client, new MemoryTokenStore());
+        session.start(new SessionTokens("token", "refresh", System.currentTimeMillis(),
+            System.currentTimeMillis() + 3_600_000));
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("[]"));
+        
+        client.call(ApiEndpoint.LOGIN, new LoginRequest("a@b.c", "x"), LoginResponse.class).get(5, TimeUnit.SECONDS);
+        client.get(ApiEndpoint.OPERATIONS, List.class).get(5, TimeUnit.SECONDS);
+        
+        assertNull(takeRequest().getHeader("Authorization"));
+        assertEquals("Bearer token", takeRequest().getHeader("Authorization"));
+    }
+    
+    // ========== HELPERS ==========
+    
+    private User currentUser() throws Exception {
+        return client.<User>get(ApiEndpoint.CURRENT_USER, User.class).get(5, TimeUnit.SECONDS);
+    }
+    
+    private String currentUserName() {
+        try {
+            return currentUser().getName();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    private RecordedRequest takeRequest() throws InterruptedException {
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertTrue(request != null, "запрос не пришёл");
+        return request;
+    }
+    
+    /**
+     * Запрос с номером number (с 1), пропуская предыдущие
+     */
+    private RecordedRequest awaitRequest(int number) throws InterruptedException {
+        RecordedRequest request = null;
+        for (int i = 0; i < number; i++) {
+            request = takeRequest();
+        }
+        return request;
+    }
+    
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "условие не выполнилось");
+            Thread.sleep(20);
+        }
+    }
+    
+    /**
+     * Часы, которые двигает тест
+     */
+    private static final class ManualClock extends Clock {
+        
+        private final AtomicLong millis = new AtomicLong(Instant.parse("2026-02-01T10:00:00Z").toEpochMilli());
+        
+        void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+        
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+        
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+    
+    private static final class MemoryTokenStore implements SessionManager.TokenStore {
+        
+        volatile SessionTokens saved;
+        volatile boolean cleared;
+        
+        @Override
+        public SessionTokens load() {
+            return saved;
+        }
+        
+        @Override
+        public void save(SessionTokens tokens) {
+            saved = tokens;
+        }
+        
+        @Override
+        public void clear() {
+            saved = null;
+            cleared = true;
+        }
+    }
+}
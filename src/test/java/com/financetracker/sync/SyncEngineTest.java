@@ -0,0 +1,392 @@
+package com.financetracker.sync;
+
+import com.financetracker.api.ApiClient;
+import com.financetracker.api.ApiJson;
+import com.financetracker.models.Category;
+import com.financetracker.models.Goal;
+import com.financetracker.models.Operation;
+import com.financetracker.services.CategoriesService;
+import com.financetracker.services.GoalsService;
+import com.financetracker.services.OperationsService;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncEngineTest {
+    
+    private final Gson gson = ApiJson.gson();
+    private final MockWebServer server = new MockWebServer();
+    private final FakeSyncServer backend = new FakeSyncServer();
+    
+    @TempDir
+    Path directory;
+    
+    private SyncEngine engine;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        server.setDispatcher(backend);
+        server.start();
+        ApiClient client = new ApiClient(server.url("/api/").toString(), new OkHttpClient());
+        engine = new SyncEngine(client, directory.resolve("sync-state.json"));
+    }
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        engine.stop();
+        server.shutdown();
+    }
+    
+    // ========== PUSH ==========
+    
+    @Test
+    void appliedChangeIsAcknowledgedAndNextEditCarriesServerVersion() throws Exception {
+        engine.start();
+        String id = newId();
+        CategoriesService.getInstance().addCategory(category(id, "Кафе"));
+        engine.syncNow();
+        
+        assertEquals(0, engine.getPendingChanges());
+        assertEquals("Кафе", backend.data(SyncEntity.CATEGORY, id).getAsJsonObject().get("name").getAsString());
+        
+        CategoriesService.getInstance().updateCategory(category(id, "Рестораны"));
+        engine.syncNow();
+        
+        assertEquals(0, engine.getPendingChanges());
+        assertEquals(List.of(0L, 1L), backend.baseVersions(SyncEntity.CATEGORY, id));
+        assertEquals(2, backend.version(SyncEntity.CATEGORY, id));
+        assertNull(engine.getLastError());
+    }
+    
+    @Test
+    void rejectedChangeLeavesQueueAndReportsError() throws Exception {
+        engine.start();
+        engine.syncNow();
+        String id = newId();
+        backend.reject(id);
+        CategoriesService.getInstance().addCategory(category(id, "Запрещённая"));
+        engine.syncNow();
+        
+        assertEquals(0, engine.getPendingChanges());
+        assertNull(backend.data(SyncEntity.CATEGORY, id));
+        assertTrue(engine.getLastError().contains(id));
+        // Локально изменение остаётся
+        assertNotNull(CategoriesService.getInstance().getCategoryById(id));
+    }
+    
+    @Test
+    void conflictingGoalContributionsAreAddedUp() throws Exception {
+        String id = newId();
+        backend.put(SyncEntity.GOAL, id, gson.toJsonTree(goal(id, 100)));
+        engine.start();
+        engine.syncNow();
+        assertEquals(100, GoalsService.getInstance().getGoalById(id).getCurrentAmount());
+        
+        // Другое устройство внесло 30, это — 50, от общей базы 100
+        backend.put(SyncEntity.GOAL, id, gson.toJsonTree(goal(id, 130)));
+        GoalsService.getInstance().saveGoal(goal(id, 150));
+        engine.syncNow();
+        
+        assertEquals(180, GoalsService.getInstance().getGoalById(id).getCurrentAmount());
+        assertEquals(1, engine.getPendingChanges());
+        
+        engine.syncNow();
+        
+        assertEquals(0, engine.getPendingChanges());
+        assertEquals(180, backend.data(SyncEntity.GOAL, id).getAsJsonObject().get("currentAmount").getAsDouble());
+        assertEquals(List.of(1L, 2L), backend.baseVersions(SyncEntity.GOAL, id));
+    }
+    
+    @Test
+    void conflictingCategoryEditTakesServerVersion() throws Exception {
+        String id = newId();
+        backend.put(SyncEntity.CATEGORY, id, gson.toJsonTree(category(id, "Авто")));
+        engine.start();
+        engine.syncNow();
+        
+        backend.put(SyncEntity.CATEGORY, id, gson.toJsonTree(category(id, "Транспорт")));
+        CategoriesService.getInstance().updateCategory(category(id, "Машина"));
+        engine.syncNow();
+        
+        assertEquals("Транспорт", CategoriesService.getInstance().getCategoryById(id).getName());
+        assertEquals(0, engine.getPendingChanges());
+        assertEquals(2, backend.version(SyncEntity.CATEGORY, id));
+    }
+    
+    // ========== DELETE VS EDIT ==========
+    
+    @Test
+    void localEditRecreatesEntityDeletedOnServer() throws Exception {
+        String id = newId();
+        backend.put(SyncEntity.CATEGORY, id, gson.toJsonTree(category(id, "Спорт")));
+        engine.start();
+        engine.syncNow();
+        
+        backend.put(SyncEntity.CATEGORY, id, null);
+        CategoriesService.getInstance().updateCategory(category(id, "Фитнес"));
+        engine.syncNow();
+        
+        // Конфликт: правка остаётся в очереди от удалённой версии
+        assertEquals("Фитнес", CategoriesService.getInstance().getCategoryById(id).getName());
+        assertEquals(1, engine.getPendingChanges());
+        
+        engine.syncNow();
+        
+        assertEquals(0, engine.getPendingChanges());
+        assertEquals("Фитнес", backend.data(SyncEntity.CATEGORY, id).getAsJsonObject().get("name").getAsString());
+        assertEquals(List.of(1L, 2L), backend.baseVersions(SyncEntity.CATEGORY, id));
+    }
+    
+    @Test
+    void serverEditRestoresEntityDeletedLocally() throws Exception {
+        String id = newId();
+        backend.put(SyncEntity.CATEGORY, id, gson.toJsonTree(category(id, "Хобби")));
+        engine.start();
+        engine.syncNow();
+        
+        backend.put(SyncEntity.CATEGORY, id, gson.toJsonTree(category(id, "Увлечения")));
+        CategoriesService.getInstance().deleteCategory(id);
+        engine.syncNow();
+        
+        assertEquals("Увлечения", CategoriesService.getInstance().getCategoryById(id).getName());
+        assertEquals(0, engine.getPendingChanges());
+        assertEquals(2, backend.version(SyncEntity.CATEGORY, id));
+    }
+    
+    @Test
+    void feedDeleteOfPendingEditKeepsLocalEdit() throws Exception {
+        String id = newId();
+        backend.put(SyncEntity.CATEGORY, id, gson.toJsonTree(category(id, "Книги")));
+        engine.start();
+        engine.syncNow();
+        
+        // Сервер не ответил на отправку правки, а в ленте пришло удаление
+        backend.holdPushes(true);
+        CategoriesService.getInstance().updateCategory(category(id, "Журналы"));
+        backend.put(SyncEntity.CATEGORY, id, null);
+        engine.syncNow();
+        
+        assertEquals("Журналы", CategoriesService.getInstance().getCategoryById(id).getName());
+        assertEquals(1, engine.getPendingChanges());
+        
+        backend.holdPushes(false);
+        engine.syncNow();
+        
+        assertEquals(0, engine.getPendingChanges());
+        assertFalse(backend.isDeleted(SyncEntity.CATEGORY, id));
+        // Правка ушла от версии удаления из ленты
+        assertEquals(List.of(2L), backend.baseVersions(SyncEntity.CATEGORY, id));
+    }
+    
+    // ========== PULL ==========
+    
+    @Test
+    void firstSyncReadsWholeFeedInOnePage() throws Exception {
+        String prefix = newId();
+        putOperations(prefix, 2500);
+        engine.start();
+        engine.syncNow();
+        
+        assertOperations(prefix, 2500);
+        assertNull(backend.requests().get(0).cursor());
+        assertTrue(backend.requests().get(0).limit() >= backend.feedSize());
+        assertEquals(0, engine.getPendingChanges());
+    }
+    
+    @Test
+    void changesFeedIsReadPageByPageFromCursor() throws Exception {
+        engine.start();
+        engine.syncNow();
+        int start = backend.feedSize();
+        int requestsBefore = backend.requests().size();
+        
+        String prefix = newId();
+        putOperations(prefix, 2500);
+        engine.syncNow();
+        
+        assertOperations(prefix, 2500);
+        List<FeedRequest> pages = backend.requests().subList(requestsBefore, backend.requests().size());
+        assertEquals(List.of(
+            new FeedRequest(String.valueOf(start), 1000),
+            new FeedRequest(String.valueOf(start + 1000), 1000),
+            new FeedRequest(String.valueOf(start + 2000), 1000)), pages);
+        assertEquals(0, engine.getPendingChanges());
+    }
+    
+    // ========== HELPERS ==========
+    
+    private void putOperations(String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            String id = prefix + "-" + i;
+            backend.put(SyncEntity.OPERATION, id, gson.toJsonTree(
+                new Operation(id, LocalDate.of(2026, 1, 1 + i % 28), Operation.OperationType.EXPENSE,
+                    "Продукты", "Покупка " + i, 100 + i)));
+        }
+    }
+    
+    private static void assertOperations(String prefix, int count) {
+        OperationsService operations = OperationsService.getInstance();
+        for (int i = 0; i < count; i++) {
+            assertNotNull(operations.getOperationById(prefix + "-" + i), "операция " + i);
+        }
+    }
+    
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+    
+    private static Category category(String id, String name) {
+        return new Category(id, name, "🏷", Category.CategoryType.EXPENSE, 0, 0, "#999999");
+    }
+    
+    private static Goal goal(String id, double currentAmount) {
+        return new Goal(id, "Отпуск", "🏖", Goal.GoalType.GOAL, 1000, currentAmount,
+            LocalDate.of(2026, 12, 31), 0, "#4CAF50");
+    }
+    
+    private record FeedRequest(String cursor, int limit) {
+    }
+    
+    /**
+     * Сервер синхронизации в памяти: версии сущностей, проверка базовой версии
+     * при отправке и лента изменений с курсором-смещением
+     */
+    private static final class FakeSyncServer extends Dispatcher {
+        
+        private final Gson gson = ApiJson.gson();
+        private final Map<String, SyncChange> entities = new HashMap<>();
+        private final Map<String, List<Long>> baseVersions = new HashMap<>();
+        private final List<SyncChange> feed = new ArrayList<>();
+        private final List<FeedRequest> requests = new ArrayList<>();
+        private final Set<String> rejected = new HashSet<>();
+        private boolean holdPushes;
+        
+        /**
+         * Изменение с другого устройства (data == null — удаление)
+         */
+        synchronized void put(SyncEntity entity, String id, JsonElement data) {
+            SyncChange current = entities.get(SyncState.key(entity, id));
+            SyncChange change = SyncChange.of(entity, id, data, 0);
+            change.version = current == null ? 1 : current.version + 1;
+            entities.put(SyncState.key(entity, id), change);
+            feed.add(change);
+        }
+        
+        synchronized void reject(String id) {
+            rejected.add(id);
+        }
+        
+        synchronized void holdPushes(boolean hold) {
+            holdPushes = hold;
+        }
+        
+        synchronized JsonElement data(SyncEntity entity, String id) {
+            SyncChange current = entities.get(SyncState.key(entity, id));
+            return current == null ? null : current.data;
+        }
+        
+        synchronized long version(SyncEntity entity, String id) {
+            SyncChange current = entities.get(SyncState.key(entity, id));
+            return current == null ? 0 : current.version;
+        }
+        
+        synchronized boolean isDeleted(SyncEntity entity, String id) {
+            SyncChange current = entities.get(SyncState.key(entity, id));
+            return current == null || current.deleted;
+        }
+        
+        synchronized List<Long> baseVersions(SyncEntity entity, String id) {
+            return List.copyOf(baseVersions.getOrDefault(SyncState.key(entity, id), List.of()));
+        }
+        
+        synchronized List<FeedRequest> requests() {
+            return List.copyOf(requests);
+        }
+        
+        synchronized int feedSize() {
+            return feed.size();
+        }
+        
+        @Override
+        public synchronized MockResponse dispatch(RecordedRequest request) {
+            String path = request.getRequestUrl().encodedPath();
+            if (path.endsWith("/sync/push")) {
+                SyncProtocol.PushRequest push = gson.fromJson(request.getBody().readUtf8(),
+                    SyncProtocol.PushRequest.class);
+                SyncProtocol.PushResponse response = new SyncProtocol.PushResponse();
+                response.results = new ArrayList<>();
+                for (SyncChange change : holdPushes ? List.<SyncChange>of() : push.changes) {
+                    response.results.add(apply(change));
+                }
+                return new MockResponse().setBody(gson.toJson(response));
+            }
+            if (path.endsWith("/sync/changes")) {
+                String cursor = request.getRequestUrl().queryParameter("cursor");
+                int limit = Integer.parseInt(request.getRequestUrl().queryParameter("limit"));
+                requests.add(new FeedRequest(cursor, limit));
+                int from = cursor == null ? 0 : Integer.parseInt(cursor);
+                int to = Math.min(feed.size(), from + limit);
+                JsonObject page = new JsonObject();
+                page.add("changes", gson.toJsonTree(feed.subList(from, to)));
+                page.addProperty("cursor", String.valueOf(to));
+                page.addProperty("hasMore", to < feed.size());
+                return new MockResponse().setBody(page.toString());
+            }
+            return new MockResponse().setResponseCode(404);
+        }
+        
+        private SyncProtocol.PushResult apply(SyncChange change) {
+            String key = change.entity + ":" + change.id;
+            baseVersions.computeIfAbsent(key, k -> new ArrayList<>()).add(change.baseVersion);
+            SyncChange current = entities.get(key);
+            long currentVersion = current == null ? 0 : current.version;
+            
+            SyncProtocol.PushResult result = new SyncProtocol.PushResult();
+            result.entity = change.entity;
+            result.id = change.id;
+            if (rejected.contains(change.id)) {
+                result.status = SyncProtocol.REJECTED;
+                result.message = "недопустимое изменение " + change.id;
+            } else if (change.baseVersion != currentVersion) {
+                result.status = SyncProtocol.CONFLICT;
+                result.version = currentVersion;
+                result.deleted = current.deleted;
+                result.data = current.data;
+            } else {
+                SyncChange stored = SyncChange.of(SyncEntity.fromWireName(change.entity), change.id,
+                    change.data, 0);
+                stored.version = currentVersion + 1;
+                entities.put(key, stored);
+                feed.add(stored);
+                result.status = SyncProtocol.APPLIED;
+                result.version = stored.version;
+            }
+            return result;
+        }
+    }
+}